@@ -7,11 +7,18 @@ import java.net.InetAddress;
 import java.net.ServerSocket;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Properties;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
+import java.util.stream.Stream;
 
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
@@ -19,10 +26,27 @@ import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
 
 import io.github.rajendarreddyj.tomcat.config.CatalinaBaseGenerator;
+import io.github.rajendarreddyj.tomcat.config.ConnectorConfiguration;
+import io.github.rajendarreddyj.tomcat.config.ContainerResources;
 import io.github.rajendarreddyj.tomcat.config.DeployableConfiguration;
+import io.github.rajendarreddyj.tomcat.config.ExecutorConfiguration;
+import io.github.rajendarreddyj.tomcat.config.GenerationSettings;
+import io.github.rajendarreddyj.tomcat.config.ContextConfiguration;
+import io.github.rajendarreddyj.tomcat.config.HttpsConfiguration;
+import io.github.rajendarreddyj.tomcat.config.JvmPreset;
+import io.github.rajendarreddyj.tomcat.config.SelfSignedKeystore;
 import io.github.rajendarreddyj.tomcat.config.ServerConfiguration;
 import io.github.rajendarreddyj.tomcat.config.TomcatVersion;
+import io.github.rajendarreddyj.tomcat.deploy.JarScanAnalyzer;
 import io.github.rajendarreddyj.tomcat.download.TomcatDownloader;
+import io.github.rajendarreddyj.tomcat.lifecycle.ClassDataSharingArchive;
+import io.github.rajendarreddyj.tomcat.lifecycle.IsolatedInstance;
+import io.github.rajendarreddyj.tomcat.lifecycle.JavaRuntime;
+import io.github.rajendarreddyj.tomcat.lifecycle.PortAllocator;
+import io.github.rajendarreddyj.tomcat.lifecycle.TomcatJmxClient;
+import io.github.rajendarreddyj.tomcat.lifecycle.TomcatPool;
+import io.github.rajendarreddyj.tomcat.lifecycle.TomcatState;
+import io.github.rajendarreddyj.tomcat.perf.LoadSnapshot;
 
 /**
  * Abstract base class for all Tomcat plugin Mojos.
@@ -33,6 +57,18 @@ import io.github.rajendarreddyj.tomcat.download.TomcatDownloader;
  */
 public abstract class AbstractTomcatMojo extends AbstractMojo {
 
+    /** Project property receiving an allocated HTTP port. */
+    static final String HTTP_PORT_PROPERTY = "tomcat.http.port";
+
+    /** Project property receiving an allocated HTTPS port. */
+    static final String HTTPS_PORT_PROPERTY = "tomcat.https.port";
+
+    /** Infix in the names of generated bases of allocated HTTP ports. */
+    static final String ALLOCATED_PORT_BASE = "-auto-";
+
+    /** Age after which an unused base of an allocated HTTP port is deleted. */
+    static final Duration STALE_BASE_AGE = Duration.ofDays(1);
+
     // ==================== Tomcat Version & Location ====================
 
     /**
@@ -68,6 +104,9 @@ public abstract class AbstractTomcatMojo extends AbstractMojo {
 
     /**
      * HTTP port for Tomcat to listen on.
+     * Set to 0 to use a free port, published as the tomcat.http.port project
+     * property; tomcat:start then retries on another free port if Tomcat
+     * cannot bind it.
      */
     @Parameter(property = "tomcat.http.port", defaultValue = "8080")
     protected int httpPort;
@@ -92,6 +131,66 @@ public abstract class AbstractTomcatMojo extends AbstractMojo {
     @Parameter(property = "tomcat.timeout.shutdown", defaultValue = "30000")
     protected long shutdownTimeout;
 
+    /**
+     * Maximum time in milliseconds the stop goal waits for in-flight requests
+     * after pausing the connectors, before terminating Tomcat.
+     * Set to 0 to skip pausing and draining.
+     * Default: 10000ms (10 seconds).
+     */
+    @Parameter(property = "tomcat.timeout.drain", defaultValue = "10000")
+    protected long drainTimeout;
+
+    /**
+     * Performance settings of the HTTP connector: protocol (nio, nio2),
+     * maxThreads, minSpareThreads, acceptCount, maxConnections,
+     * keepAliveTimeout, maxKeepAliveRequests, compression,
+     * compressibleMimeType, socketRxBufSize, socketTxBufSize,
+     * socketAppReadBufSize, socketAppWriteBufSize and useSendfile.
+     * Written into the server.xml of a generated CATALINA_BASE; ignored when
+     * catalinaBase is set. Overrides the sizing from containerAware.
+     */
+    @Parameter
+    protected ConnectorConfiguration connector;
+
+    /**
+     * Shared executor that every connector of a generated CATALINA_BASE uses:
+     * a platform thread pool sized with maxThreads, minSpareThreads,
+     * maxIdleTime and maxQueueSize, or virtual threads (Tomcat 11 on Java 21+)
+     * with virtualThreads. The executor's settings replace the connector's
+     * maxThreads and minSpareThreads. Ignored when catalinaBase is set.
+     */
+    @Parameter
+    protected ExecutorConfiguration executor;
+
+    /**
+     * Run requests on virtual threads (true) or a platform thread pool
+     * (false) through a shared executor, overriding executor.virtualThreads.
+     * Adds an executor with default settings when none is configured, so
+     * both thread models can be compared with one flag.
+     */
+    @Parameter(property = "tomcat.virtualThreads")
+    protected Boolean virtualThreads;
+
+    /**
+     * HTTPS connector of a generated CATALINA_BASE: port (default 8443),
+     * http2 (HTTP/2 through ALPN, default true), keystoreFile and
+     * keystorePassword. Without a keystoreFile, a self-signed PKCS12 keystore
+     * is generated with keytool. Startup waits for a TLS handshake on the
+     * port. Ignored when catalinaBase is set.
+     */
+    @Parameter
+    protected HttpsConfiguration https;
+
+    /**
+     * Default context settings written into the conf/context.xml of a
+     * generated CATALINA_BASE: the static resource cache (cachingAllowed,
+     * cacheMaxSize and cacheObjectMaxSize in KB, cacheTtl in ms), and
+     * jarsToSkip and scanManifest of the jar scanner, which skip TLD and
+     * annotation scanning of the listed jars. Ignored when catalinaBase is set.
+     */
+    @Parameter
+    protected ContextConfiguration context;
+
     /**
      * Skip plugin execution entirely.
      * Useful for CI pipelines where Tomcat should not be started.
@@ -114,12 +213,288 @@ public abstract class AbstractTomcatMojo extends AbstractMojo {
     @Parameter(property = "tomcat.vm.options")
     protected List<String> vmOptions;
 
+    /**
+     * Named set of JVM options to start Tomcat with: fast-startup (C1 only,
+     * SerialGC and AppCDS), throughput (ParallelGC with a large pre-touched
+     * heap) or low-latency (generational ZGC). vmOptions are added after the
+     * preset and win on conflict, e.g. a GC selected in vmOptions replaces the
+     * preset's GC.
+     */
+    @Parameter(property = "tomcat.jvm.preset")
+    protected String jvmPreset;
+
+    /**
+     * Size Tomcat from the cgroup v2 memory and CPU limits of the build, e.g.
+     * in CI containers: -Xmx, -XX:ActiveProcessorCount and the HTTP
+     * connector's maxThreads and acceptCount. Options set in vmOptions or the
+     * JVM preset are kept. Connector sizing needs a generated CATALINA_BASE
+     * and is skipped when catalinaBase is set.
+     */
+    @Parameter(property = "tomcat.container.aware", defaultValue = "false")
+    protected boolean containerAware;
+
+    /**
+     * Memory in MiB of the cgroup limit reserved for the Maven JVM and the
+     * test JVMs it forks, which share the limit with Tomcat. containerAware
+     * sizes Tomcat from the rest. Default: half of the memory limit.
+     */
+    @Parameter(property = "tomcat.container.memoryReserve")
+    protected Long containerMemoryReserve;
+
     /**
      * Environment variables to set for Tomcat process.
      */
     @Parameter
     protected Map<String, String> environmentVariables;
 
+    /**
+     * Enable a dynamic AppCDS archive for the Tomcat JVM.
+     * The first start trains the archive with -XX:ArchiveClassesAtExit; later
+     * starts reuse it with -XX:SharedArchiveFile. Archives are stored in
+     * tomcatCacheDir and keyed by Tomcat version, JDK build and classpath
+     * additions. Requires Java 13 or later for the Tomcat JVM.
+     */
+    @Parameter(property = "tomcat.cds.enabled", defaultValue = "false")
+    protected boolean classDataSharing;
+
+    /**
+     * Start Tomcat from a CRaC checkpoint when the JDK at javaHome supports it.
+     * The first start checkpoints the warmed Tomcat JVM; later starts restore
+     * from that image. Falls back to a normal start on JDKs without CRaC.
+     * Applies to the start goal.
+     */
+    @Parameter(property = "tomcat.crac.enabled", defaultValue = "false")
+    protected boolean crac;
+
+    /**
+     * Show Tomcat console output in the Maven log, prefixed with [tomcat].
+     * The output is always written to logs/tomcat-console.log in CATALINA_BASE;
+     * if the Maven log cannot keep up, lines are dropped from the Maven log only.
+     */
+    @Parameter(property = "tomcat.output.mirror", defaultValue = "true")
+    protected boolean mirrorOutput;
+
+    // ==================== Pool Configuration ====================
+
+    /**
+     * Number of pre-started Tomcat instances to keep in a pool for the start
+     * goal. When greater than 0, start leases a running instance from
+     * tomcatCacheDir/pool, deploys the webapp into it and publishes its port as
+     * the tomcat.http.port project property; stop undeploys the webapp and
+     * returns the instance to the pool instead of killing it.
+     * Default: 0 (no pool)
+     */
+    @Parameter(property = "tomcat.pool.size", defaultValue = "0")
+    protected int poolSize;
+
+    /**
+     * Stop every pooled instance when the stop goal runs. Instances leased by
+     * another running build are left running.
+     * Use at the end of a CI job or to recycle the pool after changing JVM options.
+     */
+    @Parameter(property = "tomcat.pool.shutdown", defaultValue = "false")
+    protected boolean poolShutdown;
+
+    // ==================== Daemon Configuration ====================
+
+    /**
+     * Keep Tomcat running between Maven invocations.
+     * The start goal reuses a running Tomcat for the same CATALINA_BASE and
+     * syncs the webapp into it, the deploy goal syncs only changed files, and
+     * the stop goal leaves the daemon running unless daemonShutdown is set.
+     * A daemon started with different JVM options is restarted.
+     */
+    @Parameter(property = "tomcat.daemon", defaultValue = "false")
+    protected boolean daemon;
+
+    /**
+     * Stop the Tomcat daemon when the stop goal runs.
+     */
+    @Parameter(property = "tomcat.daemon.shutdown", defaultValue = "false")
+    protected boolean daemonShutdown;
+
+    // ==================== Isolation Configuration ====================
+
+    /**
+     * Run Tomcat in a CATALINA_BASE and on ports of its own, so that modules of
+     * a parallel build (-T) and concurrent builds never share them.
+     * The base is claimed with a file lock under tomcatCacheDir/isolated until
+     * the stop goal, and the HTTP, HTTPS and debug ports are allocated from
+     * free ports and published as the tomcat.http.port, tomcat.https.port and
+     * tomcat.debug.port project properties.
+     * Ignored when catalinaBase, a pool or daemon is used.
+     */
+    @Parameter(property = "tomcat.isolated", defaultValue = "false")
+    protected boolean isolated;
+
+    // ==================== Status Configuration ====================
+
+    /**
+     * Output format of the status goal: text or json.
+     * Default: text
+     */
+    @Parameter(property = "tomcat.status.format", defaultValue = "text")
+    protected String statusFormat;
+
+    /**
+     * File the status goal writes its JSON report to, for build pipelines.
+     */
+    @Parameter(property = "tomcat.status.file", defaultValue = "${project.build.directory}/tomcat-status.json")
+    protected File statusFile;
+
+    // ==================== Load Configuration ====================
+
+    /**
+     * Paths requested by the load goal, relative to the context path.
+     * Requests cycle through the paths in order.
+     * Default: / (the context root)
+     */
+    @Parameter(property = "tomcat.load.paths", defaultValue = "/")
+    protected List<String> loadPaths;
+
+    /**
+     * Number of concurrent clients of the load goal.
+     */
+    @Parameter(property = "tomcat.load.concurrency", defaultValue = "10")
+    protected int loadConcurrency;
+
+    /**
+     * Duration of the load run in seconds. Ignored when loadRequests is set.
+     */
+    @Parameter(property = "tomcat.load.duration", defaultValue = "10")
+    protected int loadDuration;
+
+    /**
+     * Total number of requests of the load run. 0 runs for loadDuration
+     * instead.
+     */
+    @Parameter(property = "tomcat.load.requests", defaultValue = "0")
+    protected long loadRequests;
+
+    /**
+     * File the load goal writes its JSON result to, for trend tracking.
+     */
+    @Parameter(property = "tomcat.load.result", defaultValue = "${project.build.directory}/tomcat-load.json")
+    protected File loadResultFile;
+
+    /**
+     * Fail the build if the 99th percentile latency exceeds this many
+     * milliseconds.
+     */
+    @Parameter(property = "tomcat.load.maxP99")
+    protected Double loadMaxP99;
+
+    /**
+     * Fail the build if the throughput is below this many requests per second.
+     */
+    @Parameter(property = "tomcat.load.minThroughput")
+    protected Double loadMinThroughput;
+
+    /**
+     * Fail the build if more than this percentage of requests fail.
+     */
+    @Parameter(property = "tomcat.load.maxErrorRate")
+    protected Double loadMaxErrorRate;
+
+    /**
+     * Directory holding the load baselines and the latest load run per
+     * context path, compared by the load-check goal.
+     */
+    @Parameter(property = "tomcat.load.baseline.dir", defaultValue = "${project.build.directory}/tomcat-baseline")
+    protected File loadBaselineDirectory;
+
+    /**
+     * Whether the load-check goal replaces the baseline with a run that did
+     * not regress. The first run of a context path always becomes its
+     * baseline.
+     */
+    @Parameter(property = "tomcat.load.baseline.update", defaultValue = "false")
+    protected boolean loadBaselineUpdate;
+
+    /**
+     * Significance level of the latency comparison against the baseline.
+     */
+    @Parameter(property = "tomcat.load.significance", defaultValue = "0.01")
+    protected double loadSignificance;
+
+    /**
+     * Tolerated change against the baseline in percent, for the median and
+     * 99th percentile latency and for throughput.
+     */
+    @Parameter(property = "tomcat.load.tolerance", defaultValue = "10")
+    protected double loadTolerance;
+
+    // ==================== Flight Recorder Configuration ====================
+
+    /**
+     * Record the Tomcat JVM with Java Flight Recorder.
+     * The recording is dumped to flightRecordingFile and summarized when the
+     * stop goal stops Tomcat, or written when the JVM exits.
+     */
+    @Parameter(property = "tomcat.jfr", defaultValue = "false")
+    protected boolean flightRecording;
+
+    /**
+     * Flight Recorder settings: "default" for continuous low-overhead
+     * recording, "profile" for more detail, or the path of a .jfc file.
+     */
+    @Parameter(property = "tomcat.jfr.settings", defaultValue = "profile")
+    protected String flightRecordingSettings;
+
+    /**
+     * File the flight recording is written to.
+     * Default: ${project.build.directory}/tomcat-{context}.jfr, where context
+     * is ROOT for the root context
+     */
+    @Parameter(property = "tomcat.jfr.file")
+    protected File flightRecordingFile;
+
+    /**
+     * Number of entries per section of the recording summary, at least 1.
+     */
+    @Parameter(property = "tomcat.jfr.top", defaultValue = "10")
+    protected int flightRecordingTop;
+
+    /**
+     * Let tomcat:run profile Tomcat on demand. Typing p and Enter, or creating
+     * the file "profiling" in CATALINA_BASE, starts sampling the Tomcat JVM
+     * over JMX; doing it again, or deleting the file, stops sampling and writes
+     * a collapsed stack file and an HTML flame graph to
+     * profilerOutputDirectory.
+     */
+    @Parameter(property = "tomcat.profiler", defaultValue = "false")
+    protected boolean profiler;
+
+    /**
+     * Sampling interval of the profiler in milliseconds.
+     */
+    @Parameter(property = "tomcat.profiler.interval", defaultValue = "10")
+    protected int profilerInterval;
+
+    /**
+     * Directory the profiler writes its profiles to.
+     */
+    @Parameter(property = "tomcat.profiler.dir", defaultValue = "${project.build.directory}")
+    protected File profilerOutputDirectory;
+
+    // ==================== Access Log Configuration ====================
+
+    /**
+     * Add an access log with request timing (%D and %F) to a generated
+     * CATALINA_BASE, replacing the hosts' default access logs. The stop goal
+     * logs the request count and p50/p95/p99 latency per URL and moves the
+     * log to ${project.build.directory}/tomcat-access-timing.log. Ignored when
+     * catalinaBase is set.
+     */
+    @Parameter(property = "tomcat.accessLog", defaultValue = "false")
+    protected boolean accessLog;
+
+    /**
+     * Number of URLs in the latency table of the access log, at least 1.
+     */
+    @Parameter(property = "tomcat.accessLog.top", defaultValue = "20")
+    protected int accessLogTop;
+
     // ==================== Debug Configuration ====================
 
     /**
@@ -169,6 +544,17 @@ public abstract class AbstractTomcatMojo extends AbstractMojo {
     @Parameter(property = "tomcat.deployment.name")
     protected String deploymentOutputName;
 
+    /**
+     * Analyze the jars in WEB-INF/lib of warSourceDirectory before startup and
+     * add the ones without TLDs, web fragments, ServletContainerInitializers,
+     * META-INF/resources or servlet annotations to the jarsToSkip of the
+     * generated CATALINA_BASE's catalina.properties, so Tomcat does not scan
+     * them. Logs the scanned jars before and after. Ignored when catalinaBase
+     * is set.
+     */
+    @Parameter(property = "tomcat.jarScan.analyze", defaultValue = "false")
+    protected boolean analyzeJarScan;
+
     // ==================== Auto-publish Configuration ====================
 
     /**
@@ -196,6 +582,15 @@ public abstract class AbstractTomcatMojo extends AbstractMojo {
     @Parameter(defaultValue = "${project}", readonly = true, required = true)
     protected MavenProject project;
 
+    /** Container limits, detected on first use when containerAware is set. */
+    private ContainerResources containerResources;
+
+    /** The isolated instance of this build, when isolated is set. */
+    private IsolatedInstance isolatedInstance;
+
+    /** Whether the HTTP port was allocated because httpPort is 0. */
+    private boolean autoHttpPort;
+
     // ==================== Utility Methods ====================
 
     /**
@@ -341,28 +736,119 @@ public abstract class AbstractTomcatMojo extends AbstractMojo {
      * @throws MojoExecutionException if configuration fails
      */
     protected ServerConfiguration buildServerConfiguration() throws MojoExecutionException {
+        return resolveServerConfiguration(true);
+    }
+
+    /**
+     * Locates the Tomcat instance of this build for the goals that only read
+     * or stop it. Resolves the same CATALINA_HOME, CATALINA_BASE and HTTP
+     * address as {@link #buildServerConfiguration()}, but does not generate
+     * the base, analyze jars, create a keystore or resolve the JVM options,
+     * which the configuration returned here does not contain.
+     *
+     * @return the ServerConfiguration without JVM options
+     * @throws MojoExecutionException if configuration fails
+     */
+    protected ServerConfiguration locateServerConfiguration() throws MojoExecutionException {
+        return resolveServerConfiguration(false);
+    }
+
+    /**
+     * Resolves the ServerConfiguration from Mojo parameters.
+     *
+     * @param prepare true to prepare a launch: generate the CATALINA_BASE if
+     *                its marker does not match, create the keystore and
+     *                resolve the JVM options
+     * @return the ServerConfiguration
+     * @throws MojoExecutionException if configuration fails
+     */
+    private ServerConfiguration resolveServerConfiguration(boolean prepare) throws MojoExecutionException {
         Path resolvedHome = resolveCatalinaHome();
         Path resolvedBase = catalinaBase != null ? catalinaBase.toPath() : null;
+        findIsolatedInstance();
+        if (httpPort == 0) {
+            String allocated = project.getProperties().getProperty(HTTP_PORT_PROPERTY);
+            if (allocated == null) {
+                throw new MojoExecutionException("httpPort is 0, but no HTTP port was allocated in this build. "
+                        + "Run tomcat:start, tomcat:run or tomcat:debug first.");
+            }
+            httpPort = Integer.parseInt(allocated);
+            autoHttpPort = true;
+        }
 
         // Always generate custom CATALINA_BASE when not explicitly specified
         // This ensures port configuration is applied without modifying the original
         // installation
-        if (resolvedBase == null && httpPort != 8080) {
+        Map<String, String> connectorAttributes = resolveConnectorAttributes();
+        Map<String, String> executorAttributes = resolveExecutorAttributes();
+        Map<String, String> httpsAttributes = resolveHttpsAttributes();
+        Map<String, String> settings = new LinkedHashMap<>(connectorAttributes);
+        executorAttributes.forEach((name, value) -> settings.put("Executor." + name, value));
+        httpsAttributes.forEach((name, value) -> settings.put("Https." + name, value));
+        settings.putAll(resolveContextSettings());
+        if (accessLog) {
+            settings.put("AccessLog.pattern", CatalinaBaseGenerator.ACCESS_LOG_PATTERN);
+        }
+        Path libDir = resolveJarScanLibDir();
+        if (libDir != null) {
+            // The jar listing stands in for the analysis, which only runs when the base is generated
+            settings.put("JarScan.jars", String.join(",", listJars(libDir)));
+        }
+        if (prepare && resolvedBase != null && !settings.isEmpty()) {
+            getLog().info("catalinaBase is set; keeping its connector and context settings");
+        }
+        boolean httpsEnabled = false;
+        if (resolvedBase == null && (isolatedInstance != null || httpPort != 8080 || !settings.isEmpty())) {
             try {
-                Path generatedBase = tomcatCacheDir.toPath()
-                        .resolve("base-" + tomcatVersion + "-" + httpPort);
-
-                // Check if base exists AND has the correct port configured
-                boolean needsGeneration = !CatalinaBaseGenerator.isValidCatalinaBase(generatedBase)
-                        || !CatalinaBaseGenerator.hasCorrectPort(generatedBase, httpPort);
+                // The base is named after the hash of the inputs known without reading any file's content
+                Map<String, String> inputs = new LinkedHashMap<>();
+                inputs.put("tomcatVersion", tomcatVersion);
+                inputs.put("catalinaHome", resolvedHome.toAbsolutePath().normalize().toString());
+                inputs.put("httpPort", String.valueOf(httpPort));
+                inputs.put("httpHost", String.valueOf(httpHost));
+                inputs.putAll(settings);
+                // Sizes and modification times only, so edits to CATALINA_HOME/conf reach the base
+                inputs.put("conf", CatalinaBaseGenerator.confFingerprint(resolvedHome));
+                String inputHash = CatalinaBaseGenerator.inputHash(inputs);
+                // An allocated port changes with every build, so its bases are not named after it
+                Path generatedBase = isolatedInstance != null ? isolatedInstance.getCatalinaBase()
+                        : tomcatCacheDir.toPath().resolve("base-" + tomcatVersion
+                                + (autoHttpPort ? ALLOCATED_PORT_BASE : "-" + httpPort + "-")
+                                + inputHash.substring(0, 8));
 
-                if (needsGeneration) {
+                if (prepare && !CatalinaBaseGenerator.isGenerated(generatedBase, inputHash)) {
+                    if (autoHttpPort && isolatedInstance == null) {
+                        pruneStaleBases(generatedBase);
+                    }
+                    List<String> jarsToSkip = libDir != null ? resolveJarsToSkip(resolvedHome, libDir) : List.of();
                     getLog().info("Generating CATALINA_BASE with HTTP port " + httpPort);
-                    CatalinaBaseGenerator.generate(resolvedHome, generatedBase, httpPort, httpHost);
+                    CatalinaBaseGenerator.generate(resolvedHome, generatedBase, GenerationSettings.builder()
+                            .httpPort(httpPort)
+                            .httpHost(httpHost)
+                            .connectorAttributes(connectorAttributes)
+                            .executorAttributes(executorAttributes)
+                            .https(https)
+                            .context(context)
+                            .accessLog(accessLog)
+                            .build());
+                    JarScanAnalyzer.writeJarsToSkip(generatedBase.resolve("conf").resolve("catalina.properties"),
+                            jarsToSkip);
+                    // Recorded to tell what the base was generated from, but not part of its hash
+                    Map<String, String> generatedFrom = new LinkedHashMap<>(inputs);
+                    generatedFrom.put("jarsToSkip", String.join(",", jarsToSkip));
+                    CatalinaBaseGenerator.markGenerated(generatedBase, inputHash, generatedFrom);
+                }
+                if (https != null) {
+                    if (prepare) {
+                        prepareKeystore(generatedBase);
+                    }
+                    httpsEnabled = true;
                 }
 
                 resolvedBase = generatedBase;
-                getLog().info("Using generated CATALINA_BASE: " + resolvedBase);
+                if (prepare) {
+                    getLog().info("Using generated CATALINA_BASE: " + resolvedBase);
+                }
             } catch (IOException e) {
                 throw new MojoExecutionException(
                         "Failed to generate CATALINA_BASE: " + e.getMessage(), e);
@@ -375,14 +861,567 @@ public abstract class AbstractTomcatMojo extends AbstractMojo {
                 .httpHost(httpHost)
                 .httpPort(httpPort)
                 .javaHome(javaHome != null ? javaHome.toPath() : null)
-                .vmOptions(vmOptions)
+                .vmOptions(prepare ? resolveServerVmOptions() : List.of())
                 .environmentVariables(environmentVariables)
                 .startupTimeout(startupTimeout)
                 .shutdownTimeout(shutdownTimeout)
                 .classpathAdditions(classpathAdditions)
+                .cracEnabled(crac)
+                .mirrorOutput(mirrorOutput)
+                .httpsPort(httpsEnabled ? https.getPort() : 0)
+                .http2(httpsEnabled && https.isHttp2())
                 .build();
     }
 
+    /**
+     * Claims an isolated CATALINA_BASE with free ports for this build when
+     * isolated is set, and publishes the ports as project properties.
+     * The HTTP, HTTPS and debug port parameters are replaced by the allocated
+     * ports.
+     *
+     * @param debug whether a debug port is allocated
+     * @throws MojoExecutionException if no CATALINA_BASE or port can be
+     *                                claimed
+     */
+    protected void claimIsolatedInstance(boolean debug) throws MojoExecutionException {
+        if (!isIsolationEnabled()) {
+            return;
+        }
+        try {
+            Path registryDir = tomcatCacheDir.toPath().resolve("isolated").resolve(tomcatVersion);
+            applyIsolatedInstance(IsolatedInstance.claim(registryDir, getPoolOwner(), httpHost, https != null,
+                    debug));
+        } catch (IOException e) {
+            throw new MojoExecutionException("Failed to claim an isolated CATALINA_BASE: " + e.getMessage(), e);
+        }
+        getLog().info("Claimed isolated CATALINA_BASE " + isolatedInstance.getCatalinaBase()
+                + " with HTTP port " + httpPort);
+    }
+
+    /**
+     * Finds the isolated CATALINA_BASE this build claimed in an earlier goal,
+     * and uses its ports.
+     *
+     * @return the isolated instance, or empty if isolated is not set or no
+     *         instance was claimed
+     */
+    protected Optional<IsolatedInstance> findIsolatedInstance() {
+        if (isolatedInstance == null && isIsolationEnabled()) {
+            IsolatedInstance.find(getPoolOwner()).ifPresent(this::applyIsolatedInstance);
+        }
+        return Optional.ofNullable(isolatedInstance);
+    }
+
+    /**
+     * Releases the isolated CATALINA_BASE of this build, if one is claimed.
+     */
+    protected void releaseIsolatedInstance() {
+        if (isolatedInstance == null) {
+            return;
+        }
+        try {
+            isolatedInstance.release();
+        } catch (IOException e) {
+            getLog().warn("Failed to release isolated CATALINA_BASE " + isolatedInstance.getCatalinaBase()
+                    + ": " + e.getMessage());
+        }
+        isolatedInstance = null;
+    }
+
+    /**
+     * Allocates a free HTTP port when httpPort is 0, and publishes it as the
+     * {@value #HTTP_PORT_PROPERTY} project property. Isolated instances
+     * allocate their own ports.
+     *
+     * @throws MojoExecutionException if no free port can be found, or daemon
+     *                                mode needs a fixed port
+     */
+    protected void allocateHttpPort() throws MojoExecutionException {
+        if (httpPort != 0 || isIsolationEnabled()) {
+            return;
+        }
+        if (daemon) {
+            throw new MojoExecutionException("httpPort 0 cannot be used with daemon, which is found again by its "
+                    + "port. Configure a fixed httpPort.");
+        }
+        try {
+            httpPort = PortAllocator.allocate(httpHost);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Failed to allocate a free HTTP port: " + e.getMessage(), e);
+        }
+        autoHttpPort = true;
+        project.getProperties().setProperty(HTTP_PORT_PROPERTY, String.valueOf(httpPort));
+        getLog().info("Allocated free HTTP port " + httpPort);
+    }
+
+    /**
+     * Moves an allocated port to another free port after Tomcat failed to
+     * bind it, and publishes the new port. The HTTP port is moved when it was
+     * allocated, the HTTPS port when an isolated instance allocated it.
+     *
+     * @param failedPort the port Tomcat could not bind
+     * @return true if the port was moved, false if it is fixed
+     * @throws MojoExecutionException if no free port can be found
+     */
+    protected boolean reallocatePort(int failedPort) throws MojoExecutionException {
+        try {
+            if (failedPort == httpPort && (isolatedInstance != null || autoHttpPort)) {
+                httpPort = isolatedInstance != null ? isolatedInstance.reallocateHttpPort(httpHost)
+                        : PortAllocator.allocate(httpHost);
+                project.getProperties().setProperty(HTTP_PORT_PROPERTY, String.valueOf(httpPort));
+                return true;
+            }
+            if (https != null && failedPort == https.getPort() && isolatedInstance != null) {
+                https.setPort(isolatedInstance.reallocateHttpsPort(httpHost));
+                project.getProperties().setProperty(HTTPS_PORT_PROPERTY, String.valueOf(https.getPort()));
+                return true;
+            }
+        } catch (IOException e) {
+            throw new MojoExecutionException("Failed to allocate a free port: " + e.getMessage(), e);
+        }
+        return false;
+    }
+
+    /**
+     * Deletes the generated bases of allocated HTTP ports that were not
+     * modified for {@link #STALE_BASE_AGE} and record no running Tomcat.
+     * Every build with httpPort 0 gets a base of its own, which no later build
+     * reuses.
+     *
+     * @param keep the base about to be generated
+     */
+    private void pruneStaleBases(Path keep) {
+        if (!Files.isDirectory(tomcatCacheDir.toPath())) {
+            return;
+        }
+        Instant staleBefore = Instant.now().minus(STALE_BASE_AGE);
+        try (Stream<Path> bases = Files.list(tomcatCacheDir.toPath())) {
+            for (Path base : bases.toList()) {
+                String name = base.getFileName().toString();
+                if (base.equals(keep) || !name.startsWith("base-") || !name.contains(ALLOCATED_PORT_BASE)
+                        || Files.getLastModifiedTime(base).toInstant().isAfter(staleBefore)
+                        || TomcatState.read(base).flatMap(TomcatState::findProcess).isPresent()) {
+                    continue;
+                }
+                try (Stream<Path> walk = Files.walk(base)) {
+                    for (Path path : walk.sorted(Comparator.reverseOrder()).toList()) {
+                        Files.delete(path);
+                    }
+                }
+                getLog().debug("Deleted stale CATALINA_BASE " + base);
+            }
+        } catch (IOException e) {
+            getLog().warn("Failed to delete stale CATALINA_BASE directories in " + tomcatCacheDir + ": "
+                    + e.getMessage());
+        }
+    }
+
+    /**
+     * Checks if this execution runs in an isolated CATALINA_BASE.
+     *
+     * @return true if isolated is set and neither catalinaBase, a pool nor
+     *         daemon mode is used
+     */
+    protected boolean isIsolationEnabled() {
+        return isolated && catalinaBase == null && poolSize <= 0 && !daemon;
+    }
+
+    /**
+     * Uses the ports of an isolated instance and publishes them as project
+     * properties.
+     *
+     * @param instance the isolated instance
+     */
+    private void applyIsolatedInstance(IsolatedInstance instance) {
+        isolatedInstance = instance;
+        httpPort = instance.getHttpPort();
+        Properties properties = project.getProperties();
+        properties.setProperty(HTTP_PORT_PROPERTY, String.valueOf(httpPort));
+        if (https != null && instance.getHttpsPort() > 0) {
+            https.setPort(instance.getHttpsPort());
+            properties.setProperty(HTTPS_PORT_PROPERTY, String.valueOf(instance.getHttpsPort()));
+        }
+        if (instance.getDebugPort() > 0) {
+            debugPort = instance.getDebugPort();
+            properties.setProperty("tomcat.debug.port", String.valueOf(debugPort));
+        }
+    }
+
+    /**
+     * Resolves the effective JVM options for the Tomcat process.
+     * Adds the AppCDS options when class data sharing is enabled by
+     * classDataSharing or the JVM preset, the heap and processor options
+     * derived from container limits when containerAware is set, then the
+     * preset options and the configured vmOptions. vmOptions win over
+     * conflicting preset options; derived options are only added when neither
+     * sets them.
+     *
+     * @return the effective JVM options
+     * @throws MojoExecutionException if the JVM preset is unknown or the CDS
+     *                                archive directory cannot be created
+     */
+    protected List<String> resolveVmOptions() throws MojoExecutionException {
+        List<String> options = new ArrayList<>();
+
+        JvmPreset preset = null;
+        if (jvmPreset != null && !jvmPreset.isBlank()) {
+            try {
+                preset = JvmPreset.fromName(jvmPreset);
+            } catch (IllegalArgumentException e) {
+                throw new MojoExecutionException(e.getMessage(), e);
+            }
+        }
+        JavaRuntime runtime = JavaRuntime.of(javaHome != null ? javaHome.toPath() : null);
+
+        if (classDataSharing || (preset != null && preset.isClassDataSharing())) {
+            ClassDataSharingArchive archive = new ClassDataSharingArchive(tomcatCacheDir.toPath(),
+                    tomcatVersion, runtime, classpathAdditions);
+            try {
+                options.addAll(archive.getJvmOptions(getLog()));
+            } catch (IOException e) {
+                throw new MojoExecutionException(
+                        "Failed to prepare AppCDS archive directory: " + e.getMessage(), e);
+            }
+        }
+
+        List<String> configured = new ArrayList<>();
+        if (preset != null) {
+            configured.addAll(preset.merge(vmOptions, runtime.getFeatureVersion()));
+        } else if (vmOptions != null) {
+            configured.addAll(vmOptions);
+        }
+        if (containerAware) {
+            options.addAll(resolveContainerResources().getJvmOptions(configured));
+        }
+        options.addAll(configured);
+        return options;
+    }
+
+    /**
+     * Resolves the HTTP connector attributes of a generated CATALINA_BASE: the
+     * sizing derived from container limits when containerAware is set,
+     * overridden by the connector configuration.
+     *
+     * @return the attribute values by name, empty if none are configured
+     * @throws MojoExecutionException if the connector configuration is invalid
+     */
+    private Map<String, String> resolveConnectorAttributes() throws MojoExecutionException {
+        Map<String, String> attributes = new LinkedHashMap<>();
+        if (containerAware) {
+            attributes.putAll(resolveContainerResources().getConnectorAttributes());
+        }
+        if (connector != null) {
+            try {
+                attributes.putAll(connector.toAttributes());
+            } catch (IllegalArgumentException e) {
+                throw new MojoExecutionException("Invalid connector configuration: " + e.getMessage(), e);
+            }
+        }
+        return attributes;
+    }
+
+    /**
+     * Resolves the attributes of the shared executor of a generated
+     * CATALINA_BASE from the executor configuration and the virtualThreads
+     * flag.
+     *
+     * @return the attribute values by name, empty if no executor is configured
+     * @throws MojoExecutionException if the executor configuration is invalid
+     *                                or virtual threads are not supported
+     */
+    private Map<String, String> resolveExecutorAttributes() throws MojoExecutionException {
+        ExecutorConfiguration resolved = executor;
+        if (virtualThreads != null) {
+            resolved = resolved != null ? resolved : new ExecutorConfiguration();
+            resolved.setVirtualThreads(virtualThreads);
+        }
+        if (resolved == null) {
+            return Map.of();
+        }
+        if (resolved.isVirtualThreads()) {
+            int javaVersion = JavaRuntime.of(javaHome != null ? javaHome.toPath() : null).getFeatureVersion();
+            if (javaVersion < 21) {
+                throw new MojoExecutionException("Invalid executor configuration: virtualThreads requires Java 21"
+                        + " or higher, but Tomcat runs on Java " + javaVersion);
+            }
+            if (resolved.hasPoolSettings()) {
+                getLog().info("Virtual threads are not pooled; ignoring the executor's pool settings");
+            }
+        }
+        try {
+            return resolved.toAttributes(TomcatVersion.fromVersionString(tomcatVersion));
+        } catch (IllegalArgumentException e) {
+            throw new MojoExecutionException("Invalid executor configuration: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Resolves the context.xml settings that distinguish generated
+     * CATALINA_BASE directories.
+     *
+     * @return the settings by name, prefixed with their element; empty if no
+     *         context is configured
+     * @throws MojoExecutionException if the context configuration is invalid
+     */
+    private Map<String, String> resolveContextSettings() throws MojoExecutionException {
+        if (context == null) {
+            return Map.of();
+        }
+        try {
+            context.validate();
+        } catch (IllegalArgumentException e) {
+            throw new MojoExecutionException("Invalid context configuration: " + e.getMessage(), e);
+        }
+        Map<String, String> settings = new LinkedHashMap<>();
+        context.getResourcesAttributes().forEach((name, value) -> settings.put("Resources." + name, value));
+        context.getJarScannerAttributes().forEach((name, value) -> settings.put("JarScanner." + name, value));
+        context.getJarScanFilterAttributes()
+                .forEach((name, value) -> settings.put("JarScanFilter." + name, value));
+        return settings;
+    }
+
+    /**
+     * Finds the webapp's WEB-INF/lib to analyze when analyzeJarScan is set.
+     *
+     * @return the lib directory, or null if no analysis applies
+     */
+    private Path resolveJarScanLibDir() {
+        if (!analyzeJarScan) {
+            return null;
+        }
+        if (catalinaBase != null) {
+            getLog().info("catalinaBase is set; skipping the jar scan analysis");
+            return null;
+        }
+        Path libDir = warSourceDirectory != null ? warSourceDirectory.toPath().resolve("WEB-INF").resolve("lib")
+                : null;
+        if (libDir == null || !Files.isDirectory(libDir)) {
+            getLog().debug("No WEB-INF/lib to analyze for the jar scan");
+            return null;
+        }
+        return libDir;
+    }
+
+    /**
+     * Lists the jars in a lib directory without reading them. Each jar is
+     * listed with its size and modification time, so a rebuilt jar of the same
+     * name, such as a SNAPSHOT, is told apart.
+     *
+     * @param libDir the WEB-INF/lib directory
+     * @return the jars as {@code name:size:modified}, sorted by name
+     * @throws MojoExecutionException if the directory cannot be listed
+     */
+    private static List<String> listJars(Path libDir) throws MojoExecutionException {
+        List<String> jars = new ArrayList<>();
+        try (Stream<Path> files = Files.list(libDir)) {
+            for (Path file : files.filter(file -> file.getFileName().toString().endsWith(".jar")).sorted().toList()) {
+                jars.add(file.getFileName() + ":" + Files.size(file) + ":"
+                        + Files.getLastModifiedTime(file).toMillis());
+            }
+            return jars;
+        } catch (IOException e) {
+            throw new MojoExecutionException("Failed to list the jars in " + libDir + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Analyzes the jars of the webapp's WEB-INF/lib, and logs which jars
+     * Tomcat scans before and after skipping the others.
+     *
+     * @param resolvedHome the CATALINA_HOME whose skip list applies
+     * @param libDir       the WEB-INF/lib directory
+     * @return the jar names to add to the skip list, empty if there are none
+     * @throws MojoExecutionException if a jar cannot be read
+     */
+    private List<String> resolveJarsToSkip(Path resolvedHome, Path libDir) throws MojoExecutionException {
+        try {
+            JarScanAnalyzer analyzer = JarScanAnalyzer.analyze(libDir,
+                    resolvedHome.resolve("conf").resolve("catalina.properties"),
+                    Path.of(project.getBuild().getDirectory()).resolve("tomcat-jar-scan.cache"));
+            analyzer.toText().forEach(getLog()::info);
+            if (!analyzer.getInitializers().isEmpty()) {
+                getLog().warn("ServletContainerInitializers in " + String.join(", ", analyzer.getInitializers())
+                        + " may handle classes of any jar, so jars with classes are scanned. "
+                        + "Add the jars they do not need to the context jarsToSkip.");
+            }
+            return analyzer.getJarsToSkip();
+        } catch (IOException e) {
+            throw new MojoExecutionException("Failed to analyze the jars in " + libDir + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Resolves the HTTPS settings that distinguish generated CATALINA_BASE
+     * directories.
+     *
+     * @return the settings by name, empty if no HTTPS connector is configured
+     * @throws MojoExecutionException if the HTTPS configuration is invalid
+     */
+    private Map<String, String> resolveHttpsAttributes() throws MojoExecutionException {
+        if (https == null) {
+            return Map.of();
+        }
+        try {
+            https.validate(httpPort);
+        } catch (IllegalArgumentException e) {
+            throw new MojoExecutionException("Invalid https configuration: " + e.getMessage(), e);
+        }
+        Map<String, String> attributes = new LinkedHashMap<>();
+        attributes.put("port", String.valueOf(https.getPort()));
+        attributes.put("http2", String.valueOf(https.isHttp2()));
+        if (https.getKeystoreFile() != null) {
+            attributes.put("keystoreFile", https.getKeystoreFile().getAbsolutePath());
+        }
+        attributes.put("keystorePassword", https.getKeystorePassword());
+        return attributes;
+    }
+
+    /**
+     * Generates the self-signed keystore of the HTTPS connector unless a
+     * keystore is configured or a valid one exists.
+     *
+     * @param generatedBase the generated CATALINA_BASE
+     * @throws IOException if keytool fails
+     */
+    private void prepareKeystore(Path generatedBase) throws IOException {
+        if (https.getKeystoreFile() != null) {
+            return;
+        }
+        Path keystore = generatedBase.resolve("conf").resolve(SelfSignedKeystore.FILE_NAME);
+        Path keytoolHome = javaHome != null ? javaHome.toPath() : Path.of(System.getProperty("java.home"));
+        if (SelfSignedKeystore.createIfMissing(keytoolHome, keystore, https.getKeystorePassword(), httpHost)) {
+            getLog().info("Generated self-signed keystore for HTTPS: " + keystore);
+        }
+    }
+
+    /**
+     * Detects the container limits once per execution, applies the memory
+     * reserve and reports the sizing derived from them.
+     *
+     * @return the container limits
+     * @throws MojoExecutionException if the memory reserve is invalid
+     */
+    private ContainerResources resolveContainerResources() throws MojoExecutionException {
+        if (containerResources == null) {
+            ContainerResources detected = ContainerResources.detect();
+            if (containerMemoryReserve != null) {
+                try {
+                    detected = detected.withMemoryReserve(containerMemoryReserve * 1024 * 1024);
+                } catch (IllegalArgumentException e) {
+                    throw new MojoExecutionException("Invalid container configuration: " + e.getMessage(), e);
+                }
+            }
+            containerResources = detected;
+            getLog().info(containerResources.describe());
+        }
+        return containerResources;
+    }
+
+    /**
+     * Resolves the JVM options of a dedicated Tomcat instance: the flight
+     * recording option when enabled, followed by the effective JVM options.
+     * Pooled instances outlive the build and are not recorded.
+     *
+     * @return the JVM options
+     * @throws MojoExecutionException if the options cannot be prepared
+     */
+    private List<String> resolveServerVmOptions() throws MojoExecutionException {
+        List<String> options = new ArrayList<>();
+        if (flightRecording) {
+            options.add(buildFlightRecordingOption());
+        }
+        options.addAll(resolveVmOptions());
+        return options;
+    }
+
+    /**
+     * Builds the JVM option that starts the flight recording.
+     *
+     * <p>
+     * The recording is named {@value TomcatJmxClient#FLIGHT_RECORDING_NAME} so
+     * the stop goal can dump it, and is also written to the recording file
+     * when the JVM exits.
+     * </p>
+     *
+     * @return the {@code -XX:StartFlightRecording} option
+     * @throws MojoExecutionException if the recording directory cannot be
+     *                                created
+     */
+    protected String buildFlightRecordingOption() throws MojoExecutionException {
+        Path file = resolveFlightRecordingFile();
+        try {
+            Files.createDirectories(file.getParent());
+        } catch (IOException e) {
+            throw new MojoExecutionException(
+                    "Failed to create flight recording directory: " + e.getMessage(), e);
+        }
+        return "-XX:StartFlightRecording=name=" + TomcatJmxClient.FLIGHT_RECORDING_NAME
+                + ",settings=" + flightRecordingSettings + ",dumponexit=true,filename=" + file;
+    }
+
+    /**
+     * Resolves the file the flight recording is written to.
+     *
+     * @return the absolute recording file
+     */
+    protected Path resolveFlightRecordingFile() {
+        if (flightRecordingFile != null) {
+            return flightRecordingFile.toPath().toAbsolutePath();
+        }
+        return Path.of(project.getBuild().getDirectory())
+                .resolve("tomcat-" + LoadSnapshot.fileName(contextPath) + ".jfr").toAbsolutePath();
+    }
+
+    /**
+     * Creates the Tomcat instance pool for the configured Tomcat version.
+     * Pooled instances share every server setting except CATALINA_BASE and the
+     * HTTP port, which each instance allocates for itself. An HTTPS connector
+     * would need a port per instance as well and is rejected.
+     *
+     * @return the Tomcat pool
+     * @throws MojoExecutionException if CATALINA_HOME cannot be resolved or
+     *                                the configuration is invalid for a pool
+     */
+    protected TomcatPool createTomcatPool() throws MojoExecutionException {
+        if (https != null) {
+            throw new MojoExecutionException("Invalid pool configuration: https is not supported with poolSize, "
+                    + "as all instances would share the HTTPS port " + https.getPort());
+        }
+        // Validates the context configuration
+        resolveContextSettings();
+        GenerationSettings settings = GenerationSettings.builder()
+                .httpHost(httpHost)
+                .connectorAttributes(resolveConnectorAttributes())
+                .executorAttributes(resolveExecutorAttributes())
+                .context(context)
+                .accessLog(accessLog)
+                .build();
+        ServerConfiguration template = ServerConfiguration.builder()
+                .catalinaHome(resolveCatalinaHome())
+                .httpHost(httpHost)
+                .javaHome(javaHome != null ? javaHome.toPath() : null)
+                .vmOptions(resolveVmOptions())
+                .environmentVariables(environmentVariables)
+                .startupTimeout(startupTimeout)
+                .shutdownTimeout(shutdownTimeout)
+                .classpathAdditions(classpathAdditions)
+                .cracEnabled(crac)
+                .mirrorOutput(mirrorOutput)
+                .build();
+        return new TomcatPool(tomcatCacheDir.toPath().resolve("pool").resolve(tomcatVersion),
+                template, settings, poolSize, getLog());
+    }
+
+    /**
+     * Gets the identifier under which this project leases a pooled instance
+     * or claims an isolated one.
+     *
+     * @return the lease owner identifier
+     */
+    protected String getPoolOwner() {
+        return project.getGroupId() + ":" + project.getArtifactId() + contextPath;
+    }
+
     /**
      * Builds DeployableConfiguration from Mojo parameters.
      *
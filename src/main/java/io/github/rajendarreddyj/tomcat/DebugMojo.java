@@ -84,6 +84,9 @@ public class DebugMojo extends AbstractTomcatMojo {
      * <ol>
      * <li>Validates Java version compatibility with the configured Tomcat
      * version</li>
+     * <li>In isolated mode, claims a CATALINA_BASE and free HTTP and debug
+     * ports of its own</li>
+     * <li>With httpPort 0, allocates a free HTTP port</li>
      * <li>Validates that the HTTP port is available</li>
      * <li>Validates that the debug port is available</li>
      * <li>Builds server configuration with JDWP debug options</li>
@@ -105,10 +108,12 @@ public class DebugMojo extends AbstractTomcatMojo {
         }
 
         validateJavaVersion();
-        validatePortAvailable();
-        validateDebugPortAvailable();
+        claimIsolatedInstance(true);
+        allocateHttpPort();
 
         try {
+            validatePortAvailable();
+            validateDebugPortAvailable();
             ServerConfiguration serverConfig = buildDebugServerConfiguration();
             var deployConfig = buildDeployableConfiguration(serverConfig);
 
@@ -137,6 +142,8 @@ public class DebugMojo extends AbstractTomcatMojo {
             throw new MojoExecutionException("Tomcat debug execution was interrupted", e);
         } catch (Exception e) {
             throw new MojoExecutionException("Failed to run Tomcat in debug mode: " + e.getMessage(), e);
+        } finally {
+            releaseIsolatedInstance();
         }
     }
 
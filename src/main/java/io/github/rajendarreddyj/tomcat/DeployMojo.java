@@ -7,6 +7,7 @@ import org.apache.maven.plugins.annotations.ResolutionScope;
 
 import io.github.rajendarreddyj.tomcat.config.ServerConfiguration;
 import io.github.rajendarreddyj.tomcat.deploy.ExplodedWarDeployer;
+import io.github.rajendarreddyj.tomcat.lifecycle.TomcatDaemon;
 
 /**
  * Deploys or redeploys the webapp to a running Tomcat instance.
@@ -57,7 +58,8 @@ public class DeployMojo extends AbstractTomcatMojo {
      * </p>
      * <ol>
      * <li>Builds server and deployment configurations</li>
-     * <li>Removes any existing deployment at the target location</li>
+     * <li>In daemon mode with a running daemon, syncs only changed files</li>
+     * <li>Otherwise removes any existing deployment at the target location</li>
      * <li>Copies the exploded WAR to Tomcat's webapps directory</li>
      * </ol>
      *
@@ -72,7 +74,11 @@ public class DeployMojo extends AbstractTomcatMojo {
             var deployConfig = buildDeployableConfiguration(serverConfig);
 
             ExplodedWarDeployer deployer = new ExplodedWarDeployer(getLog());
-            deployer.redeploy(deployConfig);
+            if (daemon && TomcatDaemon.forConfiguration(serverConfig).isRunning()) {
+                deployer.sync(deployConfig);
+            } else {
+                deployer.redeploy(deployConfig);
+            }
 
             getLog().info("Webapp deployed to: " + deployConfig.getContextPath());
 
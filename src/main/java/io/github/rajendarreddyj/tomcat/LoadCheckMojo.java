@@ -0,0 +1,144 @@
+package io.github.rajendarreddyj.tomcat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+
+import io.github.rajendarreddyj.tomcat.perf.LoadSnapshot;
+import io.github.rajendarreddyj.tomcat.perf.RegressionCheck;
+
+/**
+ * Compares the latest load run of every context path against its stored
+ * baseline and fails the build on a significant performance regression.
+ *
+ * <p>
+ * The load goal stores each run in {@code loadBaselineDirectory}. This goal
+ * runs in the verify phase, after the stop goal has shut Tomcat down, and
+ * compares the latency distributions with a Mann-Whitney U test and the
+ * throughput against {@code loadTolerance}. The first run of a context path
+ * becomes its baseline. Later runs replace the baseline only when
+ * {@code loadBaselineUpdate} is set and no regression was found.
+ * </p>
+ *
+ * <p>
+ * Keep the baseline directory outside {@code target} (for example under
+ * {@code src/test/perf}) to compare against a committed baseline across
+ * clean builds.
+ * </p>
+ *
+ * <h2>Usage</h2>
+ *
+ * <pre>{@code mvn verify -Dtomcat.load.baseline.dir=src/test/perf -Dtomcat.load.tolerance=5}</pre>
+ *
+ * @author rajendarreddyj
+ * @see LoadMojo for running the load
+ * @since 1.0.1
+ */
+@Mojo(name = "load-check", defaultPhase = LifecyclePhase.VERIFY, threadSafe = true)
+public class LoadCheckMojo extends AbstractTomcatMojo {
+
+    /** File name suffix of the latest run of a context path. */
+    static final String CURRENT_SUFFIX = ".current.properties";
+
+    /** File name suffix of the baseline of a context path. */
+    static final String BASELINE_SUFFIX = ".baseline.properties";
+
+    /**
+     * Executes the load-check goal.
+     *
+     * <p>
+     * This method performs the following steps for every stored run:
+     * </p>
+     * <ol>
+     * <li>Records the run as baseline if there is none yet</li>
+     * <li>Otherwise compares the run with the baseline and logs the
+     * comparison</li>
+     * <li>Replaces the baseline if requested and the run did not regress</li>
+     * </ol>
+     *
+     * @throws MojoExecutionException if a snapshot cannot be read or written
+     * @throws MojoFailureException   if a run regressed against its baseline
+     */
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        if (skip) {
+            getLog().info("Skipping Tomcat execution (tomcat.skip=true)");
+            return;
+        }
+
+        Path directory = loadBaselineDirectory != null ? loadBaselineDirectory.toPath() : null;
+        if (directory == null || !Files.isDirectory(directory)) {
+            getLog().info("No load runs to check in " + directory);
+            return;
+        }
+
+        List<String> regressions = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> runs = files.filter(f -> f.getFileName().toString().endsWith(CURRENT_SUFFIX))
+                    .sorted()
+                    .toList();
+            if (runs.isEmpty()) {
+                getLog().info("No load runs to check in " + directory);
+                return;
+            }
+            for (Path run : runs) {
+                String name = run.getFileName().toString();
+                Path baselineFile = run.resolveSibling(
+                        name.substring(0, name.length() - CURRENT_SUFFIX.length()) + BASELINE_SUFFIX);
+                if (check(run, baselineFile)) {
+                    regressions.add(LoadSnapshot.read(run).getContextPath());
+                }
+            }
+        } catch (IOException e) {
+            throw new MojoExecutionException("Failed to check load runs: " + e.getMessage(), e);
+        }
+
+        if (!regressions.isEmpty()) {
+            throw new MojoFailureException("Performance regressed against the baseline for "
+                    + String.join(", ", regressions));
+        }
+    }
+
+    /**
+     * Checks one run against its baseline.
+     *
+     * @param run          the run file
+     * @param baselineFile the baseline file
+     * @return true if the run regressed
+     * @throws IOException if a snapshot cannot be read or written
+     */
+    private boolean check(Path run, Path baselineFile) throws IOException {
+        LoadSnapshot current = LoadSnapshot.read(run);
+        if (!Files.exists(baselineFile)) {
+            Files.copy(run, baselineFile);
+            getLog().info("Recorded new load baseline for " + current.getContextPath() + " in " + baselineFile);
+            return false;
+        }
+
+        LoadSnapshot baseline = LoadSnapshot.read(baselineFile);
+        RegressionCheck check = new RegressionCheck(baseline, current, loadSignificance, loadTolerance);
+        getLog().info("Load of " + current.getContextPath() + " against baseline of " + baseline.getTimestamp() + ":");
+        check.describe().forEach(line -> getLog().info("  " + line));
+
+        if (check.isRegression()) {
+            getLog().error("Performance regression for " + current.getContextPath()
+                    + (check.isLatencyRegression() ? " (latency)" : "")
+                    + (check.isThroughputRegression() ? " (throughput)" : ""));
+            return true;
+        }
+        if (loadBaselineUpdate) {
+            Files.copy(run, baselineFile, StandardCopyOption.REPLACE_EXISTING);
+            getLog().info("Updated load baseline for " + current.getContextPath());
+        }
+        return false;
+    }
+}
@@ -0,0 +1,165 @@
+package io.github.rajendarreddyj.tomcat;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+
+import io.github.rajendarreddyj.tomcat.lifecycle.TomcatState;
+import io.github.rajendarreddyj.tomcat.perf.LoadGenerator;
+import io.github.rajendarreddyj.tomcat.perf.LoadResult;
+import io.github.rajendarreddyj.tomcat.perf.LoadSnapshot;
+
+/**
+ * Puts HTTP load on the webapp of a running Tomcat and reports throughput and
+ * latency percentiles.
+ *
+ * <p>
+ * Intended as a smoke performance test after the start goal. Concurrent
+ * clients on virtual threads send GET requests to the configured paths
+ * relative to the context path, for a duration or a number of requests. The
+ * result is logged and written as JSON to {@code loadResultFile} for trend
+ * tracking. Optional thresholds fail the build when latency, throughput or
+ * error rate regress.
+ * </p>
+ *
+ * <p>
+ * The run is also stored as a snapshot in {@code loadBaselineDirectory}, which
+ * the load-check goal compares with the baseline in the verify phase.
+ * </p>
+ *
+ * <p>
+ * The target port is taken from the {@code tomcat.http.port} project property
+ * set by a pooled start, then from the state file written by the start goal,
+ * then from {@code httpPort}.
+ * </p>
+ *
+ * <h2>Usage</h2>
+ *
+ * <pre>{@code mvn tomcat:load -Dtomcat.load.concurrency=20 -Dtomcat.load.maxP99=250}</pre>
+ *
+ * @author rajendarreddyj
+ * @see StartMojo for starting Tomcat in background mode
+ * @since 1.0.1
+ */
+@Mojo(name = "load", defaultPhase = LifecyclePhase.INTEGRATION_TEST, threadSafe = true)
+public class LoadMojo extends AbstractTomcatMojo {
+
+    /**
+     * Executes the load goal.
+     *
+     * <p>
+     * This method performs the following steps:
+     * </p>
+     * <ol>
+     * <li>Resolves the address of the running Tomcat</li>
+     * <li>Sends load to the configured paths</li>
+     * <li>Logs the throughput and latency percentiles</li>
+     * <li>Writes the JSON result file and the snapshot for load-check</li>
+     * <li>Fails the build if a configured threshold is exceeded</li>
+     * </ol>
+     *
+     * @throws MojoExecutionException if the load cannot be sent or no request
+     *                                received a response
+     * @throws MojoFailureException   if a threshold is exceeded
+     */
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        if (skip) {
+            getLog().info("Skipping Tomcat execution (tomcat.skip=true)");
+            return;
+        }
+
+        LoadResult result;
+        try {
+            URI baseUri = resolveBaseUri();
+            LoadGenerator generator = new LoadGenerator(baseUri, loadPaths != null ? loadPaths : List.of(),
+                    loadConcurrency, Duration.ofSeconds(loadDuration), loadRequests, getLog());
+            result = generator.run();
+
+            result.toText().forEach(getLog()::info);
+            if (loadResultFile != null) {
+                Files.createDirectories(loadResultFile.toPath().toAbsolutePath().getParent());
+                Files.writeString(loadResultFile.toPath(), result.toJson());
+                getLog().info("Load result written to " + loadResultFile);
+            }
+            if (loadBaselineDirectory != null && result.getResponses() > 0) {
+                LoadSnapshot.of(contextPath, result).write(loadBaselineDirectory.toPath()
+                        .resolve(LoadSnapshot.fileName(contextPath) + LoadCheckMojo.CURRENT_SUFFIX));
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            throw new MojoExecutionException("Failed to run load: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Load run interrupted", e);
+        }
+
+        if (result.getRequests() > 0 && result.getResponses() == 0) {
+            throw new MojoExecutionException("No request received a response. Is Tomcat running?");
+        }
+        checkThresholds(result);
+    }
+
+    /**
+     * Resolves the base URI of the webapp, ending with the context path.
+     *
+     * @return the base URI
+     * @throws MojoExecutionException if the configuration cannot be resolved
+     * @throws IOException            if the state file cannot be read
+     */
+    private URI resolveBaseUri() throws MojoExecutionException, IOException {
+        String host = httpHost;
+        int port = httpPort;
+
+        String pooledPort = project.getProperties().getProperty(HTTP_PORT_PROPERTY);
+        if (pooledPort != null) {
+            port = Integer.parseInt(pooledPort);
+        } else {
+            Optional<TomcatState> state = TomcatState.read(locateServerConfiguration().getCatalinaBase());
+            if (state.isPresent() && state.get().getHttpPort() > 0) {
+                host = state.get().getHttpHost();
+                port = state.get().getHttpPort();
+            }
+        }
+
+        if (host == null || host.equals("0.0.0.0") || host.equals("::") || host.equals("*")) {
+            host = "localhost";
+        }
+        String path = contextPath == null || contextPath.equals("/") ? "" : contextPath;
+        return URI.create("http://" + (host.contains(":") ? "[" + host + "]" : host) + ":" + port + path);
+    }
+
+    /**
+     * Fails the build if a configured threshold is exceeded.
+     *
+     * @param result the load result
+     * @throws MojoFailureException if a threshold is exceeded
+     */
+    private void checkThresholds(LoadResult result) throws MojoFailureException {
+        List<String> violations = new ArrayList<>();
+        if (loadMaxP99 != null && result.getLatencyMs(99) > loadMaxP99) {
+            violations.add(String.format(Locale.ROOT, "p99 latency %.3f ms exceeds %.3f ms",
+                    result.getLatencyMs(99), loadMaxP99));
+        }
+        if (loadMinThroughput != null && result.getThroughput() < loadMinThroughput) {
+            violations.add(String.format(Locale.ROOT, "throughput %.1f req/s is below %.1f req/s",
+                    result.getThroughput(), loadMinThroughput));
+        }
+        if (loadMaxErrorRate != null && result.getErrorRate() > loadMaxErrorRate) {
+            violations.add(String.format(Locale.ROOT, "error rate %.2f%% exceeds %.2f%%",
+                    result.getErrorRate(), loadMaxErrorRate));
+        }
+        if (!violations.isEmpty()) {
+            throw new MojoFailureException("Load thresholds exceeded: " + String.join("; ", violations));
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package io.github.rajendarreddyj.tomcat;
 
+import java.time.Duration;
+
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
@@ -10,6 +12,7 @@ import io.github.rajendarreddyj.tomcat.config.ServerConfiguration;
 import io.github.rajendarreddyj.tomcat.deploy.ExplodedWarDeployer;
 import io.github.rajendarreddyj.tomcat.deploy.HotDeployWatcher;
 import io.github.rajendarreddyj.tomcat.lifecycle.TomcatLauncher;
+import io.github.rajendarreddyj.tomcat.perf.ProfilerControl;
 
 /**
  * Runs Apache Tomcat in foreground mode with the project's webapp deployed.
@@ -22,6 +25,13 @@ import io.github.rajendarreddyj.tomcat.lifecycle.TomcatLauncher;
  * redeployment.
  * </p>
  *
+ * <p>
+ * With {@code profiler} enabled, typing {@code p} and Enter or creating the
+ * file {@code profiling} in CATALINA_BASE starts a CPU profile of Tomcat, and
+ * doing it again writes it to {@code target/} as a collapsed stack file and an
+ * HTML flame graph.
+ * </p>
+ *
  * <h2>Usage</h2>
  *
  * <pre>{@code mvn tomcat:run}</pre>
@@ -57,10 +67,14 @@ public class RunMojo extends AbstractTomcatMojo {
      * <ol>
      * <li>Validates Java version compatibility with the configured Tomcat
      * version</li>
+     * <li>In isolated mode, claims a CATALINA_BASE and free ports of its
+     * own</li>
+     * <li>With httpPort 0, allocates a free HTTP port</li>
      * <li>Validates that the configured HTTP port is available</li>
      * <li>Builds server and deployment configurations</li>
      * <li>Deploys the webapp to Tomcat's webapps directory</li>
      * <li>Starts the hot deploy watcher if auto-publish is enabled</li>
+     * <li>Starts the profiler control if the profiler is enabled</li>
      * <li>Starts Tomcat in foreground mode and blocks until shutdown</li>
      * </ol>
      *
@@ -76,9 +90,11 @@ public class RunMojo extends AbstractTomcatMojo {
         }
 
         validateJavaVersion();
-        validatePortAvailable();
+        claimIsolatedInstance(false);
+        allocateHttpPort();
 
         try {
+            validatePortAvailable();
             ServerConfiguration serverConfig = buildServerConfiguration();
             var deployConfig = buildDeployableConfiguration(serverConfig);
 
@@ -89,11 +105,15 @@ public class RunMojo extends AbstractTomcatMojo {
 
             // Start hot deploy watcher if enabled
 
-            try (HotDeployWatcher watcher = new HotDeployWatcher(deployConfig, deployer, getLog())) {
+            TomcatLauncher launcher = new TomcatLauncher(serverConfig, getLog());
+            try (HotDeployWatcher watcher = new HotDeployWatcher(deployConfig, deployer, getLog());
+                    ProfilerControl profilerControl = createProfilerControl(serverConfig, launcher)) {
                 watcher.start();
+                if (profilerControl != null) {
+                    profilerControl.start(System.in);
+                }
 
                 // Start Tomcat
-                TomcatLauncher launcher = new TomcatLauncher(serverConfig, getLog());
                 getLog().info("Starting Tomcat " + tomcatVersion + " on http://" +
                         httpHost + ":" + httpPort + contextPath);
 
@@ -103,6 +123,24 @@ public class RunMojo extends AbstractTomcatMojo {
 
         } catch (Exception e) {
             throw new MojoExecutionException("Failed to run Tomcat: " + e.getMessage(), e);
+        } finally {
+            releaseIsolatedInstance();
+        }
+    }
+
+    /**
+     * Creates the control of the on-demand profiler, if enabled.
+     *
+     * @param serverConfig the server configuration holding CATALINA_BASE
+     * @param launcher     the launcher providing the Tomcat JVM PID
+     * @return the profiler control, or null if the profiler is disabled
+     */
+    private ProfilerControl createProfilerControl(ServerConfiguration serverConfig, TomcatLauncher launcher) {
+        if (!profiler) {
+            return null;
         }
+        return new ProfilerControl(serverConfig.getCatalinaBase().resolve(ProfilerControl.CONTROL_FILE),
+                launcher::getTomcatPid, profilerOutputDirectory.toPath(), Duration.ofMillis(profilerInterval),
+                getLog());
     }
 }
@@ -1,8 +1,11 @@
 package io.github.rajendarreddyj.tomcat;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
@@ -12,7 +15,11 @@ import org.apache.maven.plugins.annotations.ResolutionScope;
 
 import io.github.rajendarreddyj.tomcat.config.ServerConfiguration;
 import io.github.rajendarreddyj.tomcat.deploy.ExplodedWarDeployer;
+import io.github.rajendarreddyj.tomcat.lifecycle.GracefulShutdown;
+import io.github.rajendarreddyj.tomcat.lifecycle.TomcatDaemon;
 import io.github.rajendarreddyj.tomcat.lifecycle.TomcatLauncher;
+import io.github.rajendarreddyj.tomcat.lifecycle.TomcatPool;
+import io.github.rajendarreddyj.tomcat.lifecycle.TomcatState;
 
 /**
  * Starts Apache Tomcat in background mode with the project's webapp deployed.
@@ -20,8 +27,8 @@ import io.github.rajendarreddyj.tomcat.lifecycle.TomcatLauncher;
  * <p>
  * This goal starts Tomcat as a background process and immediately returns
  * control
- * to the Maven build. The process ID is stored in a file within CATALINA_BASE
- * for
+ * to the Maven build. The process ID, ports and startup timestamps are stored
+ * in a state file within CATALINA_BASE for
  * later use by the {@link StopMojo} goal.
  * </p>
  *
@@ -67,6 +74,12 @@ import io.github.rajendarreddyj.tomcat.lifecycle.TomcatLauncher;
 @Mojo(name = "start", defaultPhase = LifecyclePhase.PRE_INTEGRATION_TEST, requiresDependencyResolution = ResolutionScope.RUNTIME, threadSafe = true)
 public class StartMojo extends AbstractTomcatMojo {
 
+    /** Port of a JDWP agent option, with or without a host in the address. */
+    private static final Pattern JDWP_PORT = Pattern.compile("^-agentlib:jdwp=.*address=(?:[^,]*:)?(\\d+)(?:,.*)?$");
+
+    /** Number of starts on allocated ports before a bind failure fails the goal. */
+    static final int PORT_BIND_ATTEMPTS = 3;
+
     /**
      * Executes the start goal.
      *
@@ -76,11 +89,19 @@ public class StartMojo extends AbstractTomcatMojo {
      * <ol>
      * <li>Validates Java version compatibility with the configured Tomcat
      * version</li>
+     * <li>If a pool is configured, leases a pooled instance and deploys into
+     * it</li>
+     * <li>In daemon mode, syncs the webapp into a running daemon for the same
+     * CATALINA_BASE</li>
+     * <li>In isolated mode, claims a CATALINA_BASE and free ports of its
+     * own</li>
+     * <li>With httpPort 0, allocates a free HTTP port</li>
      * <li>Validates that the configured HTTP port is available</li>
      * <li>Builds server and deployment configurations</li>
      * <li>Deploys the webapp to Tomcat's webapps directory</li>
-     * <li>Starts Tomcat in background mode</li>
-     * <li>Stores the process ID for the stop goal to use</li>
+     * <li>Starts Tomcat in background mode; if Tomcat cannot bind an
+     * allocated port, stops it and retries on another free port</li>
+     * <li>Stores the process state for the stop goal to use</li>
      * </ol>
      *
      * @throws MojoExecutionException if an error occurs during execution
@@ -95,49 +116,196 @@ public class StartMojo extends AbstractTomcatMojo {
         }
 
         validateJavaVersion();
-        validatePortAvailable();
+        if (poolSize > 0 && startFromPool()) {
+            return;
+        }
+        allocateHttpPort();
+        // A daemon rules out isolation, so its configuration is also the one to launch with
+        ServerConfiguration serverConfig = daemon ? buildServerConfiguration() : null;
+        if (daemon && reuseDaemon(serverConfig)) {
+            return;
+        }
+        claimIsolatedInstance(false);
 
         try {
-            ServerConfiguration serverConfig = buildServerConfiguration();
-            var deployConfig = buildDeployableConfiguration(serverConfig);
+            validatePortAvailable();
+            TomcatLauncher launcher;
+            Instant launchedAt;
+            for (int attempt = 1;; attempt++) {
+                if (serverConfig == null || attempt > 1) {
+                    serverConfig = buildServerConfiguration();
+                }
+                var deployConfig = buildDeployableConfiguration(serverConfig);
 
-            // Deploy webapp
-            getLog().info("Deploying webapp to: " + deployConfig.getDeployDir());
-            ExplodedWarDeployer deployer = new ExplodedWarDeployer(getLog());
-            deployer.deploy(deployConfig);
+                // Deploy webapp
+                getLog().info("Deploying webapp to: " + deployConfig.getDeployDir());
+                ExplodedWarDeployer deployer = new ExplodedWarDeployer(getLog());
+                deployer.deploy(deployConfig);
 
-            // Start Tomcat in background
-            TomcatLauncher launcher = new TomcatLauncher(serverConfig, getLog());
-            launcher.start();
+                // Start Tomcat in background
+                launcher = new TomcatLauncher(serverConfig, getLog());
+                launchedAt = Instant.now();
+                try {
+                    launcher.start();
+                    break;
+                } catch (TomcatLauncher.PortInUseException e) {
+                    // Another process took the allocated port before Tomcat bound it
+                    new GracefulShutdown(0, shutdownTimeout, getLog()).stop(launcher.getTomcatPid());
+                    if (attempt >= PORT_BIND_ATTEMPTS || !reallocatePort(e.getPort())) {
+                        throw e;
+                    }
+                    getLog().warn(e.getMessage() + ". Retrying on free HTTP port " + httpPort
+                            + (https != null ? " and HTTPS port " + https.getPort() : ""));
+                }
+            }
 
-            // Store PID for stop goal
-            storePid(serverConfig.getCatalinaBase(), launcher.getProcess());
+            // Store state for stop and status goals
+            storeState(serverConfig, launcher.getTomcatPid(), launchedAt);
+            if (daemon) {
+                TomcatDaemon.forConfiguration(serverConfig).record(launcher.getTomcatPid());
+            }
 
             getLog().info("Tomcat started in background on http://" +
                     httpHost + ":" + httpPort + contextPath);
 
         } catch (Exception e) {
+            releaseIsolatedInstance();
             throw new MojoExecutionException("Failed to start Tomcat: " + e.getMessage(), e);
         }
     }
 
     /**
-     * Stores the process ID to a file for the stop goal to use.
+     * Deploys the webapp into a leased instance of the Tomcat pool.
+     *
+     * <p>
+     * Starts any pool instances that are not running, leases a free one, copies
+     * the webapp into it and waits until Tomcat has deployed the context. The
+     * instance's HTTP port is published as the {@code tomcat.http.port} project
+     * property for integration tests.
+     * </p>
+     *
+     * @return true if the webapp runs in a pooled instance, false if every
+     *         instance is in use
+     * @throws MojoExecutionException if the pool or the deployment fails
+     */
+    private boolean startFromPool() throws MojoExecutionException {
+        try {
+            TomcatPool pool = createTomcatPool();
+            pool.ensureStarted();
+
+            Optional<TomcatPool.Instance> leased = pool.lease(getPoolOwner());
+            if (leased.isEmpty()) {
+                getLog().warn("All " + poolSize + " pooled Tomcat instances are in use. "
+                        + "Starting a dedicated instance.");
+                return false;
+            }
+
+            TomcatPool.Instance instance = leased.get();
+            try {
+                ServerConfiguration instanceConfig = pool.configurationFor(instance);
+                var deployConfig = buildDeployableConfiguration(instanceConfig);
+                new ExplodedWarDeployer(getLog()).deploy(deployConfig);
+                pool.awaitContext(instance, contextPath, startupTimeout);
+            } catch (IOException | MojoExecutionException e) {
+                pool.release(instance);
+                throw e;
+            }
+
+            project.getProperties().setProperty(HTTP_PORT_PROPERTY, String.valueOf(instance.getHttpPort()));
+            getLog().info("Tomcat (pooled, PID: " + instance.getPid() + ") serving on http://" +
+                    httpHost + ":" + instance.getHttpPort() + contextPath);
+            return true;
+        } catch (IOException e) {
+            throw new MojoExecutionException("Failed to start Tomcat from pool: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Syncs the webapp into a running Tomcat daemon for this CATALINA_BASE.
      *
      * <p>
-     * The PID is written to a file named {@code tomcat.pid} in the CATALINA_BASE
-     * directory. This file is read by the {@link StopMojo} to gracefully terminate
-     * the Tomcat process.
+     * A daemon started with a different configuration is stopped so that a
+     * fresh one is started with the current settings.
      * </p>
      *
-     * @param catalinaBase the CATALINA_BASE directory where the PID file will be
-     *                     stored
-     * @param process      the Tomcat process whose PID should be stored
-     * @throws IOException if the PID file cannot be written
+     * @param serverConfig the server configuration to start Tomcat with
+     * @return true if a running daemon was reused
+     * @throws MojoExecutionException if the daemon cannot be synced or stopped
      */
-    private void storePid(Path catalinaBase, Process process) throws IOException {
-        Path pidFile = catalinaBase.resolve("tomcat.pid");
-        Files.writeString(pidFile, String.valueOf(process.pid()));
-        getLog().debug("Stored PID " + process.pid() + " in " + pidFile);
+    private boolean reuseDaemon(ServerConfiguration serverConfig) throws MojoExecutionException {
+        try {
+            TomcatDaemon tomcatDaemon = TomcatDaemon.forConfiguration(serverConfig);
+            if (!tomcatDaemon.isRunning()) {
+                return false;
+            }
+
+            long pid = tomcatDaemon.getPid().orElseThrow();
+            if (!tomcatDaemon.matchesConfiguration()) {
+                getLog().info("Tomcat daemon (PID: " + pid + ") was started with a different configuration. "
+                        + "Restarting it.");
+                new GracefulShutdown(drainTimeout, shutdownTimeout, getLog()).stop(pid);
+                tomcatDaemon.clear();
+                return false;
+            }
+
+            var deployConfig = buildDeployableConfiguration(serverConfig);
+            new ExplodedWarDeployer(getLog()).sync(deployConfig);
+            getLog().info("Reusing Tomcat daemon (PID: " + pid + ") on http://" +
+                    httpHost + ":" + httpPort + contextPath);
+            return true;
+        } catch (IOException e) {
+            throw new MojoExecutionException("Failed to reuse Tomcat daemon: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Stores the state of the started Tomcat for the stop and status goals.
+     *
+     * <p>
+     * The state is written atomically to {@code tomcat-state.properties} in the
+     * CATALINA_BASE directory. It records the PID of the Tomcat JVM as reported
+     * through CATALINA_PID, not of the catalina script that launched it,
+     * together with the process start instant so that a reused PID is never
+     * stopped by mistake, and the HTTPS port and the port of a JDWP agent in
+     * the JVM options.
+     * </p>
+     *
+     * @param serverConfig the server configuration Tomcat was started with
+     * @param pid          the Tomcat JVM PID
+     * @param launchedAt   the instant Tomcat was launched
+     * @throws IOException if the state file cannot be written
+     */
+    private void storeState(ServerConfiguration serverConfig, long pid, Instant launchedAt) throws IOException {
+        TomcatState.Builder state = TomcatState.builder()
+                .pid(pid)
+                .httpHost(serverConfig.getHttpHost())
+                .httpPort(serverConfig.getHttpPort())
+                .httpsPort(serverConfig.getHttpsPort())
+                .debugPort(findDebugPort(serverConfig.getVmOptions()))
+                .tomcatVersion(tomcatVersion)
+                .contextPaths(contextPath != null ? List.of(contextPath) : List.of())
+                .vmOptions(serverConfig.getVmOptions())
+                .launchedAt(launchedAt)
+                .readyAt(Instant.now());
+        ProcessHandle.of(pid).ifPresent(state::process);
+        state.build().write(serverConfig.getCatalinaBase());
+        getLog().debug("Stored state of Tomcat PID " + pid + " in " + serverConfig.getCatalinaBase()
+                .resolve(TomcatState.STATE_FILE));
+    }
+
+    /**
+     * Finds the port of a JDWP agent in the JVM options.
+     *
+     * @param vmOptions the JVM options
+     * @return the debug port, or 0 if no JDWP agent listens on a port
+     */
+    static int findDebugPort(List<String> vmOptions) {
+        for (String option : vmOptions) {
+            Matcher matcher = JDWP_PORT.matcher(option);
+            if (matcher.matches()) {
+                return Integer.parseInt(matcher.group(1));
+            }
+        }
+        return 0;
     }
 }
@@ -0,0 +1,113 @@
+package io.github.rajendarreddyj.tomcat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Optional;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+
+import io.github.rajendarreddyj.tomcat.config.ServerConfiguration;
+import io.github.rajendarreddyj.tomcat.lifecycle.TomcatJmxClient;
+import io.github.rajendarreddyj.tomcat.lifecycle.TomcatState;
+import io.github.rajendarreddyj.tomcat.lifecycle.TomcatStatus;
+
+/**
+ * Reports the health and metrics of a Tomcat instance started by the start
+ * goal.
+ *
+ * <p>
+ * The instance is found through the state file in CATALINA_BASE. The goal
+ * attaches to the Tomcat JVM over JMX and reports uptime, heap and non-heap
+ * memory, garbage collection time, thread counts, and the busy and maximum
+ * threads, request count, error count and processing time of every connector
+ * and context.
+ * </p>
+ *
+ * <p>
+ * The report is printed as text or JSON and always written as JSON to
+ * {@code statusFile}, so build pipelines can gate on it.
+ * </p>
+ *
+ * <h2>Usage</h2>
+ *
+ * <pre>{@code mvn tomcat:status -Dtomcat.status.format=json}</pre>
+ *
+ * @author rajendarreddyj
+ * @see StartMojo for starting Tomcat in background mode
+ * @since 1.0.1
+ */
+@Mojo(name = "status", threadSafe = true)
+public class StatusMojo extends AbstractTomcatMojo {
+
+    /**
+     * Executes the status goal.
+     *
+     * <p>
+     * This method performs the following steps:
+     * </p>
+     * <ol>
+     * <li>Reads the state file in CATALINA_BASE</li>
+     * <li>If the recorded JVM is alive, attaches to it and collects the
+     * metrics</li>
+     * <li>Prints the report in the configured format</li>
+     * <li>Writes the JSON report to the status file</li>
+     * </ol>
+     *
+     * @throws MojoExecutionException if an error occurs during execution
+     * @throws MojoFailureException   if execution fails due to invalid
+     *                                configuration
+     */
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        if (skip) {
+            getLog().info("Skipping Tomcat execution (tomcat.skip=true)");
+            return;
+        }
+        if (!"text".equals(statusFormat) && !"json".equals(statusFormat)) {
+            throw new MojoFailureException("Unsupported status format: " + statusFormat + " (use text or json)");
+        }
+
+        try {
+            ServerConfiguration serverConfig = locateServerConfiguration();
+            TomcatStatus status = collectStatus(TomcatState.read(serverConfig.getCatalinaBase()).orElse(null));
+
+            if ("json".equals(statusFormat)) {
+                status.toJson().lines().forEach(getLog()::info);
+            } else {
+                status.toText().forEach(getLog()::info);
+            }
+
+            if (statusFile != null) {
+                Files.createDirectories(statusFile.toPath().toAbsolutePath().getParent());
+                Files.writeString(statusFile.toPath(), status.toJson());
+                getLog().debug("Wrote status to " + statusFile);
+            }
+        } catch (IOException e) {
+            throw new MojoExecutionException("Failed to read Tomcat status: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Collects the status of the recorded Tomcat JVM.
+     *
+     * @param state the recorded state, or null if there is none
+     * @return the status
+     * @throws IOException if the metrics cannot be read
+     */
+    private TomcatStatus collectStatus(TomcatState state) throws IOException {
+        if (state == null || state.findProcess().isEmpty()) {
+            return TomcatStatus.notRunning(state);
+        }
+        Optional<TomcatJmxClient> client = TomcatJmxClient.attach(state.getPid(), getLog());
+        if (client.isEmpty()) {
+            getLog().warn("Cannot attach to Tomcat JVM (PID: " + state.getPid()
+                    + "). Run Maven as the same user as Tomcat to see metrics.");
+            return TomcatStatus.withoutMetrics(state);
+        }
+        try (TomcatJmxClient jmx = client.get()) {
+            return TomcatStatus.collect(state, jmx.getConnection());
+        }
+    }
+}
@@ -3,6 +3,10 @@ package io.github.rajendarreddyj.tomcat;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.maven.plugin.MojoExecutionException;
@@ -10,7 +14,17 @@ import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 
+import io.github.rajendarreddyj.tomcat.config.CatalinaBaseGenerator;
 import io.github.rajendarreddyj.tomcat.config.ServerConfiguration;
+import io.github.rajendarreddyj.tomcat.deploy.ExplodedWarDeployer;
+import io.github.rajendarreddyj.tomcat.lifecycle.GracefulShutdown;
+import io.github.rajendarreddyj.tomcat.lifecycle.TomcatDaemon;
+import io.github.rajendarreddyj.tomcat.lifecycle.TomcatJmxClient;
+import io.github.rajendarreddyj.tomcat.lifecycle.TomcatLauncher;
+import io.github.rajendarreddyj.tomcat.lifecycle.TomcatPool;
+import io.github.rajendarreddyj.tomcat.lifecycle.TomcatState;
+import io.github.rajendarreddyj.tomcat.perf.AccessLogSummary;
+import io.github.rajendarreddyj.tomcat.perf.JfrSummary;
 
 /**
  * Stops a running Apache Tomcat instance started by the start goal.
@@ -19,12 +33,20 @@ import io.github.rajendarreddyj.tomcat.config.ServerConfiguration;
  * This goal attempts to stop Tomcat gracefully using the following strategy:
  * </p>
  * <ol>
- * <li>If a PID file exists in CATALINA_BASE, terminates the process
- * directly</li>
- * <li>If no PID file is found, attempts to stop via the catalina script</li>
+ * <li>If a state file exists in CATALINA_BASE, pauses the connectors over JMX,
+ * drains in-flight requests and terminates the process</li>
+ * <li>If no state file is found, attempts to stop via the catalina script</li>
  * <li>If graceful shutdown times out, forcibly terminates the process</li>
  * </ol>
  *
+ * <p>
+ * If Tomcat was started with {@code flightRecording}, the recording is dumped
+ * before stopping and a summary of hot methods, allocations, GC pauses and lock
+ * contention is logged. With {@code accessLog}, the access log is summarized
+ * into a table of request counts and latency percentiles per URL once Tomcat
+ * has flushed it on shutdown.
+ * </p>
+ *
  * <h2>Usage</h2>
  *
  * <pre>{@code mvn tomcat:stop}</pre>
@@ -51,11 +73,23 @@ public class StopMojo extends AbstractTomcatMojo {
      * This method performs the following steps:
      * </p>
      * <ol>
+     * <li>Checks the summary options</li>
+     * <li>If a pool is configured, undeploys the webapp from the leased pooled
+     * instance and returns it to the pool</li>
+     * <li>In isolated mode, returns unless this build claimed an isolated
+     * CATALINA_BASE</li>
      * <li>Builds the server configuration to locate CATALINA_BASE</li>
-     * <li>Checks for a PID file in CATALINA_BASE</li>
-     * <li>If PID file exists, terminates the process by PID</li>
-     * <li>If no PID file exists, attempts to stop via catalina script</li>
-     * <li>Cleans up the PID file after successful stop</li>
+     * <li>In daemon mode, leaves the daemon running unless daemonShutdown is
+     * set, in which case the daemon is stopped and its state and PID files
+     * removed</li>
+     * <li>Reads the state file in CATALINA_BASE, or a legacy
+     * {@code tomcat.pid} file</li>
+     * <li>If a state exists, terminates the process tree by PID unless the
+     * PID has been reused by another process</li>
+     * <li>Otherwise uses the CATALINA_PID file written by catalina.sh</li>
+     * <li>If neither exists, attempts to stop via catalina script</li>
+     * <li>Cleans up the state and PID files after successful stop</li>
+     * <li>Releases the isolated CATALINA_BASE for other builds</li>
      * </ol>
      *
      * @throws MojoExecutionException if an error occurs during execution
@@ -64,16 +98,37 @@ public class StopMojo extends AbstractTomcatMojo {
      */
     @Override
     public void execute() throws MojoExecutionException, MojoFailureException {
+        validateSummaryOptions();
         try {
-            ServerConfiguration serverConfig = buildServerConfiguration();
-            Path pidFile = serverConfig.getCatalinaBase().resolve("tomcat.pid");
+            if ((poolSize > 0 || poolShutdown) && stopPooled()) {
+                return;
+            }
+
+            if (isIsolationEnabled() && findIsolatedInstance().isEmpty()) {
+                getLog().warn("No isolated Tomcat was started by this build; nothing to stop");
+                return;
+            }
 
-            if (Files.exists(pidFile)) {
-                long pid = Long.parseLong(Files.readString(pidFile).trim());
-                stopProcess(pid);
-                Files.deleteIfExists(pidFile);
+            ServerConfiguration serverConfig = locateServerConfiguration();
+            if (daemon && stopDaemon(serverConfig)) {
+                return;
+            }
+
+            Path catalinaBase = serverConfig.getCatalinaBase();
+            Path catalinaPidFile = catalinaBase.resolve(TomcatLauncher.CATALINA_PID_FILE);
+            Optional<TomcatState> state = TomcatState.read(catalinaBase);
+
+            if (state.isPresent()) {
+                stopRecorded(state.get(), serverConfig);
+                TomcatState.delete(catalinaBase);
+                Files.deleteIfExists(catalinaPidFile);
+            } else if (Files.exists(catalinaPidFile)) {
+                getLog().info("No state file found in " + catalinaBase + ". Using " + catalinaPidFile);
+                long pid = Long.parseLong(Files.readString(catalinaPidFile).trim());
+                stopProcess(pid, serverConfig, Optional.empty());
+                Files.deleteIfExists(catalinaPidFile);
             } else {
-                getLog().warn("No PID file found at " + pidFile +
+                getLog().warn("No state file found in " + catalinaBase +
                         ". Attempting to stop via script...");
                 stopViaScript(serverConfig);
             }
@@ -82,33 +137,251 @@ public class StopMojo extends AbstractTomcatMojo {
 
         } catch (Exception e) {
             throw new MojoExecutionException("Failed to stop Tomcat: " + e.getMessage(), e);
+        } finally {
+            releaseIsolatedInstance();
         }
     }
 
+    /**
+     * Checks the options of the summaries logged after the stop, so that an
+     * invalid value fails the goal before Tomcat is stopped.
+     *
+     * @throws MojoExecutionException if a summary option is invalid
+     */
+    private void validateSummaryOptions() throws MojoExecutionException {
+        if (flightRecording && flightRecordingTop < 1) {
+            throw new MojoExecutionException("tomcat.jfr.top must be at least 1: " + flightRecordingTop);
+        }
+        if (accessLog && accessLogTop < 1) {
+            throw new MojoExecutionException("tomcat.accessLog.top must be at least 1: " + accessLogTop);
+        }
+    }
+
+    /**
+     * Returns this project's pooled instance to the pool.
+     *
+     * <p>
+     * The webapp is undeployed and the lease released; the instance keeps
+     * running for the next build. With {@code poolShutdown} every pooled
+     * instance not leased by another build is stopped afterwards.
+     * </p>
+     *
+     * @return true if a pooled instance was handled and no dedicated instance
+     *         needs to be stopped
+     * @throws MojoExecutionException if the configuration cannot be resolved
+     * @throws IOException            if the pool cannot be updated
+     */
+    private boolean stopPooled() throws MojoExecutionException, IOException {
+        TomcatPool pool = createTomcatPool();
+        Optional<TomcatPool.Instance> leased = pool.findLease(getPoolOwner());
+
+        if (leased.isPresent()) {
+            TomcatPool.Instance instance = leased.get();
+            ServerConfiguration instanceConfig = pool.configurationFor(instance);
+            new ExplodedWarDeployer(getLog()).undeploy(buildDeployableConfiguration(instanceConfig));
+            pool.release(instance);
+        }
+
+        if (poolShutdown) {
+            pool.shutdown();
+            getLog().info("Tomcat pool stopped");
+        }
+        return leased.isPresent() || poolShutdown;
+    }
+
+    /**
+     * Handles the Tomcat daemon for this CATALINA_BASE.
+     *
+     * <p>
+     * A running daemon is left alone unless daemonShutdown is set. Otherwise
+     * it is stopped once, and the state and PID files it wrote are removed so
+     * that the same process is not looked up again.
+     * </p>
+     *
+     * @param serverConfig the server configuration
+     * @return true if the daemon was handled, false if no daemon JVM is alive
+     *         and the stop should proceed with the state file
+     * @throws IOException if the daemon descriptor or state files cannot be
+     *                     removed
+     */
+    private boolean stopDaemon(ServerConfiguration serverConfig) throws IOException {
+        TomcatDaemon tomcatDaemon = TomcatDaemon.forConfiguration(serverConfig);
+        if (!daemonShutdown) {
+            if (tomcatDaemon.isRunning()) {
+                getLog().info("Leaving Tomcat daemon (PID: " + tomcatDaemon.getPid().orElseThrow()
+                        + ") running. Set tomcat.daemon.shutdown=true to stop it.");
+                return true;
+            }
+            return false;
+        }
+
+        Optional<Long> pid = tomcatDaemon.getPid();
+        tomcatDaemon.clear();
+        if (pid.isEmpty()) {
+            return false;
+        }
+        Path catalinaBase = serverConfig.getCatalinaBase();
+        stopProcess(pid.get(), serverConfig, TomcatState.read(catalinaBase));
+        TomcatState.delete(catalinaBase);
+        Files.deleteIfExists(catalinaBase.resolve(TomcatLauncher.CATALINA_PID_FILE));
+        getLog().info("Tomcat daemon stopped successfully");
+        return true;
+    }
+
+    /**
+     * Stops the Tomcat process recorded in the state file.
+     *
+     * <p>
+     * If the recorded PID is alive but belongs to a process that started at a
+     * different instant, the PID has been reused by the operating system and
+     * the process is left alone.
+     * </p>
+     *
+     * @param state  the recorded Tomcat state
+     * @param config the server configuration holding the HTTP address
+     */
+    private void stopRecorded(TomcatState state, ServerConfiguration config) {
+        long pid = state.getPid();
+        boolean alive = ProcessHandle.of(pid).map(ProcessHandle::isAlive).orElse(false);
+        if (alive && state.findProcess().isEmpty()) {
+            getLog().warn("PID " + pid + " now belongs to a different process. Tomcat has already stopped.");
+            return;
+        }
+        stopProcess(pid, config, Optional.of(state));
+    }
+
     /**
      * Stops the Tomcat process by PID.
      *
      * <p>
-     * Attempts graceful shutdown first using {@link ProcessHandle#destroy()}.
-     * If the process doesn't terminate within the configured shutdown timeout,
-     * it will be forcibly terminated using {@link ProcessHandle#destroyForcibly()}.
+     * Uses the staged {@link GracefulShutdown} protocol: pauses the connectors
+     * over JMX, waits up to the drain timeout for in-flight requests, sends
+     * SIGTERM to the JVM and its descendant processes and waits up to the
+     * shutdown timeout, then sends SIGKILL. Finally confirms that the HTTP and
+     * HTTPS ports recorded in the state file have been released, or the
+     * configured HTTP port if no state was recorded. With flight recording
+     * enabled, the recording is dumped
+     * before and summarized after the stop. With the access log enabled, the
+     * log is summarized after the stop.
+     * </p>
+     *
+     * @param pid    the process ID of the Tomcat process to stop
+     * @param config the server configuration holding the HTTP address
+     * @param state  the recorded Tomcat state, if any
+     */
+    private void stopProcess(long pid, ServerConfiguration config, Optional<TomcatState> state) {
+        if (flightRecording) {
+            dumpFlightRecording(pid);
+        }
+        GracefulShutdown shutdown = new GracefulShutdown(drainTimeout, shutdownTimeout, getLog());
+        long portTimeout = shutdownTimeout;
+        if (!shutdown.stop(pid)) {
+            getLog().warn("Process " + pid + " not found, may have already stopped");
+            portTimeout = 0;
+        }
+        long deadline = System.currentTimeMillis() + portTimeout;
+        for (int port : boundPorts(config, state)) {
+            long remaining = Math.max(0, deadline - System.currentTimeMillis());
+            if (!shutdown.awaitPortReleased(config.getHttpHost(), port, remaining)) {
+                getLog().warn("Port " + port + " is still in use after stopping Tomcat. "
+                        + "Another process may be holding it.");
+            }
+        }
+        if (flightRecording) {
+            summarizeFlightRecording();
+        }
+        if (accessLog) {
+            summarizeAccessLog(config.getCatalinaBase());
+        }
+    }
+
+    /**
+     * Gets the ports Tomcat listened on.
+     *
+     * <p>
+     * The state file records the ports Tomcat actually bound, which differ
+     * from the configured HTTP port when a free port was allocated or the port
+     * was moved after a bind failure.
+     * </p>
+     *
+     * @param config the server configuration
+     * @param state  the recorded Tomcat state, if any
+     * @return the recorded HTTP and HTTPS ports, or the configured HTTP port
+     *         if no state or HTTP port was recorded
+     */
+    private static List<Integer> boundPorts(ServerConfiguration config, Optional<TomcatState> state) {
+        List<Integer> ports = new ArrayList<>();
+        int httpPort = state.map(TomcatState::getHttpPort).filter(port -> port > 0).orElse(config.getHttpPort());
+        if (httpPort > 0) {
+            ports.add(httpPort);
+        }
+        state.map(TomcatState::getHttpsPort).filter(port -> port > 0).ifPresent(ports::add);
+        return ports;
+    }
+
+    /**
+     * Dumps the flight recording of the Tomcat JVM.
+     *
+     * <p>
+     * The recording is also written when the JVM exits, but a JVM that has to
+     * be killed does not get to write it. Dumping first keeps the data up to
+     * this point in that case.
      * </p>
      *
-     * @param pid the process ID of the Tomcat process to stop
+     * @param pid the process ID of the Tomcat JVM
+     */
+    private void dumpFlightRecording(long pid) {
+        Path file = resolveFlightRecordingFile();
+        Optional<TomcatJmxClient> client = TomcatJmxClient.attach(pid, getLog());
+        if (client.isEmpty()) {
+            getLog().warn("Cannot attach to PID " + pid + " to dump the flight recording. "
+                    + "It is written when Tomcat exits.");
+            return;
+        }
+        try (TomcatJmxClient jmx = client.get()) {
+            jmx.dumpFlightRecording(TomcatJmxClient.FLIGHT_RECORDING_NAME, file);
+            getLog().info("Flight recording dumped to " + file);
+        } catch (IOException e) {
+            getLog().warn(e.getMessage());
+        }
+    }
+
+    /**
+     * Logs a summary of the flight recording.
+     */
+    private void summarizeFlightRecording() {
+        Path file = resolveFlightRecordingFile();
+        if (!Files.exists(file)) {
+            getLog().warn("No flight recording found at " + file);
+            return;
+        }
+        try {
+            JfrSummary.read(file).toText(flightRecordingTop).forEach(getLog()::info);
+        } catch (IOException e) {
+            getLog().warn("Failed to read flight recording " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Logs the latency table of the access log and moves the log to the build
+     * directory, so that the next run of this CATALINA_BASE starts a new one.
+     *
+     * @param catalinaBase the CATALINA_BASE Tomcat ran in
      */
-    private void stopProcess(long pid) {
-        ProcessHandle.of(pid).ifPresentOrElse(
-                handle -> {
-                    getLog().info("Stopping Tomcat process (PID: " + pid + ")");
-                    handle.destroy();
-                    try {
-                        handle.onExit().get(shutdownTimeout, TimeUnit.MILLISECONDS);
-                    } catch (Exception e) {
-                        getLog().warn("Graceful shutdown timed out, forcing termination...");
-                        handle.destroyForcibly();
-                    }
-                },
-                () -> getLog().warn("Process " + pid + " not found, may have already stopped"));
+    private void summarizeAccessLog(Path catalinaBase) {
+        Path file = catalinaBase.resolve(CatalinaBaseGenerator.ACCESS_LOG_FILE);
+        if (!Files.exists(file)) {
+            getLog().warn("No access log found at " + file);
+            return;
+        }
+        try {
+            Path target = Path.of(project.getBuild().getDirectory()).resolve("tomcat-access-timing.log");
+            Files.createDirectories(target.getParent());
+            Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+            AccessLogSummary.read(target).toText(accessLogTop).forEach(getLog()::info);
+        } catch (IOException e) {
+            getLog().warn("Failed to summarize access log " + file + ": " + e.getMessage());
+        }
     }
 
     /**
@@ -2,11 +2,19 @@ package io.github.rajendarreddyj.tomcat.config;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 /**
@@ -15,6 +23,17 @@ import java.util.stream.Stream;
  * This allows running Tomcat with custom ports without modifying the original
  * installation.
  *
+ * <p>
+ * Generated bases are content-addressed: callers hash the inputs of the
+ * generation that are known without reading the contents of any file,
+ * including the {@link #confFingerprint} of CATALINA_HOME, with
+ * {@link #inputHash(Map)}, name the base after the hash and record it with
+ * {@link #markGenerated} once generation completed. A base is then reused
+ * after checking its marker with {@link #isGenerated}, without reading its
+ * configuration. Regenerating copies only the configuration files
+ * whose size or modification time differ from CATALINA_HOME.
+ * </p>
+ *
  * @author rajendarreddyj
  * @since 1.0.0
  */
@@ -23,44 +42,61 @@ public final class CatalinaBaseGenerator {
     /** Constant for server.xml file name. */
     private static final String SERVER_XML_FILE = "server.xml";
 
-    /**
-     * Pattern to match HTTP connector element.
-     * Matches Connector elements that contain protocol="HTTP".
-     */
-    private static final Pattern HTTP_CONNECTOR_PATTERN = Pattern.compile(
-            "<Connector[^>]*protocol=\"HTTP[^\"]*\"[^>]*/?>",
-            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    /** Constant for context.xml file name. */
+    private static final String CONTEXT_XML_FILE = "context.xml";
 
-    /**
-     * Pattern to match port attribute within a Connector element.
-     */
-    private static final Pattern PORT_ATTRIBUTE_PATTERN = Pattern.compile(
-            "(port=\")(\\d+)(\")",
-            Pattern.CASE_INSENSITIVE);
+    /** Note of the comment that disables AJP connectors. */
+    private static final String AJP_DISABLED_NOTE = "Disabled for plugin use";
 
-    /**
-     * Pattern to match HTTP connector for adding address attribute.
-     * Captures the connector element to allow insertion of address attribute.
-     */
-    private static final Pattern CONNECTOR_ADDRESS_PATTERN = Pattern.compile(
-            "(<Connector[^>]*protocol=\"HTTP[^\"]*\"[^>]*?)(\\s*/?>)",
-            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    /** Path of the shared executors in server.xml. */
+    private static final String EXECUTOR_PATH = "Server/Service/Executor";
+
+    /** Note of the comment that disables an executor replaced by the plugin's. */
+    private static final String EXECUTOR_REPLACED_NOTE = "Replaced by plugin executor";
+
+    /** Note of the comment that disables a TLS connector replaced by the plugin's. */
+    private static final String HTTPS_REPLACED_NOTE = "Replaced by plugin HTTPS connector";
+
+    /** Path of the hosts in server.xml. */
+    private static final String HOST_PATH = "Server/Service/Engine/Host";
+
+    /** Class name of Tomcat's access log valve. */
+    private static final String ACCESS_LOG_VALVE = "org.apache.catalina.valves.AccessLogValve";
+
+    /** Note of the comment that disables an access log replaced by the plugin's. */
+    private static final String ACCESS_LOG_REPLACED_NOTE = "Replaced by plugin access log";
 
     /**
-     * Pattern to match Server element shutdown port.
-     * Captures the port="8005" for disabling shutdown port.
+     * Pattern of the plugin's access log: time, method, URL path, status, time
+     * to process the request in microseconds and time to commit the response
+     * in milliseconds.
      */
-    private static final Pattern SERVER_SHUTDOWN_PORT_PATTERN = Pattern.compile(
-            "(<Server[^>]*port=\")8005(\")",
-            Pattern.CASE_INSENSITIVE);
+    public static final String ACCESS_LOG_PATTERN = "%t %m %U %s %D %F";
+
+    /** Access log file of the plugin's valve, relative to CATALINA_BASE. */
+    public static final String ACCESS_LOG_FILE = "logs/access-timing.log";
+
+    /** Path of the resource cache in context.xml. */
+    private static final String RESOURCES_PATH = "Context/Resources";
+
+    /** Path of the jar scanner in context.xml. */
+    private static final String JAR_SCANNER_PATH = "Context/JarScanner";
+
+    /** Note of the comment that disables a jar scanner replaced by the plugin's. */
+    private static final String JAR_SCANNER_REPLACED_NOTE = "Replaced by plugin jar scanner";
+
+    /** Marker file written once a base is completely generated. */
+    public static final String MARKER_FILE = ".generated";
 
     /**
-     * Pattern to match AJP connector element.
-     * Matches Connector elements that contain protocol="AJP".
+     * Version of the generated layout, part of every input hash so that bases
+     * from an older generator are not reused.
      */
-    private static final Pattern AJP_CONNECTOR_PATTERN = Pattern.compile(
-            "(<Connector[^>]*protocol=\"AJP[^\"]*\"[^>]*/?>)",
-            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    static final String LAYOUT_VERSION = "2";
+
+    /** Filter matching enabled TLS connectors. */
+    private static final Predicate<Map<String, String>> TLS_CONNECTOR = attributes -> "true"
+            .equalsIgnoreCase(attributes.get("SSLEnabled"));
 
     /**
      * Private constructor to prevent instantiation of utility class.
@@ -70,19 +106,23 @@ public final class CatalinaBaseGenerator {
     }
 
     /**
-     * Generates a CATALINA_BASE directory with customized configuration.
+     * Generates a CATALINA_BASE directory with customized configuration: the
+     * HTTP port and host, connector attributes, a shared executor, an HTTPS
+     * connector, default context settings and an access log with request
+     * timing, as far as the settings configure them.
      *
      * @param catalinaHome the CATALINA_HOME directory (original Tomcat
      *                     installation)
      * @param catalinaBase the target CATALINA_BASE directory to create
-     * @param httpPort     the HTTP port to configure
-     * @param httpHost     the HTTP host/address to bind to
+     * @param settings     the settings to write into the configuration
      * @throws IOException if an I/O error occurs
      */
-    public static void generate(Path catalinaHome, Path catalinaBase, int httpPort, String httpHost)
+    public static void generate(Path catalinaHome, Path catalinaBase, GenerationSettings settings)
             throws IOException {
         // Create the base directory structure
         Files.createDirectories(catalinaBase);
+        // An interrupted generation must not look complete
+        Files.deleteIfExists(catalinaBase.resolve(MARKER_FILE));
 
         // Create required subdirectories
         Files.createDirectories(catalinaBase.resolve("conf"));
@@ -102,8 +142,9 @@ public final class CatalinaBaseGenerator {
                         Path target = targetConf.resolve(sourceConf.relativize(source));
                         if (Files.isDirectory(source)) {
                             Files.createDirectories(target);
-                        } else {
-                            Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+                        } else if (!isUpToDate(source, target)) {
+                            Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING,
+                                    StandardCopyOption.COPY_ATTRIBUTES);
                         }
                     } catch (IOException e) {
                         throw new UncheckedIOException("Failed to copy config file: " + source, e);
@@ -115,81 +156,300 @@ public final class CatalinaBaseGenerator {
         // Modify server.xml with custom port settings
         Path serverXml = targetConf.resolve(SERVER_XML_FILE);
         if (Files.exists(serverXml)) {
-            modifyServerXml(serverXml, httpPort, httpHost);
+            modifyServerXml(serverXml, settings);
+        }
+
+        Path contextXml = targetConf.resolve(CONTEXT_XML_FILE);
+        if (settings.getContext() != null && Files.exists(contextXml)) {
+            modifyContextXml(contextXml, settings.getContext());
         }
     }
 
+    /**
+     * Checks if a copied file still matches its source by size and
+     * modification time, to the millisecond, as the copy keeps the source's
+     * modification time.
+     *
+     * @param source the file in CATALINA_HOME
+     * @param target the copy in CATALINA_BASE
+     * @return true if the copy does not need to be replaced
+     * @throws IOException if the source cannot be read
+     */
+    private static boolean isUpToDate(Path source, Path target) throws IOException {
+        if (!Files.isRegularFile(target)) {
+            return false;
+        }
+        BasicFileAttributes sourceAttributes = Files.readAttributes(source, BasicFileAttributes.class);
+        BasicFileAttributes targetAttributes = Files.readAttributes(target, BasicFileAttributes.class);
+        return sourceAttributes.size() == targetAttributes.size()
+                // Copies may keep the time at a lower precision than the source
+                && sourceAttributes.lastModifiedTime().toMillis() == targetAttributes.lastModifiedTime().toMillis();
+    }
+
     /**
      * Modifies server.xml to use custom port and host settings.
+     * The HTTP connectors get the port, address and connector attributes, the
+     * default shutdown port is disabled and enabled AJP connectors are
+     * commented out. An executor is added as the first child of each Service,
+     * replacing an executor of the same name, and every connector is wired to
+     * it. An HTTPS connector follows the executor, replacing enabled TLS
+     * connectors, and the HTTP connectors redirect to it. The access log
+     * valve replaces the hosts' access logs. Comments and formatting are kept.
      *
      * @param serverXml the path to server.xml
-     * @param httpPort  the HTTP port
-     * @param httpHost  the HTTP host/address
-     * @throws IOException if an I/O error occurs
+     * @param settings  the settings to write
+     * @throws IOException if an I/O error occurs or server.xml is not
+     *                     well-formed
      */
-    private static void modifyServerXml(Path serverXml, int httpPort, String httpHost) throws IOException {
-        String content = Files.readString(serverXml);
-
-        // Replace HTTP connector port using a two-step approach:
-        // 1. Find HTTP connector elements
-        // 2. Replace port attribute within them
-        Matcher httpConnectorMatcher = HTTP_CONNECTOR_PATTERN.matcher(content);
-        StringBuilder sb = new StringBuilder();
-        while (httpConnectorMatcher.find()) {
-            String connector = httpConnectorMatcher.group();
-            // Replace port in this HTTP connector
-            String modifiedConnector = PORT_ATTRIBUTE_PATTERN.matcher(connector)
-                    .replaceFirst("$1" + httpPort + "$3");
-            httpConnectorMatcher.appendReplacement(sb, Matcher.quoteReplacement(modifiedConnector));
+    private static void modifyServerXml(Path serverXml, GenerationSettings settings) throws IOException {
+        String httpHost = settings.getHttpHost();
+        Map<String, String> connectorAttributes = settings.getConnectorAttributes();
+        Map<String, String> executorAttributes = settings.getExecutorAttributes();
+        HttpsConfiguration https = settings.getHttps();
+        Map<String, String> httpAttributes = new LinkedHashMap<>();
+        httpAttributes.put("port", String.valueOf(settings.getHttpPort()));
+        httpAttributes.putAll(connectorAttributes);
+        if (https != null) {
+            httpAttributes.put("redirectPort", String.valueOf(https.getPort()));
         }
-        httpConnectorMatcher.appendTail(sb);
-        content = sb.toString();
+
+        ServerXmlTransformer transformer = new ServerXmlTransformer()
+                .setAttributes(ServerXmlTransformer.CONNECTOR_PATH, ServerXmlTransformer.HTTP_CONNECTOR,
+                        httpAttributes)
+                // Disable shutdown port for security (use -1)
+                .setAttributes("Server", attributes -> "8005".equals(attributes.get("port")),
+                        Map.of("port", "-1"))
+                .commentOut(ServerXmlTransformer.CONNECTOR_PATH, ServerXmlTransformer.AJP_CONNECTOR,
+                        AJP_DISABLED_NOTE);
 
         // Add address attribute if host is specified and not localhost/0.0.0.0
-        if (httpHost != null && !httpHost.isBlank()
+        boolean bindAddress = httpHost != null && !httpHost.isBlank()
                 && !"localhost".equalsIgnoreCase(httpHost)
-                && !"0.0.0.0".equals(httpHost)) {
-            Matcher addressMatcher = CONNECTOR_ADDRESS_PATTERN.matcher(content);
-            if (addressMatcher.find()) {
-                String connectorContent = addressMatcher.group(1);
-                // Only add address if not already present
-                if (!connectorContent.contains("address=")) {
-                    content = addressMatcher.replaceFirst("$1 address=\"" + httpHost + "\"$2");
-                }
+                && !"0.0.0.0".equals(httpHost);
+        if (bindAddress) {
+            transformer.setAttributesIfAbsent(ServerXmlTransformer.CONNECTOR_PATH,
+                    ServerXmlTransformer.HTTP_CONNECTOR, Map.of("address", httpHost));
+        }
+
+        if (!executorAttributes.isEmpty()) {
+            String name = executorAttributes.get("name");
+            // Executors must precede the connectors that refer to them
+            transformer.commentOut(EXECUTOR_PATH, attributes -> name.equals(attributes.get("name")),
+                            EXECUTOR_REPLACED_NOTE)
+                    .prependChild("Server/Service", ServerXmlTransformer.ANY,
+                            ServerXmlTransformer.element("Executor", executorAttributes))
+                    .setAttributes(ServerXmlTransformer.CONNECTOR_PATH, ServerXmlTransformer.ANY,
+                            Map.of("executor", name));
+        }
+
+        if (https != null) {
+            Map<String, String> attributes = new LinkedHashMap<>();
+            attributes.put("port", String.valueOf(https.getPort()));
+            attributes.put("protocol", connectorAttributes.getOrDefault("protocol", "HTTP/1.1"));
+            attributes.put("SSLEnabled", "true");
+            attributes.put("scheme", "https");
+            attributes.put("secure", "true");
+            connectorAttributes.forEach(attributes::putIfAbsent);
+            if (bindAddress) {
+                attributes.put("address", httpHost);
+            }
+            if (!executorAttributes.isEmpty()) {
+                attributes.put("executor", executorAttributes.get("name"));
             }
+            // Inserted after the executor it may refer to
+            transformer.commentOut(ServerXmlTransformer.CONNECTOR_PATH, TLS_CONNECTOR, HTTPS_REPLACED_NOTE)
+                    .prependChild("Server/Service", ServerXmlTransformer.ANY, httpsConnector(attributes, https));
         }
 
-        // Disable shutdown port for security (use -1)
-        content = SERVER_SHUTDOWN_PORT_PATTERN.matcher(content)
-                .replaceAll("$1-1$2");
+        if (settings.isAccessLog()) {
+            Path file = Path.of(ACCESS_LOG_FILE);
+            String name = file.getFileName().toString();
+            Map<String, String> valve = new LinkedHashMap<>();
+            valve.put("className", ACCESS_LOG_VALVE);
+            valve.put("directory", file.getParent().toString());
+            valve.put("prefix", name.substring(0, name.lastIndexOf('.')));
+            valve.put("suffix", name.substring(name.lastIndexOf('.')));
+            // A single file, written in blocks so that most requests do no disk I/O
+            valve.put("rotatable", "false");
+            valve.put("buffered", "true");
+            valve.put("pattern", ACCESS_LOG_PATTERN);
+            transformer.commentOut(HOST_PATH + "/Valve",
+                            attributes -> ACCESS_LOG_VALVE.equals(attributes.get("className")),
+                            ACCESS_LOG_REPLACED_NOTE)
+                    .appendChild(HOST_PATH, ServerXmlTransformer.ANY, ServerXmlTransformer.element("Valve", valve));
+        }
 
-        // Comment out AJP connector only if not already inside a comment
-        content = commentOutAjpConnectorIfEnabled(content);
+        transformer.transform(serverXml);
+    }
 
-        Files.writeString(serverXml, content);
+    /**
+     * Modifies context.xml to apply the resource cache and jar scanner
+     * settings. The cache settings are set on an existing
+     * {@code <Resources>} element or on a new one. A configured jar scanner
+     * is added as the last child of the Context, replacing an existing one.
+     * Comments and formatting are kept.
+     *
+     * @param contextXml the path to context.xml
+     * @param context    the context settings
+     * @throws IOException if an I/O error occurs or context.xml is not
+     *                     well-formed
+     */
+    private static void modifyContextXml(Path contextXml, ContextConfiguration context) throws IOException {
+        ServerXmlTransformer transformer = new ServerXmlTransformer();
+        Map<String, String> resources = context.getResourcesAttributes();
+        if (!resources.isEmpty()) {
+            if (ServerXmlTransformer.find(contextXml, RESOURCES_PATH, ServerXmlTransformer.ANY).isEmpty()) {
+                transformer.appendChild("Context", ServerXmlTransformer.ANY,
+                        ServerXmlTransformer.element("Resources", resources));
+            } else {
+                transformer.setAttributes(RESOURCES_PATH, ServerXmlTransformer.ANY, resources);
+            }
+        }
+        if (context.hasJarScanner()) {
+            transformer.commentOut(JAR_SCANNER_PATH, ServerXmlTransformer.ANY, JAR_SCANNER_REPLACED_NOTE)
+                    .appendChild("Context", ServerXmlTransformer.ANY, jarScanner(context));
+        }
+        transformer.transform(contextXml);
     }
 
     /**
-     * Comments out AJP connector elements only if they are not already inside an XML comment.
+     * Renders the jar scanner with its filter of skipped jars.
      *
-     * @param content the server.xml content
-     * @return the modified content with enabled AJP connectors commented out
+     * @param context the context settings
+     * @return the JarScanner element
      */
-    private static String commentOutAjpConnectorIfEnabled(String content) {
-        Matcher ajpMatcher = AJP_CONNECTOR_PATTERN.matcher(content);
-        StringBuilder result = new StringBuilder();
-        while (ajpMatcher.find()) {
-            String beforeMatch = content.substring(0, ajpMatcher.start());
-            int lastCommentOpen = beforeMatch.lastIndexOf("<!--");
-            int lastCommentClose = beforeMatch.lastIndexOf("-->");
-            // Only comment out if not already inside a comment
-            if (lastCommentOpen == -1 || lastCommentClose > lastCommentOpen) {
-                ajpMatcher.appendReplacement(result,
-                        Matcher.quoteReplacement("<!-- Disabled for plugin use: " + ajpMatcher.group(1) + " -->"));
+    private static String jarScanner(ContextConfiguration context) {
+        Map<String, String> filter = context.getJarScanFilterAttributes();
+        if (filter.isEmpty()) {
+            return ServerXmlTransformer.element("JarScanner", context.getJarScannerAttributes());
+        }
+        return startTag("JarScanner", context.getJarScannerAttributes()) + '\n'
+                + "  " + ServerXmlTransformer.element("JarScanFilter", filter) + '\n'
+                + "</JarScanner>";
+    }
+
+    /**
+     * Renders the HTTPS connector with its HTTP/2 upgrade protocol and
+     * certificate.
+     *
+     * @param attributes the connector attributes
+     * @param https      the HTTPS configuration
+     * @return the Connector element
+     */
+    private static String httpsConnector(Map<String, String> attributes, HttpsConfiguration https) {
+        String keystore = https.getKeystoreFile() != null ? https.getKeystoreFile().getAbsolutePath()
+                : "conf/" + SelfSignedKeystore.FILE_NAME;
+        Map<String, String> certificate = new LinkedHashMap<>();
+        certificate.put("certificateKeystoreFile", keystore);
+        certificate.put("certificateKeystorePassword", https.getKeystorePassword());
+        certificate.put("certificateKeystoreType", "PKCS12");
+
+        StringBuilder connector = new StringBuilder(startTag("Connector", attributes)).append('\n');
+        if (https.isHttp2()) {
+            connector.append("  ").append(ServerXmlTransformer.element("UpgradeProtocol",
+                    Map.of("className", HttpsConfiguration.HTTP2_PROTOCOL))).append('\n');
+        }
+        return connector.append("  <SSLHostConfig>\n")
+                .append("    ").append(ServerXmlTransformer.element("Certificate", certificate)).append('\n')
+                .append("  </SSLHostConfig>\n")
+                .append("</Connector>").toString();
+    }
+
+    /**
+     * Renders a start tag with escaped attribute values.
+     *
+     * @param name       the element name
+     * @param attributes the attribute values by name
+     * @return the start tag
+     */
+    private static String startTag(String name, Map<String, String> attributes) {
+        String element = ServerXmlTransformer.element(name, attributes);
+        return element.substring(0, element.length() - 3) + ">";
+    }
+
+    /**
+     * Describes the configuration files of a CATALINA_HOME by their paths,
+     * sizes and modification times, without reading them.
+     *
+     * @param catalinaHome the CATALINA_HOME directory
+     * @return one line per file, empty if there is no conf directory
+     * @throws IOException if the conf directory cannot be listed
+     */
+    public static String confFingerprint(Path catalinaHome) throws IOException {
+        Path conf = catalinaHome.resolve("conf");
+        if (!Files.isDirectory(conf)) {
+            return "";
+        }
+        StringBuilder fingerprint = new StringBuilder();
+        try (Stream<Path> paths = Files.walk(conf)) {
+            List<Path> files = paths.filter(Files::isRegularFile).sorted().toList();
+            for (Path file : files) {
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                fingerprint.append(conf.relativize(file).toString().replace('\\', '/')).append(' ')
+                        .append(attributes.size()).append(' ')
+                        .append(attributes.lastModifiedTime().toMillis()).append('\n');
             }
         }
-        ajpMatcher.appendTail(result);
-        return result.toString();
+        return fingerprint.toString();
+    }
+
+    /**
+     * Hashes the inputs of a generation together with the layout version.
+     *
+     * @param inputs the input values by name, in a stable order
+     * @return the SHA-256 of the inputs as hex
+     */
+    public static String inputHash(Map<String, String> inputs) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            StringBuilder key = new StringBuilder("layout=").append(LAYOUT_VERSION).append('\n');
+            inputs.forEach((name, value) -> key.append(name).append('=').append(value).append('\n'));
+            return HexFormat.of().formatHex(digest.digest(key.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm not available", e);
+        }
+    }
+
+    /**
+     * Checks if a CATALINA_BASE was completely generated from the inputs with
+     * the given hash.
+     *
+     * @param catalinaBase the CATALINA_BASE path to check
+     * @param inputHash    the hash of the generation inputs
+     * @return true if the base can be reused as is
+     */
+    public static boolean isGenerated(Path catalinaBase, String inputHash) {
+        try {
+            String marker = Files.readString(catalinaBase.resolve(MARKER_FILE), StandardCharsets.UTF_8);
+            return marker.startsWith(inputHash + "\n");
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Marks a CATALINA_BASE as completely generated. The marker holds the
+     * input hash followed by the inputs, to tell which settings a base was
+     * generated from.
+     *
+     * @param catalinaBase the generated CATALINA_BASE
+     * @param inputHash    the hash of the generation inputs
+     * @param inputs       the input values by name
+     * @throws IOException if the marker cannot be written
+     */
+    public static void markGenerated(Path catalinaBase, String inputHash, Map<String, String> inputs)
+            throws IOException {
+        StringBuilder marker = new StringBuilder(inputHash).append('\n');
+        inputs.forEach((name, value) -> marker.append(name).append('=')
+                .append(value.replace("\n", "\\n")).append('\n'));
+        Path temp = Files.createTempFile(catalinaBase, MARKER_FILE, ".tmp");
+        try {
+            Files.writeString(temp, marker, StandardCharsets.UTF_8);
+            Files.move(temp, catalinaBase.resolve(MARKER_FILE), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
     }
 
     /**
@@ -207,6 +467,66 @@ public final class CatalinaBaseGenerator {
                 && Files.exists(catalinaBase.resolve("conf").resolve(SERVER_XML_FILE));
     }
 
+    /**
+     * Checks if the HTTP connector of a CATALINA_BASE has the given attribute
+     * values.
+     *
+     * @param catalinaBase        the CATALINA_BASE path to check
+     * @param connectorAttributes the expected attribute values
+     * @return true if every attribute has its expected value
+     */
+    public static boolean hasConnectorAttributes(Path catalinaBase, Map<String, String> connectorAttributes) {
+        return findHttpConnector(catalinaBase)
+                .map(connector -> connector.entrySet().containsAll(connectorAttributes.entrySet()))
+                .orElse(false);
+    }
+
+    /**
+     * Checks if a CATALINA_BASE has an executor with the given attribute values
+     * that the HTTP connector uses.
+     *
+     * @param catalinaBase       the CATALINA_BASE path to check
+     * @param executorAttributes the expected attribute values, including the
+     *                           executor name
+     * @return true if the executor has every expected value and the HTTP
+     *         connector refers to it
+     */
+    public static boolean hasExecutor(Path catalinaBase, Map<String, String> executorAttributes) {
+        String name = executorAttributes.get("name");
+        if (name == null || !hasConnectorAttributes(catalinaBase, Map.of("executor", name))) {
+            return false;
+        }
+        try {
+            return ServerXmlTransformer.find(catalinaBase.resolve("conf").resolve(SERVER_XML_FILE), EXECUTOR_PATH,
+                    attributes -> name.equals(attributes.get("name"))).stream()
+                    .anyMatch(executor -> executor.entrySet().equals(executorAttributes.entrySet()));
+        } catch (IOException e) {
+            // If we can't read or parse, assume it's not correct
+            return false;
+        }
+    }
+
+    /**
+     * Checks if a CATALINA_BASE has an enabled TLS connector on a port.
+     *
+     * @param catalinaBase the CATALINA_BASE path to check
+     * @param httpsPort    the expected HTTPS port
+     * @return true if a TLS connector uses the port
+     */
+    public static boolean hasHttpsConnector(Path catalinaBase, int httpsPort) {
+        Path serverXml = catalinaBase.resolve("conf").resolve(SERVER_XML_FILE);
+        if (!Files.exists(serverXml)) {
+            return false;
+        }
+        try {
+            return ServerXmlTransformer.find(serverXml, ServerXmlTransformer.CONNECTOR_PATH, TLS_CONNECTOR.and(
+                    attributes -> String.valueOf(httpsPort).equals(attributes.get("port")))).size() == 1;
+        } catch (IOException e) {
+            // If we can't read or parse, assume it's not correct
+            return false;
+        }
+    }
+
     /**
      * Checks if a CATALINA_BASE has the correct HTTP port configured.
      *
@@ -215,26 +535,29 @@ public final class CatalinaBaseGenerator {
      * @return true if the HTTP connector port matches the expected port
      */
     public static boolean hasCorrectPort(Path catalinaBase, int expectedPort) {
+        return findHttpConnector(catalinaBase)
+                .map(connector -> String.valueOf(expectedPort).equals(connector.get("port")))
+                .orElse(false);
+    }
+
+    /**
+     * Reads the attributes of the first HTTP connector of a CATALINA_BASE.
+     *
+     * @param catalinaBase the CATALINA_BASE path
+     * @return the connector attributes, or empty if server.xml is missing,
+     *         cannot be parsed or has no HTTP connector
+     */
+    private static Optional<Map<String, String>> findHttpConnector(Path catalinaBase) {
         Path serverXml = catalinaBase.resolve("conf").resolve(SERVER_XML_FILE);
         if (!Files.exists(serverXml)) {
-            return false;
+            return Optional.empty();
         }
         try {
-            String content = Files.readString(serverXml);
-            // Find HTTP connector and check its port
-            Matcher httpConnectorMatcher = HTTP_CONNECTOR_PATTERN.matcher(content);
-            if (httpConnectorMatcher.find()) {
-                String connector = httpConnectorMatcher.group();
-                Matcher portMatcher = PORT_ATTRIBUTE_PATTERN.matcher(connector);
-                if (portMatcher.find()) {
-                    int actualPort = Integer.parseInt(portMatcher.group(2));
-                    return actualPort == expectedPort;
-                }
-            }
-        } catch (IOException | NumberFormatException e) {
+            return ServerXmlTransformer.find(serverXml, ServerXmlTransformer.CONNECTOR_PATH,
+                    ServerXmlTransformer.HTTP_CONNECTOR).stream().findFirst();
+        } catch (IOException e) {
             // If we can't read or parse, assume it's not correct
-            return false;
+            return Optional.empty();
         }
-        return false;
     }
 }
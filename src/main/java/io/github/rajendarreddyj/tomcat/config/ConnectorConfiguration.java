@@ -0,0 +1,318 @@
+package io.github.rajendarreddyj.tomcat.config;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Performance settings of the HTTP connector, configured with a
+ * {@code <connector>} block in the plugin configuration and written into the
+ * server.xml of the generated CATALINA_BASE.
+ *
+ * <p>
+ * Every setting is optional; settings that are not configured keep the value
+ * of the Tomcat distribution's server.xml. The attribute names and meanings
+ * are those of the Tomcat HTTP connector.
+ * </p>
+ *
+ * <h2>Example</h2>
+ *
+ * <pre>{@code
+ * <connector>
+ *     <protocol>nio2</protocol>
+ *     <maxThreads>400</maxThreads>
+ *     <acceptCount>200</acceptCount>
+ *     <compression>on</compression>
+ *     <socketRxBufSize>65536</socketRxBufSize>
+ * </connector>
+ * }</pre>
+ *
+ * @author rajendarreddyj
+ * @since 1.0.1
+ */
+public class ConnectorConfiguration {
+
+    /** Class name of the NIO protocol handler. */
+    public static final String NIO_PROTOCOL = "org.apache.coyote.http11.Http11NioProtocol";
+
+    /** Class name of the NIO2 protocol handler. */
+    public static final String NIO2_PROTOCOL = "org.apache.coyote.http11.Http11Nio2Protocol";
+
+    /** Protocol handler: nio, nio2, HTTP/1.1 or a protocol class name. */
+    private String protocol;
+
+    /** Maximum number of request processing threads. */
+    private Integer maxThreads;
+
+    /** Number of request processing threads kept alive. */
+    private Integer minSpareThreads;
+
+    /** Length of the queue for connections when all threads are busy. */
+    private Integer acceptCount;
+
+    /** Maximum number of open connections, or -1 for no limit. */
+    private Integer maxConnections;
+
+    /** Milliseconds to wait for the next request on a kept-alive connection. */
+    private Integer keepAliveTimeout;
+
+    /** Requests per kept-alive connection, or -1 for no limit. */
+    private Integer maxKeepAliveRequests;
+
+    /** Response compression: on, off, force or the minimum size in bytes. */
+    private String compression;
+
+    /** Comma-separated MIME types to compress. */
+    private String compressibleMimeType;
+
+    /** Socket receive buffer size in bytes. */
+    private Integer socketRxBufSize;
+
+    /** Socket send buffer size in bytes. */
+    private Integer socketTxBufSize;
+
+    /** Application read buffer size in bytes. */
+    private Integer socketAppReadBufSize;
+
+    /** Application write buffer size in bytes. */
+    private Integer socketAppWriteBufSize;
+
+    /** Whether static files may be sent with sendfile. */
+    private Boolean useSendfile;
+
+    /**
+     * Creates an empty ConnectorConfiguration, as Maven does for a
+     * {@code <connector>} block.
+     */
+    public ConnectorConfiguration() {
+        // Fields are injected by Maven or set through the setters
+    }
+
+    /**
+     * Checks that the configured settings are valid.
+     *
+     * @throws IllegalArgumentException if a setting is invalid
+     */
+    public void validate() {
+        resolveProtocol();
+        requireAtLeast("maxThreads", maxThreads, 1);
+        requireAtLeast("minSpareThreads", minSpareThreads, 0);
+        requireAtLeast("acceptCount", acceptCount, 1);
+        requireAtLeast("maxConnections", maxConnections, -1);
+        requireAtLeast("keepAliveTimeout", keepAliveTimeout, -1);
+        requireAtLeast("maxKeepAliveRequests", maxKeepAliveRequests, -1);
+        requireAtLeast("socketRxBufSize", socketRxBufSize, 1);
+        requireAtLeast("socketTxBufSize", socketTxBufSize, 1);
+        requireAtLeast("socketAppReadBufSize", socketAppReadBufSize, 1);
+        requireAtLeast("socketAppWriteBufSize", socketAppWriteBufSize, 1);
+        if (maxThreads != null && minSpareThreads != null && minSpareThreads > maxThreads) {
+            throw new IllegalArgumentException("minSpareThreads (" + minSpareThreads
+                    + ") must not exceed maxThreads (" + maxThreads + ")");
+        }
+        if (compression != null && !compression.matches("(?i)on|off|force|\\d+")) {
+            throw new IllegalArgumentException("compression must be on, off, force or a minimum size in bytes: "
+                    + compression);
+        }
+    }
+
+    /**
+     * Checks that a setting, if configured, is not below a minimum.
+     *
+     * @param name    the setting name
+     * @param value   the setting value, may be null
+     * @param minimum the minimum value
+     * @throws IllegalArgumentException if the value is below the minimum
+     */
+    private static void requireAtLeast(String name, Integer value, int minimum) {
+        if (value != null && value < minimum) {
+            throw new IllegalArgumentException(name + " must be at least " + minimum + ": " + value);
+        }
+    }
+
+    /**
+     * Resolves the protocol handler to the value of the protocol attribute.
+     *
+     * @return the protocol attribute value, or null if not configured
+     * @throws IllegalArgumentException if the protocol is not an HTTP/1.1
+     *                                  NIO or NIO2 protocol
+     */
+    private String resolveProtocol() {
+        if (protocol == null || protocol.isBlank()) {
+            return null;
+        }
+        String value = protocol.trim();
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "http/1.1" -> "HTTP/1.1";
+            case "nio", "http11nioprotocol", "org.apache.coyote.http11.http11nioprotocol" -> NIO_PROTOCOL;
+            case "nio2", "http11nio2protocol", "org.apache.coyote.http11.http11nio2protocol" -> NIO2_PROTOCOL;
+            default -> throw new IllegalArgumentException("Unsupported connector protocol: " + value
+                    + ". Supported protocols are nio, nio2, HTTP/1.1, " + NIO_PROTOCOL + " and " + NIO2_PROTOCOL);
+        };
+    }
+
+    /**
+     * Gets the configured settings as HTTP connector attributes.
+     *
+     * @return the attribute values by name, in a stable order
+     * @throws IllegalArgumentException if a setting is invalid
+     */
+    public Map<String, String> toAttributes() {
+        validate();
+        Map<String, String> attributes = new LinkedHashMap<>();
+        put(attributes, "protocol", resolveProtocol());
+        put(attributes, "maxThreads", maxThreads);
+        put(attributes, "minSpareThreads", minSpareThreads);
+        put(attributes, "acceptCount", acceptCount);
+        put(attributes, "maxConnections", maxConnections);
+        put(attributes, "keepAliveTimeout", keepAliveTimeout);
+        put(attributes, "maxKeepAliveRequests", maxKeepAliveRequests);
+        put(attributes, "compression", compression != null ? compression.trim().toLowerCase(Locale.ROOT) : null);
+        put(attributes, "compressibleMimeType", compressibleMimeType != null
+                ? compressibleMimeType.replaceAll("\\s+", "") : null);
+        put(attributes, "socket.rxBufSize", socketRxBufSize);
+        put(attributes, "socket.txBufSize", socketTxBufSize);
+        put(attributes, "socket.appReadBufSize", socketAppReadBufSize);
+        put(attributes, "socket.appWriteBufSize", socketAppWriteBufSize);
+        put(attributes, "useSendfile", useSendfile);
+        return attributes;
+    }
+
+    /**
+     * Adds an attribute if its value is configured.
+     *
+     * @param attributes the attributes to add to
+     * @param name       the attribute name
+     * @param value      the value, may be null
+     */
+    private static void put(Map<String, String> attributes, String name, Object value) {
+        if (value != null) {
+            attributes.put(name, String.valueOf(value));
+        }
+    }
+
+    /**
+     * Sets the protocol handler.
+     *
+     * @param protocol nio, nio2, HTTP/1.1 or a protocol class name
+     */
+    public void setProtocol(String protocol) {
+        this.protocol = protocol;
+    }
+
+    /**
+     * Sets the maximum number of request processing threads.
+     *
+     * @param maxThreads the thread count
+     */
+    public void setMaxThreads(Integer maxThreads) {
+        this.maxThreads = maxThreads;
+    }
+
+    /**
+     * Sets the number of request processing threads kept alive.
+     *
+     * @param minSpareThreads the thread count
+     */
+    public void setMinSpareThreads(Integer minSpareThreads) {
+        this.minSpareThreads = minSpareThreads;
+    }
+
+    /**
+     * Sets the length of the queue for connections when all threads are busy.
+     *
+     * @param acceptCount the queue length
+     */
+    public void setAcceptCount(Integer acceptCount) {
+        this.acceptCount = acceptCount;
+    }
+
+    /**
+     * Sets the maximum number of open connections.
+     *
+     * @param maxConnections the connection count, or -1 for no limit
+     */
+    public void setMaxConnections(Integer maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    /**
+     * Sets the time to wait for the next request on a kept-alive connection.
+     *
+     * @param keepAliveTimeout the timeout in milliseconds
+     */
+    public void setKeepAliveTimeout(Integer keepAliveTimeout) {
+        this.keepAliveTimeout = keepAliveTimeout;
+    }
+
+    /**
+     * Sets the number of requests per kept-alive connection.
+     *
+     * @param maxKeepAliveRequests the request count, or -1 for no limit
+     */
+    public void setMaxKeepAliveRequests(Integer maxKeepAliveRequests) {
+        this.maxKeepAliveRequests = maxKeepAliveRequests;
+    }
+
+    /**
+     * Sets the response compression.
+     *
+     * @param compression on, off, force or the minimum size in bytes
+     */
+    public void setCompression(String compression) {
+        this.compression = compression;
+    }
+
+    /**
+     * Sets the MIME types to compress.
+     *
+     * @param compressibleMimeType comma-separated MIME types
+     */
+    public void setCompressibleMimeType(String compressibleMimeType) {
+        this.compressibleMimeType = compressibleMimeType;
+    }
+
+    /**
+     * Sets the socket receive buffer size.
+     *
+     * @param socketRxBufSize the size in bytes
+     */
+    public void setSocketRxBufSize(Integer socketRxBufSize) {
+        this.socketRxBufSize = socketRxBufSize;
+    }
+
+    /**
+     * Sets the socket send buffer size.
+     *
+     * @param socketTxBufSize the size in bytes
+     */
+    public void setSocketTxBufSize(Integer socketTxBufSize) {
+        this.socketTxBufSize = socketTxBufSize;
+    }
+
+    /**
+     * Sets the application read buffer size.
+     *
+     * @param socketAppReadBufSize the size in bytes
+     */
+    public void setSocketAppReadBufSize(Integer socketAppReadBufSize) {
+        this.socketAppReadBufSize = socketAppReadBufSize;
+    }
+
+    /**
+     * Sets the application write buffer size.
+     *
+     * @param socketAppWriteBufSize the size in bytes
+     */
+    public void setSocketAppWriteBufSize(Integer socketAppWriteBufSize) {
+        this.socketAppWriteBufSize = socketAppWriteBufSize;
+    }
+
+    /**
+     * Sets whether static files may be sent with sendfile.
+     *
+     * @param useSendfile true to allow sendfile
+     */
+    public void setUseSendfile(Boolean useSendfile) {
+        this.useSendfile = useSendfile;
+    }
+}
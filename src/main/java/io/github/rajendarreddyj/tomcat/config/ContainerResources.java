@@ -0,0 +1,401 @@
+package io.github.rajendarreddyj.tomcat.config;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
+import java.util.Set;
+
+/**
+ * Memory and CPU limits of the cgroup v2 the build runs in, and the Tomcat
+ * sizing derived from them.
+ *
+ * <p>
+ * The limits are read from the {@code memory.max} and {@code cpu.max} files of
+ * the process's cgroup and its ancestors; the lowest limit applies. Without
+ * cgroup v2 or without limits, nothing is derived and Tomcat keeps its
+ * defaults.
+ * </p>
+ *
+ * <p>
+ * The Maven JVM and the test JVMs forked by surefire and failsafe run in the
+ * same cgroup as Tomcat, so part of the memory limit is reserved for them:
+ * half of the limit by default, as each JVM's default heap is a quarter of it.
+ * Tomcat is sized from the rest, the available memory.
+ * </p>
+ *
+ * <h2>Derived Settings</h2>
+ * <ul>
+ * <li><strong>-Xmx</strong>: 75% of the available memory</li>
+ * <li><strong>-XX:ActiveProcessorCount</strong>: the CPU quota rounded up</li>
+ * <li><strong>maxThreads</strong>: 50 per CPU, at most one thread stack
+ * (1 MiB) per 2 MiB of available non-heap memory, between 10 and 200</li>
+ * <li><strong>acceptCount</strong>: equal to maxThreads</li>
+ * </ul>
+ *
+ * @author rajendarreddyj
+ * @since 1.0.1
+ */
+public final class ContainerResources {
+
+    /** Default root of the cgroup v2 hierarchy. */
+    private static final Path CGROUP_ROOT = Path.of("/sys/fs/cgroup");
+
+    /** Cgroup membership file of the current process. */
+    private static final Path PROC_SELF_CGROUP = Path.of("/proc/self/cgroup");
+
+    /** Share of the memory limit reserved for the build by default, in percent. */
+    private static final int DEFAULT_RESERVE_PERCENT = 50;
+
+    /** Share of the available memory given to the heap, in percent. */
+    private static final int HEAP_PERCENT = 75;
+
+    /** Bytes per mebibyte. */
+    private static final long MIB = 1024 * 1024;
+
+    /** Request processing threads per CPU. */
+    private static final int THREADS_PER_CPU = 50;
+
+    /** Non-heap bytes reserved per request processing thread. */
+    private static final long NON_HEAP_PER_THREAD = 2L * 1024 * 1024;
+
+    /** Lowest derived maxThreads. */
+    private static final int MIN_THREADS = 10;
+
+    /** Highest derived maxThreads, Tomcat's default. */
+    private static final int MAX_THREADS = 200;
+
+    /** Options that already bound the heap size. */
+    private static final Set<String> HEAP_OPTION_KEYS = Set.of("-Xmx", "-XX:MaxRAM", "-XX:MaxRAMPercentage",
+            "-XX:MaxRAMFraction");
+
+    /** The memory limit in bytes, if any. */
+    private final OptionalLong memoryLimit;
+
+    /** The CPU limit in CPUs, if any. */
+    private final OptionalDouble cpuLimit;
+
+    /** Bytes of the memory limit reserved for the build. */
+    private final long memoryReserve;
+
+    /**
+     * Creates a new ContainerResources with the default memory reserve.
+     *
+     * @param memoryLimit the memory limit in bytes, if any
+     * @param cpuLimit    the CPU limit in CPUs, if any
+     */
+    private ContainerResources(OptionalLong memoryLimit, OptionalDouble cpuLimit) {
+        this(memoryLimit, cpuLimit, memoryLimit.orElse(0) * DEFAULT_RESERVE_PERCENT / 100);
+    }
+
+    /**
+     * Creates a new ContainerResources.
+     *
+     * @param memoryLimit   the memory limit in bytes, if any
+     * @param cpuLimit      the CPU limit in CPUs, if any
+     * @param memoryReserve the bytes of the limit reserved for the build
+     */
+    private ContainerResources(OptionalLong memoryLimit, OptionalDouble cpuLimit, long memoryReserve) {
+        this.memoryLimit = memoryLimit;
+        this.cpuLimit = cpuLimit;
+        this.memoryReserve = memoryReserve;
+    }
+
+    /**
+     * Reads the limits of the cgroup of the current process.
+     *
+     * @return the limits, empty if none are found
+     */
+    public static ContainerResources detect() {
+        return detect(CGROUP_ROOT, PROC_SELF_CGROUP);
+    }
+
+    /**
+     * Reads the limits of a cgroup v2 hierarchy.
+     *
+     * @param cgroupRoot the mount point of the cgroup v2 hierarchy
+     * @param procCgroup the cgroup membership file of the process
+     * @return the limits, empty if none are found
+     */
+    static ContainerResources detect(Path cgroupRoot, Path procCgroup) {
+        long memory = Long.MAX_VALUE;
+        double cpus = Double.MAX_VALUE;
+        for (Path dir : cgroupDirectories(cgroupRoot, procCgroup)) {
+            memory = Math.min(memory, parseMemoryMax(read(dir.resolve("memory.max"))));
+            cpus = Math.min(cpus, parseCpuMax(read(dir.resolve("cpu.max"))));
+        }
+        return new ContainerResources(
+                memory == Long.MAX_VALUE ? OptionalLong.empty() : OptionalLong.of(memory),
+                cpus == Double.MAX_VALUE ? OptionalDouble.empty() : OptionalDouble.of(cpus));
+    }
+
+    /**
+     * Creates limits from known values.
+     *
+     * @param memoryLimit the memory limit in bytes, or 0 for none
+     * @param cpuLimit    the CPU limit in CPUs, or 0 for none
+     * @return the limits
+     */
+    public static ContainerResources of(long memoryLimit, double cpuLimit) {
+        return new ContainerResources(memoryLimit > 0 ? OptionalLong.of(memoryLimit) : OptionalLong.empty(),
+                cpuLimit > 0 ? OptionalDouble.of(cpuLimit) : OptionalDouble.empty());
+    }
+
+    /**
+     * Creates a copy of these limits with a different memory reserve.
+     *
+     * @param memoryReserve the bytes of the memory limit reserved for the
+     *                      Maven JVM and the test JVMs
+     * @return the limits with the given reserve
+     * @throws IllegalArgumentException if the reserve is negative
+     */
+    public ContainerResources withMemoryReserve(long memoryReserve) {
+        if (memoryReserve < 0) {
+            throw new IllegalArgumentException("memory reserve must be at least 0: " + memoryReserve);
+        }
+        return new ContainerResources(memoryLimit, cpuLimit, memoryReserve);
+    }
+
+    /**
+     * Lists the cgroup directory of the process and its ancestors up to the
+     * root.
+     *
+     * @param cgroupRoot the mount point of the cgroup v2 hierarchy
+     * @param procCgroup the cgroup membership file of the process
+     * @return the directories, the process's cgroup first
+     */
+    private static List<Path> cgroupDirectories(Path cgroupRoot, Path procCgroup) {
+        List<Path> dirs = new ArrayList<>();
+        String relative = "";
+        try {
+            for (String line : Files.readAllLines(procCgroup)) {
+                // The cgroup v2 entry has hierarchy ID 0 and no controllers
+                if (line.startsWith("0::")) {
+                    relative = line.substring(3).replaceFirst("^/+", "");
+                }
+            }
+        } catch (IOException e) {
+            // Not Linux or no procfs: only the root is checked
+        }
+        Path dir = relative.isEmpty() ? cgroupRoot : cgroupRoot.resolve(relative).normalize();
+        while (dir != null && dir.startsWith(cgroupRoot)) {
+            dirs.add(dir);
+            dir = dir.getParent();
+        }
+        return dirs;
+    }
+
+    /**
+     * Reads the first line of a cgroup interface file.
+     *
+     * @param file the file
+     * @return the trimmed content, or null if the file cannot be read
+     */
+    private static String read(Path file) {
+        try {
+            return Files.isRegularFile(file) ? Files.readString(file).trim() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses the content of {@code memory.max}.
+     *
+     * @param value the content, e.g. "536870912" or "max"; may be null
+     * @return the limit in bytes, or Long.MAX_VALUE if unlimited
+     */
+    static long parseMemoryMax(String value) {
+        if (value == null || value.isEmpty() || "max".equals(value)) {
+            return Long.MAX_VALUE;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Parses the content of {@code cpu.max}.
+     *
+     * @param value the content, e.g. "150000 100000" or "max 100000"; may be
+     *              null
+     * @return the limit in CPUs, or Double.MAX_VALUE if unlimited
+     */
+    static double parseCpuMax(String value) {
+        if (value == null || value.isEmpty()) {
+            return Double.MAX_VALUE;
+        }
+        String[] parts = value.split("\\s+");
+        if ("max".equals(parts[0])) {
+            return Double.MAX_VALUE;
+        }
+        try {
+            long quota = Long.parseLong(parts[0]);
+            long period = parts.length > 1 ? Long.parseLong(parts[1]) : 100_000;
+            return quota > 0 && period > 0 ? (double) quota / period : Double.MAX_VALUE;
+        } catch (NumberFormatException e) {
+            return Double.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Gets the memory limit.
+     *
+     * @return the limit in bytes, empty if unlimited
+     */
+    public OptionalLong getMemoryLimit() {
+        return memoryLimit;
+    }
+
+    /**
+     * Gets the CPU limit.
+     *
+     * @return the limit in CPUs, empty if unlimited
+     */
+    public OptionalDouble getCpuLimit() {
+        return cpuLimit;
+    }
+
+    /**
+     * Checks if any limit was found.
+     *
+     * @return true if memory or CPU is limited
+     */
+    public boolean isLimited() {
+        return memoryLimit.isPresent() || cpuLimit.isPresent();
+    }
+
+    /**
+     * Gets the memory reserved for the Maven JVM and the test JVMs.
+     *
+     * @return the reserve in bytes
+     */
+    public long getMemoryReserve() {
+        return memoryReserve;
+    }
+
+    /**
+     * Gets the memory Tomcat is sized from: the memory limit minus the
+     * reserve.
+     *
+     * @return the available memory in bytes, empty if memory is unlimited
+     */
+    public OptionalLong getAvailableMemory() {
+        return memoryLimit.isPresent() ? OptionalLong.of(Math.max(0, memoryLimit.getAsLong() - memoryReserve))
+                : OptionalLong.empty();
+    }
+
+    /**
+     * Gets the heap size derived from the available memory.
+     *
+     * @return the maximum heap in bytes, empty if memory is unlimited
+     */
+    public OptionalLong getMaxHeap() {
+        return memoryLimit.isPresent() ? OptionalLong.of(getAvailableMemory().getAsLong() * HEAP_PERCENT / 100)
+                : OptionalLong.empty();
+    }
+
+    /**
+     * Gets the processor count derived from the CPU limit.
+     *
+     * @return the CPU quota rounded up, at least 1; empty if CPU is unlimited
+     */
+    public OptionalLong getActiveProcessorCount() {
+        return cpuLimit.isPresent() ? OptionalLong.of(Math.max(1, (long) Math.ceil(cpuLimit.getAsDouble())))
+                : OptionalLong.empty();
+    }
+
+    /**
+     * Gets the connector maxThreads derived from the limits.
+     *
+     * @return the thread count, empty if nothing is limited
+     */
+    public OptionalLong getMaxThreads() {
+        if (!isLimited()) {
+            return OptionalLong.empty();
+        }
+        long threads = MAX_THREADS;
+        if (cpuLimit.isPresent()) {
+            threads = Math.min(threads, getActiveProcessorCount().getAsLong() * THREADS_PER_CPU);
+        }
+        if (memoryLimit.isPresent()) {
+            long nonHeap = getAvailableMemory().getAsLong() - getMaxHeap().getAsLong();
+            threads = Math.min(threads, nonHeap / NON_HEAP_PER_THREAD);
+        }
+        return OptionalLong.of(Math.max(MIN_THREADS, threads));
+    }
+
+    /**
+     * Gets the connector acceptCount derived from the limits.
+     *
+     * @return the accept queue length, empty if nothing is limited
+     */
+    public OptionalLong getAcceptCount() {
+        return getMaxThreads();
+    }
+
+    /**
+     * Gets the JVM options derived from the limits. A derived option is left
+     * out when the configured options already set it; the heap size is left
+     * out when they bound the heap in any way.
+     *
+     * @param configured the configured JVM options
+     * @return the derived JVM options
+     */
+    public List<String> getJvmOptions(List<String> configured) {
+        Set<String> keys = new HashSet<>();
+        configured.forEach(option -> keys.add(JvmPreset.optionKey(option)));
+
+        List<String> options = new ArrayList<>();
+        if (getMaxHeap().isPresent() && keys.stream().noneMatch(HEAP_OPTION_KEYS::contains)) {
+            // The JVM rejects -Xmx0m
+            options.add("-Xmx" + Math.max(1, getMaxHeap().getAsLong() / MIB) + "m");
+        }
+        if (getActiveProcessorCount().isPresent() && !keys.contains("-XX:ActiveProcessorCount")) {
+            options.add("-XX:ActiveProcessorCount=" + getActiveProcessorCount().getAsLong());
+        }
+        return options;
+    }
+
+    /**
+     * Gets the HTTP connector attributes derived from the limits.
+     *
+     * @return the attributes by name, empty if nothing is limited
+     */
+    public Map<String, String> getConnectorAttributes() {
+        Map<String, String> attributes = new LinkedHashMap<>();
+        getMaxThreads().ifPresent(threads -> attributes.put("maxThreads", String.valueOf(threads)));
+        getAcceptCount().ifPresent(count -> attributes.put("acceptCount", String.valueOf(count)));
+        return attributes;
+    }
+
+    /**
+     * Describes the limits and the derived settings.
+     *
+     * @return a human-readable summary
+     */
+    public String describe() {
+        if (!isLimited()) {
+            return "No cgroup v2 memory or CPU limits found; using JVM and Tomcat defaults";
+        }
+        return String.format(Locale.ROOT, "Container limits: memory %s, CPUs %s; using heap %s, "
+                + "%s processors, maxThreads %d, acceptCount %d",
+                memoryLimit.isPresent() ? memoryLimit.getAsLong() / MIB + " MiB (" + memoryReserve / MIB
+                        + " MiB reserved for Maven and test JVMs)" : "unlimited",
+                cpuLimit.isPresent() ? String.format(Locale.ROOT, "%.2f", cpuLimit.getAsDouble()) : "unlimited",
+                getMaxHeap().isPresent() ? getMaxHeap().getAsLong() / MIB + " MiB of " + getAvailableMemory()
+                        .getAsLong() / MIB + " MiB available" : "default",
+                getActiveProcessorCount().isPresent() ? String.valueOf(getActiveProcessorCount().getAsLong())
+                        : "all",
+                getMaxThreads().getAsLong(), getAcceptCount().getAsLong());
+    }
+}
@@ -0,0 +1,229 @@
+package io.github.rajendarreddyj.tomcat.config;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Default context settings of the generated CATALINA_BASE, configured with a
+ * {@code <context>} block in the plugin configuration and written into its
+ * conf/context.xml, which every web application inherits.
+ *
+ * <p>
+ * The resource cache settings become the attributes of a
+ * {@code <Resources>} element: whether static resources are cached, the cache
+ * size and the largest cached object in kilobytes, and how long an entry is
+ * trusted in milliseconds before the file is checked again. The jars to skip
+ * are added to both the TLD and the pluggability (annotation and web fragment)
+ * skip lists of a {@code <JarScanner>}, on top of the jars that
+ * catalina.properties already skips.
+ * </p>
+ *
+ * <h2>Example</h2>
+ *
+ * <pre>{@code
+ * <context>
+ *     <cacheMaxSize>102400</cacheMaxSize>
+ *     <cacheTtl>60000</cacheTtl>
+ *     <jarsToSkip>
+ *         <jar>spring-*.jar</jar>
+ *         <jar>jackson-*.jar</jar>
+ *     </jarsToSkip>
+ * </context>
+ * }</pre>
+ *
+ * @author rajendarreddyj
+ * @since 1.0.1
+ */
+public class ContextConfiguration {
+
+    /** Tomcat's resource cache size when none is configured, in kilobytes. */
+    public static final long DEFAULT_CACHE_MAX_SIZE = 10240;
+
+    /** Largest share of the cache size that one cached object may take. */
+    static final int CACHE_OBJECT_RATIO = 20;
+
+    /** Reference to the jars that catalina.properties skips, resolved by Tomcat. */
+    static final String DEFAULT_JARS_TO_SKIP = "${tomcat.util.scan.StandardJarScanFilter.jarsToSkip}";
+
+    /** Whether static resources are cached. */
+    private Boolean cachingAllowed;
+
+    /** Maximum size of the resource cache, in kilobytes. */
+    private Long cacheMaxSize;
+
+    /** Maximum size of a cached resource, in kilobytes. */
+    private Integer cacheObjectMaxSize;
+
+    /** Milliseconds before a cached resource is checked for changes. */
+    private Long cacheTtl;
+
+    /** Whether the Class-Path entries of jar manifests are scanned. */
+    private Boolean scanManifest;
+
+    /** File name patterns of jars skipped when scanning for TLDs and annotations. */
+    private List<String> jarsToSkip = new ArrayList<>();
+
+    /**
+     * Creates an empty ContextConfiguration, as Maven does for a
+     * {@code <context>} block.
+     */
+    public ContextConfiguration() {
+        // Fields are injected by Maven or set through the setters
+    }
+
+    /**
+     * Checks that the configured settings are valid.
+     *
+     * @throws IllegalArgumentException if a setting is invalid
+     */
+    public void validate() {
+        if (cacheMaxSize != null && cacheMaxSize < 1) {
+            throw new IllegalArgumentException("cacheMaxSize must be at least 1: " + cacheMaxSize);
+        }
+        if (cacheObjectMaxSize != null && cacheObjectMaxSize < 1) {
+            throw new IllegalArgumentException("cacheObjectMaxSize must be at least 1: " + cacheObjectMaxSize);
+        }
+        if (cacheTtl != null && cacheTtl < 0) {
+            throw new IllegalArgumentException("cacheTtl must be at least 0: " + cacheTtl);
+        }
+        // Tomcat silently caps larger objects at this limit
+        long maxSize = cacheMaxSize != null ? cacheMaxSize : DEFAULT_CACHE_MAX_SIZE;
+        if (cacheObjectMaxSize != null && cacheObjectMaxSize > maxSize / CACHE_OBJECT_RATIO) {
+            throw new IllegalArgumentException("cacheObjectMaxSize (" + cacheObjectMaxSize
+                    + ") must not exceed 1/" + CACHE_OBJECT_RATIO + " of cacheMaxSize (" + maxSize + ")");
+        }
+        for (String jar : jarsToSkip) {
+            if (jar == null || jar.isBlank() || jar.contains(",")) {
+                throw new IllegalArgumentException("jarsToSkip entries must be single non-blank patterns: " + jar);
+            }
+        }
+    }
+
+    /**
+     * Gets the configured cache settings as attributes of the
+     * {@code <Resources>} element.
+     *
+     * @return the attribute values by name, in a stable order; empty if no
+     *         cache setting is configured
+     */
+    public Map<String, String> getResourcesAttributes() {
+        Map<String, String> attributes = new LinkedHashMap<>();
+        putIfSet(attributes, "cachingAllowed", cachingAllowed);
+        putIfSet(attributes, "cacheMaxSize", cacheMaxSize);
+        putIfSet(attributes, "cacheObjectMaxSize", cacheObjectMaxSize);
+        putIfSet(attributes, "cacheTtl", cacheTtl);
+        return attributes;
+    }
+
+    /**
+     * Checks if a {@code <JarScanner>} is configured.
+     *
+     * @return true if scanManifest or jarsToSkip is set
+     */
+    public boolean hasJarScanner() {
+        return scanManifest != null || !jarsToSkip.isEmpty();
+    }
+
+    /**
+     * Gets the configured settings as attributes of the {@code <JarScanner>}
+     * element.
+     *
+     * @return the attribute values by name; empty if scanManifest is not set
+     */
+    public Map<String, String> getJarScannerAttributes() {
+        Map<String, String> attributes = new LinkedHashMap<>();
+        putIfSet(attributes, "scanManifest", scanManifest);
+        return attributes;
+    }
+
+    /**
+     * Gets the skip lists as attributes of the {@code <JarScanFilter>}
+     * element. Both lists start with the jars that catalina.properties skips.
+     *
+     * @return the tldSkip and pluggabilitySkip values; empty if no jar is
+     *         skipped
+     */
+    public Map<String, String> getJarScanFilterAttributes() {
+        if (jarsToSkip.isEmpty()) {
+            return Map.of();
+        }
+        List<String> patterns = new ArrayList<>();
+        patterns.add(DEFAULT_JARS_TO_SKIP);
+        jarsToSkip.forEach(jar -> patterns.add(jar.trim()));
+        String skip = String.join(",", patterns);
+        Map<String, String> attributes = new LinkedHashMap<>();
+        attributes.put("tldSkip", skip);
+        attributes.put("pluggabilitySkip", skip);
+        return attributes;
+    }
+
+    /**
+     * Puts a setting into an attribute map if it is configured.
+     *
+     * @param attributes the attribute map
+     * @param name       the attribute name
+     * @param value      the setting value, may be null
+     */
+    private static void putIfSet(Map<String, String> attributes, String name, Object value) {
+        if (value != null) {
+            attributes.put(name, String.valueOf(value));
+        }
+    }
+
+    /**
+     * Sets whether static resources are cached.
+     *
+     * @param cachingAllowed false to disable the resource cache
+     */
+    public void setCachingAllowed(Boolean cachingAllowed) {
+        this.cachingAllowed = cachingAllowed;
+    }
+
+    /**
+     * Sets the maximum size of the resource cache.
+     *
+     * @param cacheMaxSize the size in kilobytes
+     */
+    public void setCacheMaxSize(Long cacheMaxSize) {
+        this.cacheMaxSize = cacheMaxSize;
+    }
+
+    /**
+     * Sets the maximum size of a cached resource.
+     *
+     * @param cacheObjectMaxSize the size in kilobytes
+     */
+    public void setCacheObjectMaxSize(Integer cacheObjectMaxSize) {
+        this.cacheObjectMaxSize = cacheObjectMaxSize;
+    }
+
+    /**
+     * Sets how long a cached resource is used before it is checked for
+     * changes.
+     *
+     * @param cacheTtl the time in milliseconds
+     */
+    public void setCacheTtl(Long cacheTtl) {
+        this.cacheTtl = cacheTtl;
+    }
+
+    /**
+     * Sets whether the Class-Path entries of jar manifests are scanned.
+     *
+     * @param scanManifest false to skip manifest Class-Path entries
+     */
+    public void setScanManifest(Boolean scanManifest) {
+        this.scanManifest = scanManifest;
+    }
+
+    /**
+     * Sets the jars skipped when scanning for TLDs and annotations.
+     *
+     * @param jarsToSkip file name patterns such as {@code spring-*.jar}
+     */
+    public void setJarsToSkip(List<String> jarsToSkip) {
+        this.jarsToSkip = jarsToSkip != null ? new ArrayList<>(jarsToSkip) : new ArrayList<>();
+    }
+}
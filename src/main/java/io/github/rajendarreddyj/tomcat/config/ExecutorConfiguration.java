@@ -0,0 +1,241 @@
+package io.github.rajendarreddyj.tomcat.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Shared thread pool of the connectors, configured with an
+ * {@code <executor>} block in the plugin configuration and written into the
+ * server.xml of the generated CATALINA_BASE as an {@code <Executor>} that every
+ * connector uses.
+ *
+ * <p>
+ * The executor runs requests either on a pool of platform threads, sized with
+ * maxThreads, minSpareThreads, maxIdleTime and maxQueueSize, or on virtual
+ * threads with Tomcat's {@code StandardVirtualThreadExecutor}. Virtual threads
+ * need Tomcat 11 and have no pool to size, so the pool settings are ignored
+ * for them; switching between the two only takes the virtualThreads flag.
+ * </p>
+ *
+ * <h2>Example</h2>
+ *
+ * <pre>{@code
+ * <executor>
+ *     <virtualThreads>false</virtualThreads>
+ *     <maxThreads>400</maxThreads>
+ *     <minSpareThreads>25</minSpareThreads>
+ *     <maxIdleTime>60000</maxIdleTime>
+ * </executor>
+ * }</pre>
+ *
+ * @author rajendarreddyj
+ * @since 1.0.1
+ */
+public class ExecutorConfiguration {
+
+    /** Name of the executor when none is configured. */
+    public static final String DEFAULT_NAME = "tomcatThreadPool";
+
+    /** Class name of Tomcat's virtual thread executor. */
+    public static final String VIRTUAL_THREAD_EXECUTOR = "org.apache.catalina.core.StandardVirtualThreadExecutor";
+
+    /** Executor name the connectors refer to. */
+    private String name;
+
+    /** Prefix of the names of the executor's threads. */
+    private String namePrefix;
+
+    /** Whether requests run on virtual threads instead of a thread pool. */
+    private boolean virtualThreads;
+
+    /** Maximum number of pool threads. */
+    private Integer maxThreads;
+
+    /** Number of pool threads kept alive. */
+    private Integer minSpareThreads;
+
+    /** Milliseconds before an idle pool thread above minSpareThreads ends. */
+    private Integer maxIdleTime;
+
+    /** Maximum number of queued tasks before requests are rejected. */
+    private Integer maxQueueSize;
+
+    /**
+     * Creates an empty ExecutorConfiguration, as Maven does for an
+     * {@code <executor>} block.
+     */
+    public ExecutorConfiguration() {
+        // Fields are injected by Maven or set through the setters
+    }
+
+    /**
+     * Checks that the configured settings are valid for a Tomcat version.
+     *
+     * @param tomcatVersion the Tomcat version the executor runs on
+     * @throws IllegalArgumentException if a setting is invalid or virtual
+     *                                  threads are not supported
+     */
+    public void validate(TomcatVersion tomcatVersion) {
+        if (virtualThreads && tomcatVersion != TomcatVersion.TOMCAT_11) {
+            throw new IllegalArgumentException("virtualThreads requires Tomcat 11, not Tomcat "
+                    + tomcatVersion.getMajorMinor());
+        }
+        if (name != null && !name.isBlank() && !name.trim().matches("[A-Za-z0-9_.-]+")) {
+            throw new IllegalArgumentException("name may only contain letters, digits, '_', '.' and '-': " + name);
+        }
+        requireAtLeast("maxThreads", maxThreads, 1);
+        requireAtLeast("minSpareThreads", minSpareThreads, 0);
+        requireAtLeast("maxIdleTime", maxIdleTime, 0);
+        requireAtLeast("maxQueueSize", maxQueueSize, 1);
+        if (maxThreads != null && minSpareThreads != null && minSpareThreads > maxThreads) {
+            throw new IllegalArgumentException("minSpareThreads (" + minSpareThreads
+                    + ") must not exceed maxThreads (" + maxThreads + ")");
+        }
+    }
+
+    /**
+     * Checks that a setting, if configured, is not below a minimum.
+     *
+     * @param name    the setting name
+     * @param value   the setting value, may be null
+     * @param minimum the minimum value
+     * @throws IllegalArgumentException if the value is below the minimum
+     */
+    private static void requireAtLeast(String name, Integer value, int minimum) {
+        if (value != null && value < minimum) {
+            throw new IllegalArgumentException(name + " must be at least " + minimum + ": " + value);
+        }
+    }
+
+    /**
+     * Gets the executor name the connectors refer to.
+     *
+     * @return the configured name, or {@link #DEFAULT_NAME}
+     */
+    public String getName() {
+        return name != null && !name.isBlank() ? name.trim() : DEFAULT_NAME;
+    }
+
+    /**
+     * Checks if requests run on virtual threads.
+     *
+     * @return true for the virtual thread executor
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Checks if thread pool settings are configured. They only apply to
+     * platform threads.
+     *
+     * @return true if maxThreads, minSpareThreads, maxIdleTime or
+     *         maxQueueSize is set
+     */
+    public boolean hasPoolSettings() {
+        return maxThreads != null || minSpareThreads != null || maxIdleTime != null || maxQueueSize != null;
+    }
+
+    /**
+     * Gets the configured settings as attributes of the {@code <Executor>}
+     * element. The pool settings are left out for virtual threads.
+     *
+     * @param tomcatVersion the Tomcat version the executor runs on
+     * @return the attribute values by name, in a stable order
+     * @throws IllegalArgumentException if a setting is invalid or virtual
+     *                                  threads are not supported
+     */
+    public Map<String, String> toAttributes(TomcatVersion tomcatVersion) {
+        validate(tomcatVersion);
+        Map<String, String> attributes = new LinkedHashMap<>();
+        attributes.put("name", getName());
+        if (virtualThreads) {
+            attributes.put("className", VIRTUAL_THREAD_EXECUTOR);
+        }
+        attributes.put("namePrefix", namePrefix != null && !namePrefix.isBlank() ? namePrefix
+                : virtualThreads ? "catalina-virt-" : "catalina-exec-");
+        if (!virtualThreads) {
+            put(attributes, "maxThreads", maxThreads);
+            put(attributes, "minSpareThreads", minSpareThreads);
+            put(attributes, "maxIdleTime", maxIdleTime);
+            put(attributes, "maxQueueSize", maxQueueSize);
+        }
+        return attributes;
+    }
+
+    /**
+     * Adds an attribute if its value is configured.
+     *
+     * @param attributes the attributes to add to
+     * @param name       the attribute name
+     * @param value      the value, may be null
+     */
+    private static void put(Map<String, String> attributes, String name, Object value) {
+        if (value != null) {
+            attributes.put(name, String.valueOf(value));
+        }
+    }
+
+    /**
+     * Sets the executor name the connectors refer to.
+     *
+     * @param name the executor name
+     */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Sets the prefix of the names of the executor's threads.
+     *
+     * @param namePrefix the thread name prefix
+     */
+    public void setNamePrefix(String namePrefix) {
+        this.namePrefix = namePrefix;
+    }
+
+    /**
+     * Sets whether requests run on virtual threads instead of a thread pool.
+     *
+     * @param virtualThreads true for virtual threads
+     */
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * Sets the maximum number of pool threads.
+     *
+     * @param maxThreads the thread count
+     */
+    public void setMaxThreads(Integer maxThreads) {
+        this.maxThreads = maxThreads;
+    }
+
+    /**
+     * Sets the number of pool threads kept alive.
+     *
+     * @param minSpareThreads the thread count
+     */
+    public void setMinSpareThreads(Integer minSpareThreads) {
+        this.minSpareThreads = minSpareThreads;
+    }
+
+    /**
+     * Sets the time before an idle pool thread above minSpareThreads ends.
+     *
+     * @param maxIdleTime the time in milliseconds
+     */
+    public void setMaxIdleTime(Integer maxIdleTime) {
+        this.maxIdleTime = maxIdleTime;
+    }
+
+    /**
+     * Sets the maximum number of queued tasks.
+     *
+     * @param maxQueueSize the queue length
+     */
+    public void setMaxQueueSize(Integer maxQueueSize) {
+        this.maxQueueSize = maxQueueSize;
+    }
+}
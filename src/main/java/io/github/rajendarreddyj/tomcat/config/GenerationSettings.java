@@ -0,0 +1,273 @@
+package io.github.rajendarreddyj.tomcat.config;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable settings that {@link CatalinaBaseGenerator} writes into a
+ * generated CATALINA_BASE: the HTTP port and host, HTTP connector attributes,
+ * a shared executor, an HTTPS connector, default context settings and the
+ * access log with request timing.
+ * Use the {@link Builder} to construct instances.
+ *
+ * @author rajendarreddyj
+ * @since 1.0.1
+ */
+public final class GenerationSettings {
+
+    /** The HTTP port to configure. */
+    private final int httpPort;
+
+    /** The HTTP host/address to bind to. */
+    private final String httpHost;
+
+    /** Attributes to set on the HTTP and HTTPS connectors, e.g. maxThreads. */
+    private final Map<String, String> connectorAttributes;
+
+    /** Attributes of the {@code <Executor>} element including its name, empty for no executor. */
+    private final Map<String, String> executorAttributes;
+
+    /** The HTTPS connector, or null for none. */
+    private final HttpsConfiguration https;
+
+    /** The resource cache and jar scanner settings of context.xml, or null to keep it as is. */
+    private final ContextConfiguration context;
+
+    /** Whether each host logs requests with their timing. */
+    private final boolean accessLog;
+
+    /**
+     * Creates GenerationSettings from a builder.
+     *
+     * @param builder the builder
+     */
+    private GenerationSettings(Builder builder) {
+        this.httpPort = builder.httpPort;
+        this.httpHost = builder.httpHost;
+        // Attributes keep their order, which is the order they are written in
+        this.connectorAttributes = builder.connectorAttributes != null
+                ? Collections.unmodifiableMap(new LinkedHashMap<>(builder.connectorAttributes))
+                : Map.of();
+        this.executorAttributes = builder.executorAttributes != null
+                ? Collections.unmodifiableMap(new LinkedHashMap<>(builder.executorAttributes))
+                : Map.of();
+        this.https = builder.https;
+        this.context = builder.context;
+        this.accessLog = builder.accessLog;
+    }
+
+    /**
+     * Creates a new Builder.
+     *
+     * @return a new Builder instance
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates a copy of these settings with another HTTP port, as used for
+     * each instance of a pool.
+     *
+     * @param port the HTTP port
+     * @return the settings with the given port
+     */
+    public GenerationSettings withHttpPort(int port) {
+        return builder()
+                .httpPort(port)
+                .httpHost(httpHost)
+                .connectorAttributes(connectorAttributes)
+                .executorAttributes(executorAttributes)
+                .https(https)
+                .context(context)
+                .accessLog(accessLog)
+                .build();
+    }
+
+    /**
+     * Gets the HTTP port.
+     *
+     * @return the HTTP port
+     */
+    public int getHttpPort() {
+        return httpPort;
+    }
+
+    /**
+     * Gets the HTTP host.
+     *
+     * @return the HTTP host/address
+     */
+    public String getHttpHost() {
+        return httpHost;
+    }
+
+    /**
+     * Gets the attributes of the HTTP and HTTPS connectors.
+     *
+     * @return an unmodifiable map of the attributes
+     */
+    public Map<String, String> getConnectorAttributes() {
+        return connectorAttributes;
+    }
+
+    /**
+     * Gets the attributes of the shared executor.
+     *
+     * @return an unmodifiable map of the attributes, empty for no executor
+     */
+    public Map<String, String> getExecutorAttributes() {
+        return executorAttributes;
+    }
+
+    /**
+     * Gets the HTTPS connector.
+     *
+     * @return the HTTPS connector, or null for none
+     */
+    public HttpsConfiguration getHttps() {
+        return https;
+    }
+
+    /**
+     * Gets the default context settings.
+     *
+     * @return the context settings, or null to keep context.xml as is
+     */
+    public ContextConfiguration getContext() {
+        return context;
+    }
+
+    /**
+     * Checks if the access log with request timing is written.
+     *
+     * @return true if each host logs to {@link CatalinaBaseGenerator#ACCESS_LOG_FILE}
+     */
+    public boolean isAccessLog() {
+        return accessLog;
+    }
+
+    /**
+     * Builder for GenerationSettings.
+     */
+    public static final class Builder {
+
+        /** The HTTP port to configure. */
+        private int httpPort;
+
+        /** The HTTP host/address to bind to. */
+        private String httpHost;
+
+        /** Attributes to set on the HTTP and HTTPS connectors. */
+        private Map<String, String> connectorAttributes;
+
+        /** Attributes of the {@code <Executor>} element. */
+        private Map<String, String> executorAttributes;
+
+        /** The HTTPS connector. */
+        private HttpsConfiguration https;
+
+        /** The default context settings. */
+        private ContextConfiguration context;
+
+        /** Whether each host logs requests with their timing. */
+        private boolean accessLog;
+
+        /**
+         * Private constructor for Builder.
+         */
+        private Builder() {
+        }
+
+        /**
+         * Sets the HTTP port.
+         *
+         * @param httpPort the HTTP port
+         * @return this builder
+         */
+        public Builder httpPort(int httpPort) {
+            this.httpPort = httpPort;
+            return this;
+        }
+
+        /**
+         * Sets the HTTP host.
+         *
+         * @param httpHost the HTTP host/address
+         * @return this builder
+         */
+        public Builder httpHost(String httpHost) {
+            this.httpHost = httpHost;
+            return this;
+        }
+
+        /**
+         * Sets the attributes of the HTTP and HTTPS connectors.
+         *
+         * @param connectorAttributes the attributes, e.g. maxThreads
+         * @return this builder
+         */
+        public Builder connectorAttributes(Map<String, String> connectorAttributes) {
+            this.connectorAttributes = connectorAttributes;
+            return this;
+        }
+
+        /**
+         * Sets the attributes of a shared executor that every connector uses.
+         *
+         * @param executorAttributes the attributes including its name; empty for
+         *                           no executor
+         * @return this builder
+         */
+        public Builder executorAttributes(Map<String, String> executorAttributes) {
+            this.executorAttributes = executorAttributes;
+            return this;
+        }
+
+        /**
+         * Sets the HTTPS connector. Its keystore is not created; see
+         * {@link SelfSignedKeystore}.
+         *
+         * @param https the HTTPS connector, or null for none
+         * @return this builder
+         */
+        public Builder https(HttpsConfiguration https) {
+            this.https = https;
+            return this;
+        }
+
+        /**
+         * Sets the default context settings of every web application.
+         *
+         * @param context the resource cache and jar scanner settings, or null
+         *                to keep context.xml as is
+         * @return this builder
+         */
+        public Builder context(ContextConfiguration context) {
+            this.context = context;
+            return this;
+        }
+
+        /**
+         * Sets whether each host logs requests with their timing, see
+         * {@link CatalinaBaseGenerator#ACCESS_LOG_PATTERN}.
+         *
+         * @param accessLog true to add the access log valve
+         * @return this builder
+         */
+        public Builder accessLog(boolean accessLog) {
+            this.accessLog = accessLog;
+            return this;
+        }
+
+        /**
+         * Builds the GenerationSettings.
+         *
+         * @return the GenerationSettings instance
+         */
+        public GenerationSettings build() {
+            return new GenerationSettings(this);
+        }
+    }
+}
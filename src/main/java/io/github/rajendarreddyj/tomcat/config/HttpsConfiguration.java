@@ -0,0 +1,154 @@
+package io.github.rajendarreddyj.tomcat.config;
+
+import java.io.File;
+
+/**
+ * HTTPS connector of the generated CATALINA_BASE, configured with an
+ * {@code <https>} block in the plugin configuration.
+ *
+ * <p>
+ * The connector serves TLS next to the plain HTTP connector and, unless
+ * disabled, negotiates HTTP/2 through ALPN with Tomcat's
+ * {@code Http2Protocol}. Without a keystore, a self-signed PKCS12 keystore for
+ * the HTTP host is generated in the CATALINA_BASE's conf directory with the
+ * JDK's keytool, without network access.
+ * </p>
+ *
+ * <h2>Example</h2>
+ *
+ * <pre>{@code
+ * <https>
+ *     <port>8443</port>
+ *     <http2>true</http2>
+ * </https>
+ * }</pre>
+ *
+ * @author rajendarreddyj
+ * @since 1.0.1
+ */
+public class HttpsConfiguration {
+
+    /** HTTPS port when none is configured. */
+    public static final int DEFAULT_PORT = 8443;
+
+    /** Keystore password when none is configured. */
+    public static final String DEFAULT_KEYSTORE_PASSWORD = "changeit";
+
+    /** Class name of Tomcat's HTTP/2 upgrade protocol. */
+    public static final String HTTP2_PROTOCOL = "org.apache.coyote.http2.Http2Protocol";
+
+    /** HTTPS port. */
+    private Integer port;
+
+    /** Whether HTTP/2 is offered through ALPN. */
+    private boolean http2 = true;
+
+    /** PKCS12 keystore with the server certificate, generated if not set. */
+    private File keystoreFile;
+
+    /** Password of the keystore and its key. */
+    private String keystorePassword;
+
+    /**
+     * Creates an empty HttpsConfiguration, as Maven does for an
+     * {@code <https>} block.
+     */
+    public HttpsConfiguration() {
+        // Fields are injected by Maven or set through the setters
+    }
+
+    /**
+     * Checks that the configured settings are valid.
+     *
+     * @param httpPort the port of the plain HTTP connector
+     * @throws IllegalArgumentException if a setting is invalid
+     */
+    public void validate(int httpPort) {
+        int resolvedPort = getPort();
+        if (resolvedPort < 1 || resolvedPort > 65535) {
+            throw new IllegalArgumentException("port must be between 1 and 65535: " + resolvedPort);
+        }
+        if (resolvedPort == httpPort) {
+            throw new IllegalArgumentException("port must differ from the HTTP port " + httpPort);
+        }
+        if (keystoreFile != null && !keystoreFile.isFile()) {
+            throw new IllegalArgumentException("keystoreFile does not exist: " + keystoreFile);
+        }
+        if (getKeystorePassword().length() < 6) {
+            throw new IllegalArgumentException("keystorePassword must have at least 6 characters");
+        }
+    }
+
+    /**
+     * Gets the HTTPS port.
+     *
+     * @return the configured port, or {@link #DEFAULT_PORT}
+     */
+    public int getPort() {
+        return port != null ? port : DEFAULT_PORT;
+    }
+
+    /**
+     * Checks if HTTP/2 is offered through ALPN.
+     *
+     * @return true to add the HTTP/2 upgrade protocol
+     */
+    public boolean isHttp2() {
+        return http2;
+    }
+
+    /**
+     * Gets the configured keystore.
+     *
+     * @return the keystore file, or null to generate a self-signed one
+     */
+    public File getKeystoreFile() {
+        return keystoreFile;
+    }
+
+    /**
+     * Gets the password of the keystore and its key.
+     *
+     * @return the configured password, or {@link #DEFAULT_KEYSTORE_PASSWORD}
+     */
+    public String getKeystorePassword() {
+        return keystorePassword != null && !keystorePassword.isEmpty() ? keystorePassword
+                : DEFAULT_KEYSTORE_PASSWORD;
+    }
+
+    /**
+     * Sets the HTTPS port.
+     *
+     * @param port the port
+     */
+    public void setPort(Integer port) {
+        this.port = port;
+    }
+
+    /**
+     * Sets whether HTTP/2 is offered through ALPN.
+     *
+     * @param http2 true to add the HTTP/2 upgrade protocol
+     */
+    public void setHttp2(boolean http2) {
+        this.http2 = http2;
+    }
+
+    /**
+     * Sets the keystore with the server certificate.
+     *
+     * @param keystoreFile a PKCS12 keystore, or null to generate one
+     */
+    public void setKeystoreFile(File keystoreFile) {
+        this.keystoreFile = keystoreFile;
+    }
+
+    /**
+     * Sets the password of the keystore and its key.
+     *
+     * @param keystorePassword the password
+     */
+    public void setKeystorePassword(String keystorePassword) {
+        this.keystorePassword = keystorePassword;
+    }
+}
@@ -0,0 +1,177 @@
+package io.github.rajendarreddyj.tomcat.config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Named sets of JVM options tuned for a purpose, combined with the explicitly
+ * configured JVM options.
+ *
+ * <p>
+ * Explicit options win on conflict: a preset option is dropped when an
+ * explicit option sets the same flag, system property or heap size, or
+ * selects a garbage collector.
+ * </p>
+ *
+ * @author rajendarreddyj
+ * @since 1.0.1
+ */
+public enum JvmPreset {
+    /**
+     * Fast startup for development: C1 only, the serial collector and an
+     * AppCDS archive.
+     */
+    FAST_STARTUP("fast-startup", true, "-XX:TieredStopAtLevel=1", "-XX:+UseSerialGC"),
+
+    /**
+     * Throughput for load tests: the parallel collector and a large,
+     * pre-touched heap.
+     */
+    THROUGHPUT("throughput", false, "-XX:+UseParallelGC", "-XX:InitialRAMPercentage=50",
+            "-XX:MaxRAMPercentage=75", "-XX:+AlwaysPreTouch"),
+
+    /**
+     * Low pause times: the Z collector, generational on Java 21 and later.
+     */
+    LOW_LATENCY("low-latency", false, "-XX:+UseZGC");
+
+    /** Flags that select a garbage collector; only one may be enabled. */
+    private static final Set<String> GC_FLAGS = Set.of("UseSerialGC", "UseParallelGC", "UseG1GC", "UseZGC",
+            "UseShenandoahGC", "UseEpsilonGC");
+
+    /** Standard options whose value follows the name without a separator. */
+    private static final List<String> SIZE_OPTIONS = List.of("-Xmx", "-Xms", "-Xss", "-Xmn");
+
+    /** The name used in the plugin configuration. */
+    private final String presetName;
+
+    /** Whether the preset uses an AppCDS archive. */
+    private final boolean classDataSharing;
+
+    /** The JVM options of the preset. */
+    private final List<String> options;
+
+    /**
+     * Constructs a JvmPreset enum constant.
+     *
+     * @param presetName       the name used in the plugin configuration
+     * @param classDataSharing whether the preset uses an AppCDS archive
+     * @param options          the JVM options of the preset
+     */
+    JvmPreset(String presetName, boolean classDataSharing, String... options) {
+        this.presetName = presetName;
+        this.classDataSharing = classDataSharing;
+        this.options = List.of(options);
+    }
+
+    /**
+     * Gets the name used in the plugin configuration.
+     *
+     * @return the preset name, e.g. "fast-startup"
+     */
+    public String getPresetName() {
+        return presetName;
+    }
+
+    /**
+     * Checks if the preset uses an AppCDS archive.
+     *
+     * @return true if class data sharing should be enabled
+     */
+    public boolean isClassDataSharing() {
+        return classDataSharing;
+    }
+
+    /**
+     * Gets the JVM options of the preset for a Java version.
+     *
+     * @param javaVersion the feature version of the Tomcat JVM
+     * @return the JVM options
+     */
+    public List<String> getOptions(int javaVersion) {
+        List<String> result = new ArrayList<>(options);
+        // Generational ZGC is opt-in on Java 21 and 22 and the only mode from 23
+        if (this == LOW_LATENCY && (javaVersion == 21 || javaVersion == 22)) {
+            result.add("-XX:+ZGenerational");
+        }
+        return result;
+    }
+
+    /**
+     * Combines the preset options with explicit options. Preset options that
+     * conflict with an explicit option are dropped; the explicit options
+     * follow the remaining preset options.
+     *
+     * @param explicitOptions the explicitly configured JVM options, may be
+     *                        null
+     * @param javaVersion     the feature version of the Tomcat JVM
+     * @return the combined JVM options
+     */
+    public List<String> merge(List<String> explicitOptions, int javaVersion) {
+        List<String> explicit = explicitOptions != null ? explicitOptions : List.of();
+        Set<String> explicitKeys = new HashSet<>();
+        explicit.forEach(option -> explicitKeys.add(optionKey(option)));
+
+        List<String> result = new ArrayList<>();
+        for (String option : getOptions(javaVersion)) {
+            if (!explicitKeys.contains(optionKey(option))) {
+                result.add(option);
+            }
+        }
+        result.addAll(explicit);
+        return result;
+    }
+
+    /**
+     * Gets the setting a JVM option controls, so that two options with the
+     * same key conflict.
+     *
+     * @param option the JVM option
+     * @return the key: the flag name for -XX options, the property name for
+     *         -D options, the option name for heap and stack sizes, "gc" for
+     *         collector selection, or the option itself
+     */
+    static String optionKey(String option) {
+        String trimmed = option.trim();
+        if (trimmed.startsWith("-XX:")) {
+            String flag = trimmed.substring(4);
+            if (flag.startsWith("+") || flag.startsWith("-")) {
+                flag = flag.substring(1);
+            }
+            int equals = flag.indexOf('=');
+            String name = equals >= 0 ? flag.substring(0, equals) : flag;
+            return GC_FLAGS.contains(name) ? "gc" : "-XX:" + name;
+        }
+        if (trimmed.startsWith("-D")) {
+            int equals = trimmed.indexOf('=');
+            return equals >= 0 ? trimmed.substring(0, equals) : trimmed;
+        }
+        for (String size : SIZE_OPTIONS) {
+            if (trimmed.startsWith(size)) {
+                return size;
+            }
+        }
+        return trimmed;
+    }
+
+    /**
+     * Determines the JvmPreset from its name.
+     *
+     * @param name the preset name, e.g. "fast-startup"
+     * @return the corresponding JvmPreset
+     * @throws IllegalArgumentException if no preset has the name
+     */
+    public static JvmPreset fromName(String name) {
+        for (JvmPreset preset : values()) {
+            if (preset.presetName.equalsIgnoreCase(name != null ? name.trim() : "")) {
+                return preset;
+            }
+        }
+        throw new IllegalArgumentException("Unknown JVM preset: " + name + ". Supported presets are "
+                + Arrays.stream(values()).map(JvmPreset::getPresetName).collect(Collectors.joining(", ")));
+    }
+}
@@ -0,0 +1,174 @@
+package io.github.rajendarreddyj.tomcat.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.cert.Certificate;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Self-signed PKCS12 keystore for the HTTPS connector of a development
+ * Tomcat.
+ *
+ * <p>
+ * The key pair and certificate are created by running the keytool of a JDK,
+ * so no network access or extra libraries are needed. The certificate is
+ * issued for localhost, the loopback addresses and the HTTP host, and is
+ * reused until it expires. It is not trusted by clients; use it only for
+ * local testing.
+ * </p>
+ *
+ * @author rajendarreddyj
+ * @since 1.0.1
+ */
+public final class SelfSignedKeystore {
+
+    /** File name of the generated keystore in the conf directory. */
+    public static final String FILE_NAME = "localhost-tls.p12";
+
+    /** Alias of the key entry. */
+    public static final String ALIAS = "tomcat";
+
+    /** Validity of the certificate in days. */
+    private static final int VALIDITY_DAYS = 365;
+
+    /** Timeout for the keytool command. */
+    private static final long COMMAND_TIMEOUT_SECONDS = 60;
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     */
+    private SelfSignedKeystore() {
+        // Utility class
+    }
+
+    /**
+     * Creates the keystore unless it exists with a certificate that is still
+     * valid.
+     *
+     * @param javaHome the JDK whose keytool is used
+     * @param keystore the keystore file
+     * @param password the password of the keystore and its key
+     * @param host     the HTTP host the certificate is also issued for, may
+     *                 be null
+     * @return true if the keystore was created
+     * @throws IOException if keytool fails
+     */
+    public static boolean createIfMissing(Path javaHome, Path keystore, String password, String host)
+            throws IOException {
+        if (isValid(keystore, password)) {
+            return false;
+        }
+        Files.deleteIfExists(keystore);
+        Files.createDirectories(keystore.toAbsolutePath().getParent());
+        run(keytoolCommand(javaHome, keystore, password, host));
+        return true;
+    }
+
+    /**
+     * Checks if a keystore has the key entry with a currently valid
+     * certificate.
+     *
+     * @param keystore the keystore file
+     * @param password the password of the keystore
+     * @return true if the keystore can be reused
+     */
+    static boolean isValid(Path keystore, String password) {
+        if (!Files.isRegularFile(keystore)) {
+            return false;
+        }
+        try (InputStream in = Files.newInputStream(keystore)) {
+            KeyStore store = KeyStore.getInstance("PKCS12");
+            store.load(in, password.toCharArray());
+            Certificate certificate = store.getCertificate(ALIAS);
+            if (!store.isKeyEntry(ALIAS) || !(certificate instanceof X509Certificate x509)) {
+                return false;
+            }
+            x509.checkValidity();
+            return true;
+        } catch (IOException | GeneralSecurityException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Builds the keytool command that generates the key pair and
+     * certificate.
+     *
+     * @param javaHome the JDK whose keytool is used
+     * @param keystore the keystore file
+     * @param password the password of the keystore and its key
+     * @param host     the HTTP host, may be null
+     * @return the command line
+     */
+    static List<String> keytoolCommand(Path javaHome, Path keystore, String password, String host) {
+        boolean windows = System.getProperty("os.name", "").toLowerCase(Locale.ROOT).contains("win");
+        Path keytool = javaHome.resolve("bin").resolve(windows ? "keytool.exe" : "keytool");
+        List<String> command = new ArrayList<>();
+        command.add(keytool.toString());
+        command.addAll(List.of("-genkeypair", "-noprompt",
+                "-alias", ALIAS,
+                "-keyalg", "RSA", "-keysize", "2048",
+                "-validity", String.valueOf(VALIDITY_DAYS),
+                "-storetype", "PKCS12",
+                "-keystore", keystore.toAbsolutePath().toString(),
+                "-storepass", password,
+                "-keypass", password,
+                "-dname", "CN=localhost, OU=Development, O=tomcat-maven-plugin",
+                "-ext", "SAN=" + subjectAlternativeNames(host)));
+        return command;
+    }
+
+    /**
+     * Lists the subject alternative names of the certificate.
+     *
+     * @param host the HTTP host, may be null
+     * @return the names in keytool syntax, e.g. "dns:localhost,ip:127.0.0.1"
+     */
+    static String subjectAlternativeNames(String host) {
+        Set<String> names = new LinkedHashSet<>(List.of("dns:localhost", "ip:127.0.0.1", "ip:::1"));
+        if (host != null && !host.isBlank() && !"0.0.0.0".equals(host) && !"::".equals(host)) {
+            String trimmed = host.trim();
+            boolean ipAddress = trimmed.matches("[0-9.]+") || trimmed.contains(":");
+            names.add((ipAddress ? "ip:" : "dns:") + trimmed.toLowerCase(Locale.ROOT));
+        }
+        return String.join(",", names);
+    }
+
+    /**
+     * Runs keytool and waits for it to finish.
+     *
+     * @param command the command line
+     * @throws IOException if keytool cannot be run, times out or fails
+     */
+    private static void run(List<String> command) throws IOException {
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        try {
+            String output;
+            try (InputStream in = process.getInputStream()) {
+                output = new String(in.readAllBytes(), StandardCharsets.UTF_8).trim();
+            }
+            if (!process.waitFor(COMMAND_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                throw new IOException("keytool timed out after " + COMMAND_TIMEOUT_SECONDS + " seconds");
+            }
+            if (process.exitValue() != 0) {
+                throw new IOException("keytool failed with exit code " + process.exitValue() + ": " + output);
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while running keytool", e);
+        }
+    }
+}
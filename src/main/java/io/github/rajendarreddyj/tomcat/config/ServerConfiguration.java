@@ -45,6 +45,18 @@ public final class ServerConfiguration {
     /** Additional classpath entries for Tomcat. */
     private final List<String> classpathAdditions;
 
+    /** Whether to start Tomcat from a CRaC checkpoint when supported. */
+    private final boolean cracEnabled;
+
+    /** Whether to mirror Tomcat console output to the Maven log. */
+    private final boolean mirrorOutput;
+
+    /** The HTTPS port, or 0 if Tomcat has no HTTPS connector. */
+    private final int httpsPort;
+
+    /** Whether the HTTPS connector offers HTTP/2. */
+    private final boolean http2;
+
     /**
      * Constructs a ServerConfiguration from builder values.
      *
@@ -67,6 +79,10 @@ public final class ServerConfiguration {
         this.classpathAdditions = builder.classpathAdditions != null
                 ? List.copyOf(builder.classpathAdditions)
                 : List.of();
+        this.cracEnabled = builder.cracEnabled;
+        this.mirrorOutput = builder.mirrorOutput;
+        this.httpsPort = Math.max(0, builder.httpsPort);
+        this.http2 = builder.http2;
     }
 
     /**
@@ -159,6 +175,42 @@ public final class ServerConfiguration {
         return classpathAdditions;
     }
 
+    /**
+     * Checks if CRaC checkpoint/restore is enabled.
+     *
+     * @return true if Tomcat should be restored from a checkpoint when possible
+     */
+    public boolean isCracEnabled() {
+        return cracEnabled;
+    }
+
+    /**
+     * Checks if Tomcat console output is mirrored to the Maven log.
+     *
+     * @return true if output is shown in the Maven log as well as the log file
+     */
+    public boolean isMirrorOutput() {
+        return mirrorOutput;
+    }
+
+    /**
+     * Gets the HTTPS port.
+     *
+     * @return the HTTPS port, or 0 if Tomcat has no HTTPS connector
+     */
+    public int getHttpsPort() {
+        return httpsPort;
+    }
+
+    /**
+     * Checks if the HTTPS connector offers HTTP/2.
+     *
+     * @return true if ALPN should select h2 on the HTTPS port
+     */
+    public boolean isHttp2() {
+        return http2;
+    }
+
     /**
      * Creates a new Builder instance.
      *
@@ -203,6 +255,18 @@ public final class ServerConfiguration {
         /** Additional classpath entries for Tomcat. */
         private List<String> classpathAdditions;
 
+        /** Whether to start Tomcat from a CRaC checkpoint when supported. */
+        private boolean cracEnabled;
+
+        /** Whether to mirror Tomcat console output to the Maven log. */
+        private boolean mirrorOutput;
+
+        /** The HTTPS port, or 0 for none. */
+        private int httpsPort;
+
+        /** Whether the HTTPS connector offers HTTP/2. */
+        private boolean http2;
+
         /**
          * Private constructor for Builder.
          */
@@ -321,6 +385,50 @@ public final class ServerConfiguration {
             return this;
         }
 
+        /**
+         * Sets whether CRaC checkpoint/restore is enabled.
+         *
+         * @param cracEnabled true to restore Tomcat from a checkpoint when possible
+         * @return this builder
+         */
+        public Builder cracEnabled(boolean cracEnabled) {
+            this.cracEnabled = cracEnabled;
+            return this;
+        }
+
+        /**
+         * Sets whether Tomcat console output is mirrored to the Maven log.
+         *
+         * @param mirrorOutput true to show output in the Maven log as well
+         * @return this builder
+         */
+        public Builder mirrorOutput(boolean mirrorOutput) {
+            this.mirrorOutput = mirrorOutput;
+            return this;
+        }
+
+        /**
+         * Sets the HTTPS port that readiness checks wait for.
+         *
+         * @param httpsPort the HTTPS port, or 0 for none
+         * @return this builder
+         */
+        public Builder httpsPort(int httpsPort) {
+            this.httpsPort = httpsPort;
+            return this;
+        }
+
+        /**
+         * Sets whether the HTTPS connector offers HTTP/2.
+         *
+         * @param http2 true if ALPN should select h2 on the HTTPS port
+         * @return this builder
+         */
+        public Builder http2(boolean http2) {
+            this.http2 = http2;
+            return this;
+        }
+
         /**
          * Builds the ServerConfiguration.
          *
@@ -343,6 +451,10 @@ public final class ServerConfiguration {
                 ", startupTimeout=" + startupTimeout +
                 ", shutdownTimeout=" + shutdownTimeout +
                 ", classpathAdditions=" + classpathAdditions +
+                ", cracEnabled=" + cracEnabled +
+                ", mirrorOutput=" + mirrorOutput +
+                ", httpsPort=" + httpsPort +
+                ", http2=" + http2 +
                 '}';
     }
 }
@@ -0,0 +1,859 @@
+package io.github.rajendarreddyj.tomcat.config;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Rewrites Tomcat XML configuration such as server.xml in a single streaming
+ * pass, keeping comments and formatting.
+ *
+ * <p>
+ * Rules select elements by their path from the root element, e.g.
+ * {@code Server/Service/Connector}, and a filter on their attributes. A StAX
+ * reader checks that the document is well-formed and decodes the attributes,
+ * while a lexer over the raw text locates each tag. Edits are spliced into the
+ * original text, so everything that is not edited, including comments,
+ * whitespace, line endings, attribute order and quoting, stays as it was.
+ * Elements inside comments are never matched.
+ * </p>
+ *
+ * <h2>Example</h2>
+ *
+ * <pre>{@code
+ * new ServerXmlTransformer()
+ *         .setAttributes("Server/Service/Connector", ServerXmlTransformer.HTTP_CONNECTOR,
+ *                 Map.of("port", "9090"))
+ *         .commentOut("Server/Service/Connector", ServerXmlTransformer.AJP_CONNECTOR, "Disabled")
+ *         .transform(serverXml);
+ * }</pre>
+ *
+ * @author rajendarreddyj
+ * @since 1.0.1
+ */
+public final class ServerXmlTransformer {
+
+    /** Path of the connectors in server.xml. */
+    public static final String CONNECTOR_PATH = "Server/Service/Connector";
+
+    /** Filter matching every element. */
+    public static final Predicate<Map<String, String>> ANY = attributes -> true;
+
+    /**
+     * Filter matching plain HTTP connectors: protocol HTTP/1.1 (the default)
+     * or an Http11 protocol class, without TLS.
+     */
+    public static final Predicate<Map<String, String>> HTTP_CONNECTOR = attributes -> {
+        String protocol = attributes.getOrDefault("protocol", "HTTP/1.1").toLowerCase(Locale.ROOT);
+        return (protocol.startsWith("http/") || protocol.contains("http11"))
+                && !"true".equalsIgnoreCase(attributes.get("SSLEnabled"));
+    };
+
+    /** Filter matching AJP connectors. */
+    public static final Predicate<Map<String, String>> AJP_CONNECTOR = attributes -> attributes
+            .getOrDefault("protocol", "").toLowerCase(Locale.ROOT).contains("ajp");
+
+    /** Indentation added per nesting level when a parent has no children. */
+    private static final String INDENT = "  ";
+
+    /** The rules, applied in order. */
+    private final List<Rule> rules = new ArrayList<>();
+
+    /**
+     * Sets attributes of the matching elements, replacing existing values in
+     * place and adding missing attributes after the last one.
+     *
+     * @param path       the element path from the root element
+     * @param filter     the filter on the element's attributes
+     * @param attributes the attribute values by name
+     * @return this transformer
+     */
+    public ServerXmlTransformer setAttributes(String path, Predicate<Map<String, String>> filter,
+            Map<String, String> attributes) {
+        rules.add(new Rule(Kind.SET, path, filter, attributes, null));
+        return this;
+    }
+
+    /**
+     * Sets attributes of the matching elements that do not have them yet.
+     *
+     * @param path       the element path from the root element
+     * @param filter     the filter on the element's attributes
+     * @param attributes the attribute values by name
+     * @return this transformer
+     */
+    public ServerXmlTransformer setAttributesIfAbsent(String path, Predicate<Map<String, String>> filter,
+            Map<String, String> attributes) {
+        rules.add(new Rule(Kind.SET_IF_ABSENT, path, filter, attributes, null));
+        return this;
+    }
+
+    /**
+     * Comments out the matching elements with their content. Other rules do
+     * not apply to them.
+     *
+     * @param path   the element path from the root element
+     * @param filter the filter on the element's attributes
+     * @param note   text put in the comment before the element
+     * @return this transformer
+     */
+    public ServerXmlTransformer commentOut(String path, Predicate<Map<String, String>> filter, String note) {
+        rules.add(new Rule(Kind.COMMENT_OUT, path, filter, Map.of(), note));
+        return this;
+    }
+
+    /**
+     * Inserts an XML fragment as the first child of the matching elements,
+     * e.g. an Executor that the connectors after it refer to.
+     *
+     * @param path     the element path from the root element
+     * @param filter   the filter on the element's attributes
+     * @param fragment the XML fragment; multiple lines are indented alike
+     * @return this transformer
+     */
+    public ServerXmlTransformer prependChild(String path, Predicate<Map<String, String>> filter,
+            String fragment) {
+        rules.add(new Rule(Kind.PREPEND, path, filter, Map.of(), fragment));
+        return this;
+    }
+
+    /**
+     * Inserts an XML fragment as the last child of the matching elements,
+     * e.g. a Valve of a Host.
+     *
+     * @param path     the element path from the root element
+     * @param filter   the filter on the element's attributes
+     * @param fragment the XML fragment; multiple lines are indented alike
+     * @return this transformer
+     */
+    public ServerXmlTransformer appendChild(String path, Predicate<Map<String, String>> filter,
+            String fragment) {
+        rules.add(new Rule(Kind.APPEND, path, filter, Map.of(), fragment));
+        return this;
+    }
+
+    /**
+     * Applies the rules to a file in place. The file is rewritten only if it
+     * changes.
+     *
+     * @param file the XML file
+     * @throws IOException if the file cannot be read or written, or is not
+     *                     well-formed XML
+     */
+    public void transform(Path file) throws IOException {
+        String original = Files.readString(file);
+        String transformed = transform(original);
+        if (!transformed.equals(original)) {
+            Files.writeString(file, transformed);
+        }
+    }
+
+    /**
+     * Applies the rules to an XML document.
+     *
+     * @param xml the XML document
+     * @return the transformed document
+     * @throws IOException if the document is not well-formed XML
+     */
+    public String transform(String xml) throws IOException {
+        String lineSeparator = xml.contains("\r\n") ? "\r\n" : "\n";
+        List<Edit> edits = new ArrayList<>();
+        walk(xml, new ElementVisitor() {
+
+            /** Depth of commented-out elements around the current element. */
+            private int commentedDepth;
+
+            @Override
+            public void start(Element element) {
+                if (commentedDepth > 0) {
+                    commentedDepth++;
+                    return;
+                }
+                for (Rule rule : rules) {
+                    if (!rule.matches(element)) {
+                        continue;
+                    }
+                    switch (rule.kind) {
+                        case SET -> element.changes.putAll(rule.attributes);
+                        case SET_IF_ABSENT -> rule.attributes.forEach((name, value) -> {
+                            if (!element.attributes.containsKey(name)) {
+                                element.changes.putIfAbsent(name, value);
+                            }
+                        });
+                        case COMMENT_OUT -> element.commentNote = rule.text;
+                        case PREPEND -> element.prepends.add(rule.text);
+                        case APPEND -> element.appends.add(rule.text);
+                    }
+                }
+                if (element.commentNote != null) {
+                    commentedDepth = 1;
+                }
+            }
+
+            @Override
+            public void end(Element element) {
+                if (commentedDepth > 1) {
+                    commentedDepth--;
+                    return;
+                }
+                if (commentedDepth == 1) {
+                    commentedDepth = 0;
+                    String content = xml.substring(element.tagStart, element.endTagEnd).replace("--", "- -");
+                    edits.add(new Edit(element.tagStart, element.endTagEnd,
+                            "<!-- " + element.commentNote + ": " + content + " -->"));
+                    return;
+                }
+                addElementEdits(xml, element, lineSeparator, edits);
+            }
+        });
+
+        edits.sort(Comparator.comparingInt((Edit edit) -> edit.start).thenComparingInt(edit -> edit.end));
+        StringBuilder result = new StringBuilder(xml.length() + 256);
+        int position = 0;
+        for (Edit edit : edits) {
+            result.append(xml, position, edit.start).append(edit.replacement);
+            position = edit.end;
+        }
+        return result.append(xml, position, xml.length()).toString();
+    }
+
+    /**
+     * Finds the attributes of the elements matching a path and filter.
+     *
+     * @param file   the XML file
+     * @param path   the element path from the root element
+     * @param filter the filter on the element's attributes
+     * @return the attributes of each matching element, in document order
+     * @throws IOException if the file cannot be read or is not well-formed XML
+     */
+    public static List<Map<String, String>> find(Path file, String path, Predicate<Map<String, String>> filter)
+            throws IOException {
+        return find(Files.readString(file), path, filter);
+    }
+
+    /**
+     * Finds the attributes of the elements matching a path and filter.
+     *
+     * @param xml    the XML document
+     * @param path   the element path from the root element
+     * @param filter the filter on the element's attributes
+     * @return the attributes of each matching element, in document order
+     * @throws IOException if the document is not well-formed XML
+     */
+    public static List<Map<String, String>> find(String xml, String path, Predicate<Map<String, String>> filter)
+            throws IOException {
+        List<Map<String, String>> found = new ArrayList<>();
+        walk(xml, new ElementVisitor() {
+            @Override
+            public void start(Element element) {
+                if (element.path.equals(path) && filter.test(element.attributes)) {
+                    found.add(Map.copyOf(element.attributes));
+                }
+            }
+
+            @Override
+            public void end(Element element) {
+                // Only start tags are of interest
+            }
+        });
+        return found;
+    }
+
+    /**
+     * Creates an empty element with escaped attribute values, e.g. to insert
+     * with {@link #prependChild} or {@link #appendChild}.
+     *
+     * @param name       the element name, e.g. "Executor"
+     * @param attributes the attribute values by name, in order
+     * @return the element, e.g. {@code <Executor name="pool" />}
+     */
+    public static String element(String name, Map<String, String> attributes) {
+        return rewriteStartTag("<" + name + " />", attributes);
+    }
+
+    /**
+     * Adds the edits of an element that is not commented out: the rewritten
+     * start tag and the inserted children.
+     *
+     * @param xml           the XML document
+     * @param element       the element
+     * @param lineSeparator the line separator of the document
+     * @param edits         the edits to add to
+     */
+    private static void addElementEdits(String xml, Element element, String lineSeparator, List<Edit> edits) {
+        String startTag = xml.substring(element.tagStart, element.tagEnd);
+        if (!element.changes.isEmpty()) {
+            startTag = rewriteStartTag(startTag, element.changes);
+        }
+        List<String> children = new ArrayList<>(element.prepends);
+        children.addAll(element.appends);
+        if (children.isEmpty()) {
+            if (!element.changes.isEmpty()) {
+                edits.add(new Edit(element.tagStart, element.tagEnd, startTag));
+            }
+            return;
+        }
+
+        String childIndent = element.childIndent != null ? element.childIndent
+                : (element.indent != null ? element.indent : "") + INDENT;
+        if (element.selfClosing) {
+            // <Host ... /> becomes <Host ...> children </Host>
+            String open = startTag.substring(0, startTag.length() - 2).stripTrailing() + ">";
+            StringBuilder expanded = new StringBuilder(open).append(lineSeparator);
+            children.forEach(child -> expanded.append(indent(child, childIndent, lineSeparator)));
+            expanded.append(element.indent != null ? element.indent : "").append("</").append(element.name)
+                    .append('>');
+            edits.add(new Edit(element.tagStart, element.tagEnd, expanded.toString()));
+            return;
+        }
+
+        if (!element.changes.isEmpty()) {
+            edits.add(new Edit(element.tagStart, element.tagEnd, startTag));
+        }
+        if (!element.prepends.isEmpty()) {
+            StringBuilder inserted = new StringBuilder(lineSeparator);
+            element.prepends.forEach(child -> inserted.append(indent(child, childIndent, lineSeparator)));
+            // The line break before the existing first child stays in place
+            inserted.setLength(inserted.length() - lineSeparator.length());
+            edits.add(new Edit(element.tagEnd, element.tagEnd, inserted.toString()));
+        }
+        if (!element.appends.isEmpty()) {
+            StringBuilder inserted = new StringBuilder();
+            element.appends.forEach(child -> inserted.append(indent(child, childIndent, lineSeparator)));
+            String endIndent = indentOf(xml, element.endTagStart);
+            if (endIndent != null) {
+                int lineStart = element.endTagStart - endIndent.length();
+                edits.add(new Edit(lineStart, lineStart, inserted.toString()));
+            } else {
+                edits.add(new Edit(element.endTagStart, element.endTagStart, lineSeparator + inserted));
+            }
+        }
+    }
+
+    /**
+     * Indents every line of a fragment and ends it with a line separator.
+     *
+     * @param fragment      the XML fragment
+     * @param indent        the indentation
+     * @param lineSeparator the line separator
+     * @return the indented fragment
+     */
+    private static String indent(String fragment, String indent, String lineSeparator) {
+        StringBuilder indented = new StringBuilder();
+        for (String line : fragment.strip().split("\r?\n")) {
+            indented.append(line.isBlank() ? "" : indent + line).append(lineSeparator);
+        }
+        return indented.toString();
+    }
+
+    /**
+     * Sets attributes in a start tag. Existing values are replaced in place,
+     * keeping their quotes; new attributes are added after the last one.
+     *
+     * @param startTag the start tag, e.g. {@code <Connector port="8080" />}
+     * @param changes  the attribute values by name
+     * @return the rewritten start tag
+     */
+    static String rewriteStartTag(String startTag, Map<String, String> changes) {
+        Map<String, String> remaining = new LinkedHashMap<>(changes);
+        StringBuilder result = new StringBuilder();
+        int i = 1;
+        while (i < startTag.length() && !isNameEnd(startTag.charAt(i))) {
+            i++;
+        }
+        int copied = 0;
+        int lastAttributeEnd = i;
+        while (true) {
+            while (i < startTag.length() && Character.isWhitespace(startTag.charAt(i))) {
+                i++;
+            }
+            if (i >= startTag.length() || startTag.charAt(i) == '/' || startTag.charAt(i) == '>') {
+                break;
+            }
+            int nameStart = i;
+            while (startTag.charAt(i) != '=' && !Character.isWhitespace(startTag.charAt(i))) {
+                i++;
+            }
+            String name = startTag.substring(nameStart, i);
+            i = startTag.indexOf('=', i) + 1;
+            while (Character.isWhitespace(startTag.charAt(i))) {
+                i++;
+            }
+            char quote = startTag.charAt(i);
+            int valueStart = i + 1;
+            int valueEnd = startTag.indexOf(quote, valueStart);
+            if (remaining.containsKey(name)) {
+                result.append(startTag, copied, valueStart).append(escape(remaining.remove(name), quote));
+                copied = valueEnd;
+            }
+            i = valueEnd + 1;
+            lastAttributeEnd = i;
+        }
+        result.append(startTag, copied, lastAttributeEnd);
+        remaining.forEach((name, value) -> result.append(' ').append(name).append("=\"")
+                .append(escape(value, '"')).append('"'));
+        return result.append(startTag, lastAttributeEnd, startTag.length()).toString();
+    }
+
+    /**
+     * Escapes an attribute value.
+     *
+     * @param value the value
+     * @param quote the quote character around the value
+     * @return the escaped value
+     */
+    private static String escape(String value, char quote) {
+        String escaped = value.replace("&", "&amp;").replace("<", "&lt;");
+        return quote == '"' ? escaped.replace("\"", "&quot;") : escaped.replace("'", "&apos;");
+    }
+
+    /**
+     * Gets the indentation of a tag that starts a line.
+     *
+     * @param xml      the XML document
+     * @param tagStart the offset of the tag
+     * @return the whitespace before the tag, or null if other text precedes it
+     *         on its line
+     */
+    private static String indentOf(String xml, int tagStart) {
+        int i = tagStart;
+        while (i > 0 && (xml.charAt(i - 1) == ' ' || xml.charAt(i - 1) == '\t')) {
+            i--;
+        }
+        return i == 0 || xml.charAt(i - 1) == '\n' ? xml.substring(i, tagStart) : null;
+    }
+
+    /**
+     * Checks if a character ends an element or attribute name.
+     *
+     * @param c the character
+     * @return true for whitespace, '/', '>' and '='
+     */
+    private static boolean isNameEnd(char c) {
+        return Character.isWhitespace(c) || c == '/' || c == '>' || c == '=';
+    }
+
+    /**
+     * Reads a document with StAX and reports each element with the location of
+     * its tags in the text.
+     *
+     * @param xml     the XML document
+     * @param visitor receives the elements
+     * @throws IOException if the document is not well-formed XML
+     */
+    private static void walk(String xml, ElementVisitor visitor) throws IOException {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+
+        Lexer lexer = new Lexer(xml);
+        Deque<Element> open = new ArrayDeque<>();
+        XMLStreamReader reader = null;
+        try {
+            reader = factory.createXMLStreamReader(new StringReader(xml));
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String name = qualifiedName(reader.getPrefix(), reader.getLocalName());
+                    Lexer.Tag tag = lexer.next(name, false);
+                    Map<String, String> attributes = new LinkedHashMap<>();
+                    for (int i = 0; i < reader.getAttributeCount(); i++) {
+                        attributes.put(qualifiedName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i)),
+                                reader.getAttributeValue(i));
+                    }
+                    Element parent = open.peek();
+                    Element element = new Element(parent == null ? name : parent.path + "/" + name, name,
+                            attributes, tag, indentOf(xml, tag.start));
+                    if (parent != null && parent.childIndent == null) {
+                        parent.childIndent = element.indent;
+                    }
+                    open.push(element);
+                    visitor.start(element);
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    Element element = open.pop();
+                    if (element.selfClosing) {
+                        element.endTagStart = element.tagEnd;
+                        element.endTagEnd = element.tagEnd;
+                    } else {
+                        Lexer.Tag tag = lexer.next(element.name, true);
+                        element.endTagStart = tag.start;
+                        element.endTagEnd = tag.end;
+                    }
+                    visitor.end(element);
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Invalid XML: " + e.getMessage(), e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    // Reading from a string, nothing to release
+                }
+            }
+        }
+    }
+
+    /**
+     * Joins a namespace prefix and a local name.
+     *
+     * @param prefix    the prefix, may be null or empty
+     * @param localName the local name
+     * @return the qualified name
+     */
+    private static String qualifiedName(String prefix, String localName) {
+        return prefix == null || prefix.isEmpty() ? localName : prefix + ":" + localName;
+    }
+
+    /**
+     * Kinds of rules.
+     */
+    private enum Kind {
+        /** Set attributes. */
+        SET,
+        /** Set attributes that are missing. */
+        SET_IF_ABSENT,
+        /** Comment the element out. */
+        COMMENT_OUT,
+        /** Insert a first child. */
+        PREPEND,
+        /** Insert a last child. */
+        APPEND
+    }
+
+    /**
+     * A transformation rule.
+     */
+    private static final class Rule {
+
+        /** The kind of rule. */
+        private final Kind kind;
+
+        /** The element path from the root element. */
+        private final String path;
+
+        /** The filter on the element's attributes. */
+        private final Predicate<Map<String, String>> filter;
+
+        /** The attributes to set. */
+        private final Map<String, String> attributes;
+
+        /** The comment note or XML fragment. */
+        private final String text;
+
+        /**
+         * Creates a new Rule.
+         *
+         * @param kind       the kind of rule
+         * @param path       the element path from the root element
+         * @param filter     the filter on the element's attributes
+         * @param attributes the attributes to set
+         * @param text       the comment note or XML fragment
+         */
+        private Rule(Kind kind, String path, Predicate<Map<String, String>> filter, Map<String, String> attributes,
+                String text) {
+            this.kind = kind;
+            this.path = path;
+            this.filter = filter;
+            this.attributes = new LinkedHashMap<>(attributes);
+            this.text = text;
+        }
+
+        /**
+         * Checks if the rule applies to an element.
+         *
+         * @param element the element
+         * @return true if path and filter match
+         */
+        private boolean matches(Element element) {
+            return path.equals(element.path) && filter.test(element.attributes);
+        }
+    }
+
+    /**
+     * An element and the location of its tags.
+     */
+    private static final class Element {
+
+        /** The element path from the root element. */
+        private final String path;
+
+        /** The element name. */
+        private final String name;
+
+        /** The decoded attributes. */
+        private final Map<String, String> attributes;
+
+        /** Offset of the start tag. */
+        private final int tagStart;
+
+        /** Offset after the start tag. */
+        private final int tagEnd;
+
+        /** Whether the start tag is also the end tag. */
+        private final boolean selfClosing;
+
+        /** Indentation of the start tag, or null if not at a line start. */
+        private final String indent;
+
+        /** Indentation of the first child, or null if unknown. */
+        private String childIndent;
+
+        /** Offset of the end tag. */
+        private int endTagStart;
+
+        /** Offset after the end tag. */
+        private int endTagEnd;
+
+        /** Attributes to set. */
+        private final Map<String, String> changes = new LinkedHashMap<>();
+
+        /** Fragments to insert as first children. */
+        private final List<String> prepends = new ArrayList<>();
+
+        /** Fragments to insert as last children. */
+        private final List<String> appends = new ArrayList<>();
+
+        /** Note of the comment replacing the element, or null to keep it. */
+        private String commentNote;
+
+        /**
+         * Creates a new Element.
+         *
+         * @param path       the element path from the root element
+         * @param name       the element name
+         * @param attributes the decoded attributes
+         * @param tag        the start tag
+         * @param indent     the indentation of the start tag
+         */
+        private Element(String path, String name, Map<String, String> attributes, Lexer.Tag tag, String indent) {
+            this.path = path;
+            this.name = name;
+            this.attributes = attributes;
+            this.tagStart = tag.start;
+            this.tagEnd = tag.end;
+            this.selfClosing = tag.selfClosing;
+            this.indent = indent;
+        }
+    }
+
+    /**
+     * A replacement of a range of the document text.
+     */
+    private static final class Edit {
+
+        /** Offset of the replaced range. */
+        private final int start;
+
+        /** Offset after the replaced range; equal to start for insertions. */
+        private final int end;
+
+        /** The replacement text. */
+        private final String replacement;
+
+        /**
+         * Creates a new Edit.
+         *
+         * @param start       the offset of the replaced range
+         * @param end         the offset after the replaced range
+         * @param replacement the replacement text
+         */
+        private Edit(int start, int end, String replacement) {
+            this.start = start;
+            this.end = end;
+            this.replacement = replacement;
+        }
+    }
+
+    /**
+     * Receives the elements of a document.
+     */
+    private interface ElementVisitor {
+
+        /**
+         * Called after the start tag of an element.
+         *
+         * @param element the element
+         */
+        void start(Element element);
+
+        /**
+         * Called after the end tag of an element.
+         *
+         * @param element the element
+         */
+        void end(Element element);
+    }
+
+    /**
+     * Finds the tags of a document in its text, skipping comments, CDATA
+     * sections, processing instructions and declarations.
+     */
+    private static final class Lexer {
+
+        /** The document text. */
+        private final String xml;
+
+        /** Offset to continue from. */
+        private int position;
+
+        /**
+         * Creates a new Lexer.
+         *
+         * @param xml the document text
+         */
+        private Lexer(String xml) {
+            this.xml = xml;
+        }
+
+        /**
+         * Finds the next tag, which must be the tag the parser reported.
+         *
+         * @param name   the expected element name
+         * @param endTag whether an end tag is expected
+         * @return the tag
+         * @throws IOException if the next tag is not the expected one
+         */
+        private Tag next(String name, boolean endTag) throws IOException {
+            while (true) {
+                int start = xml.indexOf('<', position);
+                if (start < 0) {
+                    break;
+                }
+                if (xml.startsWith("<!--", start)) {
+                    position = indexAfter("-->", start + 4);
+                } else if (xml.startsWith("<![CDATA[", start)) {
+                    position = indexAfter("]]>", start + 9);
+                } else if (xml.startsWith("<?", start)) {
+                    position = indexAfter("?>", start + 2);
+                } else if (xml.startsWith("<!", start)) {
+                    position = declarationEnd(start);
+                } else {
+                    boolean closing = xml.startsWith("</", start);
+                    int nameStart = start + (closing ? 2 : 1);
+                    int nameEnd = nameStart;
+                    while (nameEnd < xml.length() && !isNameEnd(xml.charAt(nameEnd))) {
+                        nameEnd++;
+                    }
+                    int end = tagEnd(nameEnd);
+                    position = end;
+                    if (closing != endTag || !xml.substring(nameStart, nameEnd).equals(name)) {
+                        break;
+                    }
+                    return new Tag(start, end, !closing && xml.charAt(end - 2) == '/');
+                }
+            }
+            throw new IOException("Cannot locate the " + (endTag ? "end" : "start") + " tag of <" + name
+                    + "> in the document text");
+        }
+
+        /**
+         * Finds the end of a tag, skipping '>' in quoted attribute values.
+         *
+         * @param from the offset after the element name
+         * @return the offset after the tag
+         */
+        private int tagEnd(int from) {
+            char quote = 0;
+            for (int i = from; i < xml.length(); i++) {
+                char c = xml.charAt(i);
+                if (quote != 0) {
+                    if (c == quote) {
+                        quote = 0;
+                    }
+                } else if (c == '"' || c == '\'') {
+                    quote = c;
+                } else if (c == '>') {
+                    return i + 1;
+                }
+            }
+            return xml.length();
+        }
+
+        /**
+         * Finds the end of a declaration such as DOCTYPE, which may contain an
+         * internal subset in brackets.
+         *
+         * @param start the offset of the declaration
+         * @return the offset after the declaration
+         */
+        private int declarationEnd(int start) {
+            int depth = 0;
+            char quote = 0;
+            for (int i = start + 2; i < xml.length(); i++) {
+                char c = xml.charAt(i);
+                if (quote != 0) {
+                    if (c == quote) {
+                        quote = 0;
+                    }
+                } else if (c == '"' || c == '\'') {
+                    quote = c;
+                } else if (c == '[') {
+                    depth++;
+                } else if (c == ']') {
+                    depth--;
+                } else if (c == '>' && depth <= 0) {
+                    return i + 1;
+                }
+            }
+            return xml.length();
+        }
+
+        /**
+         * Finds the offset after a terminator.
+         *
+         * @param terminator the terminator, e.g. "-->"
+         * @param from       the offset to search from
+         * @return the offset after the terminator, or the text length
+         */
+        private int indexAfter(String terminator, int from) {
+            int index = xml.indexOf(terminator, from);
+            return index < 0 ? xml.length() : index + terminator.length();
+        }
+
+        /**
+         * A tag in the document text.
+         */
+        private static final class Tag {
+
+            /** Offset of the tag. */
+            private final int start;
+
+            /** Offset after the tag. */
+            private final int end;
+
+            /** Whether the tag ends with "/>". */
+            private final boolean selfClosing;
+
+            /**
+             * Creates a new Tag.
+             *
+             * @param start       the offset of the tag
+             * @param end         the offset after the tag
+             * @param selfClosing whether the tag ends with "/>"
+             */
+            private Tag(int start, int end, boolean selfClosing) {
+                this.start = start;
+                this.end = end;
+                this.selfClosing = selfClosing;
+            }
+        }
+    }
+}
@@ -17,9 +17,30 @@
  * <li>{@link io.github.rajendarreddyj.tomcat.config.TomcatVersion} -
  * Enum representing supported Tomcat versions with download URLs and
  * Java version requirements</li>
+ * <li>{@link io.github.rajendarreddyj.tomcat.config.JvmPreset} -
+ * Enum of named JVM option sets (fast-startup, throughput, low-latency)
+ * merged with explicit JVM options</li>
+ * <li>{@link io.github.rajendarreddyj.tomcat.config.ContainerResources} -
+ * cgroup v2 memory and CPU limits and the heap, processor and connector
+ * sizing derived from them</li>
  * <li>{@link io.github.rajendarreddyj.tomcat.config.CatalinaBaseGenerator} -
  * Utility for generating custom CATALINA_BASE directories with modified
  * port configuration</li>
+ * <li>{@link io.github.rajendarreddyj.tomcat.config.ConnectorConfiguration} -
+ * HTTP connector performance settings from the {@code <connector>} block,
+ * validated and rendered as server.xml attributes</li>
+ * <li>{@link io.github.rajendarreddyj.tomcat.config.ExecutorConfiguration} -
+ * Shared platform or virtual thread executor of the connectors from the
+ * {@code <executor>} block</li>
+ * <li>{@link io.github.rajendarreddyj.tomcat.config.HttpsConfiguration} -
+ * HTTPS connector with HTTP/2 from the {@code <https>} block</li>
+ * <li>{@link io.github.rajendarreddyj.tomcat.config.ContextConfiguration} -
+ * Resource cache and jar scanning of context.xml from the {@code <context>} block</li>
+ * <li>{@link io.github.rajendarreddyj.tomcat.config.SelfSignedKeystore} -
+ * Self-signed PKCS12 keystore generated offline with keytool</li>
+ * <li>{@link io.github.rajendarreddyj.tomcat.config.ServerXmlTransformer} -
+ * Single-pass StAX rewriting of server.xml that keeps comments and
+ * formatting</li>
  * </ul>
  *
  * <h2>Builder Pattern</h2>
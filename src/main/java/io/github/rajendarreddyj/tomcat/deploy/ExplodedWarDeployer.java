@@ -7,7 +7,9 @@ import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
 import java.util.Comparator;
+import java.util.List;
 import java.util.stream.Stream;
 
 import org.apache.maven.plugin.logging.Log;
@@ -86,6 +88,122 @@ public class ExplodedWarDeployer {
         deploy(config);
     }
 
+    /**
+     * Removes the deployed webapp.
+     *
+     * @param config Deployment configuration
+     * @throws IOException if the deployment cannot be removed
+     */
+    public void undeploy(DeployableConfiguration config) throws IOException {
+        Path targetPath = config.getDeployDir().resolve(config.getTargetDirectoryName());
+
+        if (Files.exists(targetPath)) {
+            log.info("Undeploying " + config.getModuleName() + " from " + targetPath);
+            deleteDirectory(targetPath);
+        }
+    }
+
+    /**
+     * Incrementally synchronizes the deployed webapp with its source.
+     *
+     * <p>
+     * Copies files that are new, differ in size or are newer than the deployed
+     * copy and
+     * deletes files that no longer exist in the source. Unchanged files are
+     * left alone, so Tomcat only sees the actual changes. If classes, libraries
+     * or {@code web.xml} changed, {@code WEB-INF/web.xml} is touched so that
+     * Tomcat reloads the context. Falls back to a full deployment if the webapp
+     * is not deployed yet.
+     * </p>
+     *
+     * @param config Deployment configuration
+     * @return the number of files copied or deleted
+     * @throws IOException if synchronization fails
+     */
+    public int sync(DeployableConfiguration config) throws IOException {
+        Path sourcePath = config.getSourcePath();
+        Path targetPath = config.getDeployDir().resolve(config.getTargetDirectoryName());
+
+        if (!Files.exists(sourcePath)) {
+            throw new IOException("Source path does not exist: " + sourcePath);
+        }
+        if (!Files.isDirectory(targetPath)) {
+            deploy(config);
+            return -1;
+        }
+
+        int changes = 0;
+        boolean reloadRequired = false;
+
+        try (Stream<Path> walk = Files.walk(sourcePath)) {
+            for (Path source : (Iterable<Path>) walk::iterator) {
+                Path relative = sourcePath.relativize(source);
+                Path target = targetPath.resolve(relative);
+                if (Files.isDirectory(source)) {
+                    Files.createDirectories(target);
+                } else if (isModified(source, target)) {
+                    Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+                    log.debug("Synced: " + relative);
+                    changes++;
+                    reloadRequired |= requiresReload(relative);
+                }
+            }
+        }
+
+        List<Path> removed;
+        try (Stream<Path> walk = Files.walk(targetPath)) {
+            removed = walk.filter(target -> !Files.exists(sourcePath.resolve(targetPath.relativize(target))))
+                    .sorted(Comparator.reverseOrder())
+                    .toList();
+        }
+        for (Path target : removed) {
+            Path relative = targetPath.relativize(target);
+            Files.deleteIfExists(target);
+            log.debug("Removed: " + relative);
+            changes++;
+            reloadRequired |= requiresReload(relative);
+        }
+
+        Path webXml = targetPath.resolve("WEB-INF").resolve("web.xml");
+        if (reloadRequired && Files.exists(webXml)) {
+            Files.setLastModifiedTime(webXml, FileTime.fromMillis(System.currentTimeMillis()));
+            log.info("Classes or libraries changed; Tomcat will reload " + config.getContextPath());
+        }
+
+        log.info("Synchronized " + changes + " changed file(s) to " + targetPath);
+        return changes;
+    }
+
+    /**
+     * Checks if a source file differs from its deployed copy.
+     *
+     * @param source the source file
+     * @param target the deployed file
+     * @return true if the target is missing, differs in size or is older than
+     *         the source
+     * @throws IOException if file attributes cannot be read
+     */
+    private static boolean isModified(Path source, Path target) throws IOException {
+        if (!Files.isRegularFile(target)) {
+            return true;
+        }
+        // Compared in milliseconds, as a copied modification time may lose precision
+        return Files.size(source) != Files.size(target)
+                || Files.getLastModifiedTime(source).toMillis() > Files.getLastModifiedTime(target).toMillis();
+    }
+
+    /**
+     * Checks if a change to a webapp path requires a context reload.
+     *
+     * @param relative the path relative to the webapp root
+     * @return true for classes, libraries and the deployment descriptor
+     */
+    private static boolean requiresReload(Path relative) {
+        String path = relative.toString().replace('\\', '/');
+        return path.startsWith("WEB-INF/classes/") || path.startsWith("WEB-INF/lib/")
+                || path.equals("WEB-INF/web.xml");
+    }
+
     /**
      * Synchronizes changed files from source to deployed webapp.
      * Used for hot deployment.
@@ -113,7 +231,9 @@ public class ExplodedWarDeployer {
      *
      * <p>
      * Uses NIO FileVisitor to walk the source directory tree and copy
-     * all files and subdirectories to the target location.
+     * all files and subdirectories to the target location. Files keep their
+     * modification time, so an unchanged webapp is deployed with the same
+     * fingerprint for {@code CracCheckpoint}.
      * </p>
      *
      * @param source the source directory to copy from
@@ -134,7 +254,8 @@ public class ExplodedWarDeployer {
             public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
                     throws IOException {
                 Path targetFile = target.resolve(source.relativize(file));
-                Files.copy(file, targetFile, StandardCopyOption.REPLACE_EXISTING);
+                Files.copy(file, targetFile, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.COPY_ATTRIBUTES);
                 return FileVisitResult.CONTINUE;
             }
         });
@@ -0,0 +1,442 @@
+package io.github.rajendarreddyj.tomcat.deploy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Offline analysis of the jars in a webapp's WEB-INF/lib that Tomcat scans at
+ * startup for TLDs, web fragments, ServletContainerInitializers and servlet
+ * annotations.
+ *
+ * <p>
+ * A jar needs scanning if it contains a TLD under META-INF, a
+ * META-INF/web-fragment.xml, a ServletContainerInitializer service, static
+ * resources under META-INF/resources, or classes that refer to the
+ * {@code jakarta.servlet.annotation} or {@code javax.servlet.annotation}
+ * package. Every other jar that catalina.properties does not skip yet is added
+ * to {@value #JARS_TO_SKIP_PROPERTY} with {@link #writeJarsToSkip}.
+ * </p>
+ *
+ * <p>
+ * An initializer's {@code @HandlesTypes} may name a type that classes in any
+ * other jar extend, implement or are annotated with, which is only known by
+ * loading the class hierarchy. So while any jar declares an initializer,
+ * jars with classes are scanned as well, and only jars without classes are
+ * skipped.
+ * </p>
+ *
+ * <p>
+ * Reading every class of a jar costs about as much as Tomcat's own scan, so
+ * the result of each jar is cached by its name, size and modification time,
+ * and only new or changed jars are read again.
+ * </p>
+ *
+ * @author rajendarreddyj
+ * @since 1.0.1
+ */
+public class JarScanAnalyzer {
+
+    /** Property of catalina.properties listing the jars Tomcat does not scan. */
+    public static final String JARS_TO_SKIP_PROPERTY = "tomcat.util.scan.StandardJarScanFilter.jarsToSkip";
+
+    /** Reason for scanning a jar with tag library descriptors. */
+    static final String TLD = "TLD";
+
+    /** Reason for scanning a jar with a web fragment. */
+    static final String WEB_FRAGMENT = "web-fragment.xml";
+
+    /** Reason for scanning a jar with a ServletContainerInitializer. */
+    static final String INITIALIZER = "ServletContainerInitializer";
+
+    /** Reason for scanning a jar with static resources. */
+    static final String RESOURCES = "META-INF/resources";
+
+    /** Reason for scanning a jar with classes using servlet annotations. */
+    static final String ANNOTATIONS = "servlet annotations";
+
+    /** Reason for scanning a jar with classes while another jar declares an initializer. */
+    static final String HANDLES_TYPES = "@HandlesTypes candidates";
+
+    /** Cached finding of a jar with classes, which is not a reason on its own. */
+    private static final String CLASSES = "classes";
+
+    /** Service files of ServletContainerInitializers, for Jakarta and Java EE. */
+    private static final List<String> INITIALIZER_SERVICES = List.of(
+            "META-INF/services/jakarta.servlet.ServletContainerInitializer",
+            "META-INF/services/javax.servlet.ServletContainerInitializer");
+
+    /** Class file references to the servlet annotation packages. */
+    private static final List<String> ANNOTATION_PACKAGES = List.of(
+            "jakarta/servlet/annotation/", "javax/servlet/annotation/");
+
+    /** Separator of the fields of a cache line. */
+    private static final String CACHE_SEPARATOR = "\t";
+
+    /** The analyzed lib directory. */
+    private final Path libDir;
+
+    /** Reasons for scanning, per jar that needs scanning. */
+    private final Map<String, List<String>> jarsToScan = new LinkedHashMap<>();
+
+    /** Jars that need no scanning and are not skipped yet. */
+    private final List<String> jarsToSkip = new ArrayList<>();
+
+    /** Jars that catalina.properties already skips. */
+    private final List<String> alreadySkipped = new ArrayList<>();
+
+    /** Jars that declare a ServletContainerInitializer. */
+    private final List<String> initializers = new ArrayList<>();
+
+    /** Size of each analyzed jar. */
+    private final Map<String, Long> sizes = new HashMap<>();
+
+    /**
+     * Creates a new JarScanAnalyzer.
+     *
+     * @param libDir the analyzed lib directory
+     */
+    private JarScanAnalyzer(Path libDir) {
+        this.libDir = libDir;
+    }
+
+    /**
+     * Analyzes the jars of a lib directory.
+     *
+     * @param libDir             the WEB-INF/lib directory
+     * @param catalinaProperties the catalina.properties of CATALINA_HOME,
+     *                           whose skip list is taken into account; may
+     *                           not exist
+     * @param cacheFile          the file caching the result of each jar
+     * @return the analysis
+     * @throws IOException if a jar cannot be read
+     */
+    public static JarScanAnalyzer analyze(Path libDir, Path catalinaProperties, Path cacheFile) throws IOException {
+        JarScanAnalyzer analyzer = new JarScanAnalyzer(libDir);
+        List<Pattern> skipped = readJarsToSkip(catalinaProperties).stream().map(JarScanAnalyzer::glob).toList();
+        Map<String, String> cache = readCache(cacheFile);
+        Map<String, String> updated = new LinkedHashMap<>();
+        List<Path> jars;
+        try (Stream<Path> files = Files.list(libDir)) {
+            jars = files.filter(file -> file.getFileName().toString().endsWith(".jar"))
+                    .filter(Files::isRegularFile).sorted().toList();
+        }
+        Map<String, List<String>> found = new LinkedHashMap<>();
+        for (Path jar : jars) {
+            String name = jar.getFileName().toString();
+            long size = Files.size(jar);
+            String key = name + CACHE_SEPARATOR + size + CACHE_SEPARATOR
+                    + Files.getLastModifiedTime(jar).toMillis();
+            String reasons = cache.get(key);
+            if (reasons == null) {
+                reasons = String.join(",", findScanReasons(jar));
+            }
+            updated.put(key, reasons);
+            analyzer.sizes.put(name, size);
+            found.put(name, reasons.isEmpty() ? List.of() : List.of(reasons.split(",")));
+            if (found.get(name).contains(INITIALIZER)) {
+                analyzer.initializers.add(name);
+            }
+        }
+        found.forEach((name, reasons) -> {
+            List<String> scanReasons = reasons.stream().filter(reason -> !CLASSES.equals(reason)).toList();
+            if (!scanReasons.isEmpty()) {
+                analyzer.jarsToScan.put(name, scanReasons);
+            } else if (skipped.stream().anyMatch(pattern -> pattern.matcher(name).matches())) {
+                analyzer.alreadySkipped.add(name);
+            } else if (reasons.contains(CLASSES) && !analyzer.initializers.isEmpty()) {
+                analyzer.jarsToScan.put(name, List.of(HANDLES_TYPES));
+            } else {
+                analyzer.jarsToSkip.add(name);
+            }
+        });
+        if (!updated.equals(cache)) {
+            writeCache(cacheFile, updated);
+        }
+        return analyzer;
+    }
+
+    /**
+     * Reads a jar and finds why Tomcat has to scan it.
+     *
+     * @param jar the jar file
+     * @return the reasons, followed by {@value #CLASSES} if the jar contains
+     *         classes; empty if the jar can be skipped
+     * @throws IOException if the jar cannot be read
+     */
+    static List<String> findScanReasons(Path jar) throws IOException {
+        List<String> reasons = new ArrayList<>();
+        try (ZipFile zip = new ZipFile(jar.toFile())) {
+            boolean classes = false;
+            boolean annotations = false;
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                String name = entry.getName();
+                if (name.startsWith("META-INF/") && name.endsWith(".tld")) {
+                    addOnce(reasons, TLD);
+                } else if (name.equals("META-INF/web-fragment.xml")) {
+                    addOnce(reasons, WEB_FRAGMENT);
+                } else if (INITIALIZER_SERVICES.contains(name)) {
+                    addOnce(reasons, INITIALIZER);
+                } else if (name.startsWith("META-INF/resources/") && !entry.isDirectory()) {
+                    addOnce(reasons, RESOURCES);
+                } else if (name.endsWith(".class") && !name.startsWith("META-INF/")) {
+                    classes = true;
+                    annotations = annotations || usesServletAnnotations(zip, entry);
+                }
+            }
+            if (annotations) {
+                reasons.add(ANNOTATIONS);
+            }
+            if (classes) {
+                reasons.add(CLASSES);
+            }
+        }
+        return reasons;
+    }
+
+    /**
+     * Checks if a class refers to the servlet annotation packages in its
+     * constant pool.
+     *
+     * @param zip   the jar
+     * @param entry the class entry
+     * @return true if the class may carry servlet annotations
+     * @throws IOException if the class cannot be read
+     */
+    private static boolean usesServletAnnotations(ZipFile zip, ZipEntry entry) throws IOException {
+        try (InputStream in = zip.getInputStream(entry)) {
+            // Latin-1 maps each byte to one char, so the UTF-8 class names match as is
+            String content = new String(in.readAllBytes(), StandardCharsets.ISO_8859_1);
+            return ANNOTATION_PACKAGES.stream().anyMatch(content::contains);
+        }
+    }
+
+    /**
+     * Adds a reason if it is not present yet.
+     *
+     * @param reasons the reasons
+     * @param reason  the reason to add
+     */
+    private static void addOnce(List<String> reasons, String reason) {
+        if (!reasons.contains(reason)) {
+            reasons.add(reason);
+        }
+    }
+
+    /**
+     * Reads the skip list of a catalina.properties.
+     *
+     * @param catalinaProperties the catalina.properties file; may not exist
+     * @return the jar name patterns, empty if the file or property is missing
+     * @throws IOException if the file cannot be read
+     */
+    static List<String> readJarsToSkip(Path catalinaProperties) throws IOException {
+        if (!Files.isRegularFile(catalinaProperties)) {
+            return List.of();
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(catalinaProperties)) {
+            properties.load(in);
+        }
+        return Stream.of(properties.getProperty(JARS_TO_SKIP_PROPERTY, "").split(","))
+                .map(String::trim).filter(pattern -> !pattern.isEmpty()).toList();
+    }
+
+    /**
+     * Converts a jar name pattern of StandardJarScanFilter, with the wildcards
+     * {@code *} and {@code ?}, to a regular expression.
+     *
+     * @param pattern the jar name pattern
+     * @return the compiled pattern
+     */
+    static Pattern glob(String pattern) {
+        StringBuilder regex = new StringBuilder();
+        for (String literal : pattern.split("((?<=[*?])|(?=[*?]))")) {
+            if ("*".equals(literal)) {
+                regex.append(".*");
+            } else if ("?".equals(literal)) {
+                regex.append('.');
+            } else if (!literal.isEmpty()) {
+                regex.append(Pattern.quote(literal));
+            }
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    /**
+     * Adds jars to the skip list of a catalina.properties. The property is
+     * appended with the existing list followed by the jars, so it overrides
+     * the earlier definition while comments and formatting are kept.
+     *
+     * @param catalinaProperties the catalina.properties of a CATALINA_BASE
+     * @param jars               the jar names to skip
+     * @throws IOException if the file cannot be read or written
+     */
+    public static void writeJarsToSkip(Path catalinaProperties, List<String> jars) throws IOException {
+        if (jars.isEmpty()) {
+            return;
+        }
+        List<String> patterns = new ArrayList<>(readJarsToSkip(catalinaProperties));
+        patterns.addAll(jars);
+        String content = Files.isRegularFile(catalinaProperties)
+                ? Files.readString(catalinaProperties, StandardCharsets.ISO_8859_1)
+                : "";
+        if (!content.isEmpty() && !content.endsWith("\n")) {
+            content += System.lineSeparator();
+        }
+        content += "# Jars without TLDs, web fragments, initializers, resources or servlet annotations"
+                + System.lineSeparator()
+                + JARS_TO_SKIP_PROPERTY + "=" + escape(String.join(",", patterns)) + System.lineSeparator();
+        Files.writeString(catalinaProperties, content, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Escapes a property value for a properties file in ISO 8859-1.
+     *
+     * @param value the value
+     * @return the escaped value
+     */
+    private static String escape(String value) {
+        StringBuilder escaped = new StringBuilder();
+        for (char c : value.toCharArray()) {
+            if (c == '\\') {
+                escaped.append("\\\\");
+            } else if (c < 0x20 || c > 0x7e) {
+                escaped.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Reads the cached results.
+     *
+     * @param cacheFile the cache file
+     * @return the comma-separated reasons by jar name, size and modification
+     *         time; empty if there is no cache
+     */
+    private static Map<String, String> readCache(Path cacheFile) {
+        Map<String, String> cache = new LinkedHashMap<>();
+        try {
+            for (String line : Files.readAllLines(cacheFile, StandardCharsets.UTF_8)) {
+                int last = line.lastIndexOf(CACHE_SEPARATOR);
+                if (last > 0) {
+                    cache.put(line.substring(0, last), line.substring(last + 1));
+                }
+            }
+        } catch (IOException e) {
+            // A missing or unreadable cache means every jar is read
+        }
+        return cache;
+    }
+
+    /**
+     * Writes the cached results.
+     *
+     * @param cacheFile the cache file
+     * @param cache     the comma-separated reasons by jar name, size and
+     *                  modification time
+     * @throws IOException if the cache cannot be written
+     */
+    private static void writeCache(Path cacheFile, Map<String, String> cache) throws IOException {
+        StringBuilder content = new StringBuilder();
+        cache.forEach((key, reasons) -> content.append(key).append(CACHE_SEPARATOR).append(reasons).append('\n'));
+        Files.createDirectories(cacheFile.toAbsolutePath().getParent());
+        Files.writeString(cacheFile, content, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Gets the jars that Tomcat has to scan.
+     *
+     * @return the reasons for scanning, per jar name
+     */
+    public Map<String, List<String>> getJarsToScan() {
+        return jarsToScan;
+    }
+
+    /**
+     * Gets the jars that need no scanning and are not skipped yet.
+     *
+     * @return the jar names to add to the skip list
+     */
+    public List<String> getJarsToSkip() {
+        return jarsToSkip;
+    }
+
+    /**
+     * Gets the jars that declare a ServletContainerInitializer, whose
+     * {@code @HandlesTypes} keep every jar with classes scanned.
+     *
+     * @return the jar names, empty if no jar declares an initializer
+     */
+    public List<String> getInitializers() {
+        return initializers;
+    }
+
+    /**
+     * Renders the scanned jars before and after adding the skip list as
+     * human-readable lines.
+     *
+     * @return the report lines
+     */
+    public List<String> toText() {
+        List<String> lines = new ArrayList<>();
+        int total = jarsToScan.size() + jarsToSkip.size() + alreadySkipped.size();
+        lines.add("Jar scan analysis of " + total + " jars in " + libDir);
+        lines.add(String.format(Locale.ROOT, "  Before: %d jars scanned (%s)", jarsToScan.size() + jarsToSkip.size(),
+                formatBytes(totalSize(jarsToScan.keySet()) + totalSize(jarsToSkip))));
+        lines.add(String.format(Locale.ROOT, "  After:  %d jars scanned (%s), %d added to jarsToSkip",
+                jarsToScan.size(), formatBytes(totalSize(jarsToScan.keySet())), jarsToSkip.size()));
+        jarsToScan.forEach((jar, reasons) -> lines.add("  Scanned: " + jar + " (" + String.join(", ", reasons)
+                + ")"));
+        return lines;
+    }
+
+    /**
+     * Sums the sizes of jars.
+     *
+     * @param jars the jar names
+     * @return the total size in bytes
+     */
+    private long totalSize(Iterable<String> jars) {
+        long total = 0;
+        for (String jar : jars) {
+            total += sizes.get(jar);
+        }
+        return total;
+    }
+
+    /**
+     * Formats a byte count with a binary unit.
+     *
+     * @param bytes the byte count
+     * @return the formatted size, e.g. "1.5 MB"
+     */
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        if (bytes < 1024 * 1024) {
+            return String.format(Locale.ROOT, "%.1f KB", bytes / 1024.0);
+        }
+        return String.format(Locale.ROOT, "%.1f MB", bytes / (1024.0 * 1024));
+    }
+}
@@ -21,6 +21,8 @@
  * Handles deployment and redeployment of exploded WAR directories</li>
  * <li>{@link io.github.rajendarreddyj.tomcat.deploy.HotDeployWatcher} -
  * Watches for file changes and triggers automatic redeployment</li>
+ * <li>{@link io.github.rajendarreddyj.tomcat.deploy.JarScanAnalyzer} -
+ * Finds the WEB-INF/lib jars that Tomcat need not scan at startup</li>
  * </ul>
  *
  * <h2>Auto-Publish</h2>
@@ -0,0 +1,179 @@
+package io.github.rajendarreddyj.tomcat.lifecycle;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Manages a dynamic AppCDS archive for the Tomcat JVM.
+ *
+ * <p>
+ * The first launch with a given cache key is a training run: the JVM is
+ * started with {@code -XX:ArchiveClassesAtExit} and writes the archive of all
+ * loaded classes when it exits. Later launches with the same key use
+ * {@code -XX:SharedArchiveFile} and map the archived classes instead of
+ * loading and verifying them again.
+ * </p>
+ *
+ * <p>
+ * Archives are stored under {@code <tomcatCacheDir>/cds/<tomcatVersion>/}. The
+ * cache key covers the Tomcat version, the exact JDK build and the classpath
+ * additions (path, size and modification time), so a stale archive is never
+ * handed to a different JVM or classpath.
+ * </p>
+ *
+ * @author rajendarreddyj
+ * @since 1.0.1
+ */
+public class ClassDataSharingArchive {
+
+    /** First Java release that supports dynamic archiving at exit (JEP 350). */
+    static final int MINIMUM_JAVA_VERSION = 13;
+
+    /** Name of the directory under the cache directory holding the archives. */
+    private static final String CDS_DIR = "cds";
+
+    /** Number of hex characters of the digest used in the archive file name. */
+    private static final int KEY_LENGTH = 16;
+
+    /** The directory holding archives for the configured Tomcat version. */
+    private final Path archiveDir;
+
+    /** The Tomcat version the archive is built for. */
+    private final String tomcatVersion;
+
+    /** The JDK that will run Tomcat. */
+    private final JavaRuntime javaRuntime;
+
+    /** Additional classpath entries passed to Tomcat. */
+    private final List<String> classpathAdditions;
+
+    /**
+     * Creates a new ClassDataSharingArchive.
+     *
+     * @param cacheDir           the Tomcat cache directory
+     * @param tomcatVersion      the Tomcat version
+     * @param javaRuntime        the JDK that will run Tomcat
+     * @param classpathAdditions additional classpath entries, may be null
+     */
+    public ClassDataSharingArchive(Path cacheDir, String tomcatVersion, JavaRuntime javaRuntime,
+            List<String> classpathAdditions) {
+        this.archiveDir = cacheDir.resolve(CDS_DIR).resolve(tomcatVersion);
+        this.tomcatVersion = tomcatVersion;
+        this.javaRuntime = javaRuntime;
+        this.classpathAdditions = classpathAdditions != null ? List.copyOf(classpathAdditions) : List.of();
+    }
+
+    /**
+     * Computes the cache key for the archive.
+     *
+     * @return the hex-encoded cache key
+     */
+    public String getCacheKey() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, "tomcat=" + tomcatVersion);
+            update(digest, "jdk=" + javaRuntime.getBuildFingerprint());
+            for (String entry : classpathAdditions) {
+                update(digest, "cp=" + describeClasspathEntry(entry));
+            }
+            return HexFormat.of().formatHex(digest.digest()).substring(0, KEY_LENGTH);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm not available", e);
+        }
+    }
+
+    /**
+     * Gets the archive file for the current cache key.
+     *
+     * @return the path to the archive file
+     */
+    public Path getArchiveFile() {
+        return archiveDir.resolve("tomcat-" + getCacheKey() + ".jsa");
+    }
+
+    /**
+     * Checks if a usable archive exists for the current cache key.
+     *
+     * @return true if the archive file exists and is not empty
+     */
+    public boolean isAvailable() {
+        Path archive = getArchiveFile();
+        try {
+            return Files.isRegularFile(archive) && Files.size(archive) > 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Gets the JVM options that use or create the archive.
+     *
+     * <p>
+     * Returns {@code -XX:SharedArchiveFile} if the archive exists, otherwise
+     * {@code -XX:ArchiveClassesAtExit} so that this launch trains it. Returns an
+     * empty list if the JDK does not support dynamic archives.
+     * </p>
+     *
+     * @param log the Maven logger
+     * @return the JVM options to add to CATALINA_OPTS
+     * @throws IOException if the archive directory cannot be created
+     */
+    public List<String> getJvmOptions(Log log) throws IOException {
+        if (javaRuntime.getFeatureVersion() < MINIMUM_JAVA_VERSION) {
+            log.warn("Class data sharing archives require Java " + MINIMUM_JAVA_VERSION
+                    + " or later, but Tomcat runs on Java " + javaRuntime.getFeatureVersion()
+                    + ". Skipping AppCDS.");
+            return List.of();
+        }
+
+        Path archive = getArchiveFile();
+        if (isAvailable()) {
+            log.info("Using AppCDS archive: " + archive);
+            return List.of("-XX:SharedArchiveFile=" + archive);
+        }
+
+        Files.createDirectories(archiveDir);
+        log.info("No AppCDS archive for this Tomcat/JDK/classpath yet. "
+                + "This run will create it on exit: " + archive);
+        return List.of("-XX:ArchiveClassesAtExit=" + archive);
+    }
+
+    /**
+     * Describes a classpath entry for the cache key.
+     * Includes size and modification time so rebuilt JARs invalidate the key.
+     *
+     * @param entry the classpath entry
+     * @return a stable description of the entry
+     */
+    private static String describeClasspathEntry(String entry) {
+        Path path = Path.of(entry);
+        try {
+            if (Files.isRegularFile(path)) {
+                return path.toAbsolutePath().normalize() + "|" + Files.size(path)
+                        + "|" + Files.getLastModifiedTime(path).toMillis();
+            }
+        } catch (IOException e) {
+            // Fall back to the path alone
+        }
+        return path.toAbsolutePath().normalize().toString();
+    }
+
+    /**
+     * Feeds a string into the digest followed by a separator.
+     *
+     * @param digest the digest to update
+     * @param value  the value to add
+     */
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+}
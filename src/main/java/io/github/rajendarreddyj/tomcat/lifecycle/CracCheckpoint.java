@@ -0,0 +1,313 @@
+package io.github.rajendarreddyj.tomcat.lifecycle;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.apache.maven.plugin.logging.Log;
+
+import io.github.rajendarreddyj.tomcat.config.ServerConfiguration;
+
+/**
+ * Checkpoint image of a warmed Tomcat JVM for Coordinated Restore at
+ * Checkpoint (CRaC).
+ *
+ * <p>
+ * A CRaC-capable JDK can dump a running JVM to disk with
+ * {@code jcmd <pid> JDK.checkpoint} when it was started with
+ * {@code -XX:CRaCCheckpointTo}, and bring it back with
+ * {@code java -XX:CRaCRestoreFrom}. Restoring skips JVM startup, class
+ * loading and Tomcat initialization entirely.
+ * </p>
+ *
+ * <p>
+ * Images are stored under {@code <catalinaBase>/crac/<key>}, where the key
+ * covers the JDK build, CATALINA_HOME, the HTTP port, the JVM options, the
+ * classpath additions and the deployed webapps. A changed configuration or a
+ * rebuilt webapp therefore never restores an image taken with different
+ * settings or with the old application loaded. The webapps are fingerprinted
+ * by the path, size and modification time of each file under their
+ * {@code WEB-INF} and {@code META-INF} directories, without reading them.
+ * Taking a new image deletes the images of other keys.
+ * </p>
+ *
+ * @author rajendarreddyj
+ * @since 1.0.1
+ */
+public class CracCheckpoint {
+
+    /** Name of the directory under CATALINA_BASE holding checkpoint images. */
+    private static final String CRAC_DIR = "crac";
+
+    /** Name of the directory under CATALINA_BASE holding the deployed webapps. */
+    private static final String WEBAPPS_DIR = "webapps";
+
+    /** Directories of a webapp whose files are loaded into the JVM. */
+    private static final List<String> APPLICATION_DIRS = List.of("WEB-INF", "META-INF");
+
+    /** Timeout for the CRaC capability probe and the checkpoint command. */
+    private static final long COMMAND_TIMEOUT_SECONDS = 30;
+
+    /** Cached results of the capability probe, keyed by JDK fingerprint. */
+    private static final Map<String, Boolean> SUPPORT_CACHE = new ConcurrentHashMap<>();
+
+    /** The directory holding the checkpoint image. */
+    private final Path imageDir;
+
+    /** The JDK that runs Tomcat. */
+    private final JavaRuntime javaRuntime;
+
+    /**
+     * Creates a new CracCheckpoint.
+     *
+     * @param imageDir    the directory holding the checkpoint image
+     * @param javaRuntime the JDK that runs Tomcat
+     */
+    public CracCheckpoint(Path imageDir, JavaRuntime javaRuntime) {
+        this.imageDir = imageDir;
+        this.javaRuntime = javaRuntime;
+    }
+
+    /**
+     * Creates the checkpoint for a server configuration.
+     *
+     * @param config      the server configuration
+     * @param javaRuntime the JDK that runs Tomcat
+     * @return the checkpoint, which may not exist yet
+     * @throws IOException if the deployed webapps cannot be listed
+     */
+    public static CracCheckpoint forConfiguration(ServerConfiguration config, JavaRuntime javaRuntime)
+            throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            StringBuilder key = new StringBuilder()
+                    .append(javaRuntime.getBuildFingerprint()).append('\n')
+                    .append(config.getCatalinaHome().toAbsolutePath()).append('\n')
+                    .append(config.getHttpHost()).append(':').append(config.getHttpPort()).append('\n');
+            config.getVmOptions().forEach(option -> key.append(option).append('\n'));
+            config.getClasspathAdditions().forEach(entry -> key.append(entry).append('\n'));
+            appendWebappFingerprint(key, config.getCatalinaBase().resolve(WEBAPPS_DIR));
+            String hash = HexFormat.of().formatHex(digest.digest(key.toString().getBytes(StandardCharsets.UTF_8)));
+            return new CracCheckpoint(config.getCatalinaBase().resolve(CRAC_DIR).resolve(hash.substring(0, 16)),
+                    javaRuntime);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm not available", e);
+        }
+    }
+
+    /**
+     * Appends the path, size and modification time of every file under the
+     * {@code WEB-INF} and {@code META-INF} directories of the deployed
+     * webapps, in a stable order.
+     *
+     * @param key        the key to append to
+     * @param webappsDir the webapps directory of CATALINA_BASE; may not exist
+     * @throws IOException if the webapps cannot be listed
+     */
+    private static void appendWebappFingerprint(StringBuilder key, Path webappsDir) throws IOException {
+        if (!Files.isDirectory(webappsDir)) {
+            return;
+        }
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(webappsDir)) {
+            files = walk.filter(Files::isRegularFile)
+                    .filter(file -> {
+                        Path relative = webappsDir.relativize(file);
+                        return relative.getNameCount() > 2 && APPLICATION_DIRS.contains(relative.getName(1).toString());
+                    })
+                    .sorted().toList();
+        }
+        for (Path file : files) {
+            key.append(webappsDir.relativize(file)).append(' ').append(Files.size(file)).append(' ')
+                    .append(Files.getLastModifiedTime(file).toMillis()).append('\n');
+        }
+    }
+
+    /**
+     * Checks if the JDK supports CRaC.
+     *
+     * <p>
+     * Runs {@code java -XX:CRaCCheckpointTo=<dir> -version}; JDKs without CRaC
+     * reject the unknown option. The result is cached per JDK build.
+     * </p>
+     *
+     * @param javaRuntime the JDK to probe
+     * @return true if the JDK accepts the CRaC options
+     */
+    public static boolean isSupported(JavaRuntime javaRuntime) {
+        return SUPPORT_CACHE.computeIfAbsent(javaRuntime.getBuildFingerprint(), key -> probe(javaRuntime));
+    }
+
+    /**
+     * Runs the CRaC capability probe.
+     *
+     * @param javaRuntime the JDK to probe
+     * @return true if the JDK accepted the CRaC option
+     */
+    private static boolean probe(JavaRuntime javaRuntime) {
+        Path javaBin = javaRuntime.getJavaHome().resolve("bin").resolve("java");
+        if (!Files.isExecutable(javaBin)) {
+            return false;
+        }
+        Path probeDir = null;
+        try {
+            probeDir = Files.createTempDirectory("crac-probe");
+            Process process = new ProcessBuilder(javaBin.toString(),
+                    "-XX:CRaCCheckpointTo=" + probeDir, "-version")
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            if (!process.waitFor(COMMAND_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                return false;
+            }
+            return process.exitValue() == 0;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            deleteQuietly(probeDir);
+        }
+    }
+
+    /**
+     * Gets the directory holding the checkpoint image.
+     *
+     * @return the image directory
+     */
+    public Path getImageDir() {
+        return imageDir;
+    }
+
+    /**
+     * Checks if a checkpoint image exists.
+     *
+     * @return true if the image directory contains files
+     */
+    public boolean exists() {
+        if (!Files.isDirectory(imageDir)) {
+            return false;
+        }
+        try (Stream<Path> files = Files.list(imageDir)) {
+            return files.findAny().isPresent();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Gets the JVM options that allow the Tomcat JVM to be checkpointed.
+     * Images of other keys under CATALINA_BASE are deleted, as they were taken
+     * with another configuration or webapp.
+     *
+     * @return the JVM options to add to CATALINA_OPTS
+     * @throws IOException if the image directory cannot be created
+     */
+    public List<String> getCheckpointOptions() throws IOException {
+        Path imagesDir = imageDir.getParent();
+        if (imagesDir.endsWith(CRAC_DIR) && Files.isDirectory(imagesDir)) {
+            try (Stream<Path> images = Files.list(imagesDir)) {
+                images.filter(image -> !image.equals(imageDir)).forEach(CracCheckpoint::deleteQuietly);
+            }
+        }
+        Files.createDirectories(imageDir);
+        return List.of("-XX:CRaCCheckpointTo=" + imageDir);
+    }
+
+    /**
+     * Gets the command that restores Tomcat from the image.
+     *
+     * @return the restore command line
+     */
+    public List<String> getRestoreCommand() {
+        Path javaBin = javaRuntime.getJavaHome().resolve("bin").resolve("java");
+        return List.of(javaBin.toString(), "-XX:CRaCRestoreFrom=" + imageDir);
+    }
+
+    /**
+     * Checkpoints the running Tomcat JVM.
+     *
+     * <p>
+     * The JVM exits once the image has been written. If it is still alive
+     * after the command completes, the checkpoint was refused (for example
+     * because of an open resource) and the image is discarded.
+     * </p>
+     *
+     * @param pid the PID of the Tomcat JVM
+     * @param log the Maven logger
+     * @return true if an image was written and the JVM exited
+     * @throws IOException          if jcmd cannot be executed
+     * @throws InterruptedException if the wait is interrupted
+     */
+    public boolean checkpoint(long pid, Log log) throws IOException, InterruptedException {
+        Path jcmd = javaRuntime.getJavaHome().resolve("bin").resolve("jcmd");
+        log.info("Checkpointing Tomcat JVM (PID: " + pid + ") to " + imageDir);
+
+        Process process = new ProcessBuilder(jcmd.toString(), String.valueOf(pid), "JDK.checkpoint")
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        if (!process.waitFor(COMMAND_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+
+        boolean exited = ProcessHandle.of(pid)
+                .map(handle -> {
+                    try {
+                        handle.onExit().get(COMMAND_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                        return true;
+                    } catch (Exception e) {
+                        return false;
+                    }
+                })
+                .orElse(true);
+
+        if (!exited || !exists()) {
+            log.warn("Checkpoint was not created in " + imageDir);
+            discard();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Deletes the checkpoint image.
+     */
+    public void discard() {
+        deleteQuietly(imageDir);
+    }
+
+    /**
+     * Deletes a directory tree, ignoring errors.
+     *
+     * @param directory the directory to delete, may be null
+     */
+    private static void deleteQuietly(Path directory) {
+        if (directory == null || !Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> walk = Files.walk(directory)) {
+            walk.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.delete(path);
+                } catch (IOException e) {
+                    // Best effort
+                }
+            });
+        } catch (IOException e) {
+            // Best effort
+        }
+    }
+}
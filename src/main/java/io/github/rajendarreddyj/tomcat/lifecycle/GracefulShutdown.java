@@ -0,0 +1,215 @@
+package io.github.rajendarreddyj.tomcat.lifecycle;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Staged shutdown of a Tomcat JVM.
+ *
+ * <p>
+ * Generated CATALINA_BASE directories disable the shutdown port, so Tomcat is
+ * stopped by process ID in four stages:
+ * </p>
+ * <ol>
+ * <li>Pause all connectors over JMX so no new requests are accepted</li>
+ * <li>Wait until no request threads are busy, or the drain timeout
+ * passes; skipped with a warning if the connectors' executor cannot report
+ * its busy threads</li>
+ * <li>Send SIGTERM to the JVM and all its descendant processes and wait for
+ * the shutdown timeout</li>
+ * <li>Send SIGKILL to every process of the tree that is still alive</li>
+ * </ol>
+ *
+ * <p>
+ * The process tree is captured before any signal is sent, so processes
+ * spawned by the webapp are not orphaned when the JVM exits. The exits of all
+ * processes are awaited in parallel.
+ * </p>
+ *
+ * <p>
+ * The first two stages are skipped if the JVM cannot be attached to. Each
+ * stage logs how long it took.
+ * </p>
+ *
+ * @author rajendarreddyj
+ * @since 1.0.1
+ */
+public class GracefulShutdown {
+
+    /** Interval between in-flight request checks in milliseconds. */
+    private static final long DRAIN_POLL_INTERVAL_MS = 50;
+
+    /** Maximum time to wait for in-flight requests in milliseconds. */
+    private final long drainTimeout;
+
+    /** Maximum time to wait for the JVM to exit after SIGTERM in milliseconds. */
+    private final long shutdownTimeout;
+
+    /** The Maven logger. */
+    private final Log log;
+
+    /**
+     * Creates a new GracefulShutdown.
+     *
+     * @param drainTimeout    maximum time to wait for in-flight requests in
+     *                        milliseconds
+     * @param shutdownTimeout maximum time to wait for the JVM to exit after
+     *                        SIGTERM in milliseconds
+     * @param log             the Maven logger
+     */
+    public GracefulShutdown(long drainTimeout, long shutdownTimeout, Log log) {
+        this.drainTimeout = drainTimeout;
+        this.shutdownTimeout = shutdownTimeout;
+        this.log = log;
+    }
+
+    /**
+     * Stops a Tomcat JVM.
+     *
+     * @param pid the Tomcat JVM process ID
+     * @return true if the process was running, false if it was not found
+     */
+    public boolean stop(long pid) {
+        Optional<ProcessHandle> process = ProcessHandle.of(pid).filter(ProcessHandle::isAlive);
+        if (process.isEmpty()) {
+            return false;
+        }
+        ProcessHandle handle = process.get();
+        long start = System.nanoTime();
+        log.info("Stopping Tomcat process (PID: " + pid + ")");
+
+        if (drainTimeout > 0) {
+            drain(pid);
+        }
+
+        List<ProcessHandle> tree = Stream.concat(Stream.of(handle), handle.descendants()).toList();
+        if (tree.size() > 1) {
+            log.debug("Tomcat process tree: " + tree.stream().map(p -> String.valueOf(p.pid())).toList());
+        }
+
+        long termStart = System.nanoTime();
+        tree.forEach(ProcessHandle::destroy);
+        if (awaitExit(tree, shutdownTimeout)) {
+            log.info("Tomcat process tree (" + tree.size() + " process(es)) exited "
+                    + elapsedMs(termStart) + " ms after SIGTERM");
+        } else {
+            List<ProcessHandle> survivors = tree.stream().filter(ProcessHandle::isAlive).toList();
+            log.warn(survivors.size() + " process(es) did not exit within " + shutdownTimeout
+                    + " ms after SIGTERM, sending SIGKILL");
+            long killStart = System.nanoTime();
+            survivors.forEach(ProcessHandle::destroyForcibly);
+            awaitExit(survivors, shutdownTimeout);
+            log.info("Tomcat process tree killed in " + elapsedMs(killStart) + " ms");
+        }
+
+        log.info("Tomcat stopped in " + elapsedMs(start) + " ms");
+        return true;
+    }
+
+    /**
+     * Pauses the connectors and waits for in-flight requests to finish.
+     *
+     * @param pid the Tomcat JVM process ID
+     */
+    private void drain(long pid) {
+        long pauseStart = System.nanoTime();
+        Optional<TomcatJmxClient> client = TomcatJmxClient.attach(pid, log);
+        if (client.isEmpty()) {
+            log.info("JMX is not available for PID " + pid + "; skipping connector drain");
+            return;
+        }
+
+        try (TomcatJmxClient jmx = client.get()) {
+            int paused = jmx.pauseConnectors();
+            log.info("Paused " + paused + " connector(s) in " + elapsedMs(pauseStart) + " ms");
+
+            long drainStart = System.nanoTime();
+            long deadline = drainStart + TimeUnit.MILLISECONDS.toNanos(drainTimeout);
+            int busy = jmx.getBusyThreads();
+            while (busy > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(DRAIN_POLL_INTERVAL_MS);
+                busy = jmx.getBusyThreads();
+            }
+            if (busy < 0) {
+                log.warn("Cannot count in-flight requests over JMX; connectors paused without draining");
+            } else if (busy == 0) {
+                log.info("Drained in-flight requests in " + elapsedMs(drainStart) + " ms");
+            } else {
+                log.warn("Drain timeout of " + drainTimeout + " ms reached with " + busy
+                        + " request(s) still in flight");
+            }
+        } catch (IOException e) {
+            log.warn("Connector drain failed: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits until a port no longer accepts connections.
+     *
+     * @param host      the host the port is bound on
+     * @param port      the port
+     * @param timeoutMs the maximum time to wait in milliseconds
+     * @return true if the port was released within the timeout
+     */
+    public boolean awaitPortReleased(String host, int port, long timeoutMs) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        while (true) {
+            try (Socket socket = new Socket(host, port)) {
+                // Still accepting connections
+            } catch (IOException e) {
+                log.debug("Port " + port + " released");
+                return true;
+            }
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            try {
+                Thread.sleep(DRAIN_POLL_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Waits for all processes of a tree to exit, in parallel.
+     *
+     * @param processes the processes
+     * @param timeoutMs the maximum time to wait in milliseconds
+     * @return true if every process exited
+     */
+    private static boolean awaitExit(List<ProcessHandle> processes, long timeoutMs) {
+        CompletableFuture<?>[] exits = processes.stream()
+                .map(ProcessHandle::onExit)
+                .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(exits).get(timeoutMs, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // Timed out
+        }
+        return processes.stream().noneMatch(ProcessHandle::isAlive);
+    }
+
+    /**
+     * Gets the milliseconds elapsed since a nano time.
+     *
+     * @param startNanos the start time from {@link System#nanoTime()}
+     * @return the elapsed milliseconds
+     */
+    private static long elapsedMs(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
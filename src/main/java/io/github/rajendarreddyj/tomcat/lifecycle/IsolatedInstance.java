@@ -0,0 +1,272 @@
+package io.github.rajendarreddyj.tomcat.lifecycle;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * CATALINA_BASE and ports claimed by one build for a Tomcat instance of its
+ * own, so that concurrent builds and modules never share a base or a port.
+ *
+ * <p>
+ * Instances live in numbered slots of a registry directory: the slot
+ * {@code slot-<n>} holds the CATALINA_BASE and {@code slot-<n>.lock} is the
+ * lock file. A slot is claimed by taking an exclusive {@link FileLock} on its
+ * lock file, which the operating system releases when the Maven process
+ * exits, so slots of crashed builds are never stranded. A slot whose base
+ * still records a running Tomcat is skipped. The HTTP, HTTPS and debug ports
+ * are allocated from the free ports of the bind address with
+ * {@link PortAllocator}.
+ * </p>
+ *
+ * <p>
+ * Claims are kept per owner for the lifetime of the Maven process, so later
+ * goals of the same build find the instance that the start goal claimed.
+ * </p>
+ *
+ * @author rajendarreddyj
+ * @since 1.0.1
+ */
+public final class IsolatedInstance {
+
+    /** Prefix of the slot directories. */
+    static final String SLOT_PREFIX = "slot-";
+
+    /** Suffix of the lock file of a slot. */
+    static final String LOCK_SUFFIX = ".lock";
+
+    /** Claimed instances by owner. */
+    private static final Map<String, IsolatedInstance> CLAIMED = new ConcurrentHashMap<>();
+
+    /** The owner of the claim. */
+    private final String owner;
+
+    /** The CATALINA_BASE of the slot. */
+    private final Path catalinaBase;
+
+    /** The channel of the lock file, open while the slot is claimed. */
+    private final FileChannel channel;
+
+    /** The allocated HTTP port. */
+    private volatile int httpPort;
+
+    /** The allocated HTTPS port, or 0 if none was requested. */
+    private volatile int httpsPort;
+
+    /** The allocated debug port, or 0 if none was requested. */
+    private final int debugPort;
+
+    /**
+     * Creates a new IsolatedInstance.
+     *
+     * @param owner        the owner of the claim
+     * @param catalinaBase the CATALINA_BASE of the slot
+     * @param channel      the locked channel of the lock file
+     * @param ports        the HTTP, HTTPS and debug ports
+     */
+    private IsolatedInstance(String owner, Path catalinaBase, FileChannel channel, int[] ports) {
+        this.owner = owner;
+        this.catalinaBase = catalinaBase;
+        this.channel = channel;
+        this.httpPort = ports[0];
+        this.httpsPort = ports[1];
+        this.debugPort = ports[2];
+    }
+
+    /**
+     * Claims a free slot and allocates its ports, or returns the instance the
+     * owner already claimed.
+     *
+     * @param registryDir the directory holding the slots
+     * @param owner       an identifier of the claiming build
+     * @param host        the address Tomcat binds to
+     * @param https       whether an HTTPS port is allocated
+     * @param debug       whether a debug port is allocated
+     * @return the claimed instance
+     * @throws IOException if the registry cannot be written or no free port
+     *                     can be found
+     */
+    public static synchronized IsolatedInstance claim(Path registryDir, String owner, String host, boolean https,
+            boolean debug) throws IOException {
+        IsolatedInstance claimed = CLAIMED.get(owner);
+        if (claimed != null) {
+            return claimed;
+        }
+        Files.createDirectories(registryDir);
+        for (int slot = 0;; slot++) {
+            Path catalinaBase = registryDir.resolve(SLOT_PREFIX + slot);
+            FileChannel channel = tryLock(registryDir.resolve(SLOT_PREFIX + slot + LOCK_SUFFIX));
+            if (channel == null) {
+                continue;
+            }
+            if (isRunning(catalinaBase)) {
+                channel.close();
+                continue;
+            }
+            try {
+                IsolatedInstance instance = new IsolatedInstance(owner, catalinaBase, channel,
+                        allocatePorts(host, https, debug));
+                CLAIMED.put(owner, instance);
+                return instance;
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Finds the instance claimed by an owner in this Maven process.
+     *
+     * @param owner the owner passed to {@link #claim}
+     * @return the claimed instance, or empty if the owner holds no claim
+     */
+    public static Optional<IsolatedInstance> find(String owner) {
+        return Optional.ofNullable(CLAIMED.get(owner));
+    }
+
+    /**
+     * Releases the claim so that the slot can be claimed again.
+     *
+     * @throws IOException if the lock cannot be released
+     */
+    public synchronized void release() throws IOException {
+        CLAIMED.remove(owner, this);
+        channel.close();
+    }
+
+    /**
+     * Locks a lock file without waiting.
+     *
+     * @param lockFile the lock file
+     * @return the locked channel, or null if the file is locked by another
+     *         build
+     * @throws IOException if the lock file cannot be opened
+     */
+    static FileChannel tryLock(Path lockFile) throws IOException {
+        FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            if (channel.tryLock() != null) {
+                return channel;
+            }
+        } catch (OverlappingFileLockException e) {
+            // Claimed by another module of this Maven process
+        }
+        channel.close();
+        return null;
+    }
+
+    /**
+     * Checks if a slot's CATALINA_BASE records a running Tomcat, e.g. one a
+     * build left running without calling the stop goal.
+     *
+     * @param catalinaBase the CATALINA_BASE of the slot
+     * @return true if the slot is still in use
+     */
+    private static boolean isRunning(Path catalinaBase) {
+        try {
+            return TomcatState.read(catalinaBase).flatMap(TomcatState::findProcess).isPresent();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Allocates distinct free ports on the bind address.
+     *
+     * @param host  the address Tomcat binds to
+     * @param https whether an HTTPS port is allocated
+     * @param debug whether a debug port is allocated
+     * @return the HTTP, HTTPS and debug ports; 0 for ports not requested
+     * @throws IOException if no free port can be bound
+     */
+    static int[] allocatePorts(String host, boolean https, boolean debug) throws IOException {
+        int[] free = PortAllocator.allocate(host, 1 + (https ? 1 : 0) + (debug ? 1 : 0));
+        int next = 1;
+        int httpsPort = https ? free[next++] : 0;
+        int debugPort = debug ? free[next] : 0;
+        return new int[] {free[0], httpsPort, debugPort};
+    }
+
+    /**
+     * Replaces the HTTP port after Tomcat failed to bind it, e.g. because
+     * another process took it after it was allocated.
+     *
+     * @param host the address Tomcat binds to
+     * @return the new HTTP port
+     * @throws IOException if no free port can be bound
+     */
+    public synchronized int reallocateHttpPort(String host) throws IOException {
+        httpPort = PortAllocator.allocate(host);
+        return httpPort;
+    }
+
+    /**
+     * Replaces the HTTPS port after Tomcat failed to bind it.
+     *
+     * @param host the address Tomcat binds to
+     * @return the new HTTPS port
+     * @throws IOException if no free port can be bound
+     */
+    public synchronized int reallocateHttpsPort(String host) throws IOException {
+        int port;
+        do {
+            // The other ports are free while Tomcat is stopped
+            port = PortAllocator.allocate(host);
+        } while (port == httpPort || port == debugPort);
+        httpsPort = port;
+        return httpsPort;
+    }
+
+    /**
+     * Gets the CATALINA_BASE of the slot.
+     *
+     * @return the CATALINA_BASE directory
+     */
+    public Path getCatalinaBase() {
+        return catalinaBase;
+    }
+
+    /**
+     * Gets the allocated HTTP port.
+     *
+     * @return the HTTP port
+     */
+    public int getHttpPort() {
+        return httpPort;
+    }
+
+    /**
+     * Gets the allocated HTTPS port.
+     *
+     * @return the HTTPS port, or 0 if none was requested
+     */
+    public int getHttpsPort() {
+        return httpsPort;
+    }
+
+    /**
+     * Gets the allocated debug port.
+     *
+     * @return the debug port, or 0 if none was requested
+     */
+    public int getDebugPort() {
+        return debugPort;
+    }
+
+    /**
+     * Checks if the slot is still claimed.
+     *
+     * @return true until the claim is released
+     */
+    public boolean isClaimed() {
+        return channel.isOpen();
+    }
+}
@@ -0,0 +1,171 @@
+package io.github.rajendarreddyj.tomcat.lifecycle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * Describes the JDK that will run Tomcat.
+ *
+ * <p>
+ * The description is read from the {@code release} file at the root of the
+ * Java installation, so no process has to be started to inspect it. When the
+ * file is missing, the values of the JVM running Maven are used instead.
+ * </p>
+ *
+ * @author rajendarreddyj
+ * @since 1.0.1
+ */
+public final class JavaRuntime {
+
+    /** The Java installation directory (JAVA_HOME). */
+    private final Path javaHome;
+
+    /** The Java feature release number (e.g., 21). */
+    private final int featureVersion;
+
+    /** The full runtime version including build number (e.g., "21.0.1+12-LTS"). */
+    private final String runtimeVersion;
+
+    /** The JDK vendor, or an empty string if unknown. */
+    private final String implementor;
+
+    /**
+     * Constructs a JavaRuntime description.
+     *
+     * @param javaHome       the Java installation directory
+     * @param featureVersion the Java feature release number
+     * @param runtimeVersion the full runtime version
+     * @param implementor    the JDK vendor
+     */
+    private JavaRuntime(Path javaHome, int featureVersion, String runtimeVersion, String implementor) {
+        this.javaHome = javaHome;
+        this.featureVersion = featureVersion;
+        this.runtimeVersion = runtimeVersion;
+        this.implementor = implementor;
+    }
+
+    /**
+     * Describes the Java installation at the given path.
+     *
+     * @param javaHome the Java installation directory, or null for the JVM
+     *                 running Maven
+     * @return the runtime description
+     */
+    public static JavaRuntime of(Path javaHome) {
+        Path home = javaHome != null ? javaHome : Path.of(System.getProperty("java.home"));
+        Path releaseFile = home.resolve("release");
+
+        if (Files.isRegularFile(releaseFile)) {
+            Properties release = new Properties();
+            try (InputStream is = Files.newInputStream(releaseFile)) {
+                release.load(is);
+                String javaVersion = unquote(release.getProperty("JAVA_VERSION"));
+                String runtimeVersion = unquote(release.getProperty("JAVA_RUNTIME_VERSION"));
+                if (!javaVersion.isEmpty()) {
+                    return new JavaRuntime(home, parseFeatureVersion(javaVersion),
+                            runtimeVersion.isEmpty() ? javaVersion : runtimeVersion,
+                            unquote(release.getProperty("IMPLEMENTOR")));
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                // Fall through to the current JVM's values
+            }
+        }
+
+        return new JavaRuntime(home, Runtime.version().feature(), Runtime.version().toString(),
+                System.getProperty("java.vendor", ""));
+    }
+
+    /**
+     * Parses the feature release number from a Java version string.
+     * Handles both the legacy ("1.8.0_392") and current ("21.0.1") schemes.
+     *
+     * @param javaVersion the version string
+     * @return the feature release number
+     * @throws IllegalArgumentException if the version cannot be parsed
+     */
+    static int parseFeatureVersion(String javaVersion) {
+        String[] parts = javaVersion.split("[._+-]");
+        int first = Integer.parseInt(parts[0]);
+        if (first == 1 && parts.length > 1) {
+            return Integer.parseInt(parts[1]);
+        }
+        return first;
+    }
+
+    /**
+     * Removes surrounding double quotes from a release file value.
+     *
+     * @param value the raw value, may be null
+     * @return the unquoted value, or an empty string if null
+     */
+    private static String unquote(String value) {
+        if (value == null) {
+            return "";
+        }
+        String trimmed = value.trim();
+        if (trimmed.length() >= 2 && trimmed.startsWith("\"") && trimmed.endsWith("\"")) {
+            return trimmed.substring(1, trimmed.length() - 1);
+        }
+        return trimmed;
+    }
+
+    /**
+     * Gets the Java installation directory.
+     *
+     * @return the JAVA_HOME path
+     */
+    public Path getJavaHome() {
+        return javaHome;
+    }
+
+    /**
+     * Gets the Java feature release number.
+     *
+     * @return the feature version (e.g., 21)
+     */
+    public int getFeatureVersion() {
+        return featureVersion;
+    }
+
+    /**
+     * Gets the full runtime version including the build number.
+     *
+     * @return the runtime version (e.g., "21.0.1+12-LTS")
+     */
+    public String getRuntimeVersion() {
+        return runtimeVersion;
+    }
+
+    /**
+     * Gets the JDK vendor.
+     *
+     * @return the implementor, or an empty string if unknown
+     */
+    public String getImplementor() {
+        return implementor;
+    }
+
+    /**
+     * Gets a string that identifies this exact JDK build.
+     * Two installations with the same fingerprint produce compatible
+     * JVM-specific artifacts such as CDS archives.
+     *
+     * @return the build fingerprint
+     */
+    public String getBuildFingerprint() {
+        return implementor + "|" + runtimeVersion + "|" + javaHome.toAbsolutePath().normalize();
+    }
+
+    @Override
+    public String toString() {
+        return "JavaRuntime{" +
+                "javaHome=" + javaHome +
+                ", featureVersion=" + featureVersion +
+                ", runtimeVersion='" + runtimeVersion + '\'' +
+                ", implementor='" + implementor + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,68 @@
+package io.github.rajendarreddyj.tomcat.lifecycle;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Allocates free TCP ports for Tomcat connectors.
+ *
+ * <p>
+ * Ports are taken from the ephemeral range of the operating system by
+ * binding port 0 on the address Tomcat binds to. The port is free when it is
+ * returned, but another process can still take it before Tomcat binds it;
+ * callers detect that from Tomcat's bind failure and allocate again.
+ * </p>
+ *
+ * @author rajendarreddyj
+ * @since 1.0.1
+ */
+public final class PortAllocator {
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     */
+    private PortAllocator() {
+        // Utility class
+    }
+
+    /**
+     * Allocates a free port.
+     *
+     * @param host the address Tomcat binds to
+     * @return a free port number
+     * @throws IOException if no port can be bound
+     */
+    public static int allocate(String host) throws IOException {
+        return allocate(host, 1)[0];
+    }
+
+    /**
+     * Allocates distinct free ports. All sockets are held open until every
+     * port is found, so no port is returned twice.
+     *
+     * @param host  the address Tomcat binds to
+     * @param count the number of ports
+     * @return the free port numbers
+     * @throws IOException if no port can be bound
+     */
+    public static int[] allocate(String host, int count) throws IOException {
+        InetAddress address = InetAddress.getByName(host);
+        List<ServerSocket> sockets = new ArrayList<>();
+        try {
+            int[] ports = new int[count];
+            for (int i = 0; i < count; i++) {
+                ServerSocket socket = new ServerSocket(0, 1, address);
+                sockets.add(socket);
+                ports[i] = socket.getLocalPort();
+            }
+            return ports;
+        } finally {
+            for (ServerSocket socket : sockets) {
+                socket.close();
+            }
+        }
+    }
+}
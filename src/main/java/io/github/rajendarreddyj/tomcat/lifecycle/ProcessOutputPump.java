@@ -0,0 +1,371 @@
+package io.github.rajendarreddyj.tomcat.lifecycle;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Drains the output of a Tomcat process into a rolling log file and,
+ * optionally, the Maven log.
+ *
+ * <p>
+ * A virtual thread reads the process output in large chunks and writes it to
+ * the log file, flushing whenever the pipe is momentarily empty. When the
+ * file exceeds its size limit it is rolled to {@code <name>.1},
+ * {@code <name>.2} and so on.
+ * </p>
+ *
+ * <p>
+ * Mirroring to the Maven log goes through a bounded queue drained by a second
+ * virtual thread. If Maven's console cannot keep up, lines are dropped from
+ * the mirror (never from the file) and counted, so a chatty webapp can never
+ * block the Tomcat process on a full pipe. For the same reason, a log file
+ * that cannot be written or rolled, e.g. on a full disk, is reported once and
+ * the output is then only drained and mirrored.
+ * </p>
+ *
+ * @author rajendarreddyj
+ * @since 1.0.1
+ */
+public class ProcessOutputPump implements AutoCloseable {
+
+    /** Size of the read buffer and the file write buffer. */
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    /** Default size at which the log file is rolled. */
+    static final long DEFAULT_MAX_FILE_SIZE = 10L * 1024 * 1024;
+
+    /** Default number of rolled files to keep. */
+    static final int DEFAULT_MAX_BACKUPS = 5;
+
+    /** Capacity of the Maven log mirror queue in lines. */
+    static final int MIRROR_QUEUE_CAPACITY = 10_000;
+
+    /** Longest line passed to the Maven log; longer lines are split. */
+    private static final int MAX_LINE_LENGTH = 8 * 1024;
+
+    /** Prefix of mirrored lines. */
+    private static final String MIRROR_PREFIX = "[tomcat] ";
+
+    /** Time to wait for the pump threads when closing, in milliseconds. */
+    private static final long CLOSE_TIMEOUT_MS = 5000;
+
+    /** The process output to drain. */
+    private final InputStream input;
+
+    /** The log file receiving the output. */
+    private final Path logFile;
+
+    /** Size at which the log file is rolled. */
+    private final long maxFileSize;
+
+    /** Number of rolled files to keep. */
+    private final int maxBackups;
+
+    /** The Maven logger. */
+    private final Log log;
+
+    /** Whether the output is mirrored to the Maven log. */
+    private final boolean mirror;
+
+    /** Lines waiting to be written to the Maven log. */
+    private final BlockingQueue<String> mirrorQueue = new ArrayBlockingQueue<>(MIRROR_QUEUE_CAPACITY);
+
+    /** Number of lines dropped from the Maven log mirror. */
+    private final AtomicLong droppedLines = new AtomicLong();
+
+    /** Bytes of the line currently being assembled for the mirror. */
+    private final ByteArrayOutputStream pendingLine = new ByteArrayOutputStream();
+
+    /** Thread reading the process output. */
+    private Thread reader;
+
+    /** Thread writing mirrored lines to the Maven log. */
+    private Thread mirrorWriter;
+
+    /** Set once the reader has reached the end of the output. */
+    private volatile boolean readerDone;
+
+    /** The open log file stream. */
+    private OutputStream out;
+
+    /** Bytes in the current log file. */
+    private long fileSize;
+
+    /**
+     * Creates a new ProcessOutputPump with the default rolling limits.
+     *
+     * @param input   the process output to drain
+     * @param logFile the log file receiving the output
+     * @param log     the Maven logger
+     * @param mirror  whether the output is mirrored to the Maven log
+     */
+    public ProcessOutputPump(InputStream input, Path logFile, Log log, boolean mirror) {
+        this(input, logFile, DEFAULT_MAX_FILE_SIZE, DEFAULT_MAX_BACKUPS, log, mirror);
+    }
+
+    /**
+     * Creates a new ProcessOutputPump.
+     *
+     * @param input       the process output to drain
+     * @param logFile     the log file receiving the output
+     * @param maxFileSize size in bytes at which the log file is rolled
+     * @param maxBackups  number of rolled files to keep
+     * @param log         the Maven logger
+     * @param mirror      whether the output is mirrored to the Maven log
+     */
+    public ProcessOutputPump(InputStream input, Path logFile, long maxFileSize, int maxBackups, Log log,
+            boolean mirror) {
+        this.input = input;
+        this.logFile = logFile;
+        this.maxFileSize = maxFileSize;
+        this.maxBackups = maxBackups;
+        this.log = log;
+        this.mirror = mirror;
+    }
+
+    /**
+     * Starts draining the process output.
+     *
+     * @throws IOException if the log file cannot be opened
+     */
+    public void start() throws IOException {
+        Files.createDirectories(logFile.getParent());
+        openLogFile();
+        reader = Thread.ofVirtual().name("tomcat-output-pump").start(this::pump);
+        if (mirror) {
+            mirrorWriter = Thread.ofVirtual().name("tomcat-output-mirror").start(this::drainMirror);
+        }
+    }
+
+    /**
+     * Gets the log file receiving the output.
+     *
+     * @return the log file
+     */
+    public Path getLogFile() {
+        return logFile;
+    }
+
+    /**
+     * Gets the number of lines dropped from the Maven log mirror.
+     *
+     * @return the number of dropped lines
+     */
+    public long getDroppedLines() {
+        return droppedLines.get();
+    }
+
+    /**
+     * Waits for the process output to be drained.
+     * Call after the process has exited; returns after a short timeout if it
+     * is still running.
+     */
+    @Override
+    public void close() {
+        try {
+            if (reader != null) {
+                reader.join(CLOSE_TIMEOUT_MS);
+            }
+            if (mirrorWriter != null) {
+                mirrorWriter.join(CLOSE_TIMEOUT_MS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Reads the process output until the end of the stream. Once the log file
+     * fails, the output is still read so that the process never blocks.
+     */
+    private void pump() {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        boolean writable = true;
+        try {
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                boolean idle = input.available() == 0;
+                if (writable) {
+                    writable = writeToFile(buffer, read, idle);
+                }
+                if (mirror) {
+                    collectLines(buffer, read);
+                }
+            }
+        } catch (IOException e) {
+            // Stream closed when the process was destroyed
+        } finally {
+            if (pendingLine.size() > 0) {
+                offerLine();
+            }
+            try {
+                out.close();
+            } catch (IOException e) {
+                // Best effort
+            }
+            readerDone = true;
+        }
+    }
+
+    /**
+     * Writes a chunk of output to the log file, and reports a failure once.
+     *
+     * @param buffer the buffer holding the output
+     * @param length the number of bytes to write
+     * @param flush  whether to flush the file, as the pipe is momentarily
+     *               empty
+     * @return true if the file was written, false if it failed and no further
+     *         output is written to it
+     */
+    private boolean writeToFile(byte[] buffer, int length, boolean flush) {
+        try {
+            write(buffer, length);
+            if (flush) {
+                out.flush();
+            }
+            return true;
+        } catch (IOException e) {
+            log.warn("Could not write Tomcat output to " + logFile + " (" + e + "). "
+                    + "Further output is discarded" + (mirror ? " from the file." : "."));
+            try {
+                out.close();
+            } catch (IOException closeFailure) {
+                // Already reported
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Writes a chunk of output to the log file, rolling it if needed.
+     *
+     * @param buffer the buffer holding the output
+     * @param length the number of bytes to write
+     * @throws IOException if the file cannot be written or rolled
+     */
+    private void write(byte[] buffer, int length) throws IOException {
+        if (fileSize > 0 && fileSize + length > maxFileSize) {
+            roll();
+        }
+        out.write(buffer, 0, length);
+        fileSize += length;
+    }
+
+    /**
+     * Rolls the log file: {@code name.(n-1)} becomes {@code name.n}, ..., and
+     * the current file becomes {@code name.1}.
+     *
+     * @throws IOException if the files cannot be moved
+     */
+    private void roll() throws IOException {
+        out.close();
+        for (int i = maxBackups - 1; i >= 1; i--) {
+            Path older = backup(i);
+            if (Files.exists(older)) {
+                Files.move(older, backup(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        if (maxBackups > 0) {
+            Files.move(logFile, backup(1), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.delete(logFile);
+        }
+        openLogFile();
+    }
+
+    /**
+     * Gets the path of a rolled log file.
+     *
+     * @param index the backup index, starting at 1
+     * @return the rolled file path
+     */
+    private Path backup(int index) {
+        return logFile.resolveSibling(logFile.getFileName() + "." + index);
+    }
+
+    /**
+     * Opens the log file for appending.
+     *
+     * @throws IOException if the file cannot be opened
+     */
+    private void openLogFile() throws IOException {
+        fileSize = Files.exists(logFile) ? Files.size(logFile) : 0;
+        out = new BufferedOutputStream(Files.newOutputStream(logFile,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND), BUFFER_SIZE);
+    }
+
+    /**
+     * Splits a chunk of output into lines for the Maven log mirror.
+     *
+     * @param buffer the buffer holding the output
+     * @param length the number of bytes in the buffer
+     */
+    private void collectLines(byte[] buffer, int length) {
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            if (buffer[i] == '\n') {
+                pendingLine.write(buffer, start, i - start);
+                offerLine();
+                start = i + 1;
+            } else if (pendingLine.size() + (i - start) >= MAX_LINE_LENGTH) {
+                pendingLine.write(buffer, start, i - start);
+                offerLine();
+                start = i;
+            }
+        }
+        pendingLine.write(buffer, start, length - start);
+    }
+
+    /**
+     * Queues the pending line for the Maven log, dropping it if the queue is
+     * full.
+     */
+    private void offerLine() {
+        String line = pendingLine.toString(Charset.defaultCharset());
+        pendingLine.reset();
+        if (line.endsWith("\r")) {
+            line = line.substring(0, line.length() - 1);
+        }
+        if (!mirrorQueue.offer(line)) {
+            droppedLines.incrementAndGet();
+        }
+    }
+
+    /**
+     * Writes queued lines to the Maven log until the reader is done.
+     */
+    private void drainMirror() {
+        try {
+            while (!readerDone) {
+                String line = mirrorQueue.poll(100, TimeUnit.MILLISECONDS);
+                if (line != null) {
+                    log.info(MIRROR_PREFIX + line);
+                }
+            }
+            String line;
+            while ((line = mirrorQueue.poll()) != null) {
+                log.info(MIRROR_PREFIX + line);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (droppedLines.get() > 0) {
+            log.warn(droppedLines.get() + " lines of Tomcat output were not shown in the Maven log. "
+                    + "See " + logFile + " for the complete output.");
+        }
+    }
+}
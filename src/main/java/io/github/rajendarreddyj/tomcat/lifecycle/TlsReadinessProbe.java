@@ -0,0 +1,137 @@
+package io.github.rajendarreddyj.tomcat.lifecycle;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.security.GeneralSecurityException;
+import java.security.cert.X509Certificate;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509ExtendedTrustManager;
+
+/**
+ * Readiness probe for the HTTPS connector of a development Tomcat.
+ *
+ * <p>
+ * A TCP connection only shows that the port is bound; the probe completes a
+ * TLS handshake and, when HTTP/2 is expected, checks that ALPN selects
+ * {@code h2}. The server certificate is not verified, since the connector
+ * usually has a self-signed certificate; the probe never sends a request.
+ * </p>
+ *
+ * @author rajendarreddyj
+ * @since 1.0.1
+ */
+public final class TlsReadinessProbe {
+
+    /** ALPN protocol name of HTTP/2 over TLS. */
+    public static final String H2 = "h2";
+
+    /** ALPN protocol name of HTTP/1.1. */
+    private static final String HTTP_1_1 = "http/1.1";
+
+    /** Timeout for connecting and for the handshake, in milliseconds. */
+    private static final int TIMEOUT_MS = 2000;
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     */
+    private TlsReadinessProbe() {
+        // Utility class
+    }
+
+    /**
+     * Completes a TLS handshake with a server.
+     *
+     * @param host the server host
+     * @param port the HTTPS port
+     * @return the protocol selected through ALPN, e.g. "h2", or an empty
+     *         string if the server selected none
+     * @throws IOException if the connection or handshake fails
+     */
+    public static String handshake(String host, int port) throws IOException {
+        SSLContext context;
+        try {
+            context = SSLContext.getInstance("TLS");
+            context.init(null, new TrustManager[] {new AcceptingTrustManager()}, null);
+        } catch (GeneralSecurityException e) {
+            throw new IOException("TLS is not available: " + e.getMessage(), e);
+        }
+        try (Socket plain = new Socket()) {
+            plain.connect(new InetSocketAddress(host, port), TIMEOUT_MS);
+            plain.setSoTimeout(TIMEOUT_MS);
+            try (SSLSocket socket = (SSLSocket) context.getSocketFactory().createSocket(plain, host, port, false)) {
+                SSLParameters parameters = socket.getSSLParameters();
+                parameters.setApplicationProtocols(new String[] {H2, HTTP_1_1});
+                socket.setSSLParameters(parameters);
+                socket.startHandshake();
+                String protocol = socket.getApplicationProtocol();
+                return protocol != null ? protocol : "";
+            }
+        }
+    }
+
+    /**
+     * Checks if a server completes a TLS handshake, and selects HTTP/2 when
+     * expected.
+     *
+     * @param host  the server host
+     * @param port  the HTTPS port
+     * @param http2 whether ALPN must select h2
+     * @return true if the HTTPS connector is ready
+     */
+    public static boolean isReady(String host, int port, boolean http2) {
+        try {
+            String protocol = handshake(host, port);
+            return !http2 || H2.equals(protocol);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Trust manager that accepts every server certificate, so that the
+     * handshake also completes with self-signed certificates.
+     */
+    private static final class AcceptingTrustManager extends X509ExtendedTrustManager {
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType) {
+            // Only server certificates are checked
+        }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType, Socket socket) {
+            // Only server certificates are checked
+        }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType, SSLEngine engine) {
+            // Only server certificates are checked
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType) {
+            // Readiness only; the certificate is not verified
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType, Socket socket) {
+            // Readiness only; the certificate is not verified
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType, SSLEngine engine) {
+            // Readiness only; the certificate is not verified
+        }
+
+        @Override
+        public X509Certificate[] getAcceptedIssuers() {
+            return new X509Certificate[0];
+        }
+    }
+}
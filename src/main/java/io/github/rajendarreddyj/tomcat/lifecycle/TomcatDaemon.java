@@ -0,0 +1,180 @@
+package io.github.rajendarreddyj.tomcat.lifecycle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import io.github.rajendarreddyj.tomcat.config.ServerConfiguration;
+
+/**
+ * Descriptor of a long-lived Tomcat daemon for a CATALINA_BASE.
+ *
+ * <p>
+ * A daemon is a Tomcat JVM started by the start goal that outlives the Maven
+ * invocation. Its PID, address and a fingerprint of the configuration it was
+ * started with are recorded in {@code tomcat-daemon.properties} in
+ * CATALINA_BASE. Later invocations for the same CATALINA_BASE use the
+ * descriptor to find the running JVM and sync the webapp into it instead of
+ * starting a new one.
+ * </p>
+ *
+ * <p>
+ * The fingerprint covers CATALINA_HOME, JAVA_HOME, the HTTP address, the JVM
+ * options, the environment and the classpath additions. A daemon started with
+ * a different fingerprint is reported as stale so the caller can restart it.
+ * </p>
+ *
+ * @author rajendarreddyj
+ * @since 1.0.1
+ */
+public class TomcatDaemon {
+
+    /** Name of the descriptor file in CATALINA_BASE. */
+    static final String DESCRIPTOR_FILE = "tomcat-daemon.properties";
+
+    /** Property holding the Tomcat JVM PID. */
+    private static final String PID_PROPERTY = "pid";
+
+    /** Property holding the configuration fingerprint. */
+    private static final String FINGERPRINT_PROPERTY = "fingerprint";
+
+    /** The descriptor file. */
+    private final Path descriptorFile;
+
+    /** The HTTP host the daemon listens on. */
+    private final String httpHost;
+
+    /** The HTTP port the daemon listens on. */
+    private final int httpPort;
+
+    /** Fingerprint of the current configuration. */
+    private final String fingerprint;
+
+    /**
+     * Creates a new TomcatDaemon.
+     *
+     * @param descriptorFile the descriptor file
+     * @param httpHost       the HTTP host
+     * @param httpPort       the HTTP port
+     * @param fingerprint    fingerprint of the current configuration
+     */
+    TomcatDaemon(Path descriptorFile, String httpHost, int httpPort, String fingerprint) {
+        this.descriptorFile = descriptorFile;
+        this.httpHost = httpHost;
+        this.httpPort = httpPort;
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Creates the daemon descriptor for a server configuration.
+     *
+     * @param config the server configuration
+     * @return the daemon descriptor, which may not describe a running JVM
+     */
+    public static TomcatDaemon forConfiguration(ServerConfiguration config) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            StringBuilder key = new StringBuilder()
+                    .append(config.getCatalinaHome().toAbsolutePath()).append('\n')
+                    .append(config.getJavaHome()).append('\n')
+                    .append(config.getHttpHost()).append(':').append(config.getHttpPort()).append('\n');
+            config.getVmOptions().forEach(option -> key.append(option).append('\n'));
+            new TreeMap<>(config.getEnvironmentVariables())
+                    .forEach((name, value) -> key.append(name).append('=').append(value).append('\n'));
+            config.getClasspathAdditions().forEach(entry -> key.append(entry).append('\n'));
+            String hash = HexFormat.of().formatHex(digest.digest(key.toString().getBytes(StandardCharsets.UTF_8)));
+            return new TomcatDaemon(config.getCatalinaBase().resolve(DESCRIPTOR_FILE),
+                    config.getHttpHost(), config.getHttpPort(), hash.substring(0, 16));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm not available", e);
+        }
+    }
+
+    /**
+     * Gets the PID of the running daemon.
+     *
+     * @return the PID, or empty if no daemon JVM is alive
+     */
+    public Optional<Long> getPid() {
+        Properties props = load();
+        try {
+            long pid = Long.parseLong(props.getProperty(PID_PROPERTY));
+            return ProcessHandle.of(pid).filter(ProcessHandle::isAlive).map(ProcessHandle::pid);
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Checks if a daemon JVM is alive and accepting connections.
+     *
+     * @return true if a daemon is running for this CATALINA_BASE
+     */
+    public boolean isRunning() {
+        if (getPid().isEmpty()) {
+            return false;
+        }
+        try (Socket socket = new Socket(httpHost, httpPort)) {
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Checks if the running daemon was started with the current configuration.
+     *
+     * @return true if the recorded fingerprint matches the current one
+     */
+    public boolean matchesConfiguration() {
+        return fingerprint.equals(load().getProperty(FINGERPRINT_PROPERTY));
+    }
+
+    /**
+     * Records a newly started daemon JVM.
+     *
+     * @param pid the Tomcat JVM PID
+     * @throws IOException if the descriptor cannot be written
+     */
+    public void record(long pid) throws IOException {
+        Properties props = new Properties();
+        props.setProperty(PID_PROPERTY, String.valueOf(pid));
+        props.setProperty(FINGERPRINT_PROPERTY, fingerprint);
+        TomcatState.storeAtomically(descriptorFile, props, "Tomcat daemon");
+    }
+
+    /**
+     * Removes the descriptor.
+     *
+     * @throws IOException if the descriptor cannot be deleted
+     */
+    public void clear() throws IOException {
+        Files.deleteIfExists(descriptorFile);
+    }
+
+    /**
+     * Loads the descriptor, returning empty properties if there is none.
+     *
+     * @return the descriptor properties
+     */
+    private Properties load() {
+        Properties props = new Properties();
+        if (Files.exists(descriptorFile)) {
+            try (InputStream is = Files.newInputStream(descriptorFile)) {
+                props.load(is);
+            } catch (IOException e) {
+                // Treat as no daemon
+            }
+        }
+        return props;
+    }
+}
@@ -0,0 +1,231 @@
+package io.github.rajendarreddyj.tomcat.lifecycle;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Set;
+
+import javax.management.AttributeNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServerConnection;
+import javax.management.ObjectName;
+import javax.management.remote.JMXConnector;
+import javax.management.remote.JMXConnectorFactory;
+import javax.management.remote.JMXServiceURL;
+
+import org.apache.maven.plugin.logging.Log;
+
+import com.sun.tools.attach.VirtualMachine;
+
+/**
+ * JMX connection to a running Tomcat JVM, opened by process ID.
+ *
+ * <p>
+ * Uses the Attach API to start the local management agent in the Tomcat JVM
+ * and connects to it, so Tomcat does not need a JMX port or any
+ * {@code com.sun.management.jmxremote} options. Attaching requires the Maven
+ * JVM to run as the same user as Tomcat.
+ * </p>
+ *
+ * @author rajendarreddyj
+ * @since 1.0.1
+ */
+public class TomcatJmxClient implements AutoCloseable {
+
+    /** Name of the flight recording started by the plugin. */
+    public static final String FLIGHT_RECORDING_NAME = "tomcat-maven-plugin";
+
+    /** The diagnostic command MBean of the JVM. */
+    private static final String DIAGNOSTIC_COMMAND = "com.sun.management:type=DiagnosticCommand";
+
+    /** Pattern matching Tomcat connector MBeans. */
+    private static final String CONNECTOR_PATTERN = "*:type=Connector,*";
+
+    /** Pattern matching Tomcat connector thread pool MBeans. */
+    private static final String THREAD_POOL_PATTERN = "*:type=ThreadPool,*";
+
+    /** Pattern matching Tomcat shared executor MBeans. */
+    private static final String EXECUTOR_PATTERN = "*:type=Executor,*";
+
+    /** The JMX connector, closed with this client. */
+    private final JMXConnector connector;
+
+    /** The MBean server of the Tomcat JVM. */
+    private final MBeanServerConnection connection;
+
+    /**
+     * Creates a new TomcatJmxClient.
+     *
+     * @param connector  the open JMX connector
+     * @param connection the MBean server connection
+     */
+    TomcatJmxClient(JMXConnector connector, MBeanServerConnection connection) {
+        this.connector = connector;
+        this.connection = connection;
+    }
+
+    /**
+     * Attaches to a JVM and connects to its MBean server.
+     *
+     * @param pid the JVM process ID
+     * @param log the Maven logger
+     * @return the client, or empty if the JVM cannot be attached to
+     */
+    public static Optional<TomcatJmxClient> attach(long pid, Log log) {
+        try {
+            VirtualMachine vm = VirtualMachine.attach(String.valueOf(pid));
+            String address;
+            try {
+                address = vm.startLocalManagementAgent();
+            } finally {
+                vm.detach();
+            }
+            JMXConnector connector = JMXConnectorFactory.connect(new JMXServiceURL(address));
+            return Optional.of(new TomcatJmxClient(connector, connector.getMBeanServerConnection()));
+        } catch (Exception | LinkageError e) {
+            // Attach unsupported, JVM gone, or different user
+            log.debug("Cannot attach to JVM " + pid + ": " + e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Gets the MBean server connection.
+     *
+     * @return the MBean server connection
+     */
+    public MBeanServerConnection getConnection() {
+        return connection;
+    }
+
+    /**
+     * Pauses all connectors so no new requests are accepted.
+     * In-flight requests continue to be processed.
+     *
+     * @return the number of paused connectors
+     * @throws IOException if the MBeans cannot be invoked
+     */
+    public int pauseConnectors() throws IOException {
+        Set<ObjectName> connectors = connection.queryNames(pattern(CONNECTOR_PATTERN), null);
+        for (ObjectName name : connectors) {
+            try {
+                connection.invoke(name, "pause", null, null);
+            } catch (JMException e) {
+                throw new IOException("Failed to pause " + name + ": " + e.getMessage(), e);
+            }
+        }
+        return connectors.size();
+    }
+
+    /**
+     * Gets the number of request processing threads that are currently busy,
+     * summed over all connectors.
+     *
+     * <p>
+     * A connector that runs on an executor Tomcat cannot size, such as the
+     * virtual thread executor, reports -1 busy threads. If any connector does,
+     * the active counts of the shared executors are added instead.
+     * </p>
+     *
+     * @return the number of in-flight requests, or -1 if a connector's
+     *         requests cannot be counted
+     * @throws IOException if the MBeans cannot be read
+     */
+    public int getBusyThreads() throws IOException {
+        int busy = 0;
+        boolean uncounted = false;
+        for (ObjectName name : connection.queryNames(pattern(THREAD_POOL_PATTERN), null)) {
+            int value = readCount(name, "currentThreadsBusy");
+            if (value >= 0) {
+                busy += value;
+            } else {
+                uncounted = true;
+            }
+        }
+        if (!uncounted) {
+            return busy;
+        }
+
+        Set<ObjectName> executors = connection.queryNames(pattern(EXECUTOR_PATTERN), null);
+        for (ObjectName name : executors) {
+            int value = readCount(name, "activeCount");
+            if (value < 0) {
+                return -1;
+            }
+            busy += value;
+        }
+        return executors.isEmpty() ? -1 : busy;
+    }
+
+    /**
+     * Reads a count attribute of an MBean.
+     *
+     * @param name      the MBean name
+     * @param attribute the attribute name
+     * @return the count, or -1 if the MBean has no such numeric attribute or
+     *         reports a negative value
+     * @throws IOException if the MBean cannot be read
+     */
+    private int readCount(ObjectName name, String attribute) throws IOException {
+        try {
+            Object value = connection.getAttribute(name, attribute);
+            return value instanceof Number number ? Math.max(number.intValue(), -1) : -1;
+        } catch (AttributeNotFoundException e) {
+            return -1;
+        } catch (JMException e) {
+            throw new IOException("Failed to read " + name + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Dumps a running flight recording to a file, like
+     * {@code jcmd <pid> JFR.dump}. The recording continues. An existing file
+     * is replaced.
+     *
+     * @param name the recording name
+     * @param file the file to write
+     * @throws IOException if the recording cannot be dumped
+     */
+    public void dumpFlightRecording(String name, Path file) throws IOException {
+        Files.deleteIfExists(file);
+        Object output;
+        try {
+            output = connection.invoke(pattern(DIAGNOSTIC_COMMAND), "jfrDump",
+                    new Object[] { new String[] { "name=" + name, "filename=" + file.toAbsolutePath() } },
+                    new String[] { String[].class.getName() });
+        } catch (JMException e) {
+            throw new IOException("Failed to dump flight recording " + name + ": " + e.getMessage(), e);
+        }
+        // JFR.dump reports failures such as an unknown recording in its output
+        if (!Files.exists(file)) {
+            throw new IOException("Failed to dump flight recording " + name + ": " + output);
+        }
+    }
+
+    /**
+     * Closes the JMX connection.
+     */
+    @Override
+    public void close() {
+        try {
+            connector.close();
+        } catch (IOException e) {
+            // Connection already gone
+        }
+    }
+
+    /**
+     * Creates an ObjectName pattern.
+     *
+     * @param pattern the pattern
+     * @return the ObjectName
+     */
+    static ObjectName pattern(String pattern) {
+        try {
+            return new ObjectName(pattern);
+        } catch (JMException e) {
+            throw new IllegalArgumentException("Invalid ObjectName pattern: " + pattern, e);
+        }
+    }
+}
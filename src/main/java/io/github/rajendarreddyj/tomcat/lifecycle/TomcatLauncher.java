@@ -2,13 +2,22 @@ package io.github.rajendarreddyj.tomcat.lifecycle;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.Socket;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.OptionalInt;
 import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.apache.maven.plugin.logging.Log;
 
@@ -22,6 +31,44 @@ import io.github.rajendarreddyj.tomcat.config.ServerConfiguration;
  */
 public class TomcatLauncher {
 
+    /** Location of the CATALINA_PID file relative to CATALINA_BASE. */
+    public static final String CATALINA_PID_FILE = "temp/catalina.pid";
+
+    /** Location of the console output log relative to CATALINA_BASE. */
+    static final String CONSOLE_LOG_FILE = "logs/tomcat-console.log";
+
+    /** Initial interval between readiness checks in milliseconds. */
+    private static final long MIN_READY_POLL_INTERVAL_MS = 10;
+
+    /** Maximum interval between readiness checks in milliseconds. */
+    private static final long MAX_READY_POLL_INTERVAL_MS = 500;
+
+    /** Logs, relative to CATALINA_BASE, that receive Tomcat's startup errors. */
+    private static final List<String> STARTUP_LOG_FILES = List.of("logs/catalina.out", CONSOLE_LOG_FILE);
+
+    /** Exception Tomcat logs when a connector cannot bind its port. */
+    private static final String BIND_FAILURE = "java.net.BindException";
+
+    /** Logger name on the line Tomcat logs once all connectors are started. */
+    private static final String STARTUP_COMPLETE = "org.apache.catalina.startup.Catalina.start";
+
+    /**
+     * Tomcat's log line for a connector that failed to initialize or start,
+     * with its port, e.g. {@code Failed to initialize component
+     * [Connector["http-nio-8080"]]}.
+     */
+    private static final Pattern FAILED_CONNECTOR = Pattern.compile(
+            "Failed to (?:initialize|start) (?:component|connector) \\[Connector\\[\\W*[^\\]]*?-(\\d{1,5})\\W*\\]");
+
+    /** Start of the next log record, whose lines begin with the timestamp, after a stack trace. */
+    private static final Pattern NEXT_RECORD = Pattern.compile("\\R\\d");
+
+    /**
+     * Time the port must accept connections without a startup log line or
+     * bind failure before Tomcat is considered started with custom logging.
+     */
+    private static final Duration STARTUP_LOG_GRACE = Duration.ofSeconds(5);
+
     /** The server configuration containing Tomcat paths and settings. */
     private final ServerConfiguration config;
 
@@ -31,6 +78,18 @@ public class TomcatLauncher {
     /** The underlying Tomcat process, null until started. */
     private Process tomcatProcess;
 
+    /** Pump draining the output of the launched process, null until started. */
+    private ProcessOutputPump outputPump;
+
+    /** System nano time at which the current Tomcat process was launched. */
+    private long launchedAtNanos;
+
+    /** Time from process launch until Tomcat accepted connections, null until ready. */
+    private Duration startupTime;
+
+    /** Sizes of the startup logs when the current Tomcat process was launched. */
+    private final Map<Path, Long> startupLogOffsets = new HashMap<>();
+
     /**
      * Creates a new TomcatLauncher with the given configuration.
      *
@@ -49,7 +108,7 @@ public class TomcatLauncher {
      * @throws InterruptedException if wait is interrupted
      */
     public void run() throws IOException, InterruptedException {
-        tomcatProcess = startProcess("run");
+        tomcatProcess = startProcess("run", List.of());
 
         // Add shutdown hook for graceful termination
         Thread shutdownHook = new Thread(() -> {
@@ -62,6 +121,7 @@ public class TomcatLauncher {
         Runtime.getRuntime().addShutdownHook(shutdownHook);
 
         int exitCode = tomcatProcess.waitFor();
+        outputPump.close();
         if (exitCode != 0) {
             log.warn("Tomcat exited with code: " + exitCode);
         }
@@ -80,8 +140,99 @@ public class TomcatLauncher {
      * @throws IOException if process cannot be started or startup fails
      */
     public void start() throws IOException {
-        tomcatProcess = startProcess("start");
-        waitForStartup();
+        if (config.isCracEnabled()) {
+            startWithCrac();
+            return;
+        }
+        tomcatProcess = startProcess("start", List.of());
+        waitForStartup(true);
+    }
+
+    /**
+     * Starts Tomcat using CRaC checkpoint/restore.
+     *
+     * <p>
+     * If a checkpoint image exists for this configuration, Tomcat is restored
+     * from it. Otherwise Tomcat is cold-started with checkpointing enabled,
+     * checkpointed once it accepts connections, and then restored from the new
+     * image. If the JDK does not support CRaC, or restoring fails, Tomcat is
+     * started normally. If the checkpoint fails, the cold-started Tomcat keeps
+     * running, or is started again without checkpointing if its JVM exited.
+     * </p>
+     *
+     * @throws IOException if Tomcat cannot be started
+     */
+    private void startWithCrac() throws IOException {
+        JavaRuntime javaRuntime = JavaRuntime.of(config.getJavaHome());
+        if (!CracCheckpoint.isSupported(javaRuntime)) {
+            log.warn("JDK at " + javaRuntime.getJavaHome()
+                    + " does not support CRaC. Starting Tomcat without checkpoint/restore.");
+            tomcatProcess = startProcess("start", List.of());
+            waitForStartup(true);
+            return;
+        }
+
+        CracCheckpoint checkpoint = CracCheckpoint.forConfiguration(config, javaRuntime);
+        if (checkpoint.exists()) {
+            tomcatProcess = startRestoreProcess(checkpoint);
+            try {
+                waitForStartup(false);
+                return;
+            } catch (IOException e) {
+                log.warn("Restoring from checkpoint failed (" + e.getMessage()
+                        + "). Discarding it and starting Tomcat normally.");
+                tomcatProcess.destroyForcibly();
+                checkpoint.discard();
+            }
+        }
+
+        tomcatProcess = startProcess("start", checkpoint.getCheckpointOptions());
+        waitForStartup(true);
+
+        try {
+            long pid = getTomcatPid();
+            if (checkpoint.checkpoint(pid, log)) {
+                tomcatProcess = startRestoreProcess(checkpoint);
+                waitForStartup(false);
+            } else if (ProcessHandle.of(pid).map(ProcessHandle::isAlive).orElse(false)) {
+                log.warn("Continuing with the cold-started Tomcat");
+            } else {
+                log.warn("Tomcat JVM (PID: " + pid + ") exited without a checkpoint image. "
+                        + "Starting Tomcat again without checkpoint/restore.");
+                tomcatProcess = startProcess("start", List.of());
+                waitForStartup(true);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Checkpoint interrupted", e);
+        }
+    }
+
+    /**
+     * Starts a JVM restored from a CRaC checkpoint image.
+     *
+     * <p>
+     * Output is appended to {@code logs/catalina.out} in CATALINA_BASE so the
+     * restored Tomcat does not depend on the Maven process for its streams.
+     * </p>
+     *
+     * @param checkpoint the checkpoint to restore from
+     * @return the restore process
+     * @throws IOException if the process cannot be started
+     */
+    private Process startRestoreProcess(CracCheckpoint checkpoint) throws IOException {
+        Path logsDir = config.getCatalinaBase().resolve("logs");
+        Files.createDirectories(logsDir);
+
+        ProcessBuilder pb = new ProcessBuilder(checkpoint.getRestoreCommand());
+        pb.directory(config.getCatalinaHome().toFile());
+        pb.redirectErrorStream(true);
+        pb.redirectOutput(ProcessBuilder.Redirect.appendTo(logsDir.resolve("catalina.out").toFile()));
+
+        log.info("Restoring Tomcat from checkpoint: " + checkpoint.getImageDir());
+        recordStartupLogOffsets();
+        launchedAtNanos = System.nanoTime();
+        return pb.start();
     }
 
     /**
@@ -110,15 +261,17 @@ public class TomcatLauncher {
      *
      * <p>
      * Creates a new process using the catalina script with the given command
-     * (e.g., "run", "start"). Configures the process environment and inherits
-     * I/O streams from the parent process.
+     * (e.g., "run", "start"). Configures the process environment and drains the
+     * combined stdout/stderr through a {@link ProcessOutputPump} into
+     * {@code logs/tomcat-console.log}, optionally mirrored to the Maven log.
      * </p>
      *
-     * @param command the catalina command to execute ("run", "start", "stop")
+     * @param command      the catalina command to execute ("run", "start", "stop")
+     * @param extraOptions additional JVM options for this launch only
      * @return the started Process instance
      * @throws IOException if the process cannot be started or the catalina script is not found
      */
-    private Process startProcess(String command) throws IOException {
+    private Process startProcess(String command, List<String> extraOptions) throws IOException {
         Path catalinaScript = resolveCatalinaScript();
 
         ProcessBuilder pb = new ProcessBuilder();
@@ -134,16 +287,26 @@ public class TomcatLauncher {
         cmd.add(command);
 
         pb.command(cmd);
-        configureEnvironment(pb.environment());
+        configureEnvironment(pb.environment(), extraOptions);
         pb.directory(config.getCatalinaHome().toFile());
-        pb.inheritIO();
+        pb.redirectErrorStream(true);
+
+        // catalina.sh writes the JVM PID to CATALINA_PID on start
+        Files.createDirectories(getCatalinaPidFile().getParent());
 
         log.info("Starting Tomcat with command: " + String.join(" ", cmd));
+        log.info("JVM options: " + pb.environment().getOrDefault("CATALINA_OPTS", ""));
         log.info("CATALINA_HOME: " + config.getCatalinaHome());
         log.info("CATALINA_BASE: " + config.getCatalinaBase());
         log.info("HTTP Port: " + config.getHttpPort());
 
-        return pb.start();
+        recordStartupLogOffsets();
+        launchedAtNanos = System.nanoTime();
+        Process process = pb.start();
+        outputPump = new ProcessOutputPump(process.getInputStream(),
+                config.getCatalinaBase().resolve(CONSOLE_LOG_FILE), log, config.isMirrorOutput());
+        outputPump.start();
+        return process;
     }
 
     /**
@@ -174,7 +337,7 @@ public class TomcatLauncher {
         cmd.add("stop");
 
         pb.command(cmd);
-        configureEnvironment(pb.environment());
+        configureEnvironment(pb.environment(), List.of());
         pb.inheritIO();
 
         Process stopProcess = pb.start();
@@ -217,27 +380,32 @@ public class TomcatLauncher {
      * <ul>
      * <li>CATALINA_HOME - the Tomcat installation directory</li>
      * <li>CATALINA_BASE - the Tomcat instance directory</li>
+     * <li>CATALINA_PID - the file catalina.sh writes the JVM PID to</li>
      * <li>JAVA_HOME - the Java installation directory (if configured)</li>
      * <li>CATALINA_OPTS - JVM options from configuration</li>
      * <li>CLASSPATH - additional classpath entries</li>
      * <li>Custom environment variables from configuration</li>
      * </ul>
      *
-     * @param env the environment map to configure
+     * @param env          the environment map to configure
+     * @param extraOptions additional JVM options for this launch only
      */
-    private void configureEnvironment(Map<String, String> env) {
+    private void configureEnvironment(Map<String, String> env, List<String> extraOptions) {
         // Core Tomcat environment
         env.put("CATALINA_HOME", config.getCatalinaHome().toString());
         env.put("CATALINA_BASE", config.getCatalinaBase().toString());
+        env.put("CATALINA_PID", getCatalinaPidFile().toString());
 
         if (config.getJavaHome() != null) {
             env.put("JAVA_HOME", config.getJavaHome().toString());
         }
 
         // VM options
-        if (!config.getVmOptions().isEmpty()) {
+        List<String> options = new ArrayList<>(extraOptions);
+        options.addAll(config.getVmOptions());
+        if (!options.isEmpty()) {
             String existingOpts = env.getOrDefault("CATALINA_OPTS", "");
-            String newOpts = String.join(" ", config.getVmOptions());
+            String newOpts = String.join(" ", options);
             env.put("CATALINA_OPTS", (existingOpts + " " + newOpts).trim());
         }
 
@@ -258,26 +426,60 @@ public class TomcatLauncher {
      * Waits for Tomcat to start and become ready to accept connections.
      *
      * <p>
-     * Polls the configured HTTP port at one-second intervals until the server
-     * accepts connections or the startup timeout is exceeded. Logs progress
-     * and success/failure status.
+     * Polls the configured HTTP port until the server accepts connections or
+     * the startup timeout is exceeded. The poll interval starts short and
+     * doubles up to half a second, so fast (restored) starts are measured
+     * accurately without busy-polling slow ones. Logs progress, the measured
+     * startup time and success/failure status.
      * </p>
      *
-     * @throws IOException if the startup timeout is exceeded or the wait is interrupted
+     * <p>
+     * Tomcat keeps running when a connector cannot bind its port, so the wait
+     * fails early with a {@link PortInUseException} once a bind failure shows
+     * up in the startup logs. Bind failures are checked first, and after a
+     * cold start the port only counts as ready once Tomcat logged that it
+     * started, because another process may already listen on it. With custom
+     * logging that never shows that line, Tomcat is considered started when
+     * the port accepted connections for {@link #STARTUP_LOG_GRACE} without a
+     * bind failure. A restored JVM does not log its startup again.
+     * </p>
+     *
+     * @param confirmStartup whether the startup log line is awaited
+     * @throws IOException if the startup timeout is exceeded, a port cannot be
+     *                     bound or the wait is interrupted
      */
-    private void waitForStartup() throws IOException {
+    private void waitForStartup(boolean confirmStartup) throws IOException {
         log.info("Waiting for Tomcat to start (timeout: " + config.getStartupTimeout() + "ms)...");
 
         long startTime = System.currentTimeMillis();
         long timeout = config.getStartupTimeout();
+        long pollInterval = MIN_READY_POLL_INTERVAL_MS;
+        long acceptingSince = -1;
 
         while (System.currentTimeMillis() - startTime < timeout) {
-            if (isServerReady()) {
-                log.info("Tomcat started successfully on port " + config.getHttpPort());
+            // Read the logs before probing, so a started line implies no bind failure was missed
+            String startupLogs = readStartupLogs();
+            OptionalInt failedPort = findFailedPort(startupLogs);
+            if (failedPort.isPresent()) {
+                throw new PortInUseException(failedPort.getAsInt());
+            }
+            if (!isServerReady()) {
+                acceptingSince = -1;
+            } else if (acceptingSince < 0) {
+                acceptingSince = System.nanoTime();
+            }
+            if (acceptingSince >= 0 && (!confirmStartup || startupLogs.contains(STARTUP_COMPLETE)
+                    || System.nanoTime() - acceptingSince >= STARTUP_LOG_GRACE.toNanos())) {
+                startupTime = Duration.ofNanos(System.nanoTime() - launchedAtNanos);
+                log.info("Tomcat started successfully on port " + config.getHttpPort()
+                        + (config.getHttpsPort() > 0 ? " and HTTPS port " + config.getHttpsPort()
+                                + (config.isHttp2() ? " (h2)" : "") : "")
+                        + " in " + startupTime.toMillis() + " ms");
                 return;
             }
             try {
-                Thread.sleep(1000);
+                Thread.sleep(pollInterval);
+                pollInterval = Math.min(pollInterval * 2, MAX_READY_POLL_INTERVAL_MS);
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
                 throw new IOException("Startup wait interrupted", e);
@@ -292,19 +494,103 @@ public class TomcatLauncher {
      *
      * <p>
      * Opens a TCP connection to the configured HTTP host and port. A successful
-     * connection indicates the server is ready to accept requests.
+     * connection indicates the server is ready to accept requests. With an
+     * HTTPS port, a TLS handshake must also complete on it, selecting HTTP/2
+     * when configured.
      * </p>
      *
      * @return {@code true} if the server accepts connections, {@code false} otherwise
      */
     private boolean isServerReady() {
         try (Socket socket = new Socket(config.getHttpHost(), config.getHttpPort())) {
-            return true;
+            return config.getHttpsPort() <= 0
+                    || TlsReadinessProbe.isReady(config.getHttpHost(), config.getHttpsPort(), config.isHttp2());
         } catch (IOException e) {
             return false;
         }
     }
 
+    /**
+     * Records the sizes of the startup logs, so that only output of the
+     * process about to be launched is searched for bind failures.
+     */
+    private void recordStartupLogOffsets() {
+        startupLogOffsets.clear();
+        for (String name : STARTUP_LOG_FILES) {
+            Path file = config.getCatalinaBase().resolve(name);
+            try {
+                startupLogOffsets.put(file, Files.exists(file) ? Files.size(file) : 0L);
+            } catch (IOException e) {
+                startupLogOffsets.put(file, 0L);
+            }
+        }
+    }
+
+    /**
+     * Checks if the launched Tomcat logged that a connector could not bind
+     * its port.
+     *
+     * @return true if a bind failure was logged since the launch
+     */
+    boolean hasBindFailure() {
+        return findFailedPort(readStartupLogs()).isPresent();
+    }
+
+    /**
+     * Finds the port that Tomcat could not bind. Only a failure of the HTTP or
+     * HTTPS connector counts whose record holds a {@code BindException}, so
+     * that a BindException the webapp logs for its own sockets is ignored.
+     *
+     * @param startupLogs the startup logs since the launch
+     * @return the HTTP port if its connector failed, otherwise the HTTPS port
+     *         if its connector failed; empty if neither did
+     */
+    private OptionalInt findFailedPort(String startupLogs) {
+        if (!startupLogs.contains(BIND_FAILURE)) {
+            return OptionalInt.empty();
+        }
+        boolean httpsFailed = false;
+        Matcher matcher = FAILED_CONNECTOR.matcher(startupLogs);
+        while (matcher.find()) {
+            Matcher next = NEXT_RECORD.matcher(startupLogs).region(matcher.end(), startupLogs.length());
+            String record = startupLogs.substring(matcher.end(), next.find() ? next.start() : startupLogs.length());
+            if (!record.contains(BIND_FAILURE)) {
+                continue;
+            }
+            int port = Integer.parseInt(matcher.group(1));
+            if (port == config.getHttpPort()) {
+                return OptionalInt.of(port);
+            }
+            httpsFailed |= config.getHttpsPort() > 0 && port == config.getHttpsPort();
+        }
+        return httpsFailed ? OptionalInt.of(config.getHttpsPort()) : OptionalInt.empty();
+    }
+
+    /**
+     * Reads what the launched Tomcat wrote to the startup logs.
+     *
+     * @return the output since the launch, empty if none could be read
+     */
+    private String readStartupLogs() {
+        StringBuilder output = new StringBuilder();
+        for (Map.Entry<Path, Long> entry : startupLogOffsets.entrySet()) {
+            Path file = entry.getKey();
+            if (!Files.isRegularFile(file)) {
+                continue;
+            }
+            try (SeekableByteChannel channel = Files.newByteChannel(file)) {
+                // A log rolled since the launch is read from the start
+                channel.position(channel.size() < entry.getValue() ? 0 : entry.getValue());
+                try (InputStream in = Channels.newInputStream(channel)) {
+                    output.append(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                }
+            } catch (IOException e) {
+                // The log is checked again on the next poll
+            }
+        }
+        return output.toString();
+    }
+
     /**
      * Checks if the current operating system is Windows.
      *
@@ -327,4 +613,82 @@ public class TomcatLauncher {
     public Process getProcess() {
         return tomcatProcess;
     }
+
+    /**
+     * Gets the PID of the Tomcat JVM.
+     *
+     * <p>
+     * Reads the CATALINA_PID file written by catalina.sh, which holds the PID of
+     * the JVM rather than the wrapper script. Falls back to the PID of the
+     * launched process if the file is missing or the PID is not alive.
+     * </p>
+     *
+     * @return the Tomcat JVM PID, or -1 if Tomcat was not started
+     */
+    public long getTomcatPid() {
+        Path pidFile = getCatalinaPidFile();
+        try {
+            if (Files.exists(pidFile)) {
+                long pid = Long.parseLong(Files.readString(pidFile).trim());
+                if (ProcessHandle.of(pid).map(ProcessHandle::isAlive).orElse(false)) {
+                    return pid;
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            log.debug("Could not read " + pidFile + ": " + e.getMessage());
+        }
+        return tomcatProcess != null ? tomcatProcess.pid() : -1;
+    }
+
+    /**
+     * Gets the time from process launch until Tomcat accepted connections.
+     *
+     * @return the measured startup time, or null if Tomcat has not become ready
+     */
+    public Duration getStartupTime() {
+        return startupTime;
+    }
+
+    /**
+     * Gets the CATALINA_PID file location for the configured CATALINA_BASE.
+     *
+     * @return the CATALINA_PID file path
+     */
+    private Path getCatalinaPidFile() {
+        return config.getCatalinaBase().resolve(CATALINA_PID_FILE);
+    }
+
+    /**
+     * Signals that Tomcat started but could not bind a connector port, e.g.
+     * because another process took a port between its allocation and
+     * Tomcat's bind. The port is the HTTPS port if the logs name only the
+     * HTTPS connector, and the HTTP port otherwise.
+     */
+    public static final class PortInUseException extends IOException {
+
+        /** Serialization version. */
+        private static final long serialVersionUID = 1L;
+
+        /** The port Tomcat could not bind. */
+        private final int port;
+
+        /**
+         * Creates a new PortInUseException.
+         *
+         * @param port the port Tomcat could not bind
+         */
+        public PortInUseException(int port) {
+            super("Tomcat could not bind port " + port + ", see logs/catalina.out");
+            this.port = port;
+        }
+
+        /**
+         * Gets the port Tomcat could not bind.
+         *
+         * @return the port
+         */
+        public int getPort() {
+            return port;
+        }
+    }
 }
@@ -0,0 +1,512 @@
+package io.github.rajendarreddyj.tomcat.lifecycle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.maven.plugin.logging.Log;
+
+import io.github.rajendarreddyj.tomcat.config.CatalinaBaseGenerator;
+import io.github.rajendarreddyj.tomcat.config.GenerationSettings;
+import io.github.rajendarreddyj.tomcat.config.ServerConfiguration;
+import io.github.rajendarreddyj.tomcat.config.ServerXmlTransformer;
+
+/**
+ * Pool of pre-started Tomcat instances that are leased by start goals instead
+ * of cold-booting a new JVM each time.
+ *
+ * <p>
+ * Each instance has its own generated CATALINA_BASE under
+ * {@code <poolDir>/instance-<n>} and its own free HTTP port. The state of an
+ * instance is kept in control files inside its CATALINA_BASE:
+ * </p>
+ * <ul>
+ * <li>{@code pool-instance.properties} - the HTTP port and the Tomcat JVM
+ * PID</li>
+ * <li>{@code pool.lease} - present while the instance is leased; holds the
+ * owner and the PID of the leasing Maven process</li>
+ * <li>{@code pool.lock} - locked while the instance is leased</li>
+ * </ul>
+ *
+ * <p>
+ * A lease is taken by an exclusive {@link java.nio.channels.FileLock} on the
+ * lock file, so concurrent builds never share an instance. The operating
+ * system releases the lock when the leasing Maven process exits, so the
+ * instance of a crashed build can be leased again and the lease file it left
+ * behind is replaced. Pooled instances run independently of the Maven process
+ * and stay up until the pool is shut down.
+ * </p>
+ *
+ * @author rajendarreddyj
+ * @since 1.0.1
+ */
+public class TomcatPool {
+
+    /** Name of the instance control file. */
+    static final String INSTANCE_FILE = "pool-instance.properties";
+
+    /** Name of the lease file. */
+    static final String LEASE_FILE = "pool.lease";
+
+    /** Name of the lock file held while an instance is leased. */
+    static final String LOCK_FILE = "pool.lock";
+
+    /** Locked lock files of the instances leased by this Maven process, by CATALINA_BASE. */
+    private static final Map<Path, FileChannel> LEASES = new ConcurrentHashMap<>();
+
+    /** Property holding the instance HTTP port. */
+    private static final String PORT_PROPERTY = "httpPort";
+
+    /** Property holding the Tomcat JVM PID. */
+    private static final String PID_PROPERTY = "pid";
+
+    /** Property holding the lease owner. */
+    private static final String OWNER_PROPERTY = "owner";
+
+    /** Property holding the PID of the Maven process holding the lease. */
+    private static final String HOLDER_PID_PROPERTY = "holderPid";
+
+    /** Interval between deployment checks in milliseconds. */
+    private static final long DEPLOY_POLL_INTERVAL_MS = 200;
+
+    /** Path of the Engine element in server.xml. */
+    private static final String ENGINE_PATH = "Server/Service/Engine";
+
+    /** The directory holding the instances. */
+    private final Path poolDir;
+
+    /** Template configuration; CATALINA_BASE and HTTP port are set per instance. */
+    private final ServerConfiguration template;
+
+    /** Settings written into each instance CATALINA_BASE; the HTTP port is set per instance. */
+    private final GenerationSettings settings;
+
+    /** The number of instances to keep running. */
+    private final int size;
+
+    /** The Maven logger. */
+    private final Log log;
+
+    /**
+     * Creates a new TomcatPool.
+     *
+     * @param poolDir  the directory holding the instances
+     * @param template the template server configuration
+     * @param settings the connector, executor, context and access log
+     *                 settings of the instances
+     * @param size     the number of instances to keep running
+     * @param log      the Maven logger
+     */
+    public TomcatPool(Path poolDir, ServerConfiguration template, GenerationSettings settings, int size, Log log) {
+        this.poolDir = poolDir;
+        this.template = template;
+        this.settings = settings;
+        this.size = size;
+        this.log = log;
+    }
+
+    /**
+     * Starts every pool instance that is not running.
+     * Instances are booted in parallel on virtual threads.
+     *
+     * @throws IOException if an instance cannot be generated or started
+     */
+    public void ensureStarted() throws IOException {
+        List<Future<Instance>> starts = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < size; i++) {
+                Path instanceDir = poolDir.resolve("instance-" + i);
+                Optional<Instance> existing = readInstance(instanceDir);
+                if (existing.isPresent() && existing.get().isRunning()) {
+                    continue;
+                }
+                starts.add(executor.submit(() -> startInstance(instanceDir)));
+            }
+        }
+
+        for (Future<Instance> start : starts) {
+            try {
+                Instance instance = start.get();
+                log.info("Pooled Tomcat instance ready on port " + instance.getHttpPort()
+                        + " (PID: " + instance.getPid() + ")");
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                throw cause instanceof IOException io ? io : new IOException(cause.getMessage(), cause);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while starting pooled instances", e);
+            }
+        }
+    }
+
+    /**
+     * Leases a free running instance.
+     *
+     * @param owner an identifier of the leasing build, used to find the lease
+     *              again on stop
+     * @return the leased instance, or empty if every instance is in use
+     * @throws IOException if a lock or lease file cannot be written
+     */
+    public Optional<Instance> lease(String owner) throws IOException {
+        for (Instance instance : listInstances()) {
+            if (!instance.isRunning()) {
+                continue;
+            }
+            Path catalinaBase = instance.getCatalinaBase().toAbsolutePath();
+            FileChannel channel = IsolatedInstance.tryLock(catalinaBase.resolve(LOCK_FILE));
+            if (channel == null) {
+                continue;
+            }
+            Properties lease = new Properties();
+            lease.setProperty(OWNER_PROPERTY, owner);
+            lease.setProperty(HOLDER_PID_PROPERTY, String.valueOf(ProcessHandle.current().pid()));
+            try {
+                TomcatState.storeAtomically(catalinaBase.resolve(LEASE_FILE), lease, "Tomcat pool lease");
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+            LEASES.put(catalinaBase, channel);
+            return Optional.of(instance);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Finds the instance leased by an owner.
+     *
+     * @param owner the owner passed to {@link #lease(String)}
+     * @return the leased instance, or empty if the owner holds no lease
+     * @throws IOException if the pool directory cannot be read
+     */
+    public Optional<Instance> findLease(String owner) throws IOException {
+        for (Instance instance : listInstances()) {
+            Properties lease = load(instance.getCatalinaBase().resolve(LEASE_FILE));
+            if (owner.equals(lease.getProperty(OWNER_PROPERTY))) {
+                return Optional.of(instance);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Waits until a webapp copied into a pooled instance has been deployed.
+     *
+     * <p>
+     * Tomcat answers a request for a deployed non-root context without a
+     * trailing slash with a redirect, and an unknown context with 404, so the
+     * context is considered deployed once the answer is anything but 404.
+     * </p>
+     *
+     * @param instance    the pooled instance
+     * @param contextPath the context path of the webapp
+     * @param timeoutMs   the maximum time to wait in milliseconds
+     * @throws IOException if the context is not deployed within the timeout
+     */
+    public void awaitContext(Instance instance, String contextPath, long timeoutMs) throws IOException {
+        String path = contextPath == null || contextPath.equals("/") ? "/" : contextPath;
+        URI uri = URI.create("http://" + instance.httpHost + ":" + instance.getHttpPort() + path);
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(2))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(5)).GET().build();
+
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                if (status != 404 || path.equals("/")) {
+                    log.info("Context " + path + " deployed in pooled instance on port " + instance.getHttpPort());
+                    return;
+                }
+                Thread.sleep(DEPLOY_POLL_INTERVAL_MS);
+            } catch (IOException e) {
+                log.debug("Waiting for context " + path + ": " + e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for context " + path, e);
+            }
+        }
+        throw new IOException("Context " + path + " was not deployed within " + timeoutMs + "ms");
+    }
+
+    /**
+     * Returns a leased instance to the pool.
+     *
+     * @param instance the leased instance
+     * @throws IOException if the lease file cannot be deleted
+     */
+    public void release(Instance instance) throws IOException {
+        Files.deleteIfExists(instance.getCatalinaBase().resolve(LEASE_FILE));
+        unlock(instance.getCatalinaBase());
+        log.info("Returned pooled Tomcat instance on port " + instance.getHttpPort() + " to the pool");
+    }
+
+    /**
+     * Stops every pool instance that is not leased by another build and
+     * removes its lease. An instance whose lock is held by another running
+     * build is left running, as that build is still using it.
+     *
+     * @throws IOException if the pool directory cannot be read
+     */
+    public void shutdown() throws IOException {
+        GracefulShutdown shutdown = new GracefulShutdown(0, template.getShutdownTimeout(), log);
+        for (Instance instance : listInstances()) {
+            Path catalinaBase = instance.getCatalinaBase().toAbsolutePath();
+            if (!LEASES.containsKey(catalinaBase)) {
+                FileChannel channel = IsolatedInstance.tryLock(catalinaBase.resolve(LOCK_FILE));
+                if (channel == null) {
+                    log.warn("Pooled Tomcat instance on port " + instance.getHttpPort()
+                            + " is leased by another build and is left running");
+                    continue;
+                }
+                LEASES.put(catalinaBase, channel);
+            }
+            log.info("Stopping pooled Tomcat instance on port " + instance.getHttpPort());
+            try {
+                // The pool is shut down between builds, so requests are not drained
+                shutdown.stop(instance.getPid());
+                Files.deleteIfExists(catalinaBase.resolve(LEASE_FILE));
+                Files.deleteIfExists(catalinaBase.resolve(INSTANCE_FILE));
+            } finally {
+                unlock(catalinaBase);
+            }
+        }
+    }
+
+    /**
+     * Releases the lock of an instance if this Maven process leased it. A
+     * lease taken by another build that has not ended is released when that
+     * build exits.
+     *
+     * @param catalinaBase the instance CATALINA_BASE
+     * @throws IOException if the lock cannot be released
+     */
+    private static void unlock(Path catalinaBase) throws IOException {
+        FileChannel channel = LEASES.remove(catalinaBase.toAbsolutePath());
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    /**
+     * Lists the instances known to the pool.
+     *
+     * @return the instances with a control file
+     * @throws IOException if the pool directory cannot be read
+     */
+    public List<Instance> listInstances() throws IOException {
+        List<Instance> instances = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            readInstance(poolDir.resolve("instance-" + i)).ifPresent(instances::add);
+        }
+        return instances;
+    }
+
+    /**
+     * Gets the server configuration of a pooled instance.
+     *
+     * @param instance the pooled instance
+     * @return the template configuration with the instance CATALINA_BASE and
+     *         HTTP port
+     */
+    public ServerConfiguration configurationFor(Instance instance) {
+        return configurationFor(instance.getCatalinaBase(), instance.getHttpPort());
+    }
+
+    /**
+     * Derives an instance configuration from the template.
+     *
+     * @param instanceDir the instance CATALINA_BASE
+     * @param port        the instance HTTP port
+     * @return the instance configuration
+     */
+    private ServerConfiguration configurationFor(Path instanceDir, int port) {
+        return ServerConfiguration.builder()
+                .catalinaHome(template.getCatalinaHome())
+                .catalinaBase(instanceDir)
+                .httpHost(template.getHttpHost())
+                .httpPort(port)
+                .javaHome(template.getJavaHome())
+                .vmOptions(template.getVmOptions())
+                .environmentVariables(template.getEnvironmentVariables())
+                .startupTimeout(template.getStartupTimeout())
+                .shutdownTimeout(template.getShutdownTimeout())
+                .classpathAdditions(template.getClasspathAdditions())
+                .cracEnabled(template.isCracEnabled())
+                .mirrorOutput(template.isMirrorOutput())
+                .build();
+    }
+
+    /**
+     * Generates (if needed) and starts a single instance.
+     *
+     * @param instanceDir the instance CATALINA_BASE
+     * @return the started instance
+     * @throws IOException if the instance cannot be started
+     */
+    private Instance startInstance(Path instanceDir) throws IOException {
+        int port = PortAllocator.allocate(InetAddress.getLoopbackAddress().getHostAddress());
+        CatalinaBaseGenerator.generate(template.getCatalinaHome(), instanceDir, settings.withHttpPort(port));
+        enableFastAutoDeploy(instanceDir.resolve("conf").resolve("server.xml"));
+        Files.deleteIfExists(instanceDir.resolve(LEASE_FILE));
+
+        TomcatLauncher launcher = new TomcatLauncher(configurationFor(instanceDir, port), log);
+        launcher.start();
+
+        Instance instance = new Instance(instanceDir, template.getHttpHost(), port, launcher.getTomcatPid());
+        Properties props = new Properties();
+        props.setProperty(PORT_PROPERTY, String.valueOf(port));
+        props.setProperty(PID_PROPERTY, String.valueOf(instance.getPid()));
+        TomcatState.storeAtomically(instanceDir.resolve(INSTANCE_FILE), props, "Tomcat pool instance");
+        return instance;
+    }
+
+    /**
+     * Lowers the Engine background processor delay to one second so that
+     * webapps copied into a running pooled instance are deployed promptly. A
+     * delay set in server.xml is kept.
+     *
+     * @param serverXml the instance server.xml
+     * @throws IOException if server.xml cannot be rewritten
+     */
+    static void enableFastAutoDeploy(Path serverXml) throws IOException {
+        if (!Files.exists(serverXml)) {
+            return;
+        }
+        new ServerXmlTransformer()
+                .setAttributesIfAbsent(ENGINE_PATH, ServerXmlTransformer.ANY, Map.of("backgroundProcessorDelay", "1"))
+                .transform(serverXml);
+    }
+
+    /**
+     * Reads the control file of an instance.
+     *
+     * @param instanceDir the instance CATALINA_BASE
+     * @return the instance, or empty if it has no valid control file
+     */
+    private Optional<Instance> readInstance(Path instanceDir) {
+        Properties props = load(instanceDir.resolve(INSTANCE_FILE));
+        try {
+            int port = Integer.parseInt(props.getProperty(PORT_PROPERTY));
+            long pid = Long.parseLong(props.getProperty(PID_PROPERTY));
+            return Optional.of(new Instance(instanceDir, template.getHttpHost(), port, pid));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Loads a properties file, returning empty properties if it cannot be read.
+     *
+     * @param file the file to load
+     * @return the loaded properties
+     */
+    private static Properties load(Path file) {
+        Properties props = new Properties();
+        if (Files.exists(file)) {
+            try (InputStream is = Files.newInputStream(file)) {
+                props.load(is);
+            } catch (IOException e) {
+                // Treat as empty
+            }
+        }
+        return props;
+    }
+
+    /**
+     * A single pooled Tomcat instance.
+     */
+    public static final class Instance {
+
+        /** The instance CATALINA_BASE. */
+        private final Path catalinaBase;
+
+        /** The HTTP host. */
+        private final String httpHost;
+
+        /** The HTTP port. */
+        private final int httpPort;
+
+        /** The Tomcat JVM PID. */
+        private final long pid;
+
+        /**
+         * Creates a new Instance.
+         *
+         * @param catalinaBase the instance CATALINA_BASE
+         * @param httpHost     the HTTP host
+         * @param httpPort     the HTTP port
+         * @param pid          the Tomcat JVM PID
+         */
+        Instance(Path catalinaBase, String httpHost, int httpPort, long pid) {
+            this.catalinaBase = catalinaBase;
+            this.httpHost = httpHost;
+            this.httpPort = httpPort;
+            this.pid = pid;
+        }
+
+        /**
+         * Gets the instance CATALINA_BASE.
+         *
+         * @return the CATALINA_BASE path
+         */
+        public Path getCatalinaBase() {
+            return catalinaBase;
+        }
+
+        /**
+         * Gets the HTTP port.
+         *
+         * @return the HTTP port
+         */
+        public int getHttpPort() {
+            return httpPort;
+        }
+
+        /**
+         * Gets the Tomcat JVM PID.
+         *
+         * @return the PID
+         */
+        public long getPid() {
+            return pid;
+        }
+
+        /**
+         * Checks if the instance JVM is alive and accepting connections.
+         *
+         * @return true if the instance can serve requests
+         */
+        public boolean isRunning() {
+            if (!ProcessHandle.of(pid).map(ProcessHandle::isAlive).orElse(false)) {
+                return false;
+            }
+            try (Socket socket = new Socket(httpHost, httpPort)) {
+                return true;
+            } catch (IOException e) {
+                return false;
+            }
+        }
+    }
+}
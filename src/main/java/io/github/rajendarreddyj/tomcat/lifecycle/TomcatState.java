@@ -0,0 +1,678 @@
+package io.github.rajendarreddyj.tomcat.lifecycle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * State of a Tomcat instance started by the start goal.
+ *
+ * <p>
+ * The state is stored in {@code tomcat-state.properties} in CATALINA_BASE and
+ * holds the Tomcat JVM PID together with the instant the process started, the
+ * HTTP address, the HTTPS and debug ports, the Tomcat version, the deployed context paths, a hash of the
+ * JVM options and when Tomcat was launched and became ready. The stop and
+ * status goals read it instead of scanning for processes.
+ * </p>
+ *
+ * <p>
+ * The process start instant guards against PID reuse: if the PID now belongs
+ * to a process that started at a different instant, {@link #findProcess()}
+ * reports no process, so an unrelated process is never signalled. Start
+ * instants within {@link #START_TOLERANCE} are treated as equal, since they
+ * are derived from the boot time and process start ticks and may be rounded
+ * differently by the JVM that writes and the JVM that reads the state.
+ * </p>
+ *
+ * <p>
+ * The file is written to a temporary file and moved into place atomically, so
+ * readers never see a partially written state. A legacy {@code tomcat.pid}
+ * file holding only a PID is still read.
+ * </p>
+ *
+ * @author rajendarreddyj
+ * @since 1.0.1
+ */
+public final class TomcatState {
+
+    /** Name of the state file in CATALINA_BASE. */
+    public static final String STATE_FILE = "tomcat-state.properties";
+
+    /** Name of the legacy PID file in CATALINA_BASE. */
+    public static final String LEGACY_PID_FILE = "tomcat.pid";
+
+    /** Property holding the Tomcat JVM PID. */
+    private static final String PID_PROPERTY = "pid";
+
+    /** Property holding the process start instant. */
+    private static final String PROCESS_START_PROPERTY = "processStart";
+
+    /** Property holding the HTTP host. */
+    private static final String HTTP_HOST_PROPERTY = "httpHost";
+
+    /** Property holding the HTTP port. */
+    private static final String HTTP_PORT_PROPERTY = "httpPort";
+
+    /** Property holding the HTTPS port. */
+    private static final String HTTPS_PORT_PROPERTY = "httpsPort";
+
+    /** Property holding the debug port. */
+    private static final String DEBUG_PORT_PROPERTY = "debugPort";
+
+    /** Property holding the Tomcat version. */
+    private static final String TOMCAT_VERSION_PROPERTY = "tomcatVersion";
+
+    /** Property holding the comma-separated context paths. */
+    private static final String CONTEXT_PATHS_PROPERTY = "contextPaths";
+
+    /** Property holding the JVM options hash. */
+    private static final String VM_OPTIONS_HASH_PROPERTY = "vmOptionsHash";
+
+    /** Property holding the instant Tomcat was launched. */
+    private static final String LAUNCHED_AT_PROPERTY = "launchedAt";
+
+    /** Property holding the instant Tomcat accepted connections. */
+    private static final String READY_AT_PROPERTY = "readyAt";
+
+    /** Largest difference between two start instants of the same process. */
+    static final Duration START_TOLERANCE = Duration.ofSeconds(1);
+
+    /** The Tomcat JVM PID. */
+    private final long pid;
+
+    /** The instant the Tomcat JVM started, or null if unknown. */
+    private final Instant processStart;
+
+    /** The HTTP host, or null if unknown. */
+    private final String httpHost;
+
+    /** The HTTP port, or 0 if unknown. */
+    private final int httpPort;
+
+    /** The HTTPS port, or 0 if Tomcat has no HTTPS connector. */
+    private final int httpsPort;
+
+    /** The JDWP debug port, or 0 if Tomcat has no debug agent. */
+    private final int debugPort;
+
+    /** The Tomcat version, or null if unknown. */
+    private final String tomcatVersion;
+
+    /** The deployed context paths. */
+    private final List<String> contextPaths;
+
+    /** Hash of the JVM options, or null if unknown. */
+    private final String vmOptionsHash;
+
+    /** The instant Tomcat was launched, or null if unknown. */
+    private final Instant launchedAt;
+
+    /** The instant Tomcat accepted connections, or null if unknown. */
+    private final Instant readyAt;
+
+    /**
+     * Creates a new TomcatState from a builder.
+     *
+     * @param builder the builder
+     */
+    private TomcatState(Builder builder) {
+        this.pid = builder.pid;
+        this.processStart = builder.processStart;
+        this.httpHost = builder.httpHost;
+        this.httpPort = builder.httpPort;
+        this.httpsPort = builder.httpsPort;
+        this.debugPort = builder.debugPort;
+        this.tomcatVersion = builder.tomcatVersion;
+        this.contextPaths = List.copyOf(builder.contextPaths);
+        this.vmOptionsHash = builder.vmOptionsHash;
+        this.launchedAt = builder.launchedAt;
+        this.readyAt = builder.readyAt;
+    }
+
+    /**
+     * Reads the state of a CATALINA_BASE.
+     *
+     * <p>
+     * Falls back to the legacy {@code tomcat.pid} file, which yields a state
+     * with only the PID set.
+     * </p>
+     *
+     * @param catalinaBase the CATALINA_BASE directory
+     * @return the state, or empty if neither file exists
+     * @throws IOException if a file cannot be read or holds an invalid PID
+     */
+    public static Optional<TomcatState> read(Path catalinaBase) throws IOException {
+        Path stateFile = catalinaBase.resolve(STATE_FILE);
+        if (Files.exists(stateFile)) {
+            Properties props = new Properties();
+            try (InputStream is = Files.newInputStream(stateFile)) {
+                props.load(is);
+            }
+            return Optional.of(fromProperties(props, stateFile));
+        }
+
+        Path legacyFile = catalinaBase.resolve(LEGACY_PID_FILE);
+        if (Files.exists(legacyFile)) {
+            return Optional.of(builder().pid(parsePid(Files.readString(legacyFile).trim(), legacyFile)).build());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Writes this state to a CATALINA_BASE, replacing any previous state
+     * atomically. A legacy {@code tomcat.pid} file is removed.
+     *
+     * @param catalinaBase the CATALINA_BASE directory
+     * @throws IOException if the state file cannot be written
+     */
+    public void write(Path catalinaBase) throws IOException {
+        storeAtomically(catalinaBase.resolve(STATE_FILE), toProperties(), "Tomcat state");
+        Files.deleteIfExists(catalinaBase.resolve(LEGACY_PID_FILE));
+    }
+
+    /**
+     * Deletes the state file and the legacy PID file of a CATALINA_BASE.
+     *
+     * @param catalinaBase the CATALINA_BASE directory
+     * @throws IOException if a file cannot be deleted
+     */
+    public static void delete(Path catalinaBase) throws IOException {
+        Files.deleteIfExists(catalinaBase.resolve(STATE_FILE));
+        Files.deleteIfExists(catalinaBase.resolve(LEGACY_PID_FILE));
+    }
+
+    /**
+     * Finds the running Tomcat JVM described by this state.
+     *
+     * @return the process, or empty if it is not alive or its PID now belongs
+     *         to a different process
+     */
+    public Optional<ProcessHandle> findProcess() {
+        return ProcessHandle.of(pid)
+                .filter(ProcessHandle::isAlive)
+                .filter(handle -> processStart == null || handle.info().startInstant()
+                        .map(start -> Duration.between(start, processStart).abs().compareTo(START_TOLERANCE) <= 0)
+                        .orElse(true));
+    }
+
+    /**
+     * Stores properties in a file by writing a sibling temporary file and
+     * moving it into place, atomically where the file system supports it.
+     *
+     * @param file    the target file
+     * @param props   the properties to store
+     * @param comment the header comment
+     * @throws IOException if the file cannot be written
+     */
+    static void storeAtomically(Path file, Properties props, String comment) throws IOException {
+        Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream os = Files.newOutputStream(temp)) {
+                props.store(os, comment);
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Hashes a list of JVM options.
+     *
+     * @param vmOptions the JVM options
+     * @return the first 16 hex digits of the SHA-256 hash
+     */
+    static String hash(List<String> vmOptions) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            vmOptions.forEach(option -> digest.update((option + "\n").getBytes(StandardCharsets.UTF_8)));
+            return HexFormat.of().formatHex(digest.digest()).substring(0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm not available", e);
+        }
+    }
+
+    /**
+     * Converts this state to properties.
+     *
+     * @return the properties
+     */
+    private Properties toProperties() {
+        Properties props = new Properties();
+        props.setProperty(PID_PROPERTY, String.valueOf(pid));
+        setIfPresent(props, PROCESS_START_PROPERTY, processStart);
+        setIfPresent(props, HTTP_HOST_PROPERTY, httpHost);
+        setIfPositive(props, HTTP_PORT_PROPERTY, httpPort);
+        setIfPositive(props, HTTPS_PORT_PROPERTY, httpsPort);
+        setIfPositive(props, DEBUG_PORT_PROPERTY, debugPort);
+        setIfPresent(props, TOMCAT_VERSION_PROPERTY, tomcatVersion);
+        if (!contextPaths.isEmpty()) {
+            props.setProperty(CONTEXT_PATHS_PROPERTY, String.join(",", contextPaths));
+        }
+        setIfPresent(props, VM_OPTIONS_HASH_PROPERTY, vmOptionsHash);
+        setIfPresent(props, LAUNCHED_AT_PROPERTY, launchedAt);
+        setIfPresent(props, READY_AT_PROPERTY, readyAt);
+        return props;
+    }
+
+    /**
+     * Creates a state from properties.
+     *
+     * @param props the properties
+     * @param file  the file the properties were read from, for error messages
+     * @return the state
+     * @throws IOException if the properties hold an invalid value
+     */
+    private static TomcatState fromProperties(Properties props, Path file) throws IOException {
+        try {
+            Builder builder = builder()
+                    .pid(parsePid(props.getProperty(PID_PROPERTY), file))
+                    .processStart(parseInstant(props.getProperty(PROCESS_START_PROPERTY)))
+                    .httpHost(props.getProperty(HTTP_HOST_PROPERTY))
+                    .tomcatVersion(props.getProperty(TOMCAT_VERSION_PROPERTY))
+                    .vmOptionsHash(props.getProperty(VM_OPTIONS_HASH_PROPERTY))
+                    .launchedAt(parseInstant(props.getProperty(LAUNCHED_AT_PROPERTY)))
+                    .readyAt(parseInstant(props.getProperty(READY_AT_PROPERTY)));
+            builder.httpPort(parsePort(props.getProperty(HTTP_PORT_PROPERTY)))
+                    .httpsPort(parsePort(props.getProperty(HTTPS_PORT_PROPERTY)))
+                    .debugPort(parsePort(props.getProperty(DEBUG_PORT_PROPERTY)));
+            String paths = props.getProperty(CONTEXT_PATHS_PROPERTY);
+            if (paths != null && !paths.isEmpty()) {
+                builder.contextPaths(Arrays.asList(paths.split(",")));
+            }
+            return builder.build();
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IOException("Invalid Tomcat state in " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Parses a PID.
+     *
+     * @param value the PID text
+     * @param file  the file the PID was read from, for error messages
+     * @return the PID
+     * @throws IOException if the PID is missing or not a number
+     */
+    private static long parsePid(String value, Path file) throws IOException {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid PID in " + file + ": " + value, e);
+        }
+    }
+
+    /**
+     * Parses an optional port.
+     *
+     * @param value the port number, or null
+     * @return the port, or 0 if the value is null
+     * @throws NumberFormatException if the value is not a number
+     */
+    private static int parsePort(String value) {
+        return value != null ? Integer.parseInt(value) : 0;
+    }
+
+    /**
+     * Parses an optional instant.
+     *
+     * @param value the ISO-8601 instant, or null
+     * @return the instant, or null
+     */
+    private static Instant parseInstant(String value) {
+        return value != null ? Instant.parse(value) : null;
+    }
+
+    /**
+     * Sets a property if the value is not null.
+     *
+     * @param props the properties
+     * @param name  the property name
+     * @param value the value, or null
+     */
+    private static void setIfPresent(Properties props, String name, Object value) {
+        if (value != null) {
+            props.setProperty(name, value.toString());
+        }
+    }
+
+    /**
+     * Sets a port property if the port is known.
+     *
+     * @param props the properties
+     * @param name  the property name
+     * @param port  the port, or 0 if unknown
+     */
+    private static void setIfPositive(Properties props, String name, int port) {
+        if (port > 0) {
+            props.setProperty(name, String.valueOf(port));
+        }
+    }
+
+    /**
+     * Gets the Tomcat JVM PID.
+     *
+     * @return the PID
+     */
+    public long getPid() {
+        return pid;
+    }
+
+    /**
+     * Gets the instant the Tomcat JVM started.
+     *
+     * @return the start instant, or empty if unknown
+     */
+    public Optional<Instant> getProcessStart() {
+        return Optional.ofNullable(processStart);
+    }
+
+    /**
+     * Gets the HTTP host.
+     *
+     * @return the HTTP host, or null if unknown
+     */
+    public String getHttpHost() {
+        return httpHost;
+    }
+
+    /**
+     * Gets the HTTP port.
+     *
+     * @return the HTTP port, or 0 if unknown
+     */
+    public int getHttpPort() {
+        return httpPort;
+    }
+
+    /**
+     * Gets the HTTPS port.
+     *
+     * @return the HTTPS port, or 0 if Tomcat has no HTTPS connector
+     */
+    public int getHttpsPort() {
+        return httpsPort;
+    }
+
+    /**
+     * Gets the JDWP debug port.
+     *
+     * @return the debug port, or 0 if Tomcat has no debug agent
+     */
+    public int getDebugPort() {
+        return debugPort;
+    }
+
+    /**
+     * Gets the Tomcat version.
+     *
+     * @return the Tomcat version, or null if unknown
+     */
+    public String getTomcatVersion() {
+        return tomcatVersion;
+    }
+
+    /**
+     * Gets the deployed context paths.
+     *
+     * @return the context paths
+     */
+    public List<String> getContextPaths() {
+        return contextPaths;
+    }
+
+    /**
+     * Gets the hash of the JVM options Tomcat was started with.
+     *
+     * @return the hash, or null if unknown
+     */
+    public String getVmOptionsHash() {
+        return vmOptionsHash;
+    }
+
+    /**
+     * Gets the instant Tomcat was launched.
+     *
+     * @return the launch instant, or empty if unknown
+     */
+    public Optional<Instant> getLaunchedAt() {
+        return Optional.ofNullable(launchedAt);
+    }
+
+    /**
+     * Gets the instant Tomcat accepted connections.
+     *
+     * @return the ready instant, or empty if unknown
+     */
+    public Optional<Instant> getReadyAt() {
+        return Optional.ofNullable(readyAt);
+    }
+
+    /**
+     * Creates a new Builder instance.
+     *
+     * @return a new Builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder for TomcatState.
+     */
+    public static final class Builder {
+
+        /** The Tomcat JVM PID. */
+        private long pid;
+
+        /** The instant the Tomcat JVM started. */
+        private Instant processStart;
+
+        /** The HTTP host. */
+        private String httpHost;
+
+        /** The HTTP port. */
+        private int httpPort;
+
+        /** The HTTPS port. */
+        private int httpsPort;
+
+        /** The JDWP debug port. */
+        private int debugPort;
+
+        /** The Tomcat version. */
+        private String tomcatVersion;
+
+        /** The deployed context paths. */
+        private List<String> contextPaths = new ArrayList<>();
+
+        /** Hash of the JVM options. */
+        private String vmOptionsHash;
+
+        /** The instant Tomcat was launched. */
+        private Instant launchedAt;
+
+        /** The instant Tomcat accepted connections. */
+        private Instant readyAt;
+
+        /**
+         * Private constructor for Builder.
+         */
+        private Builder() {
+        }
+
+        /**
+         * Sets the Tomcat JVM PID.
+         *
+         * @param pid the PID
+         * @return this builder
+         */
+        public Builder pid(long pid) {
+            this.pid = pid;
+            return this;
+        }
+
+        /**
+         * Sets the PID and start instant from a running process.
+         *
+         * @param process the Tomcat JVM process
+         * @return this builder
+         */
+        public Builder process(ProcessHandle process) {
+            this.pid = process.pid();
+            this.processStart = process.info().startInstant().orElse(null);
+            return this;
+        }
+
+        /**
+         * Sets the instant the Tomcat JVM started.
+         *
+         * @param processStart the start instant, or null if unknown
+         * @return this builder
+         */
+        public Builder processStart(Instant processStart) {
+            this.processStart = processStart;
+            return this;
+        }
+
+        /**
+         * Sets the HTTP host.
+         *
+         * @param httpHost the HTTP host
+         * @return this builder
+         */
+        public Builder httpHost(String httpHost) {
+            this.httpHost = httpHost;
+            return this;
+        }
+
+        /**
+         * Sets the HTTP port.
+         *
+         * @param httpPort the HTTP port
+         * @return this builder
+         */
+        public Builder httpPort(int httpPort) {
+            this.httpPort = httpPort;
+            return this;
+        }
+
+        /**
+         * Sets the HTTPS port.
+         *
+         * @param httpsPort the HTTPS port, or 0 if Tomcat has no HTTPS
+         *                  connector
+         * @return this builder
+         */
+        public Builder httpsPort(int httpsPort) {
+            this.httpsPort = httpsPort;
+            return this;
+        }
+
+        /**
+         * Sets the JDWP debug port.
+         *
+         * @param debugPort the debug port, or 0 if Tomcat has no debug agent
+         * @return this builder
+         */
+        public Builder debugPort(int debugPort) {
+            this.debugPort = debugPort;
+            return this;
+        }
+
+        /**
+         * Sets the Tomcat version.
+         *
+         * @param tomcatVersion the Tomcat version
+         * @return this builder
+         */
+        public Builder tomcatVersion(String tomcatVersion) {
+            this.tomcatVersion = tomcatVersion;
+            return this;
+        }
+
+        /**
+         * Sets the deployed context paths.
+         *
+         * @param contextPaths the context paths
+         * @return this builder
+         */
+        public Builder contextPaths(List<String> contextPaths) {
+            this.contextPaths = new ArrayList<>(contextPaths);
+            return this;
+        }
+
+        /**
+         * Sets the JVM options hash from the JVM options.
+         *
+         * @param vmOptions the JVM options Tomcat was started with
+         * @return this builder
+         */
+        public Builder vmOptions(List<String> vmOptions) {
+            this.vmOptionsHash = hash(vmOptions);
+            return this;
+        }
+
+        /**
+         * Sets the JVM options hash.
+         *
+         * @param vmOptionsHash the hash
+         * @return this builder
+         */
+        public Builder vmOptionsHash(String vmOptionsHash) {
+            this.vmOptionsHash = vmOptionsHash;
+            return this;
+        }
+
+        /**
+         * Sets the instant Tomcat was launched.
+         *
+         * @param launchedAt the launch instant
+         * @return this builder
+         */
+        public Builder launchedAt(Instant launchedAt) {
+            this.launchedAt = launchedAt;
+            return this;
+        }
+
+        /**
+         * Sets the instant Tomcat accepted connections.
+         *
+         * @param readyAt the ready instant
+         * @return this builder
+         */
+        public Builder readyAt(Instant readyAt) {
+            this.readyAt = readyAt;
+            return this;
+        }
+
+        /**
+         * Builds the TomcatState.
+         *
+         * @return the state
+         */
+        public TomcatState build() {
+            return new TomcatState(this);
+        }
+    }
+}
@@ -0,0 +1,570 @@
+package io.github.rajendarreddyj.tomcat.lifecycle;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.management.JMException;
+import javax.management.MBeanServerConnection;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+/**
+ * Snapshot of the health and metrics of a running Tomcat JVM.
+ *
+ * <p>
+ * Collected over JMX from the platform MBeans (uptime, memory, garbage
+ * collection, threads) and from Tomcat's own MBeans: the {@code ThreadPool}
+ * and {@code GlobalRequestProcessor} of every connector and the
+ * {@code WebModule} of every context. Rendered as human-readable text or as
+ * JSON for build pipelines.
+ * </p>
+ *
+ * @author rajendarreddyj
+ * @since 1.0.1
+ */
+public final class TomcatStatus {
+
+    /** Bytes per megabyte, for the text report. */
+    private static final long MB = 1024 * 1024;
+
+    /** The recorded state of the instance. */
+    private final TomcatState state;
+
+    /** Whether the JVM is alive. */
+    private final boolean running;
+
+    /** Whether the HTTP port accepts connections. */
+    private final boolean accepting;
+
+    /** Whether JVM and Tomcat metrics were collected. */
+    private final boolean metrics;
+
+    /** JVM uptime in milliseconds. */
+    private long uptimeMs;
+
+    /** Used heap in bytes. */
+    private long heapUsed;
+
+    /** Committed heap in bytes. */
+    private long heapCommitted;
+
+    /** Maximum heap in bytes, or -1 if undefined. */
+    private long heapMax;
+
+    /** Used non-heap memory in bytes. */
+    private long nonHeapUsed;
+
+    /** Committed non-heap memory in bytes. */
+    private long nonHeapCommitted;
+
+    /** Number of garbage collections over all collectors. */
+    private long gcCount;
+
+    /** Time spent in garbage collection in milliseconds. */
+    private long gcTimeMs;
+
+    /** Number of live JVM threads. */
+    private int threadCount;
+
+    /** Metrics of each connector. */
+    private final List<RequestMetrics> connectors = new ArrayList<>();
+
+    /** Metrics of each context. */
+    private final List<RequestMetrics> contexts = new ArrayList<>();
+
+    /**
+     * Creates a new TomcatStatus.
+     *
+     * @param state     the recorded state of the instance
+     * @param running   whether the JVM is alive
+     * @param accepting whether the HTTP port accepts connections
+     * @param metrics   whether metrics are collected
+     */
+    private TomcatStatus(TomcatState state, boolean running, boolean accepting, boolean metrics) {
+        this.state = state;
+        this.running = running;
+        this.accepting = accepting;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Creates the status of an instance whose JVM is not running.
+     *
+     * @param state the recorded state, or null if there is none
+     * @return the status
+     */
+    public static TomcatStatus notRunning(TomcatState state) {
+        return new TomcatStatus(state, false, false, false);
+    }
+
+    /**
+     * Creates the status of a running Tomcat JVM that cannot be attached to,
+     * so only liveness and the HTTP port are reported.
+     *
+     * @param state the recorded state of the instance
+     * @return the status
+     */
+    public static TomcatStatus withoutMetrics(TomcatState state) {
+        return new TomcatStatus(state, true, isAccepting(state), false);
+    }
+
+    /**
+     * Collects the status of a running Tomcat JVM.
+     *
+     * @param state      the recorded state of the instance
+     * @param connection the MBean server connection of the Tomcat JVM
+     * @return the status
+     * @throws IOException if the MBeans cannot be read
+     */
+    public static TomcatStatus collect(TomcatState state, MBeanServerConnection connection) throws IOException {
+        TomcatStatus status = new TomcatStatus(state, true, isAccepting(state), true);
+
+        status.uptimeMs = number(connection, name("java.lang:type=Runtime"), "Uptime");
+        CompositeData heap = composite(connection, name("java.lang:type=Memory"), "HeapMemoryUsage");
+        status.heapUsed = memory(heap, "used");
+        status.heapCommitted = memory(heap, "committed");
+        status.heapMax = memory(heap, "max");
+        CompositeData nonHeap = composite(connection, name("java.lang:type=Memory"), "NonHeapMemoryUsage");
+        status.nonHeapUsed = memory(nonHeap, "used");
+        status.nonHeapCommitted = memory(nonHeap, "committed");
+        for (ObjectName gc : connection.queryNames(name("java.lang:type=GarbageCollector,*"), null)) {
+            status.gcCount += Math.max(0, number(connection, gc, "CollectionCount"));
+            status.gcTimeMs += Math.max(0, number(connection, gc, "CollectionTime"));
+        }
+        status.threadCount = (int) number(connection, name("java.lang:type=Threading"), "ThreadCount");
+
+        for (ObjectName pool : sorted(connection.queryNames(name("*:type=ThreadPool,*"), null))) {
+            String connector = unquote(pool.getKeyProperty("name"));
+            ObjectName processor = name(pool.getDomain() + ":type=GlobalRequestProcessor,name="
+                    + pool.getKeyProperty("name"));
+            status.connectors.add(new RequestMetrics(connector,
+                    (int) number(connection, pool, "currentThreadsBusy"),
+                    (int) number(connection, pool, "maxThreads"),
+                    number(connection, processor, "requestCount"),
+                    number(connection, processor, "errorCount"),
+                    number(connection, processor, "processingTime")));
+        }
+
+        for (ObjectName module : sorted(connection.queryNames(name("*:j2eeType=WebModule,*"), null))) {
+            String context = module.getKeyProperty("name");
+            // Names look like //localhost/app; report the context path
+            int slash = context.indexOf('/', 2);
+            String path = context.startsWith("//") ? (slash > 0 ? context.substring(slash) : "/") : context;
+            status.contexts.add(new RequestMetrics(path, -1, -1,
+                    number(connection, module, "requestCount"),
+                    number(connection, module, "errorCount"),
+                    number(connection, module, "processingTime")));
+        }
+        return status;
+    }
+
+    /**
+     * Renders the status as human-readable lines.
+     *
+     * @return the report lines
+     */
+    public List<String> toText() {
+        List<String> lines = new ArrayList<>();
+        if (!running) {
+            lines.add(state == null ? "Tomcat is not running (no state file)"
+                    : "Tomcat is not running (last PID: " + state.getPid() + ")");
+            return lines;
+        }
+
+        StringBuilder header = new StringBuilder("Tomcat");
+        if (state.getTomcatVersion() != null) {
+            header.append(' ').append(state.getTomcatVersion());
+        }
+        header.append(" (PID: ").append(state.getPid()).append(')');
+        if (state.getHttpPort() > 0) {
+            header.append(" on http://").append(state.getHttpHost()).append(':').append(state.getHttpPort());
+        }
+        if (state.getHttpsPort() > 0) {
+            header.append(", HTTPS port ").append(state.getHttpsPort());
+        }
+        if (state.getDebugPort() > 0) {
+            header.append(", debug port ").append(state.getDebugPort());
+        }
+        header.append(accepting ? " - accepting connections" : " - NOT accepting connections");
+        lines.add(header.toString());
+        if (!metrics) {
+            lines.add("  Metrics unavailable: cannot attach to the Tomcat JVM");
+            return lines;
+        }
+
+        lines.add("  Uptime:    " + formatDuration(uptimeMs));
+        lines.add("  Heap:      " + heapUsed / MB + " MB used / " + heapCommitted / MB + " MB committed"
+                + (heapMax > 0 ? " / " + heapMax / MB + " MB max" : ""));
+        lines.add("  Non-heap:  " + nonHeapUsed / MB + " MB used / " + nonHeapCommitted / MB + " MB committed");
+        lines.add("  GC:        " + gcCount + " collections, " + gcTimeMs + " ms");
+        lines.add("  Threads:   " + threadCount);
+        for (RequestMetrics connector : connectors) {
+            lines.add("  Connector " + connector.getName() + ": " + connector.getBusyThreads() + "/"
+                    + connector.getMaxThreads() + " threads busy, " + requestSummary(connector));
+        }
+        for (RequestMetrics context : contexts) {
+            lines.add("  Context " + context.getName() + ": " + requestSummary(context));
+        }
+        return lines;
+    }
+
+    /**
+     * Renders the status as a JSON object.
+     *
+     * @return the JSON text
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder("{\n");
+        json.append("  \"running\": ").append(running).append(",\n");
+        if (state != null) {
+            json.append("  \"pid\": ").append(state.getPid()).append(",\n");
+            if (state.getTomcatVersion() != null) {
+                json.append("  \"tomcatVersion\": ").append(quote(state.getTomcatVersion())).append(",\n");
+            }
+            if (state.getHttpPort() > 0) {
+                json.append("  \"httpHost\": ").append(quote(state.getHttpHost())).append(",\n");
+                json.append("  \"httpPort\": ").append(state.getHttpPort()).append(",\n");
+            }
+            if (state.getHttpsPort() > 0) {
+                json.append("  \"httpsPort\": ").append(state.getHttpsPort()).append(",\n");
+            }
+            if (state.getDebugPort() > 0) {
+                json.append("  \"debugPort\": ").append(state.getDebugPort()).append(",\n");
+            }
+            state.getReadyAt().ifPresent(
+                    readyAt -> json.append("  \"readyAt\": ").append(quote(readyAt.toString())).append(",\n"));
+        }
+        json.append("  \"accepting\": ").append(accepting);
+        if (running) {
+            json.append(",\n  \"metricsAvailable\": ").append(metrics);
+        }
+        if (metrics) {
+            json.append(",\n");
+            json.append("  \"uptimeMs\": ").append(uptimeMs).append(",\n");
+            json.append("  \"heap\": {\"used\": ").append(heapUsed).append(", \"committed\": ")
+                    .append(heapCommitted).append(", \"max\": ").append(heapMax).append("},\n");
+            json.append("  \"nonHeap\": {\"used\": ").append(nonHeapUsed).append(", \"committed\": ")
+                    .append(nonHeapCommitted).append("},\n");
+            json.append("  \"gc\": {\"count\": ").append(gcCount).append(", \"timeMs\": ")
+                    .append(gcTimeMs).append("},\n");
+            json.append("  \"threads\": ").append(threadCount).append(",\n");
+            json.append("  \"connectors\": [");
+            appendMetrics(json, connectors, true);
+            json.append("],\n");
+            json.append("  \"contexts\": [");
+            appendMetrics(json, contexts, false);
+            json.append(']');
+        }
+        json.append("\n}\n");
+        return json.toString();
+    }
+
+    /**
+     * Checks if the instance is running.
+     *
+     * @return true if the JVM is alive
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Checks if the HTTP port accepts connections.
+     *
+     * @return true if the HTTP port accepts connections
+     */
+    public boolean isAccepting() {
+        return accepting;
+    }
+
+    /**
+     * Gets the metrics of each connector.
+     *
+     * @return the connector metrics
+     */
+    public List<RequestMetrics> getConnectors() {
+        return connectors;
+    }
+
+    /**
+     * Gets the metrics of each context.
+     *
+     * @return the context metrics
+     */
+    public List<RequestMetrics> getContexts() {
+        return contexts;
+    }
+
+    /**
+     * Appends a JSON array body of request metrics.
+     *
+     * @param json        the JSON being built
+     * @param metrics     the metrics
+     * @param withThreads whether to include the thread pool fields
+     */
+    private static void appendMetrics(StringBuilder json, List<RequestMetrics> metrics, boolean withThreads) {
+        for (int i = 0; i < metrics.size(); i++) {
+            RequestMetrics m = metrics.get(i);
+            json.append(i == 0 ? "\n" : ",\n").append("    {\"name\": ").append(quote(m.getName()));
+            if (withThreads) {
+                json.append(", \"busyThreads\": ").append(m.getBusyThreads())
+                        .append(", \"maxThreads\": ").append(m.getMaxThreads());
+            }
+            json.append(", \"requestCount\": ").append(m.getRequestCount())
+                    .append(", \"errorCount\": ").append(m.getErrorCount())
+                    .append(", \"processingTimeMs\": ").append(m.getProcessingTimeMs()).append('}');
+        }
+        if (!metrics.isEmpty()) {
+            json.append("\n  ");
+        }
+    }
+
+    /**
+     * Summarizes request counters for the text report.
+     *
+     * @param metrics the metrics
+     * @return the summary
+     */
+    private static String requestSummary(RequestMetrics metrics) {
+        return metrics.getRequestCount() + " requests, " + metrics.getErrorCount() + " errors, "
+                + metrics.getProcessingTimeMs() + " ms processing";
+    }
+
+    /**
+     * Formats a duration as hours, minutes and seconds.
+     *
+     * @param millis the duration in milliseconds
+     * @return the formatted duration
+     */
+    private static String formatDuration(long millis) {
+        Duration duration = Duration.ofMillis(millis);
+        return String.format("%dh %02dm %02ds", duration.toHours(), duration.toMinutesPart(),
+                duration.toSecondsPart());
+    }
+
+    /**
+     * Checks if the recorded HTTP port accepts connections.
+     *
+     * @param state the recorded state
+     * @return true if a connection could be opened
+     */
+    private static boolean isAccepting(TomcatState state) {
+        if (state.getHttpPort() <= 0) {
+            return false;
+        }
+        try (Socket socket = new Socket(state.getHttpHost(), state.getHttpPort())) {
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Reads a numeric MBean attribute.
+     *
+     * @param connection the MBean server connection
+     * @param name       the MBean name
+     * @param attribute  the attribute name
+     * @return the value, or 0 if the MBean or attribute does not exist
+     * @throws IOException if the connection fails
+     */
+    private static long number(MBeanServerConnection connection, ObjectName name, String attribute)
+            throws IOException {
+        try {
+            Object value = connection.getAttribute(name, attribute);
+            return value instanceof Number n ? n.longValue() : 0;
+        } catch (JMException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Reads a composite MBean attribute.
+     *
+     * @param connection the MBean server connection
+     * @param name       the MBean name
+     * @param attribute  the attribute name
+     * @return the value, or null if the MBean or attribute does not exist
+     * @throws IOException if the connection fails
+     */
+    private static CompositeData composite(MBeanServerConnection connection, ObjectName name, String attribute)
+            throws IOException {
+        try {
+            Object value = connection.getAttribute(name, attribute);
+            return value instanceof CompositeData data ? data : null;
+        } catch (JMException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads a field of a MemoryUsage composite.
+     *
+     * @param usage the memory usage, or null
+     * @param key   the field name
+     * @return the value, or 0 if unavailable
+     */
+    private static long memory(CompositeData usage, String key) {
+        return usage != null && usage.get(key) instanceof Number n ? n.longValue() : 0;
+    }
+
+    /**
+     * Creates an ObjectName.
+     *
+     * @param name the name or pattern
+     * @return the ObjectName
+     */
+    private static ObjectName name(String name) {
+        return TomcatJmxClient.pattern(name);
+    }
+
+    /**
+     * Sorts ObjectNames for a stable report order.
+     *
+     * @param names the names
+     * @return the sorted names
+     */
+    private static Set<ObjectName> sorted(Set<ObjectName> names) {
+        return new TreeSet<>(names);
+    }
+
+    /**
+     * Removes the quotes of a quoted ObjectName value.
+     *
+     * @param value the value
+     * @return the unquoted value
+     */
+    private static String unquote(String value) {
+        return value.startsWith("\"") ? ObjectName.unquote(value) : value;
+    }
+
+    /**
+     * Quotes a string as a JSON string literal.
+     *
+     * @param value the string
+     * @return the JSON literal
+     */
+    static String quote(String value) {
+        StringBuilder quoted = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> quoted.append("\\\"");
+                case '\\' -> quoted.append("\\\\");
+                case '\n' -> quoted.append("\\n");
+                case '\r' -> quoted.append("\\r");
+                case '\t' -> quoted.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+                }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    /**
+     * Request metrics of a connector or a context.
+     */
+    public static final class RequestMetrics {
+
+        /** The connector name or context path. */
+        private final String name;
+
+        /** Busy request threads, or -1 for a context. */
+        private final int busyThreads;
+
+        /** Maximum request threads, or -1 for a context. */
+        private final int maxThreads;
+
+        /** Number of requests processed. */
+        private final long requestCount;
+
+        /** Number of requests that failed. */
+        private final long errorCount;
+
+        /** Total request processing time in milliseconds. */
+        private final long processingTimeMs;
+
+        /**
+         * Creates new RequestMetrics.
+         *
+         * @param name             the connector name or context path
+         * @param busyThreads      busy request threads, or -1
+         * @param maxThreads       maximum request threads, or -1
+         * @param requestCount     number of requests processed
+         * @param errorCount       number of requests that failed
+         * @param processingTimeMs total request processing time in milliseconds
+         */
+        RequestMetrics(String name, int busyThreads, int maxThreads, long requestCount, long errorCount,
+                long processingTimeMs) {
+            this.name = name;
+            this.busyThreads = busyThreads;
+            this.maxThreads = maxThreads;
+            this.requestCount = requestCount;
+            this.errorCount = errorCount;
+            this.processingTimeMs = processingTimeMs;
+        }
+
+        /**
+         * Gets the connector name or context path.
+         *
+         * @return the name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the number of busy request threads.
+         *
+         * @return the busy threads, or -1 for a context
+         */
+        public int getBusyThreads() {
+            return busyThreads;
+        }
+
+        /**
+         * Gets the maximum number of request threads.
+         *
+         * @return the maximum threads, or -1 for a context
+         */
+        public int getMaxThreads() {
+            return maxThreads;
+        }
+
+        /**
+         * Gets the number of requests processed.
+         *
+         * @return the request count
+         */
+        public long getRequestCount() {
+            return requestCount;
+        }
+
+        /**
+         * Gets the number of requests that failed.
+         *
+         * @return the error count
+         */
+        public long getErrorCount() {
+            return errorCount;
+        }
+
+        /**
+         * Gets the total request processing time.
+         *
+         * @return the processing time in milliseconds
+         */
+        public long getProcessingTimeMs() {
+            return processingTimeMs;
+        }
+    }
+}
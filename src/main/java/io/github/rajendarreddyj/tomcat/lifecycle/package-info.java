@@ -21,6 +21,32 @@
  * <li>{@link io.github.rajendarreddyj.tomcat.lifecycle.TomcatLauncher} -
  * Manages Tomcat process lifecycle, environment configuration, and
  * startup/shutdown</li>
+ * <li>{@link io.github.rajendarreddyj.tomcat.lifecycle.JavaRuntime} -
+ * Describes the JDK that runs Tomcat, read from its release file</li>
+ * <li>{@link io.github.rajendarreddyj.tomcat.lifecycle.ClassDataSharingArchive} -
+ * Trains and reuses a dynamic AppCDS archive for faster startup</li>
+ * <li>{@link io.github.rajendarreddyj.tomcat.lifecycle.CracCheckpoint} -
+ * Checkpoints a warmed Tomcat JVM and restores it on later starts (CRaC)</li>
+ * <li>{@link io.github.rajendarreddyj.tomcat.lifecycle.TomcatPool} -
+ * Keeps pre-started Tomcat instances that start goals lease and return</li>
+ * <li>{@link io.github.rajendarreddyj.tomcat.lifecycle.IsolatedInstance} -
+ * Claims a locked CATALINA_BASE and free ports per build for parallel runs</li>
+ * <li>{@link io.github.rajendarreddyj.tomcat.lifecycle.PortAllocator} -
+ * Allocates free ports for connectors, retried on Tomcat bind failures</li>
+ * <li>{@link io.github.rajendarreddyj.tomcat.lifecycle.TomcatDaemon} -
+ * Tracks a Tomcat daemon that outlives the Maven invocation</li>
+ * <li>{@link io.github.rajendarreddyj.tomcat.lifecycle.ProcessOutputPump} -
+ * Drains Tomcat output into a rolling log file and the Maven log</li>
+ * <li>{@link io.github.rajendarreddyj.tomcat.lifecycle.TomcatJmxClient} -
+ * Connects to a running Tomcat JVM over JMX via the Attach API</li>
+ * <li>{@link io.github.rajendarreddyj.tomcat.lifecycle.GracefulShutdown} -
+ * Stops Tomcat by pausing connectors, draining requests, then SIGTERM/SIGKILL</li>
+ * <li>{@link io.github.rajendarreddyj.tomcat.lifecycle.TomcatState} -
+ * Atomically written state file describing a Tomcat started in background</li>
+ * <li>{@link io.github.rajendarreddyj.tomcat.lifecycle.TomcatStatus} -
+ * Health and request metrics of a running Tomcat, rendered as text or JSON</li>
+ * <li>{@link io.github.rajendarreddyj.tomcat.lifecycle.TlsReadinessProbe} -
+ * TLS handshake and ALPN check of the HTTPS connector during startup</li>
  * </ul>
  *
  * <h2>Process Management</h2>
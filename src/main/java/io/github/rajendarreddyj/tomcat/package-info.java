@@ -31,6 +31,18 @@
  * <td>{@code tomcat:deploy}</td>
  * <td>Deploys the webapp to a running Tomcat</td>
  * </tr>
+ * <tr>
+ * <td>{@code tomcat:status}</td>
+ * <td>Reports health and metrics of a background Tomcat</td>
+ * </tr>
+ * <tr>
+ * <td>{@code tomcat:load}</td>
+ * <td>Sends smoke HTTP load to the running webapp</td>
+ * </tr>
+ * <tr>
+ * <td>{@code tomcat:load-check}</td>
+ * <td>Fails on regressions against a load baseline</td>
+ * </tr>
  * </table>
  *
  * <h2>Supported Tomcat Versions</h2>
@@ -53,6 +65,9 @@
  * @see io.github.rajendarreddyj.tomcat.StartMojo
  * @see io.github.rajendarreddyj.tomcat.StopMojo
  * @see io.github.rajendarreddyj.tomcat.DeployMojo
+ * @see io.github.rajendarreddyj.tomcat.StatusMojo
+ * @see io.github.rajendarreddyj.tomcat.LoadMojo
+ * @see io.github.rajendarreddyj.tomcat.LoadCheckMojo
  * @since 1.0.0
  */
 package io.github.rajendarreddyj.tomcat;
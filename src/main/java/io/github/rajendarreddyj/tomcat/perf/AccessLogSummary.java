@@ -0,0 +1,197 @@
+package io.github.rajendarreddyj.tomcat.perf;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Request latency profile of an access log written with the pattern
+ * {@code %t %m %U %s %D %F}: per URL, the number of requests, server errors
+ * and the 50th, 95th and 99th percentiles of the processing time.
+ *
+ * <p>
+ * The log is read in a single streaming pass into one
+ * {@link LatencyHistogram} per method and URL path, so its size does not
+ * matter. {@code %D} is the time to process the request in microseconds, as
+ * logged by Tomcat 10 and later; {@code %F} is the time until the response
+ * was committed, in milliseconds. Only the first {@value #MAX_URLS} distinct
+ * URLs get a row of their own; requests to further URLs are counted under
+ * {@value #OTHER_URLS}. Lines in another format are skipped.
+ * </p>
+ *
+ * @author rajendarreddyj
+ * @since 1.0.1
+ */
+public class AccessLogSummary {
+
+    /** Maximum number of URLs with a row of their own. */
+    static final int MAX_URLS = 1000;
+
+    /** Row of the requests to URLs beyond {@link #MAX_URLS}. */
+    static final String OTHER_URLS = "(other)";
+
+    /** The access log file. */
+    private final Path file;
+
+    /** Processing times per method and URL path. */
+    private final Map<String, LatencyHistogram> latencies = new HashMap<>();
+
+    /** Server errors per method and URL path. */
+    private final Map<String, Long> errors = new HashMap<>();
+
+    /** Processing times of all requests. */
+    private final LatencyHistogram total = new LatencyHistogram();
+
+    /** Commit times of all requests, in microseconds. */
+    private final LatencyHistogram commit = new LatencyHistogram();
+
+    /** Number of server errors of all requests. */
+    private long totalErrors;
+
+    /** Number of lines that are not in the expected format. */
+    private long skippedLines;
+
+    /**
+     * Creates a new AccessLogSummary.
+     *
+     * @param file the access log file
+     */
+    private AccessLogSummary(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Reads and summarizes an access log.
+     *
+     * @param file the access log file
+     * @return the summary
+     * @throws IOException if the log cannot be read
+     */
+    public static AccessLogSummary read(Path file) throws IOException {
+        AccessLogSummary summary = new AccessLogSummary(file);
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.ISO_8859_1)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    summary.accept(line);
+                }
+            }
+        }
+        return summary;
+    }
+
+    /**
+     * Adds a log line to the summary.
+     *
+     * @param line the log line
+     */
+    private void accept(String line) {
+        // The timestamp in brackets contains a space, the other fields do not
+        int timeEnd = line.indexOf("] ");
+        String[] fields = timeEnd < 0 ? new String[0] : line.substring(timeEnd + 2).split(" ");
+        if (fields.length != 5) {
+            skippedLines++;
+            return;
+        }
+        long processMicros;
+        long commitMillis;
+        int status;
+        try {
+            status = Integer.parseInt(fields[2]);
+            processMicros = Long.parseLong(fields[3]);
+            commitMillis = Long.parseLong(fields[4]);
+        } catch (NumberFormatException e) {
+            skippedLines++;
+            return;
+        }
+        String url = fields[0] + " " + fields[1];
+        if (!latencies.containsKey(url) && latencies.size() >= MAX_URLS) {
+            url = OTHER_URLS;
+        }
+        latencies.computeIfAbsent(url, key -> new LatencyHistogram()).record(processMicros);
+        total.record(processMicros);
+        // Tomcat logs -1 when the response was never committed
+        if (commitMillis >= 0) {
+            commit.record(commitMillis * 1000);
+        }
+        if (status >= 500) {
+            errors.merge(url, 1L, Long::sum);
+            totalErrors++;
+        }
+    }
+
+    /**
+     * Gets the number of summarized requests.
+     *
+     * @return the request count
+     */
+    public long getRequests() {
+        return total.getTotalCount();
+    }
+
+    /**
+     * Gets the processing times of the requests to a URL.
+     *
+     * @param url the method and URL path, e.g. "GET /app/"
+     * @return the histogram in microseconds, or null if the URL was not
+     *         requested
+     */
+    public LatencyHistogram getLatencies(String url) {
+        return latencies.get(url);
+    }
+
+    /**
+     * Gets the number of lines that are not in the expected format.
+     *
+     * @return the skipped line count
+     */
+    public long getSkippedLines() {
+        return skippedLines;
+    }
+
+    /**
+     * Renders the summary as a table of the most requested URLs.
+     *
+     * @param top the number of URLs
+     * @return the summary lines
+     */
+    public List<String> toText(int top) {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format(Locale.ROOT, "Access log %s (%d requests, %d URLs, commit p99 %.1f ms)", file,
+                getRequests(), latencies.size(), commit.getValueAtPercentile(99) / 1000.0));
+        if (skippedLines > 0) {
+            lines.add("  Skipped " + skippedLines + " lines in another format");
+        }
+        lines.add(String.format(Locale.ROOT, "  %8s %6s %9s %9s %9s  %s", "requests", "5xx", "p50 ms", "p95 ms",
+                "p99 ms", "URL"));
+        latencies.entrySet().stream()
+                .sorted(Comparator.<Map.Entry<String, LatencyHistogram>>comparingLong(
+                        e -> e.getValue().getTotalCount()).reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(top)
+                .forEach(e -> lines.add(row(e.getValue(), errors.getOrDefault(e.getKey(), 0L), e.getKey())));
+        lines.add(row(total, totalErrors, "all requests"));
+        return lines;
+    }
+
+    /**
+     * Formats a row of the table.
+     *
+     * @param histogram  the processing times in microseconds
+     * @param errorCount the number of server errors
+     * @param label      the URL or label of the row
+     * @return the row
+     */
+    private static String row(LatencyHistogram histogram, long errorCount, String label) {
+        return String.format(Locale.ROOT, "  %8d %6d %9.1f %9.1f %9.1f  %s", histogram.getTotalCount(), errorCount,
+                histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(95) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0, label);
+    }
+}
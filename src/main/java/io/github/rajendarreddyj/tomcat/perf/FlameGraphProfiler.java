@@ -0,0 +1,84 @@
+package io.github.rajendarreddyj.tomcat.perf;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+
+import javax.management.MBeanServerConnection;
+
+import jdk.management.jfr.RemoteRecordingStream;
+
+/**
+ * Samples the call stacks of a JVM over JMX with a remote JFR stream.
+ *
+ * <p>
+ * Enables {@code jdk.ExecutionSample} in the target JVM through its
+ * {@code FlightRecorderMXBean} and aggregates the streamed stacks in a
+ * {@link StackProfile}. The target JVM needs no profiling options; it must
+ * run Java 16 or later.
+ * </p>
+ *
+ * @author rajendarreddyj
+ * @since 1.0.1
+ */
+public class FlameGraphProfiler implements AutoCloseable {
+
+    /** The JFR event with sampled Java stacks. */
+    private static final String EXECUTION_SAMPLE = "jdk.ExecutionSample";
+
+    /** The remote recording stream. */
+    private final RemoteRecordingStream stream;
+
+    /** The aggregated stacks. */
+    private final StackProfile profile = new StackProfile();
+
+    /**
+     * Starts sampling a JVM.
+     *
+     * @param connection the MBean server connection of the JVM
+     * @param interval   the sampling interval per thread
+     * @throws IOException if the remote recording cannot be started
+     */
+    public FlameGraphProfiler(MBeanServerConnection connection, Duration interval) throws IOException {
+        stream = new RemoteRecordingStream(connection);
+        // Settings are given by name: EventSettings.withPeriod() of a remote
+        // stream stores the period without the event name, so it is ignored
+        stream.setSettings(Map.of(
+                EXECUTION_SAMPLE + "#enabled", "true",
+                EXECUTION_SAMPLE + "#period", interval.toMillis() + " ms"));
+        stream.onEvent(EXECUTION_SAMPLE, event -> profile.add(event.getStackTrace()));
+        stream.startAsync();
+    }
+
+    /**
+     * Stops sampling after the events recorded so far have been received.
+     *
+     * @return the profile
+     */
+    public StackProfile stop() {
+        try {
+            stream.stop();
+        } catch (IllegalStateException e) {
+            // Stream already closed, for example because the JVM exited
+        }
+        stream.close();
+        return profile;
+    }
+
+    /**
+     * Gets the profile collected so far.
+     *
+     * @return the profile
+     */
+    public StackProfile getProfile() {
+        return profile;
+    }
+
+    /**
+     * Closes the stream without waiting for outstanding events.
+     */
+    @Override
+    public void close() {
+        stream.close();
+    }
+}
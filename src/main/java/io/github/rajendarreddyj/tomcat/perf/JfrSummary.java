@@ -0,0 +1,286 @@
+package io.github.rajendarreddyj.tomcat.perf;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Summary of a Java Flight Recorder recording: hot methods, allocations,
+ * garbage collection pauses and lock contention.
+ *
+ * <p>
+ * Hot methods are the top frames of {@code jdk.ExecutionSample} events.
+ * Allocations are attributed by class from {@code jdk.ObjectAllocationSample}
+ * events, or from the TLAB allocation events of JDKs before 16. GC pauses come
+ * from {@code jdk.GarbageCollection} and lock contention from
+ * {@code jdk.JavaMonitorEnter}. Which of these events are present depends on
+ * the recording settings; the profile settings include all of them.
+ * </p>
+ *
+ * @author rajendarreddyj
+ * @since 1.0.1
+ */
+public class JfrSummary {
+
+    /** The recording file. */
+    private final Path file;
+
+    /** Execution samples per top-frame method. */
+    private final Map<String, Long> methodSamples = new HashMap<>();
+
+    /** Sampled allocated bytes per class. */
+    private final Map<String, Long> allocatedBytes = new HashMap<>();
+
+    /** Contended monitor enters per monitor class. */
+    private final Map<String, Long> contentionCounts = new HashMap<>();
+
+    /** Time spent blocked per monitor class, in nanoseconds. */
+    private final Map<String, Long> contentionNanos = new HashMap<>();
+
+    /** Number of execution samples. */
+    private long executionSamples;
+
+    /** Number of garbage collections. */
+    private long gcCount;
+
+    /** Total pause time of all garbage collections. */
+    private Duration gcPauseTotal = Duration.ZERO;
+
+    /** Longest single garbage collection pause. */
+    private Duration gcPauseMax = Duration.ZERO;
+
+    /** Start time of the first event. */
+    private Instant first;
+
+    /** End time of the last event. */
+    private Instant last;
+
+    /**
+     * Creates a new JfrSummary.
+     *
+     * @param file the recording file
+     */
+    private JfrSummary(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Reads and summarizes a recording.
+     *
+     * @param file the recording file
+     * @return the summary
+     * @throws IOException if the recording cannot be read
+     */
+    public static JfrSummary read(Path file) throws IOException {
+        JfrSummary summary = new JfrSummary(file);
+        try (RecordingFile recording = new RecordingFile(file)) {
+            while (recording.hasMoreEvents()) {
+                summary.accept(recording.readEvent());
+            }
+        }
+        return summary;
+    }
+
+    /**
+     * Adds an event to the summary.
+     *
+     * @param event the event
+     */
+    private void accept(RecordedEvent event) {
+        if (first == null || event.getStartTime().isBefore(first)) {
+            first = event.getStartTime();
+        }
+        if (last == null || event.getEndTime().isAfter(last)) {
+            last = event.getEndTime();
+        }
+
+        switch (event.getEventType().getName()) {
+            case "jdk.ExecutionSample" -> {
+                executionSamples++;
+                RecordedStackTrace stack = event.getStackTrace();
+                if (stack != null && !stack.getFrames().isEmpty()) {
+                    methodSamples.merge(methodName(stack.getFrames().get(0)), 1L, Long::sum);
+                }
+            }
+            case "jdk.ObjectAllocationSample" -> allocated(event, "weight");
+            case "jdk.ObjectAllocationInNewTLAB" -> allocated(event, "tlabSize");
+            case "jdk.ObjectAllocationOutsideTLAB" -> allocated(event, "allocationSize");
+            case "jdk.GarbageCollection" -> {
+                gcCount++;
+                gcPauseTotal = gcPauseTotal.plus(event.getDuration("sumOfPauses"));
+                Duration longest = event.getDuration("longestPause");
+                if (longest.compareTo(gcPauseMax) > 0) {
+                    gcPauseMax = longest;
+                }
+            }
+            case "jdk.JavaMonitorEnter" -> {
+                String monitor = className(event.getClass("monitorClass"));
+                contentionCounts.merge(monitor, 1L, Long::sum);
+                contentionNanos.merge(monitor, event.getDuration().toNanos(), Long::sum);
+            }
+            default -> {
+                // Not summarized
+            }
+        }
+    }
+
+    /**
+     * Adds the bytes of an allocation event to its class.
+     *
+     * @param event the allocation event
+     * @param field the field holding the allocated bytes
+     */
+    private void allocated(RecordedEvent event, String field) {
+        allocatedBytes.merge(className(event.getClass("objectClass")), event.getLong(field), Long::sum);
+    }
+
+    /**
+     * Gets the number of execution samples.
+     *
+     * @return the sample count
+     */
+    public long getExecutionSamples() {
+        return executionSamples;
+    }
+
+    /**
+     * Gets the number of garbage collections.
+     *
+     * @return the collection count
+     */
+    public long getGcCount() {
+        return gcCount;
+    }
+
+    /**
+     * Gets the total pause time of all garbage collections.
+     *
+     * @return the total pause time
+     */
+    public Duration getGcPauseTotal() {
+        return gcPauseTotal;
+    }
+
+    /**
+     * Gets the number of contended monitor enters per monitor class.
+     *
+     * @return the contention counts
+     */
+    public Map<String, Long> getContentionCounts() {
+        return Map.copyOf(contentionCounts);
+    }
+
+    /**
+     * Renders the summary as human-readable lines.
+     *
+     * @param top the number of entries per section
+     * @return the summary lines
+     */
+    public List<String> toText(int top) {
+        List<String> lines = new ArrayList<>();
+        Duration span = first == null ? Duration.ZERO : Duration.between(first, last);
+        lines.add(String.format(Locale.ROOT, "Flight recording %s (%.1f s)", file, span.toMillis() / 1000.0));
+
+        lines.add("Hot methods (" + executionSamples + " samples):");
+        top(methodSamples, top, lines, (method, samples) -> String.format(Locale.ROOT, "%5.1f%%  %s",
+                samples * 100.0 / executionSamples, method));
+
+        lines.add("Allocations by class:");
+        top(allocatedBytes, top, lines, (type, bytes) -> String.format(Locale.ROOT, "%10s  %s",
+                formatBytes(bytes), type));
+
+        lines.add(String.format(Locale.ROOT, "GC pauses: %d collections, total %.1f ms, longest %.1f ms",
+                gcCount, gcPauseTotal.toNanos() / 1e6, gcPauseMax.toNanos() / 1e6));
+
+        lines.add("Lock contention by monitor class:");
+        top(contentionNanos, top, lines, (monitor, nanos) -> String.format(Locale.ROOT, "%9.1f ms  %s (%d times)",
+                nanos / 1e6, monitor, contentionCounts.get(monitor)));
+        return lines;
+    }
+
+    /**
+     * Appends the entries with the highest values to the lines.
+     *
+     * @param values    the values per key
+     * @param top       the number of entries
+     * @param lines     the lines to append to
+     * @param formatter formats an entry
+     */
+    private static void top(Map<String, Long> values, int top, List<String> lines, EntryFormatter formatter) {
+        if (values.isEmpty()) {
+            lines.add("  none recorded");
+            return;
+        }
+        values.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(top)
+                .forEach(e -> lines.add("  " + formatter.format(e.getKey(), e.getValue())));
+    }
+
+    /**
+     * Formats a summary entry.
+     */
+    @FunctionalInterface
+    private interface EntryFormatter {
+
+        /**
+         * Formats an entry.
+         *
+         * @param key   the method or class
+         * @param value the aggregated value
+         * @return the formatted entry
+         */
+        String format(String key, long value);
+    }
+
+    /**
+     * Gets the name of the method of a stack frame.
+     *
+     * @param frame the frame
+     * @return the class and method name
+     */
+    private static String methodName(RecordedFrame frame) {
+        if (frame.getMethod() == null) {
+            return "<unknown>";
+        }
+        return className(frame.getMethod().getType()) + "." + frame.getMethod().getName();
+    }
+
+    /**
+     * Gets the name of a recorded class.
+     *
+     * @param recordedClass the class, may be null
+     * @return the class name
+     */
+    private static String className(RecordedClass recordedClass) {
+        return recordedClass == null ? "<unknown>" : recordedClass.getName();
+    }
+
+    /**
+     * Formats a number of bytes with a binary unit.
+     *
+     * @param bytes the number of bytes
+     * @return the formatted size
+     */
+    static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        int unit = (63 - Long.numberOfLeadingZeros(bytes)) / 10;
+        return String.format(Locale.ROOT, "%.1f %sB", bytes / (double) (1L << (unit * 10)), " KMGTPE".charAt(unit));
+    }
+}
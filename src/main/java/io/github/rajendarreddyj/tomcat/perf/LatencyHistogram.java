@@ -0,0 +1,218 @@
+package io.github.rajendarreddyj.tomcat.perf;
+
+/**
+ * Histogram of latencies in microseconds with bounded relative error.
+ *
+ * <p>
+ * Uses the HdrHistogram bucket layout: values below 128 are counted exactly,
+ * larger values fall into power-of-two buckets that are each split into 64
+ * linear sub-buckets. Every recorded value is therefore represented within
+ * 1/64 (about 1.6%) of its true value, from one microsecond up to the range of
+ * a {@code long}, in a fixed array of counters. Percentiles are reported as the
+ * highest value equivalent to the bucket, as HdrHistogram does.
+ * </p>
+ *
+ * <p>
+ * Instances are not thread-safe. Each load worker records into its own
+ * histogram, and the histograms are merged with {@link #add(LatencyHistogram)}
+ * when the run ends.
+ * </p>
+ *
+ * @author rajendarreddyj
+ * @since 1.0.1
+ */
+public class LatencyHistogram {
+
+    /** Number of values counted exactly, and sub-buckets of the first bucket. */
+    private static final int SUB_BUCKET_COUNT = 128;
+
+    /** Number of linear sub-buckets in every power-of-two bucket after the first. */
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+
+    /** Bits of a value below which values are counted exactly. */
+    private static final int SUB_BUCKET_BITS = 7;
+
+    /** Total number of counters, enough for any non-negative long. */
+    private static final int COUNTS_LENGTH = SUB_BUCKET_COUNT + (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_HALF_COUNT;
+
+    /** Counters per bucket index. */
+    private final long[] counts = new long[COUNTS_LENGTH];
+
+    /** Number of recorded values. */
+    private long totalCount;
+
+    /** Sum of recorded values, for the mean. */
+    private long sum;
+
+    /** Smallest recorded value. */
+    private long min = Long.MAX_VALUE;
+
+    /** Largest recorded value. */
+    private long max;
+
+    /**
+     * Records a latency.
+     *
+     * @param micros the latency in microseconds; negative values count as 0
+     */
+    public void record(long micros) {
+        long value = Math.max(0, micros);
+        counts[indexOf(value)]++;
+        totalCount++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Records a number of occurrences of a latency.
+     *
+     * @param micros the latency in microseconds; negative values count as 0
+     * @param count  the number of occurrences
+     */
+    void record(long micros, long count) {
+        if (count <= 0) {
+            return;
+        }
+        long value = Math.max(0, micros);
+        counts[indexOf(value)] += count;
+        totalCount += count;
+        sum += value * count;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Visits every non-empty bucket in ascending value order.
+     *
+     * @param visitor receives the highest value equivalent to the bucket and
+     *                its count
+     */
+    void forEachBucket(BucketVisitor visitor) {
+        for (int i = 0; i < COUNTS_LENGTH; i++) {
+            if (counts[i] > 0) {
+                visitor.visit(Math.min(highestEquivalentValue(i), max), counts[i]);
+            }
+        }
+    }
+
+    /**
+     * Adds all values recorded in another histogram to this one.
+     *
+     * @param other the histogram to add
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < COUNTS_LENGTH; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Gets the number of recorded values.
+     *
+     * @return the count
+     */
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Gets the smallest recorded value.
+     *
+     * @return the minimum in microseconds, or 0 if empty
+     */
+    public long getMin() {
+        return totalCount == 0 ? 0 : min;
+    }
+
+    /**
+     * Gets the largest recorded value.
+     *
+     * @return the maximum in microseconds, or 0 if empty
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Gets the mean of the recorded values.
+     *
+     * @return the mean in microseconds, or 0 if empty
+     */
+    public double getMean() {
+        return totalCount == 0 ? 0 : (double) sum / totalCount;
+    }
+
+    /**
+     * Gets the value at a percentile.
+     *
+     * @param percentile the percentile, from 0 to 100
+     * @return the value in microseconds below or at which the given percentage
+     *         of values fall, or 0 if empty
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        double clamped = Math.min(100, Math.max(0, percentile));
+        long target = Math.max(1, (long) Math.ceil(clamped / 100 * totalCount));
+        long cumulative = 0;
+        for (int i = 0; i < COUNTS_LENGTH; i++) {
+            cumulative += counts[i];
+            if (cumulative >= target) {
+                return Math.min(highestEquivalentValue(i), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Receives the buckets of a histogram.
+     */
+    @FunctionalInterface
+    interface BucketVisitor {
+
+        /**
+         * Visits a non-empty bucket.
+         *
+         * @param value the highest value equivalent to the bucket
+         * @param count the number of values in the bucket
+         */
+        void visit(long value, long count);
+    }
+
+    /**
+     * Gets the counter index of a value.
+     *
+     * @param value the non-negative value
+     * @return the index
+     */
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        // Shift so that the value falls in [64, 128)
+        int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF_COUNT
+                + (int) (value >>> shift) - SUB_BUCKET_HALF_COUNT;
+    }
+
+    /**
+     * Gets the highest value counted by a counter index.
+     *
+     * @param index the index
+     * @return the highest equivalent value
+     */
+    static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF_COUNT + 1;
+        long subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
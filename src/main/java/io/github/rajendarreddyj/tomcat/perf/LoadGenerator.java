@@ -0,0 +1,183 @@
+package io.github.rajendarreddyj.tomcat.perf;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Closed-loop HTTP load generator for smoke performance tests.
+ *
+ * <p>
+ * Runs a fixed number of workers on virtual threads. Each worker sends a GET
+ * request, waits for the response, records its latency and sends the next
+ * one, cycling through the configured paths. The run ends after a duration or
+ * after a total number of requests, whichever is configured.
+ * </p>
+ *
+ * <p>
+ * Responses with a status of 400 or above count as errors but their latency
+ * is recorded. Requests that fail without a response count as errors only.
+ * </p>
+ *
+ * @author rajendarreddyj
+ * @since 1.0.1
+ */
+public class LoadGenerator {
+
+    /** Time a single request may take before it counts as an error. */
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    /** The base URI, ending with the context path. */
+    private final URI baseUri;
+
+    /** Paths requested relative to the base URI. */
+    private final List<String> paths;
+
+    /** Number of concurrent workers. */
+    private final int concurrency;
+
+    /** Duration of the run, used when requests is 0. */
+    private final Duration duration;
+
+    /** Total number of requests, or 0 to run for the duration. */
+    private final long requests;
+
+    /** The Maven logger. */
+    private final Log log;
+
+    /**
+     * Creates a new LoadGenerator.
+     *
+     * @param baseUri     the base URI, typically ending with the context path
+     * @param paths       paths requested relative to the base URI
+     * @param concurrency number of concurrent workers
+     * @param duration    duration of the run, used when requests is 0
+     * @param requests    total number of requests, or 0 to run for the
+     *                    duration
+     * @param log         the Maven logger
+     */
+    public LoadGenerator(URI baseUri, List<String> paths, int concurrency, Duration duration, long requests,
+            Log log) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be at least 1: " + concurrency);
+        }
+        if (requests <= 0 && (duration == null || duration.isZero() || duration.isNegative())) {
+            throw new IllegalArgumentException("Either a positive duration or a request count is required");
+        }
+        this.baseUri = baseUri;
+        this.paths = paths.isEmpty() ? List.of("/") : List.copyOf(paths);
+        this.concurrency = concurrency;
+        this.duration = duration;
+        this.requests = requests;
+        this.log = log;
+    }
+
+    /**
+     * Runs the load and waits for all workers to finish.
+     *
+     * @return the result
+     * @throws InterruptedException if the run is interrupted
+     * @throws IOException          if a worker fails unexpectedly
+     */
+    public LoadResult run() throws InterruptedException, IOException {
+        List<URI> targets = paths.stream().map(this::resolve).toList();
+        AtomicLong issued = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        long start = System.nanoTime();
+        long deadline = requests > 0 ? Long.MAX_VALUE : start + duration.toNanos();
+
+        log.info("Sending load to " + baseUri + " with " + concurrency + " concurrent client(s) for "
+                + (requests > 0 ? requests + " requests" : duration.toSeconds() + " s"));
+
+        List<LatencyHistogram> histograms = new ArrayList<>();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+                HttpClient client = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .followRedirects(HttpClient.Redirect.NEVER)
+                        .executor(workers)
+                        .build()) {
+            List<Future<LatencyHistogram>> futures = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(workers.submit(() -> work(client, targets, issued, errors, deadline)));
+            }
+            for (Future<LatencyHistogram> future : futures) {
+                try {
+                    histograms.add(future.get());
+                } catch (ExecutionException e) {
+                    throw new IOException("Load worker failed: " + e.getCause().getMessage(), e.getCause());
+                }
+            }
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        LatencyHistogram latencies = new LatencyHistogram();
+        histograms.forEach(latencies::add);
+        long sent = requests > 0 ? Math.min(issued.get(), requests) : issued.get();
+        return new LoadResult(baseUri, paths, concurrency, sent, errors.get(),
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), latencies);
+    }
+
+    /**
+     * Sends requests until the run ends.
+     *
+     * @param client   the HTTP client
+     * @param targets  the request URIs
+     * @param issued   counter of issued requests
+     * @param errors   counter of failed requests
+     * @param deadline the end of the run in {@link System#nanoTime()} terms
+     * @return the latencies recorded by this worker
+     */
+    private LatencyHistogram work(HttpClient client, List<URI> targets, AtomicLong issued, AtomicLong errors,
+            long deadline) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        while (System.nanoTime() < deadline) {
+            long n = issued.getAndIncrement();
+            if (requests > 0 && n >= requests) {
+                break;
+            }
+            HttpRequest request = HttpRequest.newBuilder(targets.get((int) (n % targets.size())))
+                    .timeout(REQUEST_TIMEOUT)
+                    .GET()
+                    .build();
+            long sent = System.nanoTime();
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                histogram.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - sent));
+                if (response.statusCode() >= 400) {
+                    errors.incrementAndGet();
+                }
+            } catch (IOException e) {
+                errors.incrementAndGet();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return histogram;
+    }
+
+    /**
+     * Resolves a path against the base URI.
+     *
+     * @param path the path
+     * @return the request URI
+     */
+    private URI resolve(String path) {
+        String base = baseUri.toString();
+        String trimmed = base.endsWith("/") ? base.substring(0, base.length() - 1) : base;
+        return URI.create(trimmed + (path.startsWith("/") ? path : "/" + path));
+    }
+}
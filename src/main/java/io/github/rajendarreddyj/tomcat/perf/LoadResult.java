@@ -0,0 +1,220 @@
+package io.github.rajendarreddyj.tomcat.perf;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Result of a load run: throughput, error rate and latency percentiles.
+ *
+ * <p>
+ * Rendered as a human-readable summary for the Maven log and as JSON for
+ * trend tracking.
+ * </p>
+ *
+ * @author rajendarreddyj
+ * @since 1.0.1
+ */
+public class LoadResult {
+
+    /** Percentiles reported in the summary and the JSON result. */
+    static final double[] PERCENTILES = { 50, 90, 99, 99.9 };
+
+    /** The instant the result was created. */
+    private final Instant timestamp = Instant.now();
+
+    /** The base URI the load was sent to. */
+    private final URI baseUri;
+
+    /** The requested paths. */
+    private final List<String> paths;
+
+    /** Number of concurrent workers. */
+    private final int concurrency;
+
+    /** Number of requests sent. */
+    private final long requests;
+
+    /** Number of failed requests. */
+    private final long errors;
+
+    /** Wall-clock duration of the run in milliseconds. */
+    private final long elapsedMs;
+
+    /** Latencies of the requests that received a response. */
+    private final LatencyHistogram latencies;
+
+    /**
+     * Creates a new LoadResult.
+     *
+     * @param baseUri     the base URI the load was sent to
+     * @param paths       the requested paths
+     * @param concurrency number of concurrent workers
+     * @param requests    number of requests sent
+     * @param errors      number of failed requests
+     * @param elapsedMs   wall-clock duration of the run in milliseconds
+     * @param latencies   latencies of the requests that received a response
+     */
+    public LoadResult(URI baseUri, List<String> paths, int concurrency, long requests, long errors, long elapsedMs,
+            LatencyHistogram latencies) {
+        this.baseUri = baseUri;
+        this.paths = List.copyOf(paths);
+        this.concurrency = concurrency;
+        this.requests = requests;
+        this.errors = errors;
+        this.elapsedMs = elapsedMs;
+        this.latencies = latencies;
+    }
+
+    /**
+     * Gets the number of requests sent.
+     *
+     * @return the request count
+     */
+    public long getRequests() {
+        return requests;
+    }
+
+    /**
+     * Gets the number of failed requests.
+     *
+     * @return the error count
+     */
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * Gets the number of requests that received a response.
+     *
+     * @return the response count
+     */
+    public long getResponses() {
+        return latencies.getTotalCount();
+    }
+
+    /**
+     * Gets the throughput.
+     *
+     * @return requests per second
+     */
+    public double getThroughput() {
+        return elapsedMs == 0 ? 0 : requests * 1000.0 / elapsedMs;
+    }
+
+    /**
+     * Gets the error rate.
+     *
+     * @return the percentage of requests that failed
+     */
+    public double getErrorRate() {
+        return requests == 0 ? 0 : errors * 100.0 / requests;
+    }
+
+    /**
+     * Gets the latency at a percentile.
+     *
+     * @param percentile the percentile, from 0 to 100
+     * @return the latency in milliseconds
+     */
+    public double getLatencyMs(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    /**
+     * Gets the latency histogram.
+     *
+     * @return the latencies in microseconds
+     */
+    public LatencyHistogram getLatencies() {
+        return latencies;
+    }
+
+    /**
+     * Renders the result as human-readable lines.
+     *
+     * @return the summary lines
+     */
+    public List<String> toText() {
+        String percentiles = Arrays.stream(PERCENTILES)
+                .mapToObj(p -> "p" + label(p) + "=" + format(getLatencyMs(p)) + " ms")
+                .collect(Collectors.joining(", "));
+        return List.of(
+                String.format(Locale.ROOT, "Requests: %d in %.1f s (%.1f req/s), errors: %d (%.2f%%)",
+                        requests, elapsedMs / 1000.0, getThroughput(), errors, getErrorRate()),
+                "Latency: " + percentiles + ", max=" + format(latencies.getMax() / 1000.0) + " ms, mean="
+                        + format(latencies.getMean() / 1000.0) + " ms");
+    }
+
+    /**
+     * Renders the result as a JSON object.
+     *
+     * @return the JSON text
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder("{\n");
+        json.append("  \"timestamp\": \"").append(timestamp).append("\",\n");
+        json.append("  \"baseUri\": ").append(quote(baseUri.toString())).append(",\n");
+        json.append("  \"paths\": [")
+                .append(paths.stream().map(LoadResult::quote).collect(Collectors.joining(", ")))
+                .append("],\n");
+        json.append("  \"concurrency\": ").append(concurrency).append(",\n");
+        json.append("  \"requests\": ").append(requests).append(",\n");
+        json.append("  \"errors\": ").append(errors).append(",\n");
+        json.append("  \"errorRate\": ").append(format(getErrorRate())).append(",\n");
+        json.append("  \"durationMs\": ").append(elapsedMs).append(",\n");
+        json.append("  \"throughput\": ").append(format(getThroughput())).append(",\n");
+        json.append("  \"latencyMs\": {");
+        for (double p : PERCENTILES) {
+            json.append("\"p").append(label(p)).append("\": ").append(format(getLatencyMs(p))).append(", ");
+        }
+        json.append("\"max\": ").append(format(latencies.getMax() / 1000.0))
+                .append(", \"mean\": ").append(format(latencies.getMean() / 1000.0)).append("}\n");
+        json.append("}\n");
+        return json.toString();
+    }
+
+    /**
+     * Gets the label of a percentile, e.g. 999 for 99.9.
+     *
+     * @param percentile the percentile
+     * @return the label
+     */
+    static String label(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile)
+                : String.valueOf(percentile).replace(".", "");
+    }
+
+    /**
+     * Formats a number with three decimals.
+     *
+     * @param value the number
+     * @return the formatted number
+     */
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    /**
+     * Quotes a string as a JSON string literal.
+     *
+     * @param value the string
+     * @return the JSON literal
+     */
+    private static String quote(String value) {
+        StringBuilder quoted = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c < 0x20) {
+                quoted.append(String.format("\\u%04x", (int) c));
+            } else {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+}
@@ -0,0 +1,219 @@
+package io.github.rajendarreddyj.tomcat.perf;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Properties;
+import java.util.StringJoiner;
+
+/**
+ * Persisted outcome of a load run for one context path, used as a
+ * performance baseline.
+ *
+ * <p>
+ * Besides throughput and error counts, a snapshot keeps the full latency
+ * distribution as the non-empty buckets of its {@link LatencyHistogram}, so a
+ * later run can be compared with a rank test instead of a few percentiles.
+ * Snapshots are stored as properties files.
+ * </p>
+ *
+ * @author rajendarreddyj
+ * @since 1.0.1
+ */
+public class LoadSnapshot {
+
+    /** Property holding the context path. */
+    private static final String CONTEXT_PATH_PROPERTY = "contextPath";
+
+    /** Property holding the creation instant. */
+    private static final String TIMESTAMP_PROPERTY = "timestamp";
+
+    /** Property holding the throughput. */
+    private static final String THROUGHPUT_PROPERTY = "throughput";
+
+    /** Property holding the number of requests. */
+    private static final String REQUESTS_PROPERTY = "requests";
+
+    /** Property holding the number of failed requests. */
+    private static final String ERRORS_PROPERTY = "errors";
+
+    /** Property holding the latency buckets as value:count pairs. */
+    private static final String LATENCIES_PROPERTY = "latencies";
+
+    /** The context path the load was sent to. */
+    private final String contextPath;
+
+    /** The instant of the run. */
+    private final Instant timestamp;
+
+    /** Requests per second. */
+    private final double throughput;
+
+    /** Number of requests sent. */
+    private final long requests;
+
+    /** Number of failed requests. */
+    private final long errors;
+
+    /** Latency distribution in microseconds. */
+    private final LatencyHistogram latencies;
+
+    /**
+     * Creates a new LoadSnapshot.
+     *
+     * @param contextPath the context path the load was sent to
+     * @param timestamp   the instant of the run
+     * @param throughput  requests per second
+     * @param requests    number of requests sent
+     * @param errors      number of failed requests
+     * @param latencies   latency distribution in microseconds
+     */
+    LoadSnapshot(String contextPath, Instant timestamp, double throughput, long requests, long errors,
+            LatencyHistogram latencies) {
+        this.contextPath = contextPath;
+        this.timestamp = timestamp;
+        this.throughput = throughput;
+        this.requests = requests;
+        this.errors = errors;
+        this.latencies = latencies;
+    }
+
+    /**
+     * Creates a snapshot of a load result.
+     *
+     * @param contextPath the context path the load was sent to
+     * @param result      the load result
+     * @return the snapshot
+     */
+    public static LoadSnapshot of(String contextPath, LoadResult result) {
+        return new LoadSnapshot(contextPath, Instant.now(), result.getThroughput(), result.getRequests(),
+                result.getErrors(), result.getLatencies());
+    }
+
+    /**
+     * Gets the file name stem of a context path, following Tomcat's naming of
+     * webapp directories: ROOT for the root context and # for nested slashes.
+     *
+     * @param contextPath the context path
+     * @return the file name stem
+     */
+    public static String fileName(String contextPath) {
+        if (contextPath == null || contextPath.isEmpty() || contextPath.equals("/")) {
+            return "ROOT";
+        }
+        return contextPath.substring(contextPath.startsWith("/") ? 1 : 0).replace('/', '#');
+    }
+
+    /**
+     * Reads a snapshot.
+     *
+     * @param file the snapshot file
+     * @return the snapshot
+     * @throws IOException if the file cannot be read or is invalid
+     */
+    public static LoadSnapshot read(Path file) throws IOException {
+        Properties props = new Properties();
+        try (InputStream is = Files.newInputStream(file)) {
+            props.load(is);
+        }
+        try {
+            LatencyHistogram latencies = new LatencyHistogram();
+            String buckets = props.getProperty(LATENCIES_PROPERTY, "");
+            for (String bucket : buckets.split(",")) {
+                if (!bucket.isBlank()) {
+                    int colon = bucket.indexOf(':');
+                    latencies.record(Long.parseLong(bucket.substring(0, colon).trim()),
+                            Long.parseLong(bucket.substring(colon + 1).trim()));
+                }
+            }
+            return new LoadSnapshot(props.getProperty(CONTEXT_PATH_PROPERTY, "/"),
+                    Instant.parse(props.getProperty(TIMESTAMP_PROPERTY)),
+                    Double.parseDouble(props.getProperty(THROUGHPUT_PROPERTY)),
+                    Long.parseLong(props.getProperty(REQUESTS_PROPERTY)),
+                    Long.parseLong(props.getProperty(ERRORS_PROPERTY)),
+                    latencies);
+        } catch (RuntimeException e) {
+            throw new IOException("Invalid load snapshot " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes this snapshot.
+     *
+     * @param file the snapshot file
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path file) throws IOException {
+        Properties props = new Properties();
+        props.setProperty(CONTEXT_PATH_PROPERTY, contextPath);
+        props.setProperty(TIMESTAMP_PROPERTY, timestamp.toString());
+        props.setProperty(THROUGHPUT_PROPERTY, String.valueOf(throughput));
+        props.setProperty(REQUESTS_PROPERTY, String.valueOf(requests));
+        props.setProperty(ERRORS_PROPERTY, String.valueOf(errors));
+        StringJoiner buckets = new StringJoiner(",");
+        latencies.forEachBucket((value, count) -> buckets.add(value + ":" + count));
+        props.setProperty(LATENCIES_PROPERTY, buckets.toString());
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (OutputStream os = Files.newOutputStream(file)) {
+            props.store(os, "Tomcat load snapshot");
+        }
+    }
+
+    /**
+     * Gets the context path the load was sent to.
+     *
+     * @return the context path
+     */
+    public String getContextPath() {
+        return contextPath;
+    }
+
+    /**
+     * Gets the instant of the run.
+     *
+     * @return the timestamp
+     */
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Gets the throughput.
+     *
+     * @return requests per second
+     */
+    public double getThroughput() {
+        return throughput;
+    }
+
+    /**
+     * Gets the number of requests sent.
+     *
+     * @return the request count
+     */
+    public long getRequests() {
+        return requests;
+    }
+
+    /**
+     * Gets the number of failed requests.
+     *
+     * @return the error count
+     */
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * Gets the latency distribution.
+     *
+     * @return the latencies in microseconds
+     */
+    public LatencyHistogram getLatencies() {
+        return latencies;
+    }
+}
@@ -0,0 +1,273 @@
+package io.github.rajendarreddyj.tomcat.perf;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.apache.maven.plugin.logging.Log;
+
+import io.github.rajendarreddyj.tomcat.lifecycle.TomcatJmxClient;
+
+/**
+ * Toggles a flame graph profiler on a running Tomcat JVM from the console or
+ * a control file.
+ *
+ * <p>
+ * Profiling starts when the control file is created or when {@code p} and
+ * Enter are typed on the console, and stops when the file is deleted or
+ * {@code p} is typed again. Each profiling session attaches to the Tomcat JVM,
+ * samples its stacks with a {@link FlameGraphProfiler} and, when it stops,
+ * writes a collapsed stack file and an HTML flame graph to the output
+ * directory. A session still running when the control is closed, including at
+ * JVM shutdown, is written as well.
+ * </p>
+ *
+ * <h2>Thread Model</h2>
+ * <ul>
+ * <li><strong>profiler-control</strong>: Polls the control file</li>
+ * <li><strong>profiler-console</strong>: Reads console lines, if a console
+ * input is given</li>
+ * </ul>
+ *
+ * @author rajendarreddyj
+ * @since 1.0.1
+ */
+public class ProfilerControl implements AutoCloseable {
+
+    /** Name of the control file in CATALINA_BASE. */
+    public static final String CONTROL_FILE = "profiling";
+
+    /** Console command that toggles profiling. */
+    static final String TOGGLE_COMMAND = "p";
+
+    /** Interval in milliseconds between checks of the control file. */
+    private static final long POLL_INTERVAL_MS = 500;
+
+    /** Timestamp format of the output file names. */
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    /** The control file whose existence switches profiling on. */
+    private final Path controlFile;
+
+    /** Supplies the PID of the Tomcat JVM. */
+    private final LongSupplier pidSupplier;
+
+    /** The directory the profiles are written to. */
+    private final Path outputDirectory;
+
+    /** The sampling interval. */
+    private final Duration interval;
+
+    /** The Maven logger. */
+    private final Log log;
+
+    /** Scheduler polling the control file. */
+    private final ScheduledExecutorService scheduler;
+
+    /** Hook writing a running session at JVM shutdown. */
+    private final Thread shutdownHook = new Thread(() -> stopProfiling(false), "profiler-shutdown");
+
+    /** Whether the control has been closed. */
+    private boolean closed;
+
+    /** Whether the control file existed at the last check. */
+    private boolean controlFileSeen;
+
+    /** JMX client of the current session, or null when not profiling. */
+    private TomcatJmxClient client;
+
+    /** Profiler of the current session, or null when not profiling. */
+    private FlameGraphProfiler profiler;
+
+    /**
+     * Creates a new ProfilerControl.
+     *
+     * @param controlFile     the control file whose existence switches
+     *                        profiling on
+     * @param pidSupplier     supplies the PID of the Tomcat JVM
+     * @param outputDirectory the directory the profiles are written to
+     * @param interval        the sampling interval
+     * @param log             the Maven logger
+     */
+    public ProfilerControl(Path controlFile, LongSupplier pidSupplier, Path outputDirectory, Duration interval,
+            Log log) {
+        this.controlFile = controlFile;
+        this.pidSupplier = pidSupplier;
+        this.outputDirectory = outputDirectory;
+        this.interval = interval;
+        this.log = log;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "profiler-control");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Starts watching the control file and, if given, the console.
+     *
+     * @param console the console input, or null to use the control file only
+     */
+    public void start(InputStream console) {
+        controlFileSeen = Files.exists(controlFile);
+        if (controlFileSeen) {
+            startProfiling();
+        }
+        scheduler.scheduleWithFixedDelay(this::checkControlFile, POLL_INTERVAL_MS, POLL_INTERVAL_MS,
+                TimeUnit.MILLISECONDS);
+        if (console != null) {
+            Thread reader = new Thread(() -> readConsole(console), "profiler-console");
+            reader.setDaemon(true);
+            reader.start();
+        }
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+        log.info("Profiler ready: type '" + TOGGLE_COMMAND + "' and Enter, or create " + controlFile
+                + ", to start or stop profiling");
+    }
+
+    /**
+     * Checks if a profiling session is running.
+     *
+     * @return true while profiling
+     */
+    public synchronized boolean isProfiling() {
+        return profiler != null;
+    }
+
+    /**
+     * Starts or stops profiling.
+     */
+    public synchronized void toggle() {
+        if (isProfiling()) {
+            stopProfiling(true);
+        } else {
+            startProfiling();
+        }
+    }
+
+    /**
+     * Starts a profiling session unless one is running.
+     */
+    synchronized void startProfiling() {
+        if (closed || isProfiling()) {
+            return;
+        }
+        long pid = pidSupplier.getAsLong();
+        Optional<TomcatJmxClient> attached = TomcatJmxClient.attach(pid, log);
+        if (attached.isEmpty()) {
+            log.warn("Cannot attach to Tomcat JVM " + pid + " to profile it");
+            return;
+        }
+        try {
+            profiler = new FlameGraphProfiler(attached.get().getConnection(), interval);
+            client = attached.get();
+            log.info("Profiling Tomcat JVM " + pid + " every " + interval.toMillis() + " ms");
+        } catch (IOException | RuntimeException e) {
+            attached.get().close();
+            log.warn("Cannot start profiling Tomcat JVM " + pid + " (requires Java 16 or later): "
+                    + e.getMessage());
+        }
+    }
+
+    /**
+     * Stops the profiling session, if any, and writes its profile.
+     *
+     * @param await whether to wait for the samples still in flight; not done
+     *              at JVM shutdown, when Tomcat is stopping as well
+     * @return the HTML flame graph, or empty if nothing was written
+     */
+    synchronized Optional<Path> stopProfiling(boolean await) {
+        if (!isProfiling()) {
+            return Optional.empty();
+        }
+        StackProfile profile;
+        if (await) {
+            profile = profiler.stop();
+        } else {
+            profiler.close();
+            profile = profiler.getProfile();
+        }
+        client.close();
+        profiler = null;
+        client = null;
+
+        if (profile.getTotalSamples() == 0) {
+            log.warn("Profiling stopped without samples");
+            return Optional.empty();
+        }
+        String name = "tomcat-profile-" + LocalDateTime.now().format(FILE_TIMESTAMP);
+        Path collapsed = outputDirectory.resolve(name + ".collapsed");
+        Path html = outputDirectory.resolve(name + ".html");
+        try {
+            profile.writeCollapsed(collapsed);
+            profile.writeHtml(html, "Tomcat CPU profile " + name.substring("tomcat-profile-".length()));
+            log.info("Profiling stopped after " + profile.getTotalSamples() + " samples. Flame graph: " + html);
+            return Optional.of(html);
+        } catch (IOException e) {
+            log.warn("Failed to write profile: " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Follows creation and deletion of the control file.
+     */
+    private void checkControlFile() {
+        boolean exists = Files.exists(controlFile);
+        if (exists != controlFileSeen) {
+            controlFileSeen = exists;
+            if (exists) {
+                startProfiling();
+            } else {
+                stopProfiling(true);
+            }
+        }
+    }
+
+    /**
+     * Toggles profiling for every toggle command read from the console.
+     *
+     * @param console the console input
+     */
+    private void readConsole(InputStream console) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(console, Charset.defaultCharset()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().equalsIgnoreCase(TOGGLE_COMMAND)) {
+                    toggle();
+                }
+            }
+        } catch (IOException e) {
+            log.debug("Console input closed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stops watching and writes a running profiling session.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        synchronized (this) {
+            closed = true;
+            stopProfiling(true);
+        }
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // JVM is already shutting down, ignore
+        }
+    }
+}
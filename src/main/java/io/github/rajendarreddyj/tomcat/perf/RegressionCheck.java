@@ -0,0 +1,218 @@
+package io.github.rajendarreddyj.tomcat.perf;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeMap;
+
+/**
+ * Compares a load run against a baseline and decides whether performance
+ * regressed.
+ *
+ * <p>
+ * Latency is compared with a one-sided Mann-Whitney U test on the two latency
+ * distributions. The test is computed directly from the histogram buckets,
+ * treating values in the same bucket as ties, and uses the normal
+ * approximation with tie correction. Because a rank test on thousands of
+ * requests detects even negligible shifts, latency only counts as regressed
+ * if the shift is statistically significant <em>and</em> the median or the
+ * 99th percentile grew by more than the tolerance.
+ * </p>
+ *
+ * <p>
+ * Throughput is a single number per run, so it is compared against the
+ * tolerance only.
+ * </p>
+ *
+ * @author rajendarreddyj
+ * @since 1.0.1
+ */
+public class RegressionCheck {
+
+    /** The baseline run. */
+    private final LoadSnapshot baseline;
+
+    /** The run under test. */
+    private final LoadSnapshot current;
+
+    /** One-sided p-value that the current latencies are larger. */
+    private final double pValue;
+
+    /** Probability that a current latency exceeds a baseline latency. */
+    private final double effectSize;
+
+    /** Significance level for the latency test. */
+    private final double significance;
+
+    /** Tolerated relative change in percent. */
+    private final double tolerance;
+
+    /**
+     * Creates a new RegressionCheck.
+     *
+     * @param baseline     the baseline run
+     * @param current      the run under test
+     * @param significance significance level for the latency test, e.g. 0.01
+     * @param tolerance    tolerated relative change in percent, e.g. 10
+     */
+    public RegressionCheck(LoadSnapshot baseline, LoadSnapshot current, double significance, double tolerance) {
+        this.baseline = baseline;
+        this.current = current;
+        this.significance = significance;
+        this.tolerance = tolerance;
+
+        double[] test = mannWhitney(baseline.getLatencies(), current.getLatencies());
+        this.pValue = test[0];
+        this.effectSize = test[1];
+    }
+
+    /**
+     * Checks if latency regressed significantly and beyond the tolerance.
+     *
+     * @return true if latency regressed
+     */
+    public boolean isLatencyRegression() {
+        return pValue < significance
+                && (change(percentile(baseline, 50), percentile(current, 50)) > tolerance
+                        || change(percentile(baseline, 99), percentile(current, 99)) > tolerance);
+    }
+
+    /**
+     * Checks if throughput dropped by more than the tolerance.
+     *
+     * @return true if throughput regressed
+     */
+    public boolean isThroughputRegression() {
+        return -change(baseline.getThroughput(), current.getThroughput()) > tolerance;
+    }
+
+    /**
+     * Checks if latency or throughput regressed.
+     *
+     * @return true on any regression
+     */
+    public boolean isRegression() {
+        return isLatencyRegression() || isThroughputRegression();
+    }
+
+    /**
+     * Gets the one-sided p-value of the latency test.
+     *
+     * @return the probability of a latency shift at least this large if the
+     *         runs came from the same distribution
+     */
+    public double getPValue() {
+        return pValue;
+    }
+
+    /**
+     * Gets the probability that a latency of the current run exceeds one of
+     * the baseline; 0.5 means no shift.
+     *
+     * @return the common-language effect size
+     */
+    public double getEffectSize() {
+        return effectSize;
+    }
+
+    /**
+     * Describes the comparison for the Maven log.
+     *
+     * @return the report lines
+     */
+    public List<String> describe() {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format(Locale.ROOT, "p50 %.3f ms -> %.3f ms (%+.1f%%), p99 %.3f ms -> %.3f ms (%+.1f%%)",
+                percentile(baseline, 50), percentile(current, 50),
+                change(percentile(baseline, 50), percentile(current, 50)),
+                percentile(baseline, 99), percentile(current, 99),
+                change(percentile(baseline, 99), percentile(current, 99))));
+        lines.add(String.format(Locale.ROOT, "Throughput %.1f -> %.1f req/s (%+.1f%%)",
+                baseline.getThroughput(), current.getThroughput(),
+                change(baseline.getThroughput(), current.getThroughput())));
+        lines.add(String.format(Locale.ROOT, "Mann-Whitney p=%.4g, P(slower)=%.3f, significance %.3g, tolerance %.1f%%",
+                pValue, effectSize, significance, tolerance));
+        return lines;
+    }
+
+    /**
+     * Gets a latency percentile of a run.
+     *
+     * @param snapshot   the run
+     * @param percentile the percentile
+     * @return the latency in milliseconds
+     */
+    private static double percentile(LoadSnapshot snapshot, double percentile) {
+        return snapshot.getLatencies().getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    /**
+     * Gets the relative change from a baseline value.
+     *
+     * @param before the baseline value
+     * @param after  the current value
+     * @return the change in percent
+     */
+    private static double change(double before, double after) {
+        return before == 0 ? 0 : (after - before) * 100 / before;
+    }
+
+    /**
+     * Runs a one-sided Mann-Whitney U test that the second distribution is
+     * stochastically larger than the first.
+     *
+     * @param first  the baseline latencies
+     * @param second the current latencies
+     * @return the p-value and the common-language effect size
+     */
+    static double[] mannWhitney(LatencyHistogram first, LatencyHistogram second) {
+        double n1 = first.getTotalCount();
+        double n2 = second.getTotalCount();
+        if (n1 == 0 || n2 == 0) {
+            return new double[] { 1, 0.5 };
+        }
+
+        // Counts per distinct value: [baseline, current]
+        TreeMap<Long, long[]> values = new TreeMap<>();
+        first.forEachBucket((value, count) -> values.computeIfAbsent(value, v -> new long[2])[0] += count);
+        second.forEachBucket((value, count) -> values.computeIfAbsent(value, v -> new long[2])[1] += count);
+
+        double n = n1 + n2;
+        double rankSum = 0;
+        double tieSum = 0;
+        double below = 0;
+        for (long[] counts : values.values()) {
+            double ties = counts[0] + counts[1];
+            double averageRank = below + (ties + 1) / 2;
+            rankSum += counts[1] * averageRank;
+            tieSum += ties * ties * ties - ties;
+            below += ties;
+        }
+
+        double u = rankSum - n2 * (n2 + 1) / 2;
+        double mean = n1 * n2 / 2;
+        double variance = n1 * n2 / 12 * ((n + 1) - tieSum / (n * (n - 1)));
+        double effect = u / (n1 * n2);
+        if (variance <= 0) {
+            return new double[] { 1, effect };
+        }
+        double z = (u - mean - 0.5) / Math.sqrt(variance);
+        return new double[] { 0.5 * erfc(z / Math.sqrt(2)), effect };
+    }
+
+    /**
+     * Computes the complementary error function with a Chebyshev
+     * approximation accurate to about 1.2e-7.
+     *
+     * @param x the argument
+     * @return erfc(x)
+     */
+    static double erfc(double x) {
+        double z = Math.abs(x);
+        double t = 1 / (1 + 0.5 * z);
+        double r = t * Math.exp(-z * z - 1.26551223 + t * (1.00002368 + t * (0.37409196 + t * (0.09678418
+                + t * (-0.18628806 + t * (0.27886807 + t * (-1.13520398 + t * (1.48851587
+                        + t * (-0.82215223 + t * 0.17087277)))))))));
+        return x >= 0 ? r : 2 - r;
+    }
+}
@@ -0,0 +1,271 @@
+package io.github.rajendarreddyj.tomcat.perf;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+
+/**
+ * Sampled call stacks aggregated for a flame graph.
+ *
+ * <p>
+ * Stacks are kept in the collapsed format of Brendan Gregg's FlameGraph
+ * tools: one line per distinct stack, with the frames from the root to the
+ * leaf separated by semicolons, followed by the number of samples. The
+ * profile can also be rendered as a self-contained HTML flame graph that
+ * needs no external scripts or tools.
+ * </p>
+ *
+ * <p>
+ * Instances are thread-safe.
+ * </p>
+ *
+ * @author rajendarreddyj
+ * @since 1.0.1
+ */
+public class StackProfile {
+
+    /** Samples per collapsed stack, sorted for stable output. */
+    private final Map<String, Long> stacks = new TreeMap<>();
+
+    /** Number of samples. */
+    private long totalSamples;
+
+    /**
+     * Adds a sampled stack trace.
+     *
+     * @param stackTrace the stack trace, leaf frame first; ignored if null or
+     *                   empty
+     */
+    public void add(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return;
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        List<String> names = new ArrayList<>(frames.size());
+        for (int i = frames.size() - 1; i >= 0; i--) {
+            RecordedFrame frame = frames.get(i);
+            names.add(frame.getMethod() == null ? "<unknown>"
+                    : frame.getMethod().getType().getName() + "." + frame.getMethod().getName());
+        }
+        add(names, 1);
+    }
+
+    /**
+     * Adds samples of a stack.
+     *
+     * @param frames  the frame names from the root to the leaf
+     * @param samples the number of samples
+     */
+    synchronized void add(List<String> frames, long samples) {
+        // Semicolons separate frames and the last space separates the count
+        List<String> cleaned = frames.stream().map(f -> f.replace(';', ':').replace(' ', '_')).toList();
+        stacks.merge(String.join(";", cleaned), samples, Long::sum);
+        totalSamples += samples;
+    }
+
+    /**
+     * Gets the number of samples.
+     *
+     * @return the sample count
+     */
+    public synchronized long getTotalSamples() {
+        return totalSamples;
+    }
+
+    /**
+     * Renders the profile in the collapsed stack format.
+     *
+     * @return one line per stack
+     */
+    public synchronized List<String> toCollapsed() {
+        List<String> lines = new ArrayList<>(stacks.size());
+        stacks.forEach((stack, samples) -> lines.add(stack + " " + samples));
+        return lines;
+    }
+
+    /**
+     * Writes the profile in the collapsed stack format, for use with
+     * flamegraph.pl, speedscope or similar tools.
+     *
+     * @param file the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public void writeCollapsed(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.write(file, toCollapsed());
+    }
+
+    /**
+     * Writes the profile as a self-contained HTML flame graph. Frames are
+     * drawn from the root at the top; clicking a frame zooms into it.
+     *
+     * @param file  the file to write
+     * @param title the page title
+     * @throws IOException if the file cannot be written
+     */
+    public void writeHtml(Path file, String title) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.writeString(file, toHtml(title));
+    }
+
+    /**
+     * Renders the profile as a self-contained HTML flame graph.
+     *
+     * @param title the page title
+     * @return the HTML document
+     */
+    String toHtml(String title) {
+        String escapedTitle = title.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+        return """
+                <!DOCTYPE html>
+                <html>
+                <head>
+                <meta charset="utf-8">
+                <title>%1$s</title>
+                <style>
+                body { font: 12px sans-serif; margin: 8px; }
+                #graph { position: relative; width: 100%%; }
+                .f { position: absolute; height: 16px; overflow: hidden; white-space: nowrap; box-sizing: border-box;
+                     border: 1px solid #fff; padding-left: 2px; line-height: 14px; cursor: pointer; }
+                .f:hover { border-color: #000; }
+                </style>
+                </head>
+                <body>
+                <h3>%1$s</h3>
+                <p>%2$d samples. Click a frame to zoom in, click the root to zoom out.</p>
+                <div id="graph"></div>
+                <script>
+                const data = %3$s;
+                const graph = document.getElementById('graph');
+                function color(name) {
+                  let h = 0;
+                  for (const c of name) h = (h * 31 + c.charCodeAt(0)) | 0;
+                  return 'hsl(' + (Math.abs(h) %% 50 + 5) + ',80%%,' + (Math.abs(h >> 8) %% 20 + 55) + '%%)';
+                }
+                function draw(node, depth, left, scale, frames) {
+                  const width = node.v * scale;
+                  if (width < 0.05) return depth;
+                  frames.push([node, depth, left, width]);
+                  let max = depth, x = left;
+                  for (const child of node.c) {
+                    max = Math.max(max, draw(child, depth + 1, x, scale, frames));
+                    x += child.v * scale;
+                  }
+                  return max;
+                }
+                function render(root) {
+                  const frames = [];
+                  const depth = draw(root, 0, 0, 100 / root.v, frames);
+                  graph.innerHTML = '';
+                  graph.style.height = (depth + 1) * 16 + 'px';
+                  for (const [node, d, left, width] of frames) {
+                    const div = document.createElement('div');
+                    div.className = 'f';
+                    div.style.top = d * 16 + 'px';
+                    div.style.left = left + '%%';
+                    div.style.width = width + '%%';
+                    div.style.background = color(node.n);
+                    div.textContent = node.n;
+                    div.title = node.n + ' (' + node.v + ' samples, ' + (node.v * 100 / data.v).toFixed(2) + '%%)';
+                    div.onclick = () => render(node === root ? data : node);
+                    graph.appendChild(div);
+                  }
+                }
+                render(data);
+                </script>
+                </body>
+                </html>
+                """.formatted(escapedTitle, getTotalSamples(), toJsonTree());
+    }
+
+    /**
+     * Builds the call tree as JSON: every node has a name {@code n}, a sample
+     * count {@code v} and children {@code c}.
+     *
+     * @return the JSON text
+     */
+    private synchronized String toJsonTree() {
+        Node root = new Node("all");
+        stacks.forEach((stack, samples) -> {
+            Node node = root;
+            node.value += samples;
+            for (String frame : stack.split(";")) {
+                node = node.children.computeIfAbsent(frame, Node::new);
+                node.value += samples;
+            }
+        });
+        StringBuilder json = new StringBuilder();
+        root.appendJson(json);
+        return json.toString();
+    }
+
+    /**
+     * Node of the call tree.
+     */
+    private static final class Node {
+
+        /** The frame name. */
+        private final String name;
+
+        /** Child frames by name. */
+        private final Map<String, Node> children = new TreeMap<>();
+
+        /** Samples in this frame and its children. */
+        private long value;
+
+        /**
+         * Creates a new Node.
+         *
+         * @param name the frame name
+         */
+        private Node(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Appends this node and its children as JSON.
+         *
+         * @param json the builder to append to
+         */
+        private void appendJson(StringBuilder json) {
+            json.append("{\"n\":").append(quote(name)).append(",\"v\":").append(value).append(",\"c\":[");
+            boolean first = true;
+            for (Node child : children.values()) {
+                if (!first) {
+                    json.append(',');
+                }
+                child.appendJson(json);
+                first = false;
+            }
+            json.append("]}");
+        }
+    }
+
+    /**
+     * Quotes a string as a JSON string literal that is safe inside an HTML
+     * script element.
+     *
+     * @param value the string
+     * @return the JSON literal
+     */
+    static String quote(String value) {
+        StringBuilder quoted = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c < 0x20 || c == '<' || c == '>' || c == '&') {
+                quoted.append(String.format("\\u%04x", (int) c));
+            } else {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+}
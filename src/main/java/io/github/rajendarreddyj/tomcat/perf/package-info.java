@@ -0,0 +1,41 @@
+/**
+ * Performance testing utilities for the Tomcat Maven Plugin.
+ *
+ * <p>
+ * This package contains a small HTTP load generator used to put smoke load on
+ * a webapp started by the plugin, to measure its throughput and latency, and
+ * to compare runs against a stored baseline. It also summarizes Java Flight
+ * Recorder recordings and access logs of the Tomcat JVM and renders on-demand
+ * CPU profiles as flame graphs.
+ * </p>
+ *
+ * <h2>Classes</h2>
+ * <ul>
+ * <li>{@link io.github.rajendarreddyj.tomcat.perf.LoadGenerator} -
+ * Sends closed-loop HTTP load from virtual threads</li>
+ * <li>{@link io.github.rajendarreddyj.tomcat.perf.LatencyHistogram} -
+ * Records latencies with bounded relative error and reports percentiles</li>
+ * <li>{@link io.github.rajendarreddyj.tomcat.perf.LoadResult} -
+ * Throughput, error rate and latency percentiles of a load run</li>
+ * <li>{@link io.github.rajendarreddyj.tomcat.perf.LoadSnapshot} -
+ * Persisted load run of one context path, used as baseline</li>
+ * <li>{@link io.github.rajendarreddyj.tomcat.perf.RegressionCheck} -
+ * Mann-Whitney U comparison of a run against its baseline</li>
+ * <li>{@link io.github.rajendarreddyj.tomcat.perf.JfrSummary} -
+ * Hot methods, allocations, GC pauses and lock contention of a flight
+ * recording</li>
+ * <li>{@link io.github.rajendarreddyj.tomcat.perf.AccessLogSummary} -
+ * Request counts and latency percentiles per URL of a timing access log</li>
+ * <li>{@link io.github.rajendarreddyj.tomcat.perf.FlameGraphProfiler} -
+ * Samples the stacks of a JVM over a remote JFR stream</li>
+ * <li>{@link io.github.rajendarreddyj.tomcat.perf.StackProfile} -
+ * Collapsed stacks and a self-contained HTML flame graph</li>
+ * <li>{@link io.github.rajendarreddyj.tomcat.perf.ProfilerControl} -
+ * Toggles profiling from the console or a control file</li>
+ * </ul>
+ *
+ * @author rajendarreddyj
+ * @see io.github.rajendarreddyj.tomcat.perf.LoadGenerator
+ * @since 1.0.1
+ */
+package io.github.rajendarreddyj.tomcat.perf;
@@ -2,6 +2,8 @@ package io.github.rajendarreddyj.tomcat;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -16,6 +18,9 @@ import java.net.InetAddress;
 import java.net.ServerSocket;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -30,6 +35,14 @@ import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import io.github.rajendarreddyj.tomcat.config.CatalinaBaseGenerator;
+import io.github.rajendarreddyj.tomcat.config.ConnectorConfiguration;
+import io.github.rajendarreddyj.tomcat.config.ContainerResources;
+import io.github.rajendarreddyj.tomcat.config.ContextConfiguration;
+import io.github.rajendarreddyj.tomcat.config.ExecutorConfiguration;
+import io.github.rajendarreddyj.tomcat.config.HttpsConfiguration;
+import io.github.rajendarreddyj.tomcat.config.SelfSignedKeystore;
+
 /**
  * Unit tests for {@link AbstractTomcatMojo}.
  *
@@ -329,10 +342,77 @@ class AbstractTomcatMojoTest {
         var config1 = mojo.buildServerConfiguration();
         Path generatedBase = config1.getCatalinaBase();
 
-        // Second build should reuse it
+        // Second build should reuse it without rewriting its configuration
+        Path serverXml = generatedBase.resolve("conf").resolve("server.xml");
+        Files.writeString(serverXml, "<Server></Server>");
         var config2 = mojo.buildServerConfiguration();
 
         assertEquals(generatedBase, config2.getCatalinaBase());
+        assertEquals("<Server></Server>", Files.readString(serverXml));
+    }
+
+    /**
+     * Verifies that a changed input, such as the host, leads to another base,
+     * and that a base without completion marker is generated again.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void buildServerConfigurationAddressesBaseByInputs() throws Exception {
+        setField(mojo, "catalinaHome", catalinaHome.toFile());
+        setField(mojo, "httpPort", 9998);
+        Path generatedBase = mojo.buildServerConfiguration().getCatalinaBase();
+
+        setField(mojo, "httpHost", "127.0.0.1");
+        assertNotEquals(generatedBase, mojo.buildServerConfiguration().getCatalinaBase());
+
+        setField(mojo, "httpHost", "localhost");
+        Files.delete(generatedBase.resolve(CatalinaBaseGenerator.MARKER_FILE));
+        Files.writeString(generatedBase.resolve("conf").resolve("server.xml"), "<Server></Server>");
+        assertEquals(generatedBase, mojo.buildServerConfiguration().getCatalinaBase());
+        assertTrue(Files.isRegularFile(generatedBase.resolve(CatalinaBaseGenerator.MARKER_FILE)));
+        assertEquals("<Server/>", Files.readString(generatedBase.resolve("conf").resolve("server.xml")));
+    }
+
+    /**
+     * Verifies that an edit to the configuration files of CATALINA_HOME leads
+     * to another base that contains the edit.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void buildServerConfigurationAddressesBaseByHomeConf() throws Exception {
+        setField(mojo, "catalinaHome", catalinaHome.toFile());
+        setField(mojo, "httpPort", 9998);
+        Path generatedBase = mojo.buildServerConfiguration().getCatalinaBase();
+        assertEquals(generatedBase, mojo.buildServerConfiguration().getCatalinaBase());
+
+        Files.writeString(catalinaHome.resolve("conf").resolve("logging.properties"), "handlers=\n");
+        Path edited = mojo.buildServerConfiguration().getCatalinaBase();
+
+        assertNotEquals(generatedBase, edited);
+        assertEquals("handlers=\n", Files.readString(edited.resolve("conf").resolve("logging.properties")));
+    }
+
+    /**
+     * Verifies that locating the server resolves the base that a launch would
+     * generate, without generating it or preparing the flight recording.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void locateServerConfigurationDoesNotPrepareLaunch() throws Exception {
+        setField(mojo, "catalinaHome", catalinaHome.toFile());
+        setField(mojo, "httpPort", 9998);
+        setField(mojo, "flightRecording", true);
+        setField(mojo, "flightRecordingSettings", "default");
+
+        var located = mojo.locateServerConfiguration();
+
+        assertFalse(Files.exists(located.getCatalinaBase()));
+        assertFalse(Files.exists(tempDir.resolve("target")));
+        assertEquals(List.of(), located.getVmOptions());
+        assertEquals(located.getCatalinaBase(), mojo.buildServerConfiguration().getCatalinaBase());
     }
 
     /**
@@ -650,6 +730,28 @@ class AbstractTomcatMojoTest {
         throw new NoSuchFieldException(fieldName);
     }
 
+    /**
+     * Verifies that flight recording adds the recording option in front of
+     * the configured vmOptions and writes to target/tomcat-{context}.jfr.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void buildServerConfigurationAddsFlightRecording() throws Exception {
+        setField(mojo, "catalinaHome", catalinaHome.toFile());
+        setField(mojo, "catalinaBase", catalinaHome.toFile());
+        setField(mojo, "vmOptions", List.of("-Xmx512m"));
+        setField(mojo, "flightRecording", true);
+        setField(mojo, "flightRecordingSettings", "default");
+
+        List<String> options = mojo.buildServerConfiguration().getVmOptions();
+
+        Path file = tempDir.resolve("target").resolve("tomcat-test.jfr").toAbsolutePath();
+        assertEquals(List.of("-XX:StartFlightRecording=name=tomcat-maven-plugin,settings=default,dumponexit=true,"
+                + "filename=" + file, "-Xmx512m"), options);
+        assertTrue(Files.isDirectory(file.getParent()));
+    }
+
     /**
      * Verifies that buildJdwpAgentArg returns correct string with suspend=false.
      *
@@ -739,6 +841,509 @@ class AbstractTomcatMojoTest {
         assertNull(version);
     }
 
+    /**
+     * Verifies that enabling class data sharing adds a training option when no
+     * archive exists yet.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void buildServerConfigurationAddsCdsTrainingOption() throws Exception {
+        setField(mojo, "catalinaHome", catalinaHome.toFile());
+        setField(mojo, "classDataSharing", true);
+        setField(mojo, "vmOptions", List.of("-Xmx256m"));
+
+        var config = mojo.buildServerConfiguration();
+
+        assertEquals(2, config.getVmOptions().size());
+        assertTrue(config.getVmOptions().get(0).startsWith("-XX:ArchiveClassesAtExit="));
+        assertEquals("-Xmx256m", config.getVmOptions().get(1));
+    }
+
+    /**
+     * Verifies that vmOptions are passed through unchanged when class data
+     * sharing is disabled.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void resolveVmOptionsWithoutCds() throws Exception {
+        setField(mojo, "classDataSharing", false);
+        setField(mojo, "vmOptions", List.of("-Xmx256m"));
+
+        assertEquals(List.of("-Xmx256m"), mojo.resolveVmOptions());
+    }
+
+    /**
+     * Verifies that a JVM preset adds its options before vmOptions, which win
+     * on conflict, and that the fast-startup preset enables class data sharing.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void resolveVmOptionsMergesJvmPreset() throws Exception {
+        setField(mojo, "jvmPreset", "fast-startup");
+        setField(mojo, "vmOptions", List.of("-XX:+UseG1GC"));
+
+        List<String> options = mojo.resolveVmOptions();
+
+        assertEquals(3, options.size());
+        assertTrue(options.get(0).startsWith("-XX:ArchiveClassesAtExit="));
+        assertEquals(List.of("-XX:TieredStopAtLevel=1", "-XX:+UseG1GC"), options.subList(1, 3));
+    }
+
+    /**
+     * Verifies that container-aware sizing adds derived JVM options and
+     * generates a CATALINA_BASE with the derived connector settings.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void buildServerConfigurationAppliesContainerResources() throws Exception {
+        setField(mojo, "catalinaHome", catalinaHome.toFile());
+        setField(mojo, "containerAware", true);
+        setField(mojo, "containerResources", ContainerResources.of(512L * 1024 * 1024, 1.5));
+        setField(mojo, "vmOptions", List.of("-Xmx256m"));
+        Files.writeString(catalinaHome.resolve("conf").resolve("server.xml"),
+                "<Server><Service><Connector port=\"8080\" protocol=\"HTTP/1.1\" /></Service></Server>");
+
+        var config = mojo.buildServerConfiguration();
+
+        assertEquals(List.of("-XX:ActiveProcessorCount=2", "-Xmx256m"), config.getVmOptions());
+        assertTrue(config.getCatalinaBase().getFileName().toString().matches("base-.*-8080-[0-9a-f]{8}"));
+        String serverXml = Files.readString(config.getCatalinaBase().resolve("conf").resolve("server.xml"));
+        assertTrue(serverXml.contains("maxThreads=\"32\""));
+        assertTrue(serverXml.contains("acceptCount=\"32\""));
+    }
+
+    /**
+     * Verifies that a negative container memory reserve fails the build.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void buildServerConfigurationRejectsNegativeMemoryReserve() throws Exception {
+        setField(mojo, "catalinaHome", catalinaHome.toFile());
+        setField(mojo, "containerAware", true);
+        setField(mojo, "containerMemoryReserve", -1L);
+
+        MojoExecutionException e = assertThrows(MojoExecutionException.class, () -> mojo.buildServerConfiguration());
+        assertTrue(e.getMessage().startsWith("Invalid container configuration: "));
+    }
+
+    /**
+     * Verifies that the connector configuration overrides the container-derived
+     * sizing and is written into the generated CATALINA_BASE.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void buildServerConfigurationAppliesConnectorConfiguration() throws Exception {
+        ConnectorConfiguration connector = new ConnectorConfiguration();
+        connector.setProtocol("nio2");
+        connector.setMaxThreads(400);
+        setField(mojo, "catalinaHome", catalinaHome.toFile());
+        setField(mojo, "containerAware", true);
+        setField(mojo, "containerResources", ContainerResources.of(512L * 1024 * 1024, 1.5));
+        setField(mojo, "connector", connector);
+        Files.writeString(catalinaHome.resolve("conf").resolve("server.xml"),
+                "<Server><Service><Connector port=\"8080\" protocol=\"HTTP/1.1\" /></Service></Server>");
+
+        var config = mojo.buildServerConfiguration();
+
+        assertTrue(CatalinaBaseGenerator.hasConnectorAttributes(config.getCatalinaBase(), Map.of(
+                "protocol", ConnectorConfiguration.NIO2_PROTOCOL, "maxThreads", "400", "acceptCount", "32")));
+    }
+
+    /**
+     * Verifies that an invalid connector configuration fails the build.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void buildServerConfigurationRejectsInvalidConnectorConfiguration() throws Exception {
+        ConnectorConfiguration connector = new ConnectorConfiguration();
+        connector.setMaxThreads(0);
+        setField(mojo, "catalinaHome", catalinaHome.toFile());
+        setField(mojo, "connector", connector);
+
+        MojoExecutionException e = assertThrows(MojoExecutionException.class, () -> mojo.buildServerConfiguration());
+
+        assertTrue(e.getMessage().startsWith("Invalid connector configuration: maxThreads"));
+    }
+
+    /**
+     * Verifies that the virtualThreads flag adds a virtual thread executor
+     * that the connector uses on Tomcat 11.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void buildServerConfigurationAddsVirtualThreadExecutor() throws Exception {
+        setField(mojo, "catalinaHome", catalinaHome.toFile());
+        setField(mojo, "tomcatVersion", "11.0.2");
+        setField(mojo, "virtualThreads", true);
+        Files.writeString(catalinaHome.resolve("conf").resolve("server.xml"),
+                "<Server><Service><Connector port=\"8080\" protocol=\"HTTP/1.1\" /></Service></Server>");
+
+        var config = mojo.buildServerConfiguration();
+
+        assertTrue(config.getCatalinaBase().getFileName().toString().matches("base-11.0.2-8080-[0-9a-f]{8}"));
+        assertTrue(CatalinaBaseGenerator.hasExecutor(config.getCatalinaBase(), Map.of(
+                "name", ExecutorConfiguration.DEFAULT_NAME, "className", ExecutorConfiguration.VIRTUAL_THREAD_EXECUTOR,
+                "namePrefix", "catalina-virt-")));
+    }
+
+    /**
+     * Verifies that virtual threads fail the build before Tomcat 11, while a
+     * platform thread executor is accepted.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void buildServerConfigurationRejectsVirtualThreadsBeforeTomcat11() throws Exception {
+        ExecutorConfiguration executor = new ExecutorConfiguration();
+        executor.setMaxThreads(100);
+        setField(mojo, "catalinaHome", catalinaHome.toFile());
+        setField(mojo, "executor", executor);
+        setField(mojo, "virtualThreads", true);
+        Files.writeString(catalinaHome.resolve("conf").resolve("server.xml"),
+                "<Server><Service><Connector port=\"8080\" protocol=\"HTTP/1.1\" /></Service></Server>");
+
+        MojoExecutionException e = assertThrows(MojoExecutionException.class, () -> mojo.buildServerConfiguration());
+        assertTrue(e.getMessage().startsWith("Invalid executor configuration: virtualThreads requires Tomcat 11"));
+
+        setField(mojo, "virtualThreads", false);
+        var config = mojo.buildServerConfiguration();
+        assertTrue(CatalinaBaseGenerator.hasExecutor(config.getCatalinaBase(), Map.of(
+                "name", ExecutorConfiguration.DEFAULT_NAME, "namePrefix", "catalina-exec-", "maxThreads", "100")));
+    }
+
+    /**
+     * Verifies that an HTTPS block adds the HTTPS connector and a self-signed
+     * keystore to the generated CATALINA_BASE, and that startup waits for it.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void buildServerConfigurationAddsHttpsConnector() throws Exception {
+        HttpsConfiguration https = new HttpsConfiguration();
+        https.setPort(9443);
+        setField(mojo, "catalinaHome", catalinaHome.toFile());
+        setField(mojo, "https", https);
+        Files.writeString(catalinaHome.resolve("conf").resolve("server.xml"),
+                "<Server><Service><Connector port=\"8080\" protocol=\"HTTP/1.1\" /></Service></Server>");
+
+        var config = mojo.buildServerConfiguration();
+
+        assertEquals(9443, config.getHttpsPort());
+        assertTrue(config.isHttp2());
+        assertTrue(CatalinaBaseGenerator.hasHttpsConnector(config.getCatalinaBase(), 9443));
+        assertTrue(Files.isRegularFile(config.getCatalinaBase().resolve("conf").resolve(SelfSignedKeystore.FILE_NAME)));
+    }
+
+    /**
+     * Verifies that an HTTPS block fails the build with a pool, as all pooled
+     * instances would share its port.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void createTomcatPoolRejectsHttps() throws Exception {
+        HttpsConfiguration https = new HttpsConfiguration();
+        https.setPort(9443);
+        setField(mojo, "catalinaHome", catalinaHome.toFile());
+        setField(mojo, "poolSize", 2);
+        setField(mojo, "https", https);
+
+        MojoExecutionException e = assertThrows(MojoExecutionException.class, () -> mojo.createTomcatPool());
+        assertTrue(e.getMessage().startsWith("Invalid pool configuration: "));
+    }
+
+    /**
+     * Verifies that a context block generates a CATALINA_BASE whose
+     * context.xml has the resource cache settings, and that an invalid one
+     * fails the build.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void buildServerConfigurationAppliesContextConfiguration() throws Exception {
+        ContextConfiguration context = new ContextConfiguration();
+        context.setCacheMaxSize(102400L);
+        setField(mojo, "catalinaHome", catalinaHome.toFile());
+        setField(mojo, "context", context);
+        Files.writeString(catalinaHome.resolve("conf").resolve("context.xml"), "<Context>\n</Context>\n");
+
+        var config = mojo.buildServerConfiguration();
+
+        assertTrue(config.getCatalinaBase().getFileName().toString().startsWith("base-"));
+        assertTrue(Files.readString(config.getCatalinaBase().resolve("conf").resolve("context.xml"))
+                .contains("<Resources cacheMaxSize=\"102400\" />"));
+
+        context.setCacheTtl(-1L);
+        MojoExecutionException e = assertThrows(MojoExecutionException.class, () -> mojo.buildServerConfiguration());
+        assertTrue(e.getMessage().startsWith("Invalid context configuration: cacheTtl"));
+    }
+
+    /**
+     * Verifies that the access log generates a CATALINA_BASE with the timing
+     * valve.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void buildServerConfigurationAddsAccessLog() throws Exception {
+        setField(mojo, "catalinaHome", catalinaHome.toFile());
+        setField(mojo, "accessLog", true);
+        Files.writeString(catalinaHome.resolve("conf").resolve("server.xml"),
+                "<Server><Service><Engine><Host name=\"localhost\"></Host></Engine></Service></Server>");
+
+        var config = mojo.buildServerConfiguration();
+
+        assertTrue(Files.readString(config.getCatalinaBase().resolve("conf").resolve("server.xml"))
+                .contains("pattern=\"" + CatalinaBaseGenerator.ACCESS_LOG_PATTERN + "\""));
+    }
+
+    /**
+     * Verifies that the jar scan analysis adds the jars of WEB-INF/lib that
+     * need no scanning to the catalina.properties of the generated
+     * CATALINA_BASE.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void buildServerConfigurationSkipsUnscannedJars() throws Exception {
+        Path libDir = Files.createDirectories(tempDir.resolve("webapp").resolve("WEB-INF").resolve("lib"));
+        try (JarOutputStream jar = new JarOutputStream(new FileOutputStream(libDir.resolve("util.jar").toFile()))) {
+            jar.putNextEntry(new JarEntry("com/example/Util.class"));
+            jar.write(new byte[] {(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE});
+            jar.closeEntry();
+        }
+        setField(mojo, "catalinaHome", catalinaHome.toFile());
+        setField(mojo, "warSourceDirectory", tempDir.resolve("webapp").toFile());
+        setField(mojo, "analyzeJarScan", true);
+        Files.writeString(catalinaHome.resolve("conf").resolve("catalina.properties"),
+                "tomcat.util.scan.StandardJarScanFilter.jarsToSkip=annotations-api.jar\n");
+
+        var config = mojo.buildServerConfiguration();
+
+        Properties properties = new Properties();
+        try (var in = Files.newInputStream(config.getCatalinaBase().resolve("conf").resolve("catalina.properties"))) {
+            properties.load(in);
+        }
+        assertEquals("annotations-api.jar,util.jar",
+                properties.getProperty("tomcat.util.scan.StandardJarScanFilter.jarsToSkip"));
+        assertTrue(Files.isRegularFile(tempDir.resolve("target").resolve("tomcat-jar-scan.cache")));
+    }
+
+    /**
+     * Verifies that a generated base is reused without analyzing the jars
+     * again, and that a rebuilt or another jar in WEB-INF/lib leads to another
+     * base.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void buildServerConfigurationAnalyzesJarsOnlyWhenGenerating() throws Exception {
+        Path libDir = Files.createDirectories(tempDir.resolve("webapp").resolve("WEB-INF").resolve("lib"));
+        writeClassJar(libDir.resolve("util.jar"));
+        setField(mojo, "catalinaHome", catalinaHome.toFile());
+        setField(mojo, "warSourceDirectory", tempDir.resolve("webapp").toFile());
+        setField(mojo, "analyzeJarScan", true);
+        Path cache = tempDir.resolve("target").resolve("tomcat-jar-scan.cache");
+
+        Path generated = mojo.buildServerConfiguration().getCatalinaBase();
+        assertTrue(Files.isRegularFile(cache));
+        assertTrue(Files.readString(generated.resolve(CatalinaBaseGenerator.MARKER_FILE)).contains("\nconf="));
+
+        Files.delete(cache);
+        assertEquals(generated, mojo.buildServerConfiguration().getCatalinaBase());
+        assertFalse(Files.exists(cache));
+
+        Files.setLastModifiedTime(libDir.resolve("util.jar"), FileTime.fromMillis(
+                Files.getLastModifiedTime(libDir.resolve("util.jar")).toMillis() + 10_000));
+        Path rebuilt = mojo.buildServerConfiguration().getCatalinaBase();
+        assertNotEquals(generated, rebuilt);
+        assertTrue(Files.isRegularFile(cache));
+
+        writeClassJar(libDir.resolve("other.jar"));
+        assertNotEquals(rebuilt, mojo.buildServerConfiguration().getCatalinaBase());
+    }
+
+    /**
+     * Verifies that an isolated build generates its CATALINA_BASE in a claimed
+     * slot and publishes the allocated ports.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void buildServerConfigurationUsesIsolatedInstance() throws Exception {
+        Properties properties = new Properties();
+        when(project.getProperties()).thenReturn(properties);
+        setField(mojo, "catalinaHome", catalinaHome.toFile());
+        setField(mojo, "isolated", true);
+        setField(mojo, "contextPath", "/isolated");
+        Files.writeString(catalinaHome.resolve("conf").resolve("server.xml"),
+                "<Server><Service><Connector port=\"8080\" protocol=\"HTTP/1.1\" /></Service></Server>");
+
+        mojo.claimIsolatedInstance(true);
+        try {
+            var config = mojo.buildServerConfiguration();
+
+            assertEquals(tempDir.resolve("cache/isolated/10.1.52/slot-0"), config.getCatalinaBase());
+            assertNotEquals(8080, config.getHttpPort());
+            assertEquals(String.valueOf(config.getHttpPort()), properties.getProperty("tomcat.http.port"));
+            assertNotNull(properties.getProperty("tomcat.debug.port"));
+            assertTrue(CatalinaBaseGenerator.hasCorrectPort(config.getCatalinaBase(), config.getHttpPort()));
+        } finally {
+            mojo.releaseIsolatedInstance();
+        }
+        assertTrue(mojo.findIsolatedInstance().isEmpty());
+    }
+
+    /**
+     * Verifies that httpPort 0 allocates a free port, publishes it, and is
+     * used by later goals of the same build.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void allocateHttpPortPublishesFreePort() throws Exception {
+        Properties properties = new Properties();
+        when(project.getProperties()).thenReturn(properties);
+        setField(mojo, "catalinaHome", catalinaHome.toFile());
+        setField(mojo, "httpPort", 0);
+
+        mojo.allocateHttpPort();
+        String published = properties.getProperty("tomcat.http.port");
+
+        assertNotNull(published);
+        assertDoesNotThrow(() -> mojo.validatePortAvailable());
+        assertTrue(mojo.reallocatePort(Integer.parseInt(published)));
+        assertNotEquals(published, properties.getProperty("tomcat.http.port"));
+
+        TestTomcatMojo later = new TestTomcatMojo();
+        setField(later, "project", project);
+        setField(later, "tomcatVersion", "10.1.52");
+        setField(later, "catalinaHome", catalinaHome.toFile());
+        setField(later, "httpPort", 0);
+        setField(later, "httpHost", "localhost");
+        setField(later, "tomcatCacheDir", tempDir.resolve("cache").toFile());
+        assertEquals(properties.getProperty("tomcat.http.port"),
+                String.valueOf(later.buildServerConfiguration().getHttpPort()));
+    }
+
+    /**
+     * Verifies that httpPort 0 fails without an allocated port or with daemon
+     * mode, and that a fixed port is never moved.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void httpPortZeroRequiresAllocation() throws Exception {
+        when(project.getProperties()).thenReturn(new Properties());
+        setField(mojo, "catalinaHome", catalinaHome.toFile());
+
+        assertFalse(mojo.reallocatePort(8080));
+
+        setField(mojo, "httpPort", 0);
+        assertThrows(MojoExecutionException.class, () -> mojo.buildServerConfiguration());
+
+        setField(mojo, "daemon", true);
+        assertThrows(MojoExecutionException.class, () -> mojo.allocateHttpPort());
+    }
+
+    /**
+     * Verifies that the base of an allocated HTTP port is not named after the
+     * port, and that stale bases of earlier allocated ports are deleted while
+     * recent ones and bases of fixed ports are kept.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void buildServerConfigurationPrunesStaleAllocatedPortBases() throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty("tomcat.http.port", "18181");
+        when(project.getProperties()).thenReturn(properties);
+        setField(mojo, "catalinaHome", catalinaHome.toFile());
+        setField(mojo, "httpPort", 0);
+        Path cache = tempDir.resolve("cache");
+        Path stale = Files.createDirectories(cache.resolve("base-10.1.52-auto-0123abcd").resolve("logs"));
+        Path recent = Files.createDirectories(cache.resolve("base-10.1.52-auto-4567abcd"));
+        Path fixed = Files.createDirectories(cache.resolve("base-10.1.52-9090-89abcdef"));
+        FileTime old = FileTime.from(Instant.now().minus(Duration.ofDays(2)));
+        Files.setLastModifiedTime(stale.getParent(), old);
+        Files.setLastModifiedTime(fixed, old);
+
+        var config = mojo.buildServerConfiguration();
+
+        assertEquals(18181, config.getHttpPort());
+        assertTrue(config.getCatalinaBase().getFileName().toString().matches("base-10.1.52-auto-[0-9a-f]{8}"));
+        assertFalse(Files.exists(stale.getParent()));
+        assertTrue(Files.isDirectory(recent));
+        assertTrue(Files.isDirectory(fixed));
+    }
+
+    /**
+     * Verifies that a bind failure of the HTTPS port of an isolated instance
+     * moves that port, and that a fixed port is not moved.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void reallocatePortMovesFailedHttpsPort() throws Exception {
+        Properties properties = new Properties();
+        when(project.getProperties()).thenReturn(properties);
+        HttpsConfiguration https = new HttpsConfiguration();
+        setField(mojo, "catalinaHome", catalinaHome.toFile());
+        setField(mojo, "isolated", true);
+        setField(mojo, "contextPath", "/isolated-https");
+        setField(mojo, "https", https);
+
+        mojo.claimIsolatedInstance(false);
+        try {
+            int httpPort = Integer.parseInt(properties.getProperty("tomcat.http.port"));
+            int failed = https.getPort();
+
+            assertTrue(mojo.reallocatePort(failed));
+
+            assertNotEquals(failed, https.getPort());
+            assertNotEquals(httpPort, https.getPort());
+            assertEquals(String.valueOf(https.getPort()), properties.getProperty("tomcat.https.port"));
+            assertEquals(String.valueOf(httpPort), properties.getProperty("tomcat.http.port"));
+        } finally {
+            mojo.releaseIsolatedInstance();
+        }
+        assertFalse(mojo.reallocatePort(https.getPort()));
+    }
+
+    /**
+     * Verifies that an unknown JVM preset fails the build.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void resolveVmOptionsRejectsUnknownJvmPreset() throws Exception {
+        setField(mojo, "jvmPreset", "turbo");
+
+        assertThrows(MojoExecutionException.class, () -> mojo.resolveVmOptions());
+    }
+
+    /**
+     * Writes a jar holding a single class without servlet annotations.
+     *
+     * @param file the jar file
+     * @throws IOException if the jar cannot be written
+     */
+    private static void writeClassJar(Path file) throws IOException {
+        try (JarOutputStream jar = new JarOutputStream(new FileOutputStream(file.toFile()))) {
+            jar.putNextEntry(new JarEntry("com/example/Util.class"));
+            jar.write(new byte[] {(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE});
+            jar.closeEntry();
+        }
+    }
+
     /**
      * Concrete implementation of AbstractTomcatMojo for testing.
      *
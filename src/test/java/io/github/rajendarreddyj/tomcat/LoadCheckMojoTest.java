@@ -0,0 +1,168 @@
+package io.github.rajendarreddyj.tomcat;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Field;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.apache.maven.plugin.MojoFailureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.rajendarreddyj.tomcat.perf.LatencyHistogram;
+import io.github.rajendarreddyj.tomcat.perf.LoadResult;
+import io.github.rajendarreddyj.tomcat.perf.LoadSnapshot;
+
+/**
+ * Unit tests for {@link LoadCheckMojo}.
+ *
+ * <p>
+ * Tests recording, comparing and updating baselines from stored load runs.
+ *
+ * @author rajendarreddyj
+ * @see LoadCheckMojo
+ */
+class LoadCheckMojoTest {
+
+    /**
+     * Temporary directory for test artifacts, cleaned up automatically after each
+     * test.
+     */
+    @TempDir
+    Path tempDir;
+
+    /** The LoadCheckMojo instance under test. */
+    private LoadCheckMojo mojo;
+
+    /** Path to the baseline directory. */
+    private Path baselineDir;
+
+    /**
+     * Sets up the test environment before each test.
+     *
+     * @throws Exception if setup fails
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        mojo = new LoadCheckMojo();
+        baselineDir = tempDir.resolve("baseline");
+
+        setField(mojo, "loadBaselineDirectory", baselineDir.toFile());
+        setField(mojo, "loadSignificance", 0.01);
+        setField(mojo, "loadTolerance", 10.0);
+        setField(mojo, "skip", false);
+    }
+
+    /**
+     * Verifies that the first run of a context path becomes its baseline.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void recordsFirstRunAsBaseline() throws Exception {
+        writeRun(1000, 500);
+
+        mojo.execute();
+
+        assertEquals(500.0, LoadSnapshot.read(baselineDir.resolve("app.baseline.properties")).getThroughput());
+    }
+
+    /**
+     * Verifies that a slower run fails the build and keeps the baseline.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void failsOnRegression() throws Exception {
+        writeRun(1000, 500);
+        mojo.execute();
+        writeRun(2000, 250);
+        setField(mojo, "loadBaselineUpdate", true);
+
+        MojoFailureException e = assertThrows(MojoFailureException.class, () -> mojo.execute());
+        assertTrue(e.getMessage().contains("/app"));
+        assertEquals(500.0, LoadSnapshot.read(baselineDir.resolve("app.baseline.properties")).getThroughput());
+    }
+
+    /**
+     * Verifies that a run without regression replaces the baseline on request.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void updatesBaselineWhenRequested() throws Exception {
+        writeRun(1000, 500);
+        mojo.execute();
+        writeRun(1000, 520);
+        setField(mojo, "loadBaselineUpdate", true);
+
+        assertDoesNotThrow(() -> mojo.execute());
+        assertEquals(520.0, LoadSnapshot.read(baselineDir.resolve("app.baseline.properties")).getThroughput());
+    }
+
+    /**
+     * Verifies that the goal passes when there are no load runs.
+     */
+    @Test
+    void passesWithoutRuns() {
+        assertDoesNotThrow(() -> mojo.execute());
+    }
+
+    /**
+     * Writes a load run of the /app context with latencies spread around a
+     * median.
+     *
+     * @param medianMicros the median latency in microseconds
+     * @param throughput   the throughput in requests per second
+     * @throws Exception if the run cannot be written
+     */
+    private void writeRun(long medianMicros, long throughput) throws Exception {
+        LatencyHistogram latencies = new LatencyHistogram();
+        for (int i = 0; i < 1000; i++) {
+            latencies.record(medianMicros / 2 + i * medianMicros / 1000);
+        }
+        LoadResult result = new LoadResult(URI.create("http://localhost:8080/app"), List.of("/"), 2, throughput,
+                0, 1000, latencies);
+        LoadSnapshot.of("/app", result).write(baselineDir.resolve("app" + LoadCheckMojo.CURRENT_SUFFIX));
+    }
+
+    /**
+     * Sets a field value on the target object using reflection.
+     *
+     * @param target    the object to modify
+     * @param fieldName the name of the field to set
+     * @param value     the value to set
+     * @throws Exception if reflection fails
+     */
+    private void setField(Object target, String fieldName, Object value) throws Exception {
+        Field field = findField(target.getClass(), fieldName);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
+    /**
+     * Finds a field by name in the class hierarchy.
+     *
+     * @param clazz     the class to search
+     * @param fieldName the name of the field to find
+     * @return the Field object
+     * @throws NoSuchFieldException if the field is not found
+     */
+    private Field findField(Class<?> clazz, String fieldName) throws NoSuchFieldException {
+        while (clazz != null) {
+            try {
+                return clazz.getDeclaredField(fieldName);
+            } catch (NoSuchFieldException e) {
+                clazz = clazz.getSuperclass();
+            }
+        }
+        throw new NoSuchFieldException(fieldName);
+    }
+}
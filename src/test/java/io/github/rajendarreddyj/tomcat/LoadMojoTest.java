@@ -0,0 +1,212 @@
+package io.github.rajendarreddyj.tomcat;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Field;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.sun.net.httpserver.HttpServer;
+
+import io.github.rajendarreddyj.tomcat.lifecycle.TomcatState;
+
+/**
+ * Unit tests for {@link LoadMojo}.
+ *
+ * <p>
+ * Sends load to an embedded JDK HTTP server standing in for Tomcat and tests
+ * target resolution, the result file and thresholds.
+ *
+ * @author rajendarreddyj
+ * @see LoadMojo
+ */
+class LoadMojoTest {
+
+    /**
+     * Temporary directory for test artifacts, cleaned up automatically after each
+     * test.
+     */
+    @TempDir
+    Path tempDir;
+
+    /** Mock Maven project for testing. */
+    @Mock
+    private MavenProject project;
+
+    /** The LoadMojo instance under test. */
+    private LoadMojo mojo;
+
+    /** The embedded HTTP server. */
+    private HttpServer server;
+
+    /** Path to the CATALINA_BASE directory. */
+    private Path catalinaBase;
+
+    /** Path to the JSON result file. */
+    private Path resultFile;
+
+    /** Project properties. */
+    private final Properties properties = new Properties();
+
+    /**
+     * Sets up the test environment before each test.
+     *
+     * @throws Exception if setup fails
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/app", exchange -> {
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+
+        mojo = new LoadMojo();
+        Path catalinaHome = tempDir.resolve("tomcat");
+        Files.createDirectories(catalinaHome.resolve("bin"));
+        Files.createDirectories(catalinaHome.resolve("lib"));
+        Files.writeString(catalinaHome.resolve("lib").resolve("catalina.jar"), "mock");
+        catalinaBase = tempDir.resolve("base");
+        Files.createDirectories(catalinaBase.resolve("conf"));
+        resultFile = tempDir.resolve("target").resolve("tomcat-load.json");
+
+        when(project.getProperties()).thenReturn(properties);
+
+        setField(mojo, "project", project);
+        setField(mojo, "tomcatVersion", "10.1.52");
+        setField(mojo, "catalinaHome", catalinaHome.toFile());
+        setField(mojo, "catalinaBase", catalinaBase.toFile());
+        setField(mojo, "httpHost", "127.0.0.1");
+        setField(mojo, "httpPort", server.getAddress().getPort());
+        setField(mojo, "tomcatCacheDir", tempDir.resolve("cache").toFile());
+        setField(mojo, "contextPath", "/app");
+        setField(mojo, "loadPaths", List.of("/"));
+        setField(mojo, "loadConcurrency", 2);
+        setField(mojo, "loadDuration", 10);
+        setField(mojo, "loadRequests", 20L);
+        setField(mojo, "loadResultFile", resultFile.toFile());
+        setField(mojo, "loadBaselineDirectory", tempDir.resolve("baseline").toFile());
+        setField(mojo, "skip", false);
+    }
+
+    /**
+     * Stops the embedded HTTP server.
+     */
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    /**
+     * Verifies that a run writes the JSON result file.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void writesResultFile() throws Exception {
+        mojo.execute();
+
+        String json = Files.readString(resultFile);
+        assertTrue(json.contains("\"requests\": 20"));
+        assertTrue(json.contains("\"errors\": 0"));
+        assertTrue(Files.exists(tempDir.resolve("baseline").resolve("app.current.properties")));
+    }
+
+    /**
+     * Verifies that the port recorded in the state file is used.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void usesPortFromStateFile() throws Exception {
+        TomcatState.builder().pid(1).httpHost("127.0.0.1").httpPort(server.getAddress().getPort()).build()
+                .write(catalinaBase);
+        setField(mojo, "httpPort", 1);
+
+        mojo.execute();
+
+        assertTrue(Files.readString(resultFile).contains("\"requests\": 20"));
+    }
+
+    /**
+     * Verifies that exceeding a threshold fails the build.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void failsWhenThresholdExceeded() throws Exception {
+        setField(mojo, "loadMinThroughput", 1_000_000_000.0);
+
+        MojoFailureException e = assertThrows(MojoFailureException.class, () -> mojo.execute());
+        assertTrue(e.getMessage().contains("throughput"));
+        assertTrue(Files.exists(resultFile));
+    }
+
+    /**
+     * Verifies that the goal fails when nothing answers on the port.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void failsWhenTomcatIsNotRunning() throws Exception {
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            closedPort = socket.getLocalPort();
+        }
+        properties.setProperty(StartMojo.HTTP_PORT_PROPERTY, String.valueOf(closedPort));
+
+        assertThrows(MojoExecutionException.class, () -> mojo.execute());
+    }
+
+    /**
+     * Sets a field value on the target object using reflection.
+     *
+     * @param target    the object to modify
+     * @param fieldName the name of the field to set
+     * @param value     the value to set
+     * @throws Exception if reflection fails
+     */
+    private void setField(Object target, String fieldName, Object value) throws Exception {
+        Field field = findField(target.getClass(), fieldName);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
+    /**
+     * Finds a field by name in the class hierarchy.
+     *
+     * @param clazz     the class to search
+     * @param fieldName the name of the field to find
+     * @return the Field object
+     * @throws NoSuchFieldException if the field is not found
+     */
+    private Field findField(Class<?> clazz, String fieldName) throws NoSuchFieldException {
+        while (clazz != null) {
+            try {
+                return clazz.getDeclaredField(fieldName);
+            } catch (NoSuchFieldException e) {
+                clazz = clazz.getSuperclass();
+            }
+        }
+        throw new NoSuchFieldException(fieldName);
+    }
+}
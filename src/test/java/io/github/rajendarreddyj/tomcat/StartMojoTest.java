@@ -1,6 +1,8 @@
 package io.github.rajendarreddyj.tomcat;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -12,6 +14,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
+import java.util.Properties;
 
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.project.MavenProject;
@@ -21,6 +24,8 @@ import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import io.github.rajendarreddyj.tomcat.lifecycle.TomcatLauncher;
+
 /**
  * Unit tests for {@link StartMojo}.
  *
@@ -33,6 +38,10 @@ import org.mockito.MockitoAnnotations;
  */
 class StartMojoTest {
 
+    /** Line Tomcat logs once it started, echoed by the mock catalina scripts. */
+    private static final String STARTED =
+            "INFO [main] org.apache.catalina.startup.Catalina.start Server startup in [5] ms";
+
     /**
      * Temporary directory for test artifacts, cleaned up automatically after each
      * test.
@@ -151,6 +160,48 @@ class StartMojoTest {
         }
     }
 
+    /**
+     * Verifies that with httpPort 0 a bind failure logged by Tomcat is retried
+     * on other free ports, each published as the HTTP port property, before the
+     * goal fails.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void executeRetriesAllocatedPortOnBindFailure() throws Exception {
+        Path attempts = tempDir.resolve("attempts.log");
+        Files.writeString(catalinaHome.resolve("conf").resolve("server.xml"), "<Server><Service name=\"Catalina\">"
+                + "<Connector port=\"8080\" protocol=\"HTTP/1.1\"/></Service></Server>");
+        // Logs Tomcat's bind failure of the HTTP connector with the port of the generated server.xml
+        Files.writeString(catalinaHome.resolve("bin").resolve("catalina.sh"), """
+                #!/bin/bash
+                echo "$CATALINA_BASE" >> %s
+                port=$(sed -n 's/.*<Connector[^>]*port="\\([0-9]*\\)".*/\\1/p' "$CATALINA_BASE/conf/server.xml")
+                echo "SEVERE [main] Failed to initialize component [Connector[\\"http-nio-$port\\"]]"
+                echo "  Caused by: java.net.BindException: Address already in use"
+                """.formatted(attempts));
+        Files.writeString(catalinaHome.resolve("bin").resolve("catalina.bat"), """
+                @echo off
+                echo %%CATALINA_BASE%% >> %s
+                > "%%CATALINA_BASE%%\\port.txt" powershell -NoProfile -Command ^
+                  "([xml](Get-Content '%%CATALINA_BASE%%\\conf\\server.xml')).Server.Service.Connector.port"
+                set /p PORT=<"%%CATALINA_BASE%%\\port.txt"
+                echo SEVERE [main] Failed to initialize component [Connector["http-nio-%%PORT%%"]]
+                echo   Caused by: java.net.BindException: Address already in use
+                """.formatted(attempts));
+        Properties properties = new Properties();
+        when(project.getProperties()).thenReturn(properties);
+        setField(mojo, "httpPort", 0);
+        setField(mojo, "startupTimeout", 60000L);
+
+        MojoExecutionException e = assertThrows(MojoExecutionException.class, () -> mojo.execute());
+
+        assertInstanceOf(TomcatLauncher.PortInUseException.class, e.getCause());
+        assertEquals(StartMojo.PORT_BIND_ATTEMPTS, Files.readAllLines(attempts).stream().distinct().count());
+        assertEquals(String.valueOf(((TomcatLauncher.PortInUseException) e.getCause()).getPort()),
+                properties.getProperty(StartMojo.HTTP_PORT_PROPERTY));
+    }
+
     /**
      * Verifies that execution works with a custom CATALINA_BASE.
      *
@@ -306,6 +357,18 @@ class StartMojoTest {
         assertDoesNotThrow(() -> mojo.execute());
     }
 
+    /**
+     * Verifies that the port of a JDWP agent is found in the JVM options,
+     * with or without a host in the address.
+     */
+    @Test
+    void findDebugPortReadsJdwpAddress() {
+        assertEquals(5005, StartMojo.findDebugPort(List.of("-Xmx512m",
+                "-agentlib:jdwp=transport=dt_socket,server=y,suspend=n,address=*:5005")));
+        assertEquals(8000, StartMojo.findDebugPort(List.of("-agentlib:jdwp=transport=dt_socket,address=8000,server=y")));
+        assertEquals(0, StartMojo.findDebugPort(List.of("-Xmx512m")));
+    }
+
     /**
      * Finds an available port on localhost.
      *
@@ -333,10 +396,10 @@ class StartMojoTest {
 
         // Create both scripts for cross-platform testing
         Path batScript = home.resolve("bin").resolve("catalina.bat");
-        Files.writeString(batScript, "@echo off\necho test\n");
+        Files.writeString(batScript, "@echo off\necho " + STARTED + "\n");
 
         Path shScript = home.resolve("bin").resolve("catalina.sh");
-        Files.writeString(shScript, "#!/bin/bash\necho test\n");
+        Files.writeString(shScript, "#!/bin/bash\necho '" + STARTED + "'\n");
         shScript.toFile().setExecutable(true);
     }
 
@@ -0,0 +1,182 @@
+package io.github.rajendarreddyj.tomcat;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import io.github.rajendarreddyj.tomcat.lifecycle.TomcatState;
+
+/**
+ * Unit tests for {@link StatusMojo}.
+ *
+ * <p>
+ * Tests the status goal for missing, stale and live state files and the JSON
+ * status file.
+ *
+ * @author rajendarreddyj
+ * @see StatusMojo
+ */
+class StatusMojoTest {
+
+    /**
+     * Temporary directory for test artifacts, cleaned up automatically after each
+     * test.
+     */
+    @TempDir
+    Path tempDir;
+
+    /** Mock Maven project for testing. */
+    @Mock
+    private MavenProject project;
+
+    /** The StatusMojo instance under test. */
+    private StatusMojo mojo;
+
+    /** Path to the CATALINA_BASE directory. */
+    private Path catalinaBase;
+
+    /** Path to the JSON status file. */
+    private Path statusFile;
+
+    /**
+     * Sets up the test environment before each test.
+     *
+     * @throws Exception if setup fails
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+
+        mojo = new StatusMojo();
+        Path catalinaHome = tempDir.resolve("tomcat");
+        Files.createDirectories(catalinaHome.resolve("bin"));
+        Files.createDirectories(catalinaHome.resolve("lib"));
+        Files.writeString(catalinaHome.resolve("lib").resolve("catalina.jar"), "mock");
+        catalinaBase = tempDir.resolve("base");
+        Files.createDirectories(catalinaBase.resolve("conf"));
+        Files.writeString(catalinaBase.resolve("conf").resolve("server.xml"), "<Server/>");
+        statusFile = tempDir.resolve("target").resolve("tomcat-status.json");
+
+        when(project.getArtifactId()).thenReturn("test-app");
+        when(project.getBuild()).thenReturn(mock(org.apache.maven.model.Build.class));
+
+        setField(mojo, "project", project);
+        setField(mojo, "tomcatVersion", "10.1.52");
+        setField(mojo, "catalinaHome", catalinaHome.toFile());
+        setField(mojo, "catalinaBase", catalinaBase.toFile());
+        setField(mojo, "httpPort", 18083);
+        setField(mojo, "httpHost", "localhost");
+        setField(mojo, "tomcatCacheDir", tempDir.resolve("cache").toFile());
+        setField(mojo, "statusFormat", "json");
+        setField(mojo, "statusFile", statusFile.toFile());
+        setField(mojo, "skip", false);
+    }
+
+    /**
+     * Verifies that a missing state file is reported as not running.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void reportsNotRunningWithoutState() throws Exception {
+        mojo.execute();
+
+        String json = Files.readString(statusFile);
+        assertTrue(json.contains("\"running\": false"));
+        assertFalse(json.contains("\"pid\""));
+    }
+
+    /**
+     * Verifies that a state whose JVM has exited is reported as not running
+     * with the last PID.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void reportsNotRunningForExitedProcess() throws Exception {
+        TomcatState.builder().pid(999999999L).httpHost("localhost").httpPort(18083).build().write(catalinaBase);
+
+        mojo.execute();
+
+        String json = Files.readString(statusFile);
+        assertTrue(json.contains("\"running\": false"));
+        assertTrue(json.contains("\"pid\": 999999999"));
+    }
+
+    /**
+     * Verifies that a live JVM is reported as running.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void reportsRunningForLiveProcess() throws Exception {
+        TomcatState.builder().process(ProcessHandle.current()).tomcatVersion("10.1.52").build()
+                .write(catalinaBase);
+        setField(mojo, "statusFormat", "text");
+
+        mojo.execute();
+
+        String json = Files.readString(statusFile);
+        assertTrue(json.contains("\"running\": true"));
+        assertTrue(json.contains("\"tomcatVersion\": \"10.1.52\""));
+    }
+
+    /**
+     * Verifies that an unsupported format fails the build.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void rejectsUnsupportedFormat() throws Exception {
+        setField(mojo, "statusFormat", "xml");
+
+        assertThrows(MojoFailureException.class, () -> mojo.execute());
+    }
+
+    /**
+     * Sets a field value on the target object using reflection.
+     *
+     * @param target    the object to modify
+     * @param fieldName the name of the field to set
+     * @param value     the value to set
+     * @throws Exception if reflection fails
+     */
+    private void setField(Object target, String fieldName, Object value) throws Exception {
+        Field field = findField(target.getClass(), fieldName);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
+    /**
+     * Finds a field by name in the class hierarchy.
+     *
+     * @param clazz     the class to search
+     * @param fieldName the name of the field to find
+     * @return the Field object
+     * @throws NoSuchFieldException if the field is not found
+     */
+    private Field findField(Class<?> clazz, String fieldName) throws NoSuchFieldException {
+        while (clazz != null) {
+            try {
+                return clazz.getDeclaredField(fieldName);
+            } catch (NoSuchFieldException e) {
+                clazz = clazz.getSuperclass();
+            }
+        }
+        throw new NoSuchFieldException(fieldName);
+    }
+}
@@ -5,21 +5,39 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.endsWith;
+import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.lang.reflect.Field;
+import java.net.InetAddress;
+import java.net.ServerSocket;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.project.MavenProject;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
 import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import io.github.rajendarreddyj.tomcat.config.CatalinaBaseGenerator;
+import io.github.rajendarreddyj.tomcat.lifecycle.TomcatDaemon;
+import io.github.rajendarreddyj.tomcat.lifecycle.TomcatState;
+
+import jdk.jfr.Recording;
+
 /**
  * Unit tests for {@link StopMojo}.
  *
@@ -148,6 +166,91 @@ class StopMojoTest {
         assertFalse(Files.exists(pidFile));
     }
 
+    /**
+     * Verifies that the CATALINA_PID file is used when no tomcat.pid file exists.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    void executeStopsProcessFromCatalinaPidFile() throws Exception {
+        Path catalinaBase = tempDir.resolve("tomcat-base-catalina-pid");
+        Files.createDirectories(catalinaBase.resolve("conf"));
+        Files.createDirectories(catalinaBase.resolve("temp"));
+        Files.writeString(catalinaBase.resolve("conf").resolve("server.xml"), "<Server/>");
+        setField(mojo, "catalinaBase", catalinaBase.toFile());
+
+        Process tomcat = new ProcessBuilder("sleep", "60").start();
+        Path catalinaPidFile = catalinaBase.resolve("temp").resolve("catalina.pid");
+        Files.writeString(catalinaPidFile, String.valueOf(tomcat.pid()));
+
+        assertDoesNotThrow(() -> mojo.execute());
+
+        assertTrue(tomcat.waitFor(5, TimeUnit.SECONDS));
+        assertFalse(Files.exists(catalinaPidFile));
+    }
+
+    /**
+     * Verifies that a recorded PID that now belongs to a different process is
+     * not stopped.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    void executeIgnoresReusedPid() throws Exception {
+        Path catalinaBase = tempDir.resolve("tomcat-base-reused-pid");
+        Files.createDirectories(catalinaBase.resolve("conf"));
+        Files.writeString(catalinaBase.resolve("conf").resolve("server.xml"), "<Server/>");
+        setField(mojo, "catalinaBase", catalinaBase.toFile());
+
+        Process other = new ProcessBuilder("sleep", "60").start();
+        try {
+            TomcatState.builder().pid(other.pid()).processStart(Instant.EPOCH).build().write(catalinaBase);
+
+            assertDoesNotThrow(() -> mojo.execute());
+
+            assertTrue(other.isAlive());
+            assertFalse(Files.exists(catalinaBase.resolve(TomcatState.STATE_FILE)));
+        } finally {
+            other.destroyForcibly();
+        }
+    }
+
+    /**
+     * Verifies that after stopping Tomcat the HTTP and HTTPS ports recorded in
+     * the state file are checked instead of the configured HTTP port.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    void executeAwaitsRecordedPorts() throws Exception {
+        Path catalinaBase = tempDir.resolve("tomcat-base-recorded-ports");
+        Files.createDirectories(catalinaBase.resolve("conf"));
+        Files.writeString(catalinaBase.resolve("conf").resolve("server.xml"), "<Server/>");
+        setField(mojo, "catalinaBase", catalinaBase.toFile());
+        setField(mojo, "shutdownTimeout", 500L);
+        Log log = mock(Log.class);
+        mojo.setLog(log);
+
+        Process tomcat = new ProcessBuilder("sleep", "60").start();
+        try (ServerSocket http = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+                ServerSocket https = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            TomcatState.builder().pid(tomcat.pid()).httpPort(http.getLocalPort())
+                    .httpsPort(https.getLocalPort()).build().write(catalinaBase);
+
+            assertDoesNotThrow(() -> mojo.execute());
+
+            assertTrue(tomcat.waitFor(5, TimeUnit.SECONDS));
+            verify(log).warn(startsWith("Port " + http.getLocalPort() + " is still in use"));
+            verify(log).warn(startsWith("Port " + https.getLocalPort() + " is still in use"));
+            verify(log, never()).warn(startsWith("Port 18082 "));
+        } finally {
+            tomcat.destroyForcibly();
+        }
+    }
+
     /**
      * Verifies that execution stops Tomcat via script when no PID file exists.
      *
@@ -191,6 +294,20 @@ class StopMojoTest {
         assertThrows(MojoExecutionException.class, () -> mojo.execute());
     }
 
+    /**
+     * Verifies that an isolated stop without an instance claimed by this build
+     * leaves every CATALINA_BASE alone.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void executeIsolatedWithoutClaimStopsNothing() throws Exception {
+        setField(mojo, "isolated", true);
+
+        assertDoesNotThrow(() -> mojo.execute());
+        assertFalse(Files.exists(tempDir.resolve("cache")));
+    }
+
     /**
      * Verifies that execution succeeds with the default HTTP port 8080.
      *
@@ -234,6 +351,111 @@ class StopMojoTest {
         assertDoesNotThrow(() -> mojo.execute());
     }
 
+    /**
+     * Verifies that the flight recording written when Tomcat exited is
+     * summarized.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void executeSummarizesFlightRecording() throws Exception {
+        Path catalinaBase = tempDir.resolve("tomcat-base-jfr");
+        Files.createDirectories(catalinaBase.resolve("conf"));
+        Files.writeString(catalinaBase.resolve("tomcat.pid"), "9999999999");
+        Path jfrFile = tempDir.resolve("target").resolve("tomcat-ROOT.jfr");
+        Files.createDirectories(jfrFile.getParent());
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.GarbageCollection");
+            recording.start();
+            System.gc();
+            recording.stop();
+            recording.dump(jfrFile);
+        }
+        Log log = mock(Log.class);
+        mojo.setLog(log);
+
+        setField(mojo, "catalinaBase", catalinaBase.toFile());
+        setField(mojo, "contextPath", "/");
+        setField(mojo, "flightRecording", true);
+        setField(mojo, "flightRecordingTop", 5);
+
+        mojo.execute();
+
+        verify(log).info(startsWith("GC pauses: "));
+    }
+
+    /**
+     * Verifies that a recording summary without entries is rejected before
+     * Tomcat is stopped.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void executeRejectsInvalidFlightRecordingTop() throws Exception {
+        Path catalinaBase = tempDir.resolve("tomcat-base-jfr-top");
+        Files.createDirectories(catalinaBase.resolve("conf"));
+        Path pidFile = catalinaBase.resolve("tomcat.pid");
+        Files.writeString(pidFile, "9999999999");
+
+        setField(mojo, "catalinaBase", catalinaBase.toFile());
+        setField(mojo, "flightRecording", true);
+        setField(mojo, "flightRecordingTop", 0);
+
+        MojoExecutionException e = assertThrows(MojoExecutionException.class, () -> mojo.execute());
+        assertTrue(e.getMessage().contains("tomcat.jfr.top"));
+        assertTrue(Files.exists(pidFile));
+    }
+
+    /**
+     * Verifies that the access log is summarized into a latency table and
+     * moved to the build directory.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void executeSummarizesAccessLog() throws Exception {
+        Path catalinaBase = tempDir.resolve("tomcat-base-access");
+        Files.createDirectories(catalinaBase.resolve("logs"));
+        Files.writeString(catalinaBase.resolve("tomcat.pid"), "9999999999");
+        Files.writeString(catalinaBase.resolve(CatalinaBaseGenerator.ACCESS_LOG_FILE),
+                "[19/Oct/2026:10:00:00 +0000] GET /app/ 200 1500 1\n");
+        Log log = mock(Log.class);
+        mojo.setLog(log);
+
+        setField(mojo, "catalinaBase", catalinaBase.toFile());
+        setField(mojo, "accessLog", true);
+        setField(mojo, "accessLogTop", 5);
+
+        mojo.execute();
+
+        verify(log).info(startsWith("Access log "));
+        verify(log).info(endsWith("  GET /app/"));
+        assertFalse(Files.exists(catalinaBase.resolve(CatalinaBaseGenerator.ACCESS_LOG_FILE)));
+        assertTrue(Files.exists(tempDir.resolve("target").resolve("tomcat-access-timing.log")));
+    }
+
+    /**
+     * Verifies that a latency table without URLs is rejected before Tomcat is
+     * stopped.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void executeRejectsInvalidAccessLogTop() throws Exception {
+        Path catalinaBase = tempDir.resolve("tomcat-base-access-top");
+        Files.createDirectories(catalinaBase.resolve("conf"));
+        Path pidFile = catalinaBase.resolve("tomcat.pid");
+        Files.writeString(pidFile, "9999999999");
+
+        setField(mojo, "catalinaBase", catalinaBase.toFile());
+        setField(mojo, "accessLog", true);
+        setField(mojo, "accessLogTop", -1);
+
+        MojoExecutionException e = assertThrows(MojoExecutionException.class, () -> mojo.execute());
+        assertTrue(e.getMessage().contains("tomcat.accessLog.top"));
+        assertTrue(Files.exists(pidFile));
+    }
+
     /**
      * Verifies that OS detection returns the expected value for the current
      * platform.
@@ -251,6 +473,89 @@ class StopMojoTest {
         assertTrue(Files.exists(catalinaHome.resolve("bin").resolve(scriptName)));
     }
 
+    /**
+     * Verifies that stop undeploys the webapp from a leased pooled instance and
+     * releases the lease without stopping the instance.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void executeReleasesPooledInstance() throws Exception {
+        Path warDir = tempDir.resolve("target").resolve("test-app");
+        Files.createDirectories(warDir);
+        setField(mojo, "contextPath", "/test-app");
+        setField(mojo, "warSourceDirectory", warDir.toFile());
+        setField(mojo, "poolSize", 1);
+        Path instanceBase = tempDir.resolve("cache").resolve("pool").resolve("10.1.52").resolve("instance-0");
+        Path deployed = instanceBase.resolve("webapps").resolve("test-app");
+        Files.createDirectories(deployed);
+        Files.writeString(instanceBase.resolve("pool-instance.properties"),
+                "httpPort=18099\npid=" + ProcessHandle.current().pid() + "\n");
+        Files.writeString(instanceBase.resolve("pool.lease"),
+                "owner=" + mojo.getPoolOwner().replace(":", "\\:") + "\nholderPid="
+                        + ProcessHandle.current().pid() + "\n");
+
+        assertDoesNotThrow(() -> mojo.execute());
+
+        assertFalse(Files.exists(deployed));
+        assertFalse(Files.exists(instanceBase.resolve("pool.lease")));
+        assertTrue(Files.exists(instanceBase.resolve("pool-instance.properties")));
+    }
+
+    /**
+     * Verifies that stop leaves a running daemon alone unless daemonShutdown is
+     * set.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void executeLeavesDaemonRunning() throws Exception {
+        try (ServerSocket connector = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            setField(mojo, "httpPort", connector.getLocalPort());
+            setField(mojo, "daemon", true);
+            Path descriptor = mojo.buildServerConfiguration().getCatalinaBase().resolve("tomcat-daemon.properties");
+            TomcatDaemon.forConfiguration(mojo.buildServerConfiguration()).record(ProcessHandle.current().pid());
+
+            assertDoesNotThrow(() -> mojo.execute());
+
+            assertTrue(Files.exists(descriptor));
+        }
+    }
+
+    /**
+     * Verifies that with daemonShutdown the daemon is stopped once and its
+     * state and PID files are removed, without looking the process up again.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    void executeStopsDaemonOnce() throws Exception {
+        Process tomcat = new ProcessBuilder("sleep", "60").start();
+        try {
+            Log log = mock(Log.class);
+            mojo.setLog(log);
+            setField(mojo, "daemon", true);
+            setField(mojo, "daemonShutdown", true);
+            Path catalinaBase = mojo.buildServerConfiguration().getCatalinaBase();
+            TomcatDaemon.forConfiguration(mojo.buildServerConfiguration()).record(tomcat.pid());
+            TomcatState.builder().pid(tomcat.pid()).build().write(catalinaBase);
+            Path catalinaPidFile = catalinaBase.resolve("temp").resolve("catalina.pid");
+            Files.createDirectories(catalinaPidFile.getParent());
+            Files.writeString(catalinaPidFile, String.valueOf(tomcat.pid()));
+
+            assertDoesNotThrow(() -> mojo.execute());
+
+            assertTrue(tomcat.waitFor(5, TimeUnit.SECONDS));
+            assertFalse(Files.exists(catalinaBase.resolve("tomcat-daemon.properties")));
+            assertFalse(Files.exists(catalinaBase.resolve(TomcatState.STATE_FILE)));
+            assertFalse(Files.exists(catalinaPidFile));
+            verify(log, never()).warn(contains("not found"));
+        } finally {
+            tomcat.destroyForcibly();
+        }
+    }
+
     /**
      * Creates a mock Tomcat directory structure for testing.
      *
@@ -1,5 +1,6 @@
 package io.github.rajendarreddyj.tomcat.config;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -7,6 +8,10 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -85,7 +90,7 @@ class CatalinaBaseGeneratorTest {
      */
     @Test
     void generateCreatesRequiredDirectories() throws IOException {
-        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, 9090, "localhost");
+        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, settings(9090, "localhost"));
 
         assertTrue(Files.isDirectory(catalinaBase.resolve("conf")));
         assertTrue(Files.isDirectory(catalinaBase.resolve("logs")));
@@ -102,7 +107,7 @@ class CatalinaBaseGeneratorTest {
      */
     @Test
     void generateCopiesConfigFiles() throws IOException {
-        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, 9090, "localhost");
+        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, settings(9090, "localhost"));
 
         assertTrue(Files.exists(catalinaBase.resolve("conf").resolve("server.xml")));
         assertTrue(Files.exists(catalinaBase.resolve("conf").resolve("web.xml")));
@@ -116,7 +121,7 @@ class CatalinaBaseGeneratorTest {
      */
     @Test
     void generateModifiesHttpPort() throws IOException {
-        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, 9090, "localhost");
+        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, settings(9090, "localhost"));
 
         String serverXml = Files.readString(catalinaBase.resolve("conf").resolve("server.xml"));
         assertTrue(serverXml.contains("port=\"9090\""));
@@ -130,7 +135,7 @@ class CatalinaBaseGeneratorTest {
      */
     @Test
     void generateDisablesShutdownPort() throws IOException {
-        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, 9090, "localhost");
+        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, settings(9090, "localhost"));
 
         String serverXml = Files.readString(catalinaBase.resolve("conf").resolve("server.xml"));
         assertTrue(serverXml.contains("port=\"-1\""));
@@ -144,7 +149,7 @@ class CatalinaBaseGeneratorTest {
      */
     @Test
     void generateCommentsOutAjpConnector() throws IOException {
-        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, 9090, "localhost");
+        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, settings(9090, "localhost"));
 
         String serverXml = Files.readString(catalinaBase.resolve("conf").resolve("server.xml"));
         assertTrue(serverXml.contains("<!-- Disabled for plugin use:"));
@@ -178,7 +183,7 @@ class CatalinaBaseGeneratorTest {
                 """;
         Files.writeString(catalinaHome.resolve("conf").resolve("server.xml"), serverXmlWithCommentedAjp);
 
-        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, 9090, "localhost");
+        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, settings(9090, "localhost"));
 
         String serverXml = Files.readString(catalinaBase.resolve("conf").resolve("server.xml"));
         // Should NOT contain double-commented AJP (nested comment markers)
@@ -196,7 +201,7 @@ class CatalinaBaseGeneratorTest {
      */
     @Test
     void generateAddsAddressForCustomHost() throws IOException {
-        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, 9090, "192.168.1.100");
+        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, settings(9090, "192.168.1.100"));
 
         String serverXml = Files.readString(catalinaBase.resolve("conf").resolve("server.xml"));
         assertTrue(serverXml.contains("address=\"192.168.1.100\""));
@@ -209,7 +214,7 @@ class CatalinaBaseGeneratorTest {
      */
     @Test
     void generateDoesNotAddAddressForLocalhost() throws IOException {
-        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, 9090, "localhost");
+        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, settings(9090, "localhost"));
 
         String serverXml = Files.readString(catalinaBase.resolve("conf").resolve("server.xml"));
         assertFalse(serverXml.contains("address=\"localhost\""));
@@ -223,7 +228,7 @@ class CatalinaBaseGeneratorTest {
      */
     @Test
     void generateDoesNotAddAddressForAllInterfaces() throws IOException {
-        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, 9090, "0.0.0.0");
+        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, settings(9090, "0.0.0.0"));
 
         String serverXml = Files.readString(catalinaBase.resolve("conf").resolve("server.xml"));
         assertFalse(serverXml.contains("address=\"0.0.0.0\""));
@@ -236,7 +241,7 @@ class CatalinaBaseGeneratorTest {
      */
     @Test
     void generateHandlesNullHost() throws IOException {
-        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, 9090, null);
+        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, settings(9090, null));
 
         String serverXml = Files.readString(catalinaBase.resolve("conf").resolve("server.xml"));
         // Should still work without throwing
@@ -250,7 +255,7 @@ class CatalinaBaseGeneratorTest {
      */
     @Test
     void generateHandlesEmptyHost() throws IOException {
-        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, 9090, "");
+        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, settings(9090, ""));
 
         String serverXml = Files.readString(catalinaBase.resolve("conf").resolve("server.xml"));
         assertTrue(serverXml.contains("port=\"9090\""));
@@ -266,7 +271,7 @@ class CatalinaBaseGeneratorTest {
         Path emptyHome = tempDir.resolve("empty-home");
         Files.createDirectories(emptyHome);
 
-        CatalinaBaseGenerator.generate(emptyHome, catalinaBase, 9090, "localhost");
+        CatalinaBaseGenerator.generate(emptyHome, catalinaBase, settings(9090, "localhost"));
 
         // Should create empty structure
         assertTrue(Files.isDirectory(catalinaBase.resolve("conf")));
@@ -284,7 +289,7 @@ class CatalinaBaseGeneratorTest {
         Files.createDirectories(subDir);
         Files.writeString(subDir.resolve("manager.xml"), "<Context/>");
 
-        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, 9090, "localhost");
+        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, settings(9090, "localhost"));
 
         assertTrue(Files
                 .exists(catalinaBase.resolve("conf").resolve("Catalina").resolve("localhost").resolve("manager.xml")));
@@ -297,7 +302,7 @@ class CatalinaBaseGeneratorTest {
      */
     @Test
     void isValidCatalinaBaseReturnsTrueForValidBase() throws IOException {
-        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, 9090, "localhost");
+        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, settings(9090, "localhost"));
 
         assertTrue(CatalinaBaseGenerator.isValidCatalinaBase(catalinaBase));
     }
@@ -354,11 +359,11 @@ class CatalinaBaseGeneratorTest {
     @Test
     void generateOverwritesExistingBase() throws IOException {
         // Create initial base
-        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, 8080, "localhost");
+        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, settings(8080, "localhost"));
         String initial = Files.readString(catalinaBase.resolve("conf").resolve("server.xml"));
 
         // Regenerate with different port
-        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, 9999, "localhost");
+        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, settings(9999, "localhost"));
         String updated = Files.readString(catalinaBase.resolve("conf").resolve("server.xml"));
 
         assertNotEquals(initial, updated);
@@ -392,7 +397,7 @@ class CatalinaBaseGeneratorTest {
                 """;
         Files.writeString(catalinaHome.resolve("conf").resolve("server.xml"), serverXmlWithProtocolFirst);
 
-        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, 9090, "localhost");
+        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, settings(9090, "localhost"));
 
         String serverXml = Files.readString(catalinaBase.resolve("conf").resolve("server.xml"));
         assertTrue(serverXml.contains("port=\"9090\""), "Port should be changed to 9090");
@@ -426,7 +431,7 @@ class CatalinaBaseGeneratorTest {
                 """;
         Files.writeString(catalinaHome.resolve("conf").resolve("server.xml"), multiLineServerXml);
 
-        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, 9090, "localhost");
+        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, settings(9090, "localhost"));
 
         String serverXml = Files.readString(catalinaBase.resolve("conf").resolve("server.xml"));
         assertTrue(serverXml.contains("port=\"9090\""), "Port should be changed to 9090");
@@ -468,7 +473,7 @@ class CatalinaBaseGeneratorTest {
                 """;
         Files.writeString(catalinaHome.resolve("conf").resolve("server.xml"), tomcat11ServerXml);
 
-        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, 18080, "localhost");
+        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, settings(18080, "localhost"));
 
         String serverXml = Files.readString(catalinaBase.resolve("conf").resolve("server.xml"));
         assertTrue(serverXml.contains("port=\"18080\""), "HTTP port should be changed to 18080");
@@ -484,7 +489,7 @@ class CatalinaBaseGeneratorTest {
      */
     @Test
     void hasCorrectPortReturnsTrueWhenPortMatches() throws IOException {
-        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, 9090, "localhost");
+        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, settings(9090, "localhost"));
 
         assertTrue(CatalinaBaseGenerator.hasCorrectPort(catalinaBase, 9090));
     }
@@ -497,7 +502,7 @@ class CatalinaBaseGeneratorTest {
      */
     @Test
     void hasCorrectPortReturnsFalseWhenPortDoesNotMatch() throws IOException {
-        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, 9090, "localhost");
+        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, settings(9090, "localhost"));
 
         assertFalse(CatalinaBaseGenerator.hasCorrectPort(catalinaBase, 8080));
     }
@@ -593,13 +598,13 @@ class CatalinaBaseGeneratorTest {
     @Test
     void hasCorrectPortWorksWithVariousPorts() throws IOException {
         // Test with standard port
-        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, 8080, "localhost");
+        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, settings(8080, "localhost"));
         assertTrue(CatalinaBaseGenerator.hasCorrectPort(catalinaBase, 8080));
         assertFalse(CatalinaBaseGenerator.hasCorrectPort(catalinaBase, 8081));
 
         // Test with high port number
         Path catalinaBase2 = tempDir.resolve("tomcat-base-2");
-        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase2, 49999, "localhost");
+        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase2, settings(49999, "localhost"));
         assertTrue(CatalinaBaseGenerator.hasCorrectPort(catalinaBase2, 49999));
         assertFalse(CatalinaBaseGenerator.hasCorrectPort(catalinaBase2, 49998));
     }
@@ -623,10 +628,305 @@ class CatalinaBaseGeneratorTest {
                 """;
         Files.writeString(catalinaHome.resolve("conf").resolve("server.xml"), serverXml);
 
-        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, 8020, "127.0.0.1");
+        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, settings(8020, "127.0.0.1"));
 
         String result = Files.readString(catalinaBase.resolve("conf").resolve("server.xml"));
         assertTrue(result.contains("address=\"127.0.0.1\" />"));
         assertFalse(result.contains("/ address="));
     }
+
+    /**
+     * Verifies that connector attributes are added to the HTTP connector, or
+     * replace its existing values, and are detected afterwards.
+     *
+     * @throws IOException if file operations fail
+     */
+    @Test
+    void generateSetsConnectorAttributes() throws IOException {
+        Map<String, String> attributes = Map.of("maxThreads", "50", "connectionTimeout", "5000");
+
+        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, GenerationSettings.builder()
+                .httpPort(9090)
+                .httpHost("localhost")
+                .connectorAttributes(attributes)
+                .build());
+
+        String result = Files.readString(catalinaBase.resolve("conf").resolve("server.xml"));
+        assertTrue(result.contains("connectionTimeout=\"5000\""));
+        assertFalse(result.contains("connectionTimeout=\"20000\""));
+        assertTrue(result.contains("redirectPort=\"8443\" maxThreads=\"50\" />"));
+        assertTrue(CatalinaBaseGenerator.hasConnectorAttributes(catalinaBase, attributes));
+        assertFalse(CatalinaBaseGenerator.hasConnectorAttributes(catalinaBase, Map.of("maxThreads", "200")));
+    }
+
+    /**
+     * Verifies that an executor is added before the connectors, replacing one
+     * of the same name, that every connector uses it, and that it is detected
+     * afterwards.
+     *
+     * @throws IOException if file operations fail
+     */
+    @Test
+    void generateAddsSharedExecutor() throws IOException {
+        String serverXml = """
+                <Server port="8005" shutdown="SHUTDOWN">
+                  <Service name="Catalina">
+                    <Executor name="tomcatThreadPool" namePrefix="catalina-exec-" />
+                    <Connector port="8080" protocol="HTTP/1.1" />
+                    <Connector port="8443" protocol="HTTP/1.1" SSLEnabled="true" />
+                  </Service>
+                </Server>
+                """;
+        Files.writeString(catalinaHome.resolve("conf").resolve("server.xml"), serverXml);
+        Map<String, String> executor = new LinkedHashMap<>();
+        executor.put("name", "tomcatThreadPool");
+        executor.put("className", ExecutorConfiguration.VIRTUAL_THREAD_EXECUTOR);
+
+        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, GenerationSettings.builder()
+                .httpPort(9090)
+                .httpHost("localhost")
+                .executorAttributes(executor)
+                .build());
+
+        String result = Files.readString(catalinaBase.resolve("conf").resolve("server.xml"));
+        assertTrue(result.contains("  <Service name=\"Catalina\">\n    <Executor name=\"tomcatThreadPool\""
+                + " className=\"" + ExecutorConfiguration.VIRTUAL_THREAD_EXECUTOR + "\" />\n"
+                + "    <!-- Replaced by plugin executor: <Executor name=\"tomcatThreadPool\""));
+        assertTrue(result.contains("<Connector port=\"9090\" protocol=\"HTTP/1.1\" executor=\"tomcatThreadPool\""));
+        assertTrue(result.contains("SSLEnabled=\"true\" executor=\"tomcatThreadPool\" />"));
+        assertTrue(CatalinaBaseGenerator.hasExecutor(catalinaBase, executor));
+        assertFalse(CatalinaBaseGenerator.hasExecutor(catalinaBase, Map.of("name", "tomcatThreadPool")));
+    }
+
+    /**
+     * Verifies that an HTTPS connector with HTTP/2 and the generated keystore
+     * is added after the executor, replacing enabled TLS connectors, and that
+     * the HTTP connector redirects to it.
+     *
+     * @throws IOException if file operations fail
+     */
+    @Test
+    void generateAddsHttpsConnector() throws IOException {
+        String serverXml = """
+                <Server port="8005" shutdown="SHUTDOWN">
+                  <Service name="Catalina">
+                    <Connector port="8080" protocol="HTTP/1.1" redirectPort="8443" />
+                    <Connector port="8443" protocol="HTTP/1.1" SSLEnabled="true" />
+                  </Service>
+                </Server>
+                """;
+        Files.writeString(catalinaHome.resolve("conf").resolve("server.xml"), serverXml);
+        HttpsConfiguration https = new HttpsConfiguration();
+        https.setPort(9443);
+
+        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, GenerationSettings.builder()
+                .httpPort(9090)
+                .httpHost("localhost")
+                .connectorAttributes(Map.of("maxThreads", "50"))
+                .executorAttributes(Map.of("name", "pool"))
+                .https(https)
+                .build());
+
+        String result = Files.readString(catalinaBase.resolve("conf").resolve("server.xml"));
+        assertTrue(result.contains("""
+                    <Executor name="pool" />
+                    <Connector port="9443" protocol="HTTP/1.1" SSLEnabled="true" scheme="https" secure="true" \
+                maxThreads="50" executor="pool">
+                      <UpgradeProtocol className="org.apache.coyote.http2.Http2Protocol" />
+                      <SSLHostConfig>
+                        <Certificate certificateKeystoreFile="conf/localhost-tls.p12" \
+                certificateKeystorePassword="changeit" certificateKeystoreType="PKCS12" />
+                      </SSLHostConfig>
+                    </Connector>
+                """));
+        assertTrue(result.contains("<!-- Replaced by plugin HTTPS connector: <Connector port=\"8443\""));
+        assertTrue(result.contains("redirectPort=\"9443\""));
+        assertTrue(CatalinaBaseGenerator.hasHttpsConnector(catalinaBase, 9443));
+        assertFalse(CatalinaBaseGenerator.hasHttpsConnector(catalinaBase, 8443));
+    }
+
+    /**
+     * Verifies that the access log valve with request timing replaces the
+     * host's access log.
+     *
+     * @throws IOException if file operations fail
+     */
+    @Test
+    void generateAddsAccessLogValve() throws IOException {
+        Files.writeString(catalinaHome.resolve("conf").resolve("server.xml"), """
+                <Server port="8005" shutdown="SHUTDOWN">
+                  <Service name="Catalina">
+                    <Connector port="8080" protocol="HTTP/1.1" />
+                    <Engine name="Catalina" defaultHost="localhost">
+                      <Host name="localhost" appBase="webapps">
+                        <Valve className="org.apache.catalina.valves.AccessLogValve" directory="logs" />
+                      </Host>
+                    </Engine>
+                  </Service>
+                </Server>
+                """);
+
+        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, GenerationSettings.builder()
+                .httpPort(9090)
+                .httpHost("localhost")
+                .accessLog(true)
+                .build());
+
+        String result = Files.readString(catalinaBase.resolve("conf").resolve("server.xml"));
+        assertTrue(result.contains("<!-- Replaced by plugin access log: <Valve "));
+        assertTrue(result.contains("""
+                        <Valve className="org.apache.catalina.valves.AccessLogValve" directory="logs" \
+                prefix="access-timing" suffix=".log" rotatable="false" buffered="true" pattern="%t %m %U %s %D %F" />
+                      </Host>
+                """));
+    }
+
+    /**
+     * Verifies that the resource cache settings and a jar scanner with the
+     * skipped jars are written into context.xml, replacing an existing jar
+     * scanner.
+     *
+     * @throws IOException if file operations fail
+     */
+    @Test
+    void generateAppliesContextConfiguration() throws IOException {
+        Files.writeString(catalinaHome.resolve("conf").resolve("context.xml"), """
+                <Context>
+                    <WatchedResource>WEB-INF/web.xml</WatchedResource>
+                    <JarScanner scanClassPath="false" />
+                </Context>
+                """);
+        ContextConfiguration context = new ContextConfiguration();
+        context.setCacheMaxSize(102400L);
+        context.setCacheTtl(60000L);
+        context.setScanManifest(false);
+        context.setJarsToSkip(List.of("spring-*.jar"));
+
+        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, GenerationSettings.builder()
+                .httpPort(9090)
+                .httpHost("localhost")
+                .context(context)
+                .build());
+
+        String result = Files.readString(catalinaBase.resolve("conf").resolve("context.xml"));
+        assertTrue(result.contains("<!-- Replaced by plugin jar scanner: <JarScanner scanClassPath=\"false\" />"));
+        assertTrue(result.contains("""
+                    <Resources cacheMaxSize="102400" cacheTtl="60000" />
+                    <JarScanner scanManifest="false">
+                      <JarScanFilter tldSkip="${tomcat.util.scan.StandardJarScanFilter.jarsToSkip},spring-*.jar" \
+                pluggabilitySkip="${tomcat.util.scan.StandardJarScanFilter.jarsToSkip},spring-*.jar" />
+                    </JarScanner>
+                </Context>
+                """));
+    }
+
+    /**
+     * Verifies that the resource cache settings are set on an existing
+     * Resources element.
+     *
+     * @throws IOException if file operations fail
+     */
+    @Test
+    void generateUpdatesExistingResources() throws IOException {
+        Files.writeString(catalinaHome.resolve("conf").resolve("context.xml"), """
+                <Context>
+                    <Resources cachingAllowed="true" cacheMaxSize="10240" />
+                </Context>
+                """);
+        ContextConfiguration context = new ContextConfiguration();
+        context.setCachingAllowed(false);
+
+        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, GenerationSettings.builder()
+                .httpPort(9090)
+                .httpHost("localhost")
+                .context(context)
+                .build());
+
+        String result = Files.readString(catalinaBase.resolve("conf").resolve("context.xml"));
+        assertTrue(result.contains("<Resources cachingAllowed=\"false\" cacheMaxSize=\"10240\" />"));
+        assertFalse(result.contains("JarScanner"));
+    }
+
+    /**
+     * Verifies that a marked base is detected only for its own input hash, and
+     * that generating again removes the marker until the caller marks it.
+     *
+     * @throws IOException if file operations fail
+     */
+    @Test
+    void markGeneratedRecordsInputHash() throws IOException {
+        Map<String, String> inputs = Map.of("httpPort", "9090");
+        String hash = CatalinaBaseGenerator.inputHash(inputs);
+        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, settings(9090, "localhost"));
+        assertFalse(CatalinaBaseGenerator.isGenerated(catalinaBase, hash));
+
+        CatalinaBaseGenerator.markGenerated(catalinaBase, hash, inputs);
+
+        assertTrue(CatalinaBaseGenerator.isGenerated(catalinaBase, hash));
+        assertFalse(CatalinaBaseGenerator.isGenerated(catalinaBase,
+                CatalinaBaseGenerator.inputHash(Map.of("httpPort", "9091"))));
+        assertTrue(Files.readString(catalinaBase.resolve(CatalinaBaseGenerator.MARKER_FILE))
+                .contains("httpPort=9090"));
+
+        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, settings(9090, "localhost"));
+        assertFalse(CatalinaBaseGenerator.isGenerated(catalinaBase, hash));
+    }
+
+    /**
+     * Verifies that regenerating copies only configuration files whose size
+     * or modification time changed.
+     *
+     * @throws IOException if file operations fail
+     */
+    @Test
+    void generateCopiesOnlyChangedFiles() throws IOException {
+        Path sourceWebXml = catalinaHome.resolve("conf").resolve("web.xml");
+        Files.writeString(sourceWebXml, "<web-app/>");
+        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, settings(9090, "localhost"));
+        Path targetWebXml = catalinaBase.resolve("conf").resolve("web.xml");
+        FileTime copiedTime = Files.getLastModifiedTime(targetWebXml);
+        assertEquals(Files.getLastModifiedTime(sourceWebXml).toMillis(), copiedTime.toMillis());
+
+        // Same size and time: the copy is kept
+        Files.writeString(targetWebXml, "<web-app*>");
+        Files.setLastModifiedTime(targetWebXml, copiedTime);
+        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, settings(9090, "localhost"));
+        assertEquals("<web-app*>", Files.readString(targetWebXml));
+
+        // Changed source: the copy is replaced
+        Files.setLastModifiedTime(sourceWebXml, FileTime.fromMillis(copiedTime.toMillis() + 2000));
+        CatalinaBaseGenerator.generate(catalinaHome, catalinaBase, settings(9090, "localhost"));
+        assertEquals("<web-app/>", Files.readString(targetWebXml));
+    }
+
+    /**
+     * Verifies that the configuration fingerprint changes with the size or
+     * modification time of a file in CATALINA_HOME/conf.
+     *
+     * @throws IOException if file operations fail
+     */
+    @Test
+    void confFingerprintTracksConfigurationFiles() throws IOException {
+        String before = CatalinaBaseGenerator.confFingerprint(catalinaHome);
+        assertTrue(before.contains("server.xml "));
+        assertEquals(before, CatalinaBaseGenerator.confFingerprint(catalinaHome));
+
+        Path serverXml = catalinaHome.resolve("conf").resolve("server.xml");
+        Files.setLastModifiedTime(serverXml,
+                FileTime.fromMillis(Files.getLastModifiedTime(serverXml).toMillis() + 2000));
+
+        assertNotEquals(before, CatalinaBaseGenerator.confFingerprint(catalinaHome));
+        assertEquals("", CatalinaBaseGenerator.confFingerprint(tempDir.resolve("missing")));
+    }
+
+    /**
+     * Creates generation settings with only the HTTP port and host.
+     *
+     * @param httpPort the HTTP port
+     * @param httpHost the HTTP host/address
+     * @return the settings
+     */
+    private static GenerationSettings settings(int httpPort, String httpHost) {
+        return GenerationSettings.builder().httpPort(httpPort).httpHost(httpHost).build();
+    }
 }
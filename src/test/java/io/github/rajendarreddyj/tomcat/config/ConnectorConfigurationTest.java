@@ -0,0 +1,124 @@
+package io.github.rajendarreddyj.tomcat.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ConnectorConfiguration}.
+ *
+ * <p>
+ * Tests validation of the connector settings and their rendering as HTTP
+ * connector attributes.
+ *
+ * @author rajendarreddyj
+ * @see ConnectorConfiguration
+ */
+class ConnectorConfigurationTest {
+
+    /**
+     * Verifies that an empty configuration renders no attributes.
+     */
+    @Test
+    void emptyConfigurationHasNoAttributes() {
+        assertEquals(Map.of(), new ConnectorConfiguration().toAttributes());
+    }
+
+    /**
+     * Verifies that configured settings are rendered as Tomcat attributes in a
+     * stable order.
+     */
+    @Test
+    void toAttributesRendersConfiguredSettings() {
+        ConnectorConfiguration connector = new ConnectorConfiguration();
+        connector.setProtocol("nio2");
+        connector.setMaxThreads(400);
+        connector.setMinSpareThreads(25);
+        connector.setAcceptCount(200);
+        connector.setMaxConnections(-1);
+        connector.setKeepAliveTimeout(15000);
+        connector.setMaxKeepAliveRequests(1000);
+        connector.setCompression("ON");
+        connector.setCompressibleMimeType("text/html, application/json");
+        connector.setSocketRxBufSize(65536);
+        connector.setSocketTxBufSize(65536);
+        connector.setSocketAppReadBufSize(16384);
+        connector.setSocketAppWriteBufSize(16384);
+        connector.setUseSendfile(false);
+
+        Map<String, String> attributes = connector.toAttributes();
+
+        assertEquals(List.of("protocol", "maxThreads", "minSpareThreads", "acceptCount", "maxConnections",
+                "keepAliveTimeout", "maxKeepAliveRequests", "compression", "compressibleMimeType",
+                "socket.rxBufSize", "socket.txBufSize", "socket.appReadBufSize", "socket.appWriteBufSize",
+                "useSendfile"), List.copyOf(attributes.keySet()));
+        assertEquals(ConnectorConfiguration.NIO2_PROTOCOL, attributes.get("protocol"));
+        assertEquals("on", attributes.get("compression"));
+        assertEquals("text/html,application/json", attributes.get("compressibleMimeType"));
+        assertEquals("65536", attributes.get("socket.rxBufSize"));
+        assertEquals("false", attributes.get("useSendfile"));
+    }
+
+    /**
+     * Verifies that protocol aliases resolve to the protocol attribute value.
+     */
+    @Test
+    void resolvesProtocolAliases() {
+        assertEquals(ConnectorConfiguration.NIO_PROTOCOL, protocolOf("Http11NioProtocol"));
+        assertEquals(ConnectorConfiguration.NIO_PROTOCOL, protocolOf(ConnectorConfiguration.NIO_PROTOCOL));
+        assertEquals("HTTP/1.1", protocolOf("http/1.1"));
+    }
+
+    /**
+     * Verifies that unsupported protocols are rejected.
+     */
+    @Test
+    void validateRejectsUnsupportedProtocol() {
+        ConnectorConfiguration connector = new ConnectorConfiguration();
+        connector.setProtocol("AJP/1.3");
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, connector::validate);
+
+        assertTrue(e.getMessage().contains("AJP/1.3"));
+    }
+
+    /**
+     * Verifies that out-of-range and inconsistent values are rejected.
+     */
+    @Test
+    void validateRejectsInvalidValues() {
+        ConnectorConfiguration threads = new ConnectorConfiguration();
+        threads.setMaxThreads(0);
+        assertThrows(IllegalArgumentException.class, threads::validate);
+
+        ConnectorConfiguration spare = new ConnectorConfiguration();
+        spare.setMaxThreads(10);
+        spare.setMinSpareThreads(20);
+        assertThrows(IllegalArgumentException.class, spare::validate);
+
+        ConnectorConfiguration compression = new ConnectorConfiguration();
+        compression.setCompression("gzip");
+        assertThrows(IllegalArgumentException.class, compression::validate);
+
+        ConnectorConfiguration buffer = new ConnectorConfiguration();
+        buffer.setSocketRxBufSize(-1);
+        assertThrows(IllegalArgumentException.class, buffer::toAttributes);
+    }
+
+    /**
+     * Resolves the protocol attribute for a configured protocol.
+     *
+     * @param protocol the configured protocol
+     * @return the protocol attribute value
+     */
+    private static String protocolOf(String protocol) {
+        ConnectorConfiguration connector = new ConnectorConfiguration();
+        connector.setProtocol(protocol);
+        return connector.toAttributes().get("protocol");
+    }
+}
@@ -0,0 +1,147 @@
+package io.github.rajendarreddyj.tomcat.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for {@link ContainerResources}.
+ *
+ * <p>
+ * Tests reading cgroup v2 limits from a fake hierarchy and the heap, processor
+ * and connector sizing derived from them.
+ *
+ * @author rajendarreddyj
+ * @see ContainerResources
+ */
+class ContainerResourcesTest {
+
+    /** Size of a mebibyte. */
+    private static final long MIB = 1024 * 1024;
+
+    /**
+     * Temporary directory for test artifacts, cleaned up automatically after each
+     * test.
+     */
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Verifies that the lowest limits of the process's cgroup and its
+     * ancestors apply.
+     *
+     * @throws IOException if file operations fail
+     */
+    @Test
+    void detectReadsLowestLimitsOfCgroupAndAncestors() throws IOException {
+        Path root = tempDir.resolve("cgroup");
+        Path parent = Files.createDirectories(root.resolve("ci.slice"));
+        Path own = Files.createDirectories(parent.resolve("job-1"));
+        Files.writeString(root.resolve("cpu.max"), "max 100000\n");
+        Files.writeString(parent.resolve("memory.max"), String.valueOf(512 * MIB));
+        Files.writeString(parent.resolve("cpu.max"), "400000 100000\n");
+        Files.writeString(own.resolve("memory.max"), "max\n");
+        Files.writeString(own.resolve("cpu.max"), "150000 100000\n");
+        Path procCgroup = Files.writeString(tempDir.resolve("cgroup-file"), "0::/ci.slice/job-1\n");
+
+        ContainerResources resources = ContainerResources.detect(root, procCgroup);
+
+        assertEquals(OptionalLong.of(512 * MIB), resources.getMemoryLimit());
+        assertEquals(1.5, resources.getCpuLimit().getAsDouble(), 1e-9);
+        assertEquals(OptionalLong.of(2), resources.getActiveProcessorCount());
+    }
+
+    /**
+     * Verifies that nothing is derived without cgroup v2 files.
+     */
+    @Test
+    void detectWithoutCgroupFindsNoLimits() {
+        ContainerResources resources = ContainerResources.detect(tempDir.resolve("missing"),
+                tempDir.resolve("missing-file"));
+
+        assertFalse(resources.isLimited());
+        assertEquals(List.of(), resources.getJvmOptions(List.of()));
+        assertEquals(Map.of(), resources.getConnectorAttributes());
+        assertTrue(resources.describe().startsWith("No cgroup v2"));
+    }
+
+    /**
+     * Verifies parsing of the cgroup interface file formats.
+     */
+    @Test
+    void parsesCgroupFiles() {
+        assertEquals(Long.MAX_VALUE, ContainerResources.parseMemoryMax("max"));
+        assertEquals(1024, ContainerResources.parseMemoryMax("1024"));
+        assertEquals(Double.MAX_VALUE, ContainerResources.parseCpuMax("max 100000"));
+        assertEquals(0.5, ContainerResources.parseCpuMax("50000 100000"), 1e-9);
+        assertEquals(Double.MAX_VALUE, ContainerResources.parseCpuMax(null));
+    }
+
+    /**
+     * Verifies the heap, processor and connector sizing for a small container,
+     * with half of the memory limit reserved for the build.
+     */
+    @Test
+    void derivesSizingFromLimits() {
+        ContainerResources resources = ContainerResources.of(512 * MIB, 1.5);
+
+        assertEquals(256 * MIB, resources.getMemoryReserve());
+        assertEquals(List.of("-Xmx192m", "-XX:ActiveProcessorCount=2"), resources.getJvmOptions(List.of()));
+        // 100 threads by CPU, 32 by the 64 MiB of available non-heap memory
+        assertEquals(Map.of("maxThreads", "32", "acceptCount", "32"), resources.getConnectorAttributes());
+        assertTrue(resources.describe().startsWith("Container limits: memory 512 MiB (256 MiB reserved for "
+                + "Maven and test JVMs), CPUs 1.50; using heap 192 MiB of 256 MiB available"));
+    }
+
+    /**
+     * Verifies that a configured memory reserve replaces the default one and
+     * that Tomcat still gets a heap when the reserve takes the whole limit.
+     */
+    @Test
+    void appliesMemoryReserve() {
+        ContainerResources resources = ContainerResources.of(1024 * MIB, 0).withMemoryReserve(768 * MIB);
+
+        assertEquals(OptionalLong.of(256 * MIB), resources.getAvailableMemory());
+        assertEquals(List.of("-Xmx192m"), resources.getJvmOptions(List.of()));
+
+        ContainerResources exhausted = ContainerResources.of(1024 * MIB, 0).withMemoryReserve(2048 * MIB);
+        assertEquals(OptionalLong.of(0), exhausted.getAvailableMemory());
+        assertEquals(List.of("-Xmx1m"), exhausted.getJvmOptions(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> resources.withMemoryReserve(-1));
+    }
+
+    /**
+     * Verifies that maxThreads stays within Tomcat's default and a sane
+     * minimum.
+     */
+    @Test
+    void clampsMaxThreads() {
+        assertEquals(OptionalLong.of(200), ContainerResources.of(64 * 1024 * MIB, 16).getMaxThreads());
+        assertEquals(OptionalLong.of(10), ContainerResources.of(64 * MIB, 0).getMaxThreads());
+        assertEquals(OptionalLong.of(50), ContainerResources.of(0, 0.25).getMaxThreads());
+    }
+
+    /**
+     * Verifies that configured options take precedence over derived ones.
+     */
+    @Test
+    void keepsConfiguredJvmOptions() {
+        ContainerResources resources = ContainerResources.of(1024 * MIB, 2);
+
+        assertEquals(List.of("-XX:ActiveProcessorCount=2"), resources.getJvmOptions(List.of("-Xmx256m")));
+        assertEquals(List.of("-XX:ActiveProcessorCount=2"),
+                resources.getJvmOptions(List.of("-XX:MaxRAMPercentage=75")));
+        assertEquals(List.of("-Xmx384m"), resources.getJvmOptions(List.of("-XX:ActiveProcessorCount=4")));
+    }
+}
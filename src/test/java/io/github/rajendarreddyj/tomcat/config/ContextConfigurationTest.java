@@ -0,0 +1,84 @@
+package io.github.rajendarreddyj.tomcat.config;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ContextConfiguration}.
+ *
+ * <p>
+ * Tests the validation of the resource cache settings and the attributes of
+ * the Resources, JarScanner and JarScanFilter elements.
+ *
+ * @author rajendarreddyj
+ * @see ContextConfiguration
+ */
+class ContextConfigurationTest {
+
+    /**
+     * Verifies that an empty configuration is valid and has no attributes.
+     */
+    @Test
+    void emptyConfigurationHasNoAttributes() {
+        ContextConfiguration context = new ContextConfiguration();
+
+        assertDoesNotThrow(context::validate);
+        assertTrue(context.getResourcesAttributes().isEmpty());
+        assertFalse(context.hasJarScanner());
+        assertTrue(context.getJarScanFilterAttributes().isEmpty());
+    }
+
+    /**
+     * Verifies that the cache settings become Resources attributes in a
+     * stable order, and the skipped jars extend the default skip lists.
+     */
+    @Test
+    void settingsBecomeAttributes() {
+        ContextConfiguration context = new ContextConfiguration();
+        context.setCacheTtl(60000L);
+        context.setCachingAllowed(true);
+        context.setCacheObjectMaxSize(1024);
+        context.setCacheMaxSize(102400L);
+        context.setJarsToSkip(List.of("spring-*.jar", " jackson-*.jar "));
+
+        assertDoesNotThrow(context::validate);
+        assertEquals(List.of("cachingAllowed", "cacheMaxSize", "cacheObjectMaxSize", "cacheTtl"),
+                List.copyOf(context.getResourcesAttributes().keySet()));
+        assertTrue(context.hasJarScanner());
+        String skip = ContextConfiguration.DEFAULT_JARS_TO_SKIP + ",spring-*.jar,jackson-*.jar";
+        assertEquals(Map.of("tldSkip", skip, "pluggabilitySkip", skip), context.getJarScanFilterAttributes());
+    }
+
+    /**
+     * Verifies that non-positive sizes, a negative TTL, objects larger than a
+     * twentieth of the cache and lists of jars in one entry are rejected.
+     */
+    @Test
+    void validateRejectsInvalidSettings() {
+        ContextConfiguration zeroSize = new ContextConfiguration();
+        zeroSize.setCacheMaxSize(0L);
+        assertThrows(IllegalArgumentException.class, zeroSize::validate);
+
+        ContextConfiguration negativeTtl = new ContextConfiguration();
+        negativeTtl.setCacheTtl(-1L);
+        assertThrows(IllegalArgumentException.class, negativeTtl::validate);
+
+        ContextConfiguration largeObject = new ContextConfiguration();
+        largeObject.setCacheObjectMaxSize(1024);
+        assertThrows(IllegalArgumentException.class, largeObject::validate);
+        largeObject.setCacheMaxSize(20480L);
+        assertDoesNotThrow(largeObject::validate);
+
+        ContextConfiguration jarList = new ContextConfiguration();
+        jarList.setJarsToSkip(List.of("a.jar,b.jar"));
+        assertThrows(IllegalArgumentException.class, jarList::validate);
+    }
+}
@@ -0,0 +1,98 @@
+package io.github.rajendarreddyj.tomcat.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ExecutorConfiguration}.
+ *
+ * <p>
+ * Tests validation of the executor settings and their rendering as attributes
+ * of a platform or virtual thread executor.
+ *
+ * @author rajendarreddyj
+ * @see ExecutorConfiguration
+ */
+class ExecutorConfigurationTest {
+
+    /**
+     * Verifies that an empty configuration renders a platform thread pool with
+     * the default name and thread name prefix.
+     */
+    @Test
+    void emptyConfigurationRendersDefaultPool() {
+        assertEquals(Map.of("name", ExecutorConfiguration.DEFAULT_NAME, "namePrefix", "catalina-exec-"),
+                new ExecutorConfiguration().toAttributes(TomcatVersion.TOMCAT_10_1));
+    }
+
+    /**
+     * Verifies that pool settings are rendered in a stable order.
+     */
+    @Test
+    void toAttributesRendersPoolSettings() {
+        ExecutorConfiguration executor = new ExecutorConfiguration();
+        executor.setName("appPool");
+        executor.setMaxThreads(400);
+        executor.setMinSpareThreads(25);
+        executor.setMaxIdleTime(60000);
+        executor.setMaxQueueSize(1000);
+
+        Map<String, String> attributes = executor.toAttributes(TomcatVersion.TOMCAT_10_1);
+
+        assertEquals(List.of("name", "namePrefix", "maxThreads", "minSpareThreads", "maxIdleTime", "maxQueueSize"),
+                List.copyOf(attributes.keySet()));
+        assertEquals("appPool", attributes.get("name"));
+        assertEquals("400", attributes.get("maxThreads"));
+    }
+
+    /**
+     * Verifies that virtual threads use the virtual thread executor and leave
+     * out the pool settings.
+     */
+    @Test
+    void toAttributesRendersVirtualThreadExecutor() {
+        ExecutorConfiguration executor = new ExecutorConfiguration();
+        executor.setVirtualThreads(true);
+        executor.setMaxThreads(400);
+
+        assertTrue(executor.hasPoolSettings());
+        assertEquals(Map.of("name", ExecutorConfiguration.DEFAULT_NAME,
+                "className", ExecutorConfiguration.VIRTUAL_THREAD_EXECUTOR, "namePrefix", "catalina-virt-"),
+                executor.toAttributes(TomcatVersion.TOMCAT_11));
+    }
+
+    /**
+     * Verifies that virtual threads are rejected before Tomcat 11.
+     */
+    @Test
+    void validateRejectsVirtualThreadsBeforeTomcat11() {
+        ExecutorConfiguration executor = new ExecutorConfiguration();
+        executor.setVirtualThreads(true);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> executor.validate(TomcatVersion.TOMCAT_10_1));
+
+        assertTrue(e.getMessage().contains("Tomcat 11"));
+    }
+
+    /**
+     * Verifies that invalid pool settings and names are rejected.
+     */
+    @Test
+    void validateRejectsInvalidSettings() {
+        ExecutorConfiguration executor = new ExecutorConfiguration();
+        executor.setMaxThreads(10);
+        executor.setMinSpareThreads(20);
+        assertThrows(IllegalArgumentException.class, () -> executor.validate(TomcatVersion.TOMCAT_11));
+
+        ExecutorConfiguration named = new ExecutorConfiguration();
+        named.setName("my pool");
+        assertThrows(IllegalArgumentException.class, () -> named.validate(TomcatVersion.TOMCAT_11));
+    }
+}
@@ -0,0 +1,64 @@
+package io.github.rajendarreddyj.tomcat.config;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for {@link HttpsConfiguration}.
+ *
+ * <p>
+ * Tests the defaults and validation of the HTTPS settings.
+ *
+ * @author rajendarreddyj
+ * @see HttpsConfiguration
+ */
+class HttpsConfigurationTest {
+
+    /** Temporary directory for test artifacts. */
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Verifies that an empty configuration uses port 8443, HTTP/2 and the
+     * default keystore password.
+     */
+    @Test
+    void emptyConfigurationUsesDefaults() {
+        HttpsConfiguration https = new HttpsConfiguration();
+
+        assertEquals(HttpsConfiguration.DEFAULT_PORT, https.getPort());
+        assertTrue(https.isHttp2());
+        assertEquals(HttpsConfiguration.DEFAULT_KEYSTORE_PASSWORD, https.getKeystorePassword());
+        assertDoesNotThrow(() -> https.validate(8080));
+    }
+
+    /**
+     * Verifies that invalid ports, a missing keystore and a short password
+     * are rejected.
+     */
+    @Test
+    void validateRejectsInvalidSettings() {
+        HttpsConfiguration samePort = new HttpsConfiguration();
+        samePort.setPort(8080);
+        assertThrows(IllegalArgumentException.class, () -> samePort.validate(8080));
+
+        HttpsConfiguration outOfRange = new HttpsConfiguration();
+        outOfRange.setPort(70000);
+        assertThrows(IllegalArgumentException.class, () -> outOfRange.validate(8080));
+
+        HttpsConfiguration missingKeystore = new HttpsConfiguration();
+        missingKeystore.setKeystoreFile(tempDir.resolve("missing.p12").toFile());
+        assertThrows(IllegalArgumentException.class, () -> missingKeystore.validate(8080));
+
+        HttpsConfiguration shortPassword = new HttpsConfiguration();
+        shortPassword.setKeystorePassword("abc");
+        assertThrows(IllegalArgumentException.class, () -> shortPassword.validate(8080));
+    }
+}
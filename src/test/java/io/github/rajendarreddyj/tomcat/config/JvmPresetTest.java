@@ -0,0 +1,103 @@
+package io.github.rajendarreddyj.tomcat.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link JvmPreset}.
+ *
+ * <p>
+ * Tests preset lookup, the Java version dependent options and how presets
+ * combine with explicit JVM options.
+ *
+ * @author rajendarreddyj
+ * @see JvmPreset
+ */
+class JvmPresetTest {
+
+    /**
+     * Verifies that presets are found by their configuration name.
+     */
+    @Test
+    void fromNameFindsPresets() {
+        assertEquals(JvmPreset.FAST_STARTUP, JvmPreset.fromName("fast-startup"));
+        assertEquals(JvmPreset.THROUGHPUT, JvmPreset.fromName(" Throughput "));
+        assertEquals(JvmPreset.LOW_LATENCY, JvmPreset.fromName("low-latency"));
+    }
+
+    /**
+     * Verifies that an unknown name is rejected with the supported names.
+     */
+    @Test
+    void fromNameRejectsUnknownPreset() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> JvmPreset.fromName("turbo"));
+
+        assertTrue(e.getMessage().contains("turbo"));
+        assertTrue(e.getMessage().contains("fast-startup, throughput, low-latency"));
+    }
+
+    /**
+     * Verifies that only the fast-startup preset uses class data sharing.
+     */
+    @Test
+    void onlyFastStartupUsesClassDataSharing() {
+        assertTrue(JvmPreset.FAST_STARTUP.isClassDataSharing());
+        assertFalse(JvmPreset.THROUGHPUT.isClassDataSharing());
+        assertFalse(JvmPreset.LOW_LATENCY.isClassDataSharing());
+    }
+
+    /**
+     * Verifies that generational ZGC is enabled explicitly only on Java
+     * versions where it is not the default.
+     */
+    @Test
+    void lowLatencyEnablesGenerationalZgcOnJava21() {
+        assertEquals(List.of("-XX:+UseZGC", "-XX:+ZGenerational"), JvmPreset.LOW_LATENCY.getOptions(21));
+        assertEquals(List.of("-XX:+UseZGC"), JvmPreset.LOW_LATENCY.getOptions(25));
+    }
+
+    /**
+     * Verifies that explicit options follow the preset options.
+     */
+    @Test
+    void mergeAppendsExplicitOptions() {
+        assertEquals(List.of("-XX:TieredStopAtLevel=1", "-XX:+UseSerialGC", "-Dfoo=bar"),
+                JvmPreset.FAST_STARTUP.merge(List.of("-Dfoo=bar"), 21));
+        assertEquals(List.of("-XX:TieredStopAtLevel=1", "-XX:+UseSerialGC"),
+                JvmPreset.FAST_STARTUP.merge(null, 21));
+    }
+
+    /**
+     * Verifies that an explicit option replaces a preset option for the same
+     * flag or the garbage collector selection.
+     */
+    @Test
+    void mergeLetsExplicitOptionsWin() {
+        List<String> merged = JvmPreset.THROUGHPUT.merge(
+                List.of("-XX:+UseG1GC", "-XX:-AlwaysPreTouch", "-XX:MaxRAMPercentage=50"), 21);
+
+        assertEquals(List.of("-XX:InitialRAMPercentage=50", "-XX:+UseG1GC", "-XX:-AlwaysPreTouch",
+                "-XX:MaxRAMPercentage=50"), merged);
+    }
+
+    /**
+     * Verifies which options are treated as setting the same value.
+     */
+    @Test
+    void optionKeyGroupsConflictingOptions() {
+        assertEquals("gc", JvmPreset.optionKey("-XX:+UseZGC"));
+        assertEquals("gc", JvmPreset.optionKey("-XX:-UseSerialGC"));
+        assertEquals("-XX:TieredStopAtLevel", JvmPreset.optionKey("-XX:TieredStopAtLevel=4"));
+        assertEquals("-XX:AlwaysPreTouch", JvmPreset.optionKey("-XX:-AlwaysPreTouch"));
+        assertEquals("-Dfoo", JvmPreset.optionKey("-Dfoo=bar"));
+        assertEquals("-Xmx", JvmPreset.optionKey("-Xmx2g"));
+        assertEquals("-verbose:gc", JvmPreset.optionKey("-verbose:gc"));
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.rajendarreddyj.tomcat.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for {@link SelfSignedKeystore}.
+ *
+ * <p>
+ * Tests keystore generation with the keytool of the running JDK, its reuse
+ * and the subject alternative names of the certificate.
+ *
+ * @author rajendarreddyj
+ * @see SelfSignedKeystore
+ */
+class SelfSignedKeystoreTest {
+
+    /** Temporary directory for the generated keystores. */
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Verifies that a keystore is generated once and then reused while its
+     * certificate is valid.
+     *
+     * @throws IOException if keytool fails
+     */
+    @Test
+    void createIfMissingGeneratesAndReusesKeystore() throws IOException {
+        Path javaHome = Path.of(System.getProperty("java.home"));
+        Path keystore = tempDir.resolve("conf").resolve(SelfSignedKeystore.FILE_NAME);
+
+        assertTrue(SelfSignedKeystore.createIfMissing(javaHome, keystore, "changeit", "localhost"));
+        assertTrue(SelfSignedKeystore.isValid(keystore, "changeit"));
+        assertFalse(SelfSignedKeystore.isValid(keystore, "wrong-password"));
+        assertFalse(SelfSignedKeystore.createIfMissing(javaHome, keystore, "changeit", "localhost"));
+    }
+
+    /**
+     * Verifies that a keystore that cannot be read is replaced.
+     *
+     * @throws IOException if keytool fails
+     */
+    @Test
+    void createIfMissingReplacesUnreadableKeystore() throws IOException {
+        Path keystore = tempDir.resolve(SelfSignedKeystore.FILE_NAME);
+        Files.writeString(keystore, "not a keystore");
+
+        assertTrue(SelfSignedKeystore.createIfMissing(Path.of(System.getProperty("java.home")), keystore,
+                "changeit", null));
+        assertTrue(SelfSignedKeystore.isValid(keystore, "changeit"));
+    }
+
+    /**
+     * Verifies that the certificate covers localhost, the loopback addresses
+     * and a custom host name or address.
+     */
+    @Test
+    void subjectAlternativeNamesIncludeHost() {
+        assertEquals("dns:localhost,ip:127.0.0.1,ip:::1", SelfSignedKeystore.subjectAlternativeNames(null));
+        assertEquals("dns:localhost,ip:127.0.0.1,ip:::1", SelfSignedKeystore.subjectAlternativeNames("0.0.0.0"));
+        assertEquals("dns:localhost,ip:127.0.0.1,ip:::1,dns:dev.example.com",
+                SelfSignedKeystore.subjectAlternativeNames("Dev.Example.com"));
+        assertEquals("dns:localhost,ip:127.0.0.1,ip:::1,ip:192.168.1.5",
+                SelfSignedKeystore.subjectAlternativeNames("192.168.1.5"));
+    }
+
+    /**
+     * Verifies that the keytool command creates an RSA key pair in a PKCS12
+     * keystore.
+     */
+    @Test
+    void keytoolCommandUsesPkcs12() {
+        List<String> command = SelfSignedKeystore.keytoolCommand(Path.of("/jdk"), tempDir.resolve("ks.p12"),
+                "changeit", "localhost");
+
+        assertTrue(command.get(0).startsWith(Path.of("/jdk", "bin", "keytool").toString()));
+        assertEquals("PKCS12", command.get(command.indexOf("-storetype") + 1));
+        assertEquals("RSA", command.get(command.indexOf("-keyalg") + 1));
+    }
+}
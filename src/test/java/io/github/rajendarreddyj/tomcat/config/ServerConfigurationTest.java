@@ -1,6 +1,7 @@
 package io.github.rajendarreddyj.tomcat.config;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -53,6 +54,7 @@ class ServerConfigurationTest {
                 .startupTimeout(60000)
                 .shutdownTimeout(15000)
                 .classpathAdditions(List.of("/extra.jar"))
+                .mirrorOutput(true)
                 .build();
 
         assertEquals(Path.of("/tomcat"), config.getCatalinaHome());
@@ -65,6 +67,7 @@ class ServerConfigurationTest {
         assertEquals(60000, config.getStartupTimeout());
         assertEquals(15000, config.getShutdownTimeout());
         assertEquals(List.of("/extra.jar"), config.getClasspathAdditions());
+        assertTrue(config.isMirrorOutput());
     }
 
     /**
@@ -84,6 +87,7 @@ class ServerConfigurationTest {
         assertEquals(120000, config.getStartupTimeout());
         assertEquals(30000, config.getShutdownTimeout());
         assertTrue(config.getClasspathAdditions().isEmpty());
+        assertFalse(config.isMirrorOutput());
     }
 
     /**
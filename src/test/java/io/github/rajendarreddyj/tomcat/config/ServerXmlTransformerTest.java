@@ -0,0 +1,216 @@
+package io.github.rajendarreddyj.tomcat.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ServerXmlTransformer}.
+ *
+ * <p>
+ * Tests attribute rewriting, commenting out and inserting elements, and that
+ * everything not edited keeps its exact text.
+ *
+ * @author rajendarreddyj
+ * @see ServerXmlTransformer
+ */
+class ServerXmlTransformerTest {
+
+    /** A server.xml with comments, multi-line tags and mixed quoting. */
+    private static final String SERVER_XML = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <!-- Licensed to the Apache Software Foundation -->
+            <Server port="8005" shutdown="SHUTDOWN">
+              <Service name="Catalina">
+                <!-- <Connector port="8080" protocol="HTTP/1.1" /> -->
+                <Connector port="8080" protocol="HTTP/1.1"
+                           connectionTimeout='20000'
+                           redirectPort="8443" />
+                <Connector protocol="AJP/1.3" port="8009" secret="a>b" />
+                <Engine name="Catalina" defaultHost="localhost">
+                  <Host name="localhost"  appBase="webapps">
+                  </Host>
+                </Engine>
+              </Service>
+            </Server>
+            """;
+
+    /**
+     * Verifies that a document is returned unchanged without rules.
+     *
+     * @throws IOException if the transformation fails
+     */
+    @Test
+    void transformWithoutRulesKeepsDocument() throws IOException {
+        assertEquals(SERVER_XML, new ServerXmlTransformer().transform(SERVER_XML));
+        String crlf = SERVER_XML.replace("\n", "\r\n");
+        assertEquals(crlf, new ServerXmlTransformer().transform(crlf));
+    }
+
+    /**
+     * Verifies that attribute values are replaced in place, keeping line
+     * breaks and quotes, and that new attributes follow the last one.
+     *
+     * @throws IOException if the transformation fails
+     */
+    @Test
+    void setAttributesKeepsFormatting() throws IOException {
+        String result = new ServerXmlTransformer()
+                .setAttributes(ServerXmlTransformer.CONNECTOR_PATH, ServerXmlTransformer.HTTP_CONNECTOR,
+                        Map.of("connectionTimeout", "5000", "maxThreads", "50"))
+                .transform(SERVER_XML);
+
+        assertEquals(SERVER_XML
+                .replace("connectionTimeout='20000'", "connectionTimeout='5000'")
+                .replace("redirectPort=\"8443\" />", "redirectPort=\"8443\" maxThreads=\"50\" />"), result);
+    }
+
+    /**
+     * Verifies that attributes are only added when missing with
+     * setAttributesIfAbsent, and that values are escaped.
+     *
+     * @throws IOException if the transformation fails
+     */
+    @Test
+    void setAttributesIfAbsentSkipsExistingAttributes() throws IOException {
+        String result = new ServerXmlTransformer()
+                .setAttributesIfAbsent("Server", ServerXmlTransformer.ANY,
+                        Map.of("port", "-1", "address", "a&\"b"))
+                .transform(SERVER_XML);
+
+        assertEquals(SERVER_XML.replace("shutdown=\"SHUTDOWN\">",
+                "shutdown=\"SHUTDOWN\" address=\"a&amp;&quot;b\">"), result);
+    }
+
+    /**
+     * Verifies that elements are commented out, including a '>' in an
+     * attribute value, while elements in existing comments are not matched.
+     *
+     * @throws IOException if the transformation fails
+     */
+    @Test
+    void commentOutReplacesElementOnly() throws IOException {
+        String result = new ServerXmlTransformer()
+                .commentOut(ServerXmlTransformer.CONNECTOR_PATH, ServerXmlTransformer.AJP_CONNECTOR, "Disabled")
+                .setAttributes(ServerXmlTransformer.CONNECTOR_PATH, attributes -> true, Map.of("x", "1"))
+                .transform(SERVER_XML);
+
+        String expected = SERVER_XML
+                .replace("<Connector protocol=\"AJP/1.3\" port=\"8009\" secret=\"a>b\" />",
+                        "<!-- Disabled: <Connector protocol=\"AJP/1.3\" port=\"8009\" secret=\"a>b\" /> -->")
+                .replace("redirectPort=\"8443\" />", "redirectPort=\"8443\" x=\"1\" />");
+        assertEquals(expected, result);
+    }
+
+    /**
+     * Verifies that prepended and appended children are indented like their
+     * siblings, and that self-closing parents are expanded.
+     *
+     * @throws IOException if the transformation fails
+     */
+    @Test
+    void insertsChildrenWithIndentation() throws IOException {
+        String result = new ServerXmlTransformer()
+                .prependChild("Server/Service", ServerXmlTransformer.ANY, "<Executor name=\"pool\" />")
+                .prependChild("Server/Service", ServerXmlTransformer.ANY, "<Executor name=\"other\" />")
+                .appendChild("Server/Service/Engine/Host", ServerXmlTransformer.ANY,
+                        "<Valve a=\"1\">\n  <b/>\n</Valve>")
+                .appendChild(ServerXmlTransformer.CONNECTOR_PATH, ServerXmlTransformer.HTTP_CONNECTOR,
+                        "<UpgradeProtocol />")
+                .transform(SERVER_XML);
+
+        String expected = SERVER_XML
+                .replace("  <Service name=\"Catalina\">\n",
+                        "  <Service name=\"Catalina\">\n    <Executor name=\"pool\" />\n"
+                                + "    <Executor name=\"other\" />\n")
+                .replace("      </Host>\n",
+                        "        <Valve a=\"1\">\n          <b/>\n        </Valve>\n      </Host>\n")
+                .replace("redirectPort=\"8443\" />\n",
+                        "redirectPort=\"8443\">\n      <UpgradeProtocol />\n    </Connector>\n");
+        assertEquals(expected, result);
+    }
+
+    /**
+     * Verifies that inserted lines use the document's line separator.
+     *
+     * @throws IOException if the transformation fails
+     */
+    @Test
+    void insertsWithDocumentLineSeparator() throws IOException {
+        String crlf = "<Server>\r\n  <Service>\r\n  </Service>\r\n</Server>\r\n";
+
+        String result = new ServerXmlTransformer()
+                .appendChild("Server/Service", ServerXmlTransformer.ANY, "<Executor />")
+                .transform(crlf);
+
+        assertEquals("<Server>\r\n  <Service>\r\n    <Executor />\r\n  </Service>\r\n</Server>\r\n", result);
+    }
+
+    /**
+     * Verifies that tags are located correctly in documents larger than the
+     * parser's read buffer.
+     *
+     * @throws IOException if the transformation fails
+     */
+    @Test
+    void transformsLargeDocuments() throws IOException {
+        StringBuilder xml = new StringBuilder("<Server>\n");
+        for (int i = 0; i < 2000; i++) {
+            xml.append("  <!-- connector ").append(i).append(" é -->\n  <Connector port=\"").append(i)
+                    .append("\" note=\"&amp;&lt;\"/>\n");
+        }
+        xml.append("</Server>\n");
+
+        String result = new ServerXmlTransformer()
+                .setAttributes("Server/Connector", attributes -> "1999".equals(attributes.get("port")),
+                        Map.of("port", "9090"))
+                .transform(xml.toString());
+
+        assertEquals(xml.toString().replace("port=\"1999\"", "port=\"9090\""), result);
+    }
+
+    /**
+     * Verifies that find returns decoded attributes of matching elements
+     * outside comments.
+     *
+     * @throws IOException if the document cannot be parsed
+     */
+    @Test
+    void findReturnsDecodedAttributes() throws IOException {
+        List<Map<String, String>> connectors = ServerXmlTransformer.find(SERVER_XML,
+                ServerXmlTransformer.CONNECTOR_PATH, ServerXmlTransformer.ANY);
+
+        assertEquals(2, connectors.size());
+        assertEquals("8080", connectors.get(0).get("port"));
+        assertEquals("a>b", connectors.get(1).get("secret"));
+    }
+
+    /**
+     * Verifies that element creates an empty element with escaped attributes in
+     * order.
+     */
+    @Test
+    void elementEscapesAttributes() {
+        Map<String, String> attributes = new LinkedHashMap<>();
+        attributes.put("name", "pool");
+        attributes.put("note", "a<\"b");
+
+        assertEquals("<Executor name=\"pool\" note=\"a&lt;&quot;b\" />",
+                ServerXmlTransformer.element("Executor", attributes));
+        assertEquals("<Executor />", ServerXmlTransformer.element("Executor", Map.of()));
+    }
+
+    /**
+     * Verifies that a document that is not well-formed is rejected.
+     */
+    @Test
+    void transformRejectsInvalidXml() {
+        assertThrows(IOException.class, () -> new ServerXmlTransformer().transform("<Server><Service></Server>"));
+    }
+}
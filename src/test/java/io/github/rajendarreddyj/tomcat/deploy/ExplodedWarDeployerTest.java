@@ -10,6 +10,7 @@ import static org.mockito.Mockito.verify;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 
 import org.apache.maven.plugin.logging.Log;
 import org.junit.jupiter.api.BeforeEach;
@@ -199,6 +200,82 @@ class ExplodedWarDeployerTest {
         assertTrue(Files.isDirectory(webappsDir.resolve("custom-name")));
     }
 
+    /**
+     * Verifies that undeploy removes the deployed webapp.
+     *
+     * @throws IOException if file operations fail
+     */
+    @Test
+    void undeployRemovesDeployment() throws IOException {
+        DeployableConfiguration config = createConfig("/myapp");
+        deployer.deploy(config);
+
+        deployer.undeploy(config);
+
+        assertFalse(Files.exists(webappsDir.resolve("myapp")));
+        assertTrue(Files.exists(sourceDir));
+    }
+
+    /**
+     * Verifies that sync copies changed files and deletes removed ones.
+     *
+     * @throws IOException if file operations fail
+     */
+    @Test
+    void syncCopiesChangesAndDeletesRemovedFiles() throws IOException {
+        DeployableConfiguration config = createConfig("/myapp");
+        deployer.deploy(config);
+        Path target = webappsDir.resolve("myapp");
+
+        Files.writeString(sourceDir.resolve("index.html"), "<html>Changed content</html>");
+        Files.delete(sourceDir.resolve("js").resolve("app.js"));
+        Files.writeString(sourceDir.resolve("new.html"), "<html>New</html>");
+
+        int changes = deployer.sync(config);
+
+        assertEquals(3, changes);
+        assertEquals("<html>Changed content</html>", Files.readString(target.resolve("index.html")));
+        assertTrue(Files.exists(target.resolve("new.html")));
+        assertFalse(Files.exists(target.resolve("js").resolve("app.js")));
+        assertEquals(0, deployer.sync(config));
+    }
+
+    /**
+     * Verifies that sync touches web.xml when classes change so Tomcat reloads
+     * the context.
+     *
+     * @throws IOException if file operations fail
+     */
+    @Test
+    void syncTouchesWebXmlWhenClassesChange() throws IOException {
+        DeployableConfiguration config = createConfig("/myapp");
+        deployer.deploy(config);
+        Path webXml = webappsDir.resolve("myapp").resolve("WEB-INF").resolve("web.xml");
+        Files.setLastModifiedTime(webXml, FileTime.fromMillis(0));
+
+        Path classes = sourceDir.resolve("WEB-INF").resolve("classes");
+        Files.createDirectories(classes);
+        Files.writeString(classes.resolve("App.class"), "bytecode");
+
+        deployer.sync(config);
+
+        assertTrue(Files.getLastModifiedTime(webXml).toMillis() > 0);
+    }
+
+    /**
+     * Verifies that sync deploys the webapp when it is not deployed yet.
+     *
+     * @throws IOException if file operations fail
+     */
+    @Test
+    void syncDeploysWhenNotDeployed() throws IOException {
+        DeployableConfiguration config = createConfig("/myapp");
+
+        deployer.sync(config);
+
+        assertTrue(Files.exists(webappsDir.resolve("myapp").resolve("index.html")));
+    }
+
     /**
      * Verifies that redeploy removes existing deployment and recreates it.
      *
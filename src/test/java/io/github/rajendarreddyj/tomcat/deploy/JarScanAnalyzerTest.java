@@ -0,0 +1,187 @@
+package io.github.rajendarreddyj.tomcat.deploy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for {@link JarScanAnalyzer}.
+ *
+ * <p>
+ * Tests the detection of jars that Tomcat has to scan, the skip list written
+ * to catalina.properties, the result cache and the report.
+ *
+ * @author rajendarreddyj
+ * @see JarScanAnalyzer
+ */
+class JarScanAnalyzerTest {
+
+    /** Temporary directory for test artifacts. */
+    @TempDir
+    Path tempDir;
+
+    /** The WEB-INF/lib directory of the test webapp. */
+    private Path libDir;
+
+    /** The catalina.properties of the test CATALINA_HOME. */
+    private Path catalinaProperties;
+
+    /**
+     * Creates a lib directory with one jar per reason for scanning, a plain
+     * jar, a jar without classes and a jar that catalina.properties already
+     * skips.
+     *
+     * @throws IOException if the jars cannot be written
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        libDir = Files.createDirectories(tempDir.resolve("WEB-INF").resolve("lib"));
+        writeJar("taglib.jar", Map.of("META-INF/c.tld", "<taglib/>"));
+        writeJar("fragment.jar", Map.of("META-INF/web-fragment.xml", "<web-fragment/>"));
+        writeJar("initializer.jar", Map.of(
+                "META-INF/services/jakarta.servlet.ServletContainerInitializer", "com.example.Init"));
+        writeJar("webjar.jar", Map.of("META-INF/resources/app.js", "alert(1)"));
+        writeJar("servlet.jar", Map.of("com/example/Hello.class",
+                "CAFEBABELjakarta/servlet/annotation/WebServlet;"));
+        writeJar("plain.jar", Map.of("com/example/Util.class", "CAFEBABELjava/lang/Object;"));
+        writeJar("config.jar", Map.of("config/app.properties", "name=app"));
+        writeJar("commons-lang3-3.14.jar", Map.of("org/Util.class", "CAFEBABE"));
+        catalinaProperties = tempDir.resolve("catalina.properties");
+        Files.writeString(catalinaProperties, """
+                # Default skip list
+                tomcat.util.scan.StandardJarScanFilter.jarsToSkip=\\
+                annotations-api.jar,\\
+                commons-lang3-*.jar
+                """);
+    }
+
+    /**
+     * Verifies that each reason for scanning is detected, that jars with
+     * classes are scanned for the initializer's {@code @HandlesTypes}, and
+     * that only jars without classes that are not skipped yet are returned.
+     *
+     * @throws IOException if the jars cannot be read
+     */
+    @Test
+    void analyzeFindsJarsToScan() throws IOException {
+        JarScanAnalyzer analyzer = JarScanAnalyzer.analyze(libDir, catalinaProperties, tempDir.resolve("cache"));
+
+        assertEquals(Map.of(
+                "fragment.jar", List.of(JarScanAnalyzer.WEB_FRAGMENT),
+                "initializer.jar", List.of(JarScanAnalyzer.INITIALIZER),
+                "plain.jar", List.of(JarScanAnalyzer.HANDLES_TYPES),
+                "servlet.jar", List.of(JarScanAnalyzer.ANNOTATIONS),
+                "taglib.jar", List.of(JarScanAnalyzer.TLD),
+                "webjar.jar", List.of(JarScanAnalyzer.RESOURCES)), analyzer.getJarsToScan());
+        assertEquals(List.of("config.jar"), analyzer.getJarsToSkip());
+        assertEquals(List.of("initializer.jar"), analyzer.getInitializers());
+
+        List<String> report = analyzer.toText();
+        assertTrue(report.get(0).startsWith("Jar scan analysis of 8 jars in "));
+        assertTrue(report.get(1).startsWith("  Before: 7 jars scanned ("));
+        assertTrue(report.get(2).startsWith("  After:  6 jars scanned ("));
+        assertTrue(report.get(2).endsWith("), 1 added to jarsToSkip"));
+        assertTrue(report.contains("  Scanned: taglib.jar (TLD)"));
+    }
+
+    /**
+     * Verifies that jars with classes are skipped when no jar declares a
+     * ServletContainerInitializer.
+     *
+     * @throws IOException if the jars cannot be read
+     */
+    @Test
+    void analyzeSkipsJarsWithClassesWithoutInitializer() throws IOException {
+        Files.delete(libDir.resolve("initializer.jar"));
+
+        JarScanAnalyzer analyzer = JarScanAnalyzer.analyze(libDir, catalinaProperties, tempDir.resolve("cache"));
+
+        assertEquals(List.of("config.jar", "plain.jar"), analyzer.getJarsToSkip());
+        assertTrue(analyzer.getInitializers().isEmpty());
+    }
+
+    /**
+     * Verifies that cached results are used for unchanged jars, and that a
+     * changed jar is read again.
+     *
+     * @throws IOException if the jars cannot be read
+     */
+    @Test
+    void analyzeCachesResultPerJar() throws IOException {
+        Path cache = tempDir.resolve("target").resolve("cache");
+        JarScanAnalyzer.analyze(libDir, catalinaProperties, cache);
+        assertTrue(Files.readString(cache).contains("taglib.jar\t"));
+
+        // A stale cache entry for an unchanged jar is trusted
+        Files.writeString(cache, Files.readString(cache).replaceAll("(config\\.jar\t\\d+\t\\d+)\t", "$1\tTLD"));
+        JarScanAnalyzer cached = JarScanAnalyzer.analyze(libDir, catalinaProperties, cache);
+        assertEquals(List.of(JarScanAnalyzer.TLD), cached.getJarsToScan().get("config.jar"));
+
+        writeJar("config.jar", Map.of("config/app.properties", "name=changed"));
+        Path config = libDir.resolve("config.jar");
+        Files.setLastModifiedTime(config,
+                FileTime.fromMillis(Files.getLastModifiedTime(config).toMillis() + 10_000));
+        JarScanAnalyzer changed = JarScanAnalyzer.analyze(libDir, catalinaProperties, cache);
+        assertEquals(List.of("config.jar"), changed.getJarsToSkip());
+    }
+
+    /**
+     * Verifies that the jars are appended to the existing skip list, which
+     * then overrides the earlier definition.
+     *
+     * @throws IOException if the file cannot be read or written
+     */
+    @Test
+    void writeJarsToSkipExtendsSkipList() throws IOException {
+        JarScanAnalyzer.writeJarsToSkip(catalinaProperties, List.of("plain.jar", "other-*.jar"));
+
+        String content = Files.readString(catalinaProperties);
+        assertTrue(content.startsWith("# Default skip list\n"));
+        assertEquals(List.of("annotations-api.jar", "commons-lang3-*.jar", "plain.jar", "other-*.jar"),
+                JarScanAnalyzer.readJarsToSkip(catalinaProperties));
+    }
+
+    /**
+     * Verifies that jar name patterns match like Tomcat's, with {@code *} and
+     * {@code ?} as the only wildcards.
+     */
+    @Test
+    void globMatchesWildcards() {
+        assertTrue(JarScanAnalyzer.glob("commons-lang3-*.jar").matcher("commons-lang3-3.14.jar").matches());
+        assertTrue(JarScanAnalyzer.glob("a?.jar").matcher("ab.jar").matches());
+        assertFalse(JarScanAnalyzer.glob("a.jar").matcher("abjar").matches());
+    }
+
+    /**
+     * Writes a jar with the given entries into the lib directory.
+     *
+     * @param name    the jar file name
+     * @param entries the entry contents by name, written as ISO 8859-1
+     * @throws IOException if the jar cannot be written
+     */
+    private void writeJar(String name, Map<String, String> entries) throws IOException {
+        try (OutputStream out = Files.newOutputStream(libDir.resolve(name));
+                ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                zip.putNextEntry(new ZipEntry(entry.getKey()));
+                zip.write(entry.getValue().getBytes(StandardCharsets.ISO_8859_1));
+                zip.closeEntry();
+            }
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package io.github.rajendarreddyj.tomcat.lifecycle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.apache.maven.plugin.logging.Log;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+/**
+ * Unit tests for {@link ClassDataSharingArchive}.
+ *
+ * <p>
+ * Tests cache key derivation, archive location and the JVM options used for
+ * training and reusing the archive.
+ *
+ * @author rajendarreddyj
+ * @see ClassDataSharingArchive
+ */
+class ClassDataSharingArchiveTest {
+
+    /**
+     * Temporary directory for test artifacts, cleaned up automatically after each
+     * test.
+     */
+    @TempDir
+    Path tempDir;
+
+    /** Mock Maven logger for testing. */
+    @Mock
+    private Log log;
+
+    /** Path to the mock JDK installation. */
+    private Path javaHome;
+
+    /**
+     * Sets up a mock JDK with a release file.
+     *
+     * @throws IOException if setup fails
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        MockitoAnnotations.openMocks(this);
+        javaHome = createJdk("jdk21", "21.0.1", "21.0.1+12-LTS");
+    }
+
+    /**
+     * Verifies that the first run trains the archive.
+     *
+     * @throws IOException if file operations fail
+     */
+    @Test
+    void jvmOptionsTrainArchiveWhenMissing() throws IOException {
+        ClassDataSharingArchive archive = newArchive("10.1.52", javaHome, null);
+
+        List<String> options = archive.getJvmOptions(log);
+
+        assertEquals(List.of("-XX:ArchiveClassesAtExit=" + archive.getArchiveFile()), options);
+        assertTrue(Files.isDirectory(archive.getArchiveFile().getParent()));
+        assertFalse(archive.isAvailable());
+    }
+
+    /**
+     * Verifies that an existing archive is reused.
+     *
+     * @throws IOException if file operations fail
+     */
+    @Test
+    void jvmOptionsReuseExistingArchive() throws IOException {
+        ClassDataSharingArchive archive = newArchive("10.1.52", javaHome, null);
+        Files.createDirectories(archive.getArchiveFile().getParent());
+        Files.writeString(archive.getArchiveFile(), "archive");
+
+        List<String> options = archive.getJvmOptions(log);
+
+        assertTrue(archive.isAvailable());
+        assertEquals(List.of("-XX:SharedArchiveFile=" + archive.getArchiveFile()), options);
+    }
+
+    /**
+     * Verifies that an empty archive file left by an interrupted training run is
+     * not used.
+     *
+     * @throws IOException if file operations fail
+     */
+    @Test
+    void emptyArchiveIsRetrained() throws IOException {
+        ClassDataSharingArchive archive = newArchive("10.1.52", javaHome, null);
+        Files.createDirectories(archive.getArchiveFile().getParent());
+        Files.createFile(archive.getArchiveFile());
+
+        List<String> options = archive.getJvmOptions(log);
+
+        assertTrue(options.get(0).startsWith("-XX:ArchiveClassesAtExit="));
+    }
+
+    /**
+     * Verifies that the archive is skipped for JDKs without dynamic archiving.
+     *
+     * @throws IOException if file operations fail
+     */
+    @Test
+    void jvmOptionsEmptyForOldJdk() throws IOException {
+        Path jdk11 = createJdk("jdk11", "11.0.21", "11.0.21+9");
+        ClassDataSharingArchive archive = newArchive("10.1.52", jdk11, null);
+
+        assertTrue(archive.getJvmOptions(log).isEmpty());
+        verify(log).warn(anyString());
+    }
+
+    /**
+     * Verifies that the cache key changes with the Tomcat version.
+     */
+    @Test
+    void cacheKeyCoversTomcatVersion() {
+        String a = newArchive("10.1.52", javaHome, null).getCacheKey();
+        String b = newArchive("11.0.5", javaHome, null).getCacheKey();
+
+        assertNotEquals(a, b);
+    }
+
+    /**
+     * Verifies that the cache key changes with the JDK build.
+     *
+     * @throws IOException if file operations fail
+     */
+    @Test
+    void cacheKeyCoversJdkBuild() throws IOException {
+        Path otherBuild = createJdk("jdk21-other", "21.0.1", "21.0.1+12-LTS");
+        Files.writeString(otherBuild.resolve("release"),
+                "JAVA_VERSION=\"21.0.2\"\nJAVA_RUNTIME_VERSION=\"21.0.2+13-LTS\"\n");
+
+        String a = newArchive("10.1.52", javaHome, null).getCacheKey();
+        String b = newArchive("10.1.52", otherBuild, null).getCacheKey();
+
+        assertNotEquals(a, b);
+    }
+
+    /**
+     * Verifies that the cache key changes when a classpath addition is rebuilt.
+     *
+     * @throws IOException if file operations fail
+     */
+    @Test
+    void cacheKeyCoversClasspathAdditions() throws IOException {
+        Path jar = tempDir.resolve("extra.jar");
+        Files.writeString(jar, "v1");
+
+        String without = newArchive("10.1.52", javaHome, null).getCacheKey();
+        String withJar = newArchive("10.1.52", javaHome, List.of(jar.toString())).getCacheKey();
+        Files.writeString(jar, "version 2");
+        String rebuilt = newArchive("10.1.52", javaHome, List.of(jar.toString())).getCacheKey();
+
+        assertNotEquals(without, withJar);
+        assertNotEquals(withJar, rebuilt);
+    }
+
+    /**
+     * Verifies that the cache key is stable for identical inputs.
+     */
+    @Test
+    void cacheKeyIsStable() {
+        List<String> cp = List.of(tempDir.resolve("missing.jar").toString());
+
+        assertEquals(newArchive("10.1.52", javaHome, cp).getCacheKey(),
+                newArchive("10.1.52", javaHome, cp).getCacheKey());
+    }
+
+    /**
+     * Verifies that archives are stored per Tomcat version in the cache
+     * directory.
+     */
+    @Test
+    void archiveFileIsUnderCacheDir() {
+        Path file = newArchive("10.1.52", javaHome, null).getArchiveFile();
+
+        assertEquals(tempDir.resolve("cache").resolve("cds").resolve("10.1.52"), file.getParent());
+        assertTrue(file.getFileName().toString().endsWith(".jsa"));
+    }
+
+    /**
+     * Creates a ClassDataSharingArchive for the test cache directory.
+     *
+     * @param tomcatVersion      the Tomcat version
+     * @param jdk                the JDK home
+     * @param classpathAdditions the classpath additions
+     * @return the archive
+     */
+    private ClassDataSharingArchive newArchive(String tomcatVersion, Path jdk, List<String> classpathAdditions) {
+        return new ClassDataSharingArchive(tempDir.resolve("cache"), tomcatVersion, JavaRuntime.of(jdk),
+                classpathAdditions);
+    }
+
+    /**
+     * Creates a mock JDK directory with a release file.
+     *
+     * @param name           the directory name
+     * @param javaVersion    the JAVA_VERSION value
+     * @param runtimeVersion the JAVA_RUNTIME_VERSION value
+     * @return the JDK home
+     * @throws IOException if file operations fail
+     */
+    private Path createJdk(String name, String javaVersion, String runtimeVersion) throws IOException {
+        Path home = tempDir.resolve(name);
+        Files.createDirectories(home);
+        Files.writeString(home.resolve("release"),
+                "JAVA_VERSION=\"" + javaVersion + "\"\nJAVA_RUNTIME_VERSION=\"" + runtimeVersion + "\"\n");
+        return home;
+    }
+}
@@ -0,0 +1,215 @@
+package io.github.rajendarreddyj.tomcat.lifecycle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.apache.maven.plugin.logging.Log;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import io.github.rajendarreddyj.tomcat.config.ServerConfiguration;
+
+/**
+ * Unit tests for {@link CracCheckpoint}.
+ *
+ * <p>
+ * Tests CRaC capability detection, checkpoint image location and the commands
+ * used for checkpointing and restoring.
+ *
+ * @author rajendarreddyj
+ * @see CracCheckpoint
+ */
+class CracCheckpointTest {
+
+    /**
+     * Temporary directory for test artifacts, cleaned up automatically after each
+     * test.
+     */
+    @TempDir
+    Path tempDir;
+
+    /** Mock Maven logger for testing. */
+    @Mock
+    private Log log;
+
+    /** The JDK description used by the tests. */
+    private JavaRuntime javaRuntime;
+
+    /**
+     * Sets up the test environment before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        javaRuntime = JavaRuntime.of(null);
+    }
+
+    /**
+     * Verifies that a JDK without a java binary is not CRaC-capable.
+     */
+    @Test
+    void isSupportedReturnsFalseWithoutJavaBinary() {
+        assertFalse(CracCheckpoint.isSupported(JavaRuntime.of(tempDir)));
+    }
+
+    /**
+     * Verifies that the probe result matches the JDK's CRaC option support.
+     * Standard JDK builds reject the CRaC options.
+     */
+    @Test
+    void isSupportedMatchesCurrentJdk() {
+        boolean cracJdk = System.getProperty("java.vm.version", "").contains("crac")
+                || System.getProperty("java.vm.name", "").contains("CRaC");
+
+        assertEquals(cracJdk, CracCheckpoint.isSupported(javaRuntime));
+    }
+
+    /**
+     * Verifies that a missing or empty image directory is not a checkpoint.
+     *
+     * @throws IOException if file operations fail
+     */
+    @Test
+    void existsRequiresImageFiles() throws IOException {
+        CracCheckpoint checkpoint = new CracCheckpoint(tempDir.resolve("image"), javaRuntime);
+        assertFalse(checkpoint.exists());
+
+        checkpoint.getCheckpointOptions();
+        assertTrue(Files.isDirectory(checkpoint.getImageDir()));
+        assertFalse(checkpoint.exists());
+
+        Files.writeString(checkpoint.getImageDir().resolve("core-1.img"), "image");
+        assertTrue(checkpoint.exists());
+    }
+
+    /**
+     * Verifies that discard removes the image.
+     *
+     * @throws IOException if file operations fail
+     */
+    @Test
+    void discardDeletesImage() throws IOException {
+        CracCheckpoint checkpoint = new CracCheckpoint(tempDir.resolve("image"), javaRuntime);
+        Files.createDirectories(checkpoint.getImageDir().resolve("nested"));
+        Files.writeString(checkpoint.getImageDir().resolve("nested").resolve("core.img"), "image");
+
+        checkpoint.discard();
+
+        assertFalse(Files.exists(checkpoint.getImageDir()));
+    }
+
+    /**
+     * Verifies the checkpoint and restore command lines.
+     *
+     * @throws IOException if file operations fail
+     */
+    @Test
+    void commandsReferenceImageDir() throws IOException {
+        Path imageDir = tempDir.resolve("image");
+        CracCheckpoint checkpoint = new CracCheckpoint(imageDir, javaRuntime);
+
+        assertEquals(List.of("-XX:CRaCCheckpointTo=" + imageDir), checkpoint.getCheckpointOptions());
+        List<String> restore = checkpoint.getRestoreCommand();
+        assertTrue(restore.get(0).endsWith("java"));
+        assertEquals("-XX:CRaCRestoreFrom=" + imageDir, restore.get(1));
+    }
+
+    /**
+     * Verifies that the image location is under CATALINA_BASE and depends on
+     * the configuration.
+     *
+     * @throws IOException if the webapps cannot be listed
+     */
+    @Test
+    void forConfigurationKeysImageByConfiguration() throws IOException {
+        ServerConfiguration a = ServerConfiguration.builder()
+                .catalinaHome(tempDir.resolve("home"))
+                .catalinaBase(tempDir.resolve("base"))
+                .httpPort(9090)
+                .build();
+        ServerConfiguration b = ServerConfiguration.builder()
+                .catalinaHome(tempDir.resolve("home"))
+                .catalinaBase(tempDir.resolve("base"))
+                .httpPort(9090)
+                .vmOptions(List.of("-Xmx1g"))
+                .build();
+
+        Path dirA = CracCheckpoint.forConfiguration(a, javaRuntime).getImageDir();
+        Path dirB = CracCheckpoint.forConfiguration(b, javaRuntime).getImageDir();
+
+        assertEquals(tempDir.resolve("base").resolve("crac"), dirA.getParent());
+        assertNotEquals(dirA, dirB);
+        assertEquals(dirA, CracCheckpoint.forConfiguration(a, javaRuntime).getImageDir());
+    }
+
+    /**
+     * Verifies that a rebuilt webapp, with a changed class in WEB-INF, gets
+     * another image, while a changed static resource keeps it.
+     *
+     * @throws IOException if the webapp cannot be written
+     */
+    @Test
+    void forConfigurationKeysImageByDeployedWebapp() throws IOException {
+        Path base = tempDir.resolve("base");
+        Path classFile = base.resolve("webapps").resolve("app").resolve("WEB-INF").resolve("classes")
+                .resolve("App.class");
+        Files.createDirectories(classFile.getParent());
+        Files.writeString(classFile, "CAFEBABE");
+        Files.writeString(base.resolve("webapps").resolve("app").resolve("index.html"), "<html/>");
+        ServerConfiguration config = ServerConfiguration.builder()
+                .catalinaHome(tempDir.resolve("home"))
+                .catalinaBase(base)
+                .httpPort(9090)
+                .build();
+        Path before = CracCheckpoint.forConfiguration(config, javaRuntime).getImageDir();
+
+        Files.writeString(base.resolve("webapps").resolve("app").resolve("index.html"), "<html>changed</html>");
+        assertEquals(before, CracCheckpoint.forConfiguration(config, javaRuntime).getImageDir());
+
+        Files.writeString(classFile, "CAFEBABE rebuilt");
+        assertNotEquals(before, CracCheckpoint.forConfiguration(config, javaRuntime).getImageDir());
+    }
+
+    /**
+     * Verifies that taking a new image deletes the images of other keys.
+     *
+     * @throws IOException if the images cannot be written
+     */
+    @Test
+    void getCheckpointOptionsDeletesOtherImages() throws IOException {
+        Path imagesDir = tempDir.resolve("base").resolve("crac");
+        Path stale = Files.createDirectories(imagesDir.resolve("stale"));
+        Files.writeString(stale.resolve("core.img"), "image");
+
+        new CracCheckpoint(imagesDir.resolve("current"), javaRuntime).getCheckpointOptions();
+
+        assertFalse(Files.exists(stale));
+        assertTrue(Files.isDirectory(imagesDir.resolve("current")));
+    }
+
+    /**
+     * Verifies that a checkpoint that produced no image is reported as failed.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void checkpointReturnsFalseWhenNoImageWritten() throws Exception {
+        CracCheckpoint checkpoint = new CracCheckpoint(tempDir.resolve("image"), javaRuntime);
+
+        assertFalse(checkpoint.checkpoint(Long.MAX_VALUE, log));
+        verify(log).warn(anyString());
+        assertFalse(Files.exists(checkpoint.getImageDir()));
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.rajendarreddyj.tomcat.lifecycle;
+
+import java.util.Map;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanInfo;
+
+/**
+ * Dynamic MBean exposing fixed attribute values under Tomcat's lower-case
+ * attribute names, standing in for Tomcat MBeans in tests.
+ *
+ * @author rajendarreddyj
+ */
+final class FixedAttributes implements DynamicMBean {
+
+    /** The attribute values. */
+    private final Map<String, Object> attributes;
+
+    /**
+     * Creates a new FixedAttributes MBean.
+     *
+     * @param attributes the attribute values
+     */
+    FixedAttributes(Map<String, Object> attributes) {
+        this.attributes = attributes;
+    }
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        if (!attributes.containsKey(attribute)) {
+            throw new AttributeNotFoundException(attribute);
+        }
+        return attributes.get(attribute);
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] names) {
+        AttributeList list = new AttributeList();
+        for (String name : names) {
+            list.add(new Attribute(name, attributes.get(name)));
+        }
+        return list;
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList list) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        return new MBeanInfo(FixedAttributes.class.getName(), "Fixed attributes", null, null, null, null);
+    }
+}
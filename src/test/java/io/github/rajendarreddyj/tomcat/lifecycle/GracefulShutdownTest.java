@@ -0,0 +1,133 @@
+package io.github.rajendarreddyj.tomcat.lifecycle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.List;
+
+import org.apache.maven.plugin.logging.Log;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+/**
+ * Unit tests for {@link GracefulShutdown}.
+ *
+ * <p>
+ * Tests the SIGTERM and SIGKILL stages against plain child processes, which
+ * cannot be attached to over JMX, and the port release check.
+ *
+ * @author rajendarreddyj
+ * @see GracefulShutdown
+ */
+@DisabledOnOs(OS.WINDOWS)
+class GracefulShutdownTest {
+
+    /** Mock Maven logger for testing. */
+    @Mock
+    private Log log;
+
+    /**
+     * Sets up the test environment before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    /**
+     * Verifies that stopping a process that is not running reports false.
+     *
+     * @throws Exception if the test process cannot be run
+     */
+    @Test
+    void stopReturnsFalseForMissingProcess() throws Exception {
+        Process process = new ProcessBuilder("true").start();
+        process.waitFor();
+
+        assertFalse(new GracefulShutdown(1000, 1000, log).stop(process.pid()));
+    }
+
+    /**
+     * Verifies that a process is stopped with SIGTERM and the drain stage is
+     * skipped when JMX is not available.
+     *
+     * @throws Exception if the test process cannot be run
+     */
+    @Test
+    void stopTerminatesProcess() throws Exception {
+        Process process = new ProcessBuilder("sleep", "60").start();
+
+        assertTrue(new GracefulShutdown(1000, 5000, log).stop(process.pid()));
+
+        assertFalse(process.isAlive());
+        verify(log).info(contains("skipping connector drain"));
+        verify(log).info(contains("after SIGTERM"));
+        verify(log, never()).warn(contains("SIGKILL"));
+    }
+
+    /**
+     * Verifies that a process ignoring SIGTERM is killed after the shutdown
+     * timeout.
+     *
+     * @throws Exception if the test process cannot be run
+     */
+    @Test
+    void stopKillsProcessIgnoringSigterm() throws Exception {
+        Process process = new ProcessBuilder("sh", "-c", "trap '' TERM; exec sleep 60").start();
+        // Give the shell time to install the trap
+        Thread.sleep(200);
+
+        assertTrue(new GracefulShutdown(0, 300, log).stop(process.pid()));
+
+        assertFalse(process.isAlive());
+        verify(log).warn(contains("sending SIGKILL"));
+    }
+
+    /**
+     * Verifies that descendant processes are stopped together with the root
+     * process.
+     *
+     * @throws Exception if the test processes cannot be run
+     */
+    @Test
+    void stopTerminatesProcessTree() throws Exception {
+        Process process = new ProcessBuilder("sh", "-c", "sleep 60 & sleep 60 & wait").start();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (process.descendants().count() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        List<ProcessHandle> children = process.descendants().toList();
+
+        assertTrue(new GracefulShutdown(0, 5000, log).stop(process.pid()));
+
+        assertEquals(2, children.size());
+        assertTrue(children.stream().noneMatch(ProcessHandle::isAlive));
+        verify(log).info(contains("(3 process(es)) exited"));
+    }
+
+    /**
+     * Verifies that port release is detected for a closed port and a held
+     * port times out.
+     *
+     * @throws Exception if the socket cannot be opened
+     */
+    @Test
+    void awaitPortReleased() throws Exception {
+        GracefulShutdown shutdown = new GracefulShutdown(0, 5000, log);
+        try (ServerSocket socket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            assertFalse(shutdown.awaitPortReleased("localhost", socket.getLocalPort(), 100));
+            socket.close();
+            assertTrue(shutdown.awaitPortReleased("localhost", socket.getLocalPort(), 1000));
+        }
+    }
+}
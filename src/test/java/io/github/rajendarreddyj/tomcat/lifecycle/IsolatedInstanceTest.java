@@ -0,0 +1,113 @@
+package io.github.rajendarreddyj.tomcat.lifecycle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for {@link IsolatedInstance}.
+ *
+ * <p>
+ * Tests slot claiming with lock files, reuse of a claim by its owner and the
+ * allocation of distinct free ports.
+ *
+ * @author rajendarreddyj
+ * @see IsolatedInstance
+ */
+class IsolatedInstanceTest {
+
+    /** Temporary directory holding the registry. */
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Verifies that each owner claims a slot of its own with distinct ports,
+     * and that a released slot is claimed again.
+     *
+     * @throws IOException if the registry cannot be written
+     */
+    @Test
+    void claimAssignsSlotPerOwner() throws IOException {
+        IsolatedInstance first = IsolatedInstance.claim(tempDir, "first", "localhost", false, false);
+        IsolatedInstance second = IsolatedInstance.claim(tempDir, "second", "localhost", false, false);
+        try {
+            assertEquals(tempDir.resolve("slot-0"), first.getCatalinaBase());
+            assertEquals(tempDir.resolve("slot-1"), second.getCatalinaBase());
+            assertNotEquals(first.getHttpPort(), second.getHttpPort());
+            assertTrue(Files.exists(tempDir.resolve("slot-0" + IsolatedInstance.LOCK_SUFFIX)));
+
+            first.release();
+            assertFalse(first.isClaimed());
+            IsolatedInstance third = IsolatedInstance.claim(tempDir, "third", "localhost", false, false);
+            assertEquals(tempDir.resolve("slot-0"), third.getCatalinaBase());
+            third.release();
+        } finally {
+            first.release();
+            second.release();
+        }
+    }
+
+    /**
+     * Verifies that an owner gets back the instance it claimed, until it is
+     * released.
+     *
+     * @throws IOException if the registry cannot be written
+     */
+    @Test
+    void claimReturnsInstanceOfOwner() throws IOException {
+        IsolatedInstance instance = IsolatedInstance.claim(tempDir, "owner", "localhost", true, true);
+        try {
+            assertSame(instance, IsolatedInstance.claim(tempDir, "owner", "localhost", false, false));
+            assertSame(instance, IsolatedInstance.find("owner").orElseThrow());
+        } finally {
+            instance.release();
+        }
+        assertTrue(IsolatedInstance.find("owner").isEmpty());
+    }
+
+    /**
+     * Verifies that a slot whose CATALINA_BASE records a running Tomcat is
+     * skipped.
+     *
+     * @throws IOException if the registry cannot be written
+     */
+    @Test
+    void claimSkipsSlotWithRunningTomcat() throws IOException {
+        Path busy = Files.createDirectories(tempDir.resolve("slot-0"));
+        TomcatState.builder().process(ProcessHandle.current()).build().write(busy);
+
+        IsolatedInstance instance = IsolatedInstance.claim(tempDir, "skipping", "localhost", false, false);
+        try {
+            assertEquals(tempDir.resolve("slot-1"), instance.getCatalinaBase());
+        } finally {
+            instance.release();
+        }
+    }
+
+    /**
+     * Verifies that the requested ports are allocated and distinct.
+     *
+     * @throws IOException if no free port can be bound
+     */
+    @Test
+    void allocatePortsReturnsDistinctPorts() throws IOException {
+        int[] ports = IsolatedInstance.allocatePorts("localhost", true, true);
+        assertTrue(ports[0] > 0 && ports[1] > 0 && ports[2] > 0);
+        assertNotEquals(ports[0], ports[1]);
+        assertNotEquals(ports[1], ports[2]);
+        assertNotEquals(ports[0], ports[2]);
+
+        int[] httpOnly = IsolatedInstance.allocatePorts("localhost", false, false);
+        assertEquals(0, httpOnly[1]);
+        assertEquals(0, httpOnly[2]);
+    }
+}
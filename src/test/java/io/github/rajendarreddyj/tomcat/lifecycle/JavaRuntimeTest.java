@@ -0,0 +1,135 @@
+package io.github.rajendarreddyj.tomcat.lifecycle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for {@link JavaRuntime}.
+ *
+ * <p>
+ * Tests reading the JDK description from the release file and the fallback to
+ * the running JVM.
+ *
+ * @author rajendarreddyj
+ * @see JavaRuntime
+ */
+class JavaRuntimeTest {
+
+    /**
+     * Temporary directory for test artifacts, cleaned up automatically after each
+     * test.
+     */
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Verifies that the release file values are used when present.
+     *
+     * @throws IOException if file operations fail
+     */
+    @Test
+    void ofReadsReleaseFile() throws IOException {
+        Files.writeString(tempDir.resolve("release"), """
+                IMPLEMENTOR="Eclipse Adoptium"
+                JAVA_RUNTIME_VERSION="21.0.1+12-LTS"
+                JAVA_VERSION="21.0.1"
+                """);
+
+        JavaRuntime runtime = JavaRuntime.of(tempDir);
+
+        assertEquals(21, runtime.getFeatureVersion());
+        assertEquals("21.0.1+12-LTS", runtime.getRuntimeVersion());
+        assertEquals("Eclipse Adoptium", runtime.getImplementor());
+        assertEquals(tempDir, runtime.getJavaHome());
+    }
+
+    /**
+     * Verifies that JAVA_VERSION is used when JAVA_RUNTIME_VERSION is missing.
+     *
+     * @throws IOException if file operations fail
+     */
+    @Test
+    void ofUsesJavaVersionWithoutRuntimeVersion() throws IOException {
+        Files.writeString(tempDir.resolve("release"), "JAVA_VERSION=\"17.0.9\"\n");
+
+        JavaRuntime runtime = JavaRuntime.of(tempDir);
+
+        assertEquals(17, runtime.getFeatureVersion());
+        assertEquals("17.0.9", runtime.getRuntimeVersion());
+    }
+
+    /**
+     * Verifies that the running JVM is described when the release file is
+     * missing.
+     */
+    @Test
+    void ofFallsBackToCurrentJvm() {
+        JavaRuntime runtime = JavaRuntime.of(tempDir);
+
+        assertEquals(Runtime.version().feature(), runtime.getFeatureVersion());
+    }
+
+    /**
+     * Verifies that a null Java home describes the running JVM.
+     */
+    @Test
+    void ofNullUsesJavaHomeProperty() {
+        JavaRuntime runtime = JavaRuntime.of(null);
+
+        assertEquals(Path.of(System.getProperty("java.home")), runtime.getJavaHome());
+        assertEquals(Runtime.version().feature(), runtime.getFeatureVersion());
+    }
+
+    /**
+     * Verifies that an unparseable release file falls back to the running JVM.
+     *
+     * @throws IOException if file operations fail
+     */
+    @Test
+    void ofFallsBackForInvalidVersion() throws IOException {
+        Files.writeString(tempDir.resolve("release"), "JAVA_VERSION=\"abc\"\n");
+
+        JavaRuntime runtime = JavaRuntime.of(tempDir);
+
+        assertEquals(Runtime.version().feature(), runtime.getFeatureVersion());
+    }
+
+    /**
+     * Verifies parsing of legacy and current version schemes.
+     */
+    @Test
+    void parseFeatureVersionHandlesBothSchemes() {
+        assertEquals(8, JavaRuntime.parseFeatureVersion("1.8.0_392"));
+        assertEquals(11, JavaRuntime.parseFeatureVersion("11.0.21"));
+        assertEquals(21, JavaRuntime.parseFeatureVersion("21"));
+    }
+
+    /**
+     * Verifies that different builds produce different fingerprints.
+     *
+     * @throws IOException if file operations fail
+     */
+    @Test
+    void buildFingerprintDiffersBetweenBuilds() throws IOException {
+        Path jdkA = tempDir.resolve("a");
+        Path jdkB = tempDir.resolve("b");
+        Files.createDirectories(jdkA);
+        Files.createDirectories(jdkB);
+        Files.writeString(jdkA.resolve("release"), "JAVA_RUNTIME_VERSION=\"21.0.1+12\"\nJAVA_VERSION=\"21.0.1\"\n");
+        Files.writeString(jdkB.resolve("release"), "JAVA_RUNTIME_VERSION=\"21.0.2+13\"\nJAVA_VERSION=\"21.0.2\"\n");
+
+        String a = JavaRuntime.of(jdkA).getBuildFingerprint();
+        String b = JavaRuntime.of(jdkB).getBuildFingerprint();
+
+        assertNotEquals(a, b);
+        assertTrue(a.contains("21.0.1+12"));
+    }
+}
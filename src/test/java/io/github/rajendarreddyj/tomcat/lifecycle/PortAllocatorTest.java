@@ -0,0 +1,50 @@
+package io.github.rajendarreddyj.tomcat.lifecycle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link PortAllocator}.
+ *
+ * <p>
+ * Tests that allocated ports are distinct and can be bound.
+ *
+ * @author rajendarreddyj
+ * @see PortAllocator
+ */
+class PortAllocatorTest {
+
+    /**
+     * Verifies that a single allocated port can be bound.
+     *
+     * @throws IOException if no port can be bound
+     */
+    @Test
+    void allocateReturnsBindablePort() throws IOException {
+        int port = PortAllocator.allocate("localhost");
+
+        try (ServerSocket socket = new ServerSocket(port, 1, InetAddress.getByName("localhost"))) {
+            assertEquals(port, socket.getLocalPort());
+        }
+    }
+
+    /**
+     * Verifies that several ports allocated at once are distinct.
+     *
+     * @throws IOException if no port can be bound
+     */
+    @Test
+    void allocateReturnsDistinctPorts() throws IOException {
+        int[] ports = PortAllocator.allocate("localhost", 4);
+
+        assertEquals(4, Arrays.stream(ports).distinct().count());
+        assertTrue(Arrays.stream(ports).allMatch(port -> port > 0));
+    }
+}
@@ -0,0 +1,204 @@
+package io.github.rajendarreddyj.tomcat.lifecycle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+
+import org.apache.maven.plugin.logging.Log;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+/**
+ * Unit tests for {@link ProcessOutputPump}.
+ *
+ * <p>
+ * Tests writing process output to the log file, rolling, mirroring to the
+ * Maven log and dropping mirrored lines under back-pressure.
+ *
+ * @author rajendarreddyj
+ * @see ProcessOutputPump
+ */
+class ProcessOutputPumpTest {
+
+    /**
+     * Temporary directory for test artifacts, cleaned up automatically after each
+     * test.
+     */
+    @TempDir
+    Path tempDir;
+
+    /** Mock Maven logger for testing. */
+    @Mock
+    private Log log;
+
+    /**
+     * Sets up the test environment before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    /**
+     * Verifies that output is written to the log file and mirrored line by line
+     * with a prefix.
+     *
+     * @throws IOException if the log file cannot be read
+     */
+    @Test
+    void writesFileAndMirrorsLines() throws IOException {
+        Path logFile = tempDir.resolve("logs").resolve("console.log");
+        String output = "first line\r\nsecond line\nno newline";
+
+        try (ProcessOutputPump pump = new ProcessOutputPump(stream(output), logFile, log, true)) {
+            pump.start();
+        }
+
+        assertEquals(output, Files.readString(logFile));
+        verify(log).info("[tomcat] first line");
+        verify(log).info("[tomcat] second line");
+        verify(log).info("[tomcat] no newline");
+    }
+
+    /**
+     * Verifies that nothing is logged when no mirror is configured.
+     *
+     * @throws IOException if the log file cannot be read
+     */
+    @Test
+    void writesFileOnlyWithoutMirror() throws IOException {
+        Path logFile = tempDir.resolve("console.log");
+
+        try (ProcessOutputPump pump = new ProcessOutputPump(stream("quiet\n"), logFile, log, false)) {
+            pump.start();
+        }
+
+        assertEquals("quiet\n", Files.readString(logFile));
+        verify(log, never()).info(anyString());
+    }
+
+    /**
+     * Verifies that the log file is rolled at the size limit and only the
+     * configured number of backups is kept.
+     *
+     * @throws IOException if the log files cannot be read
+     */
+    @Test
+    void rollsLogFile() throws IOException {
+        Path logFile = tempDir.resolve("console.log");
+        StringBuilder output = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            output.append("line ").append(i).append('\n');
+        }
+
+        // Feed the stream in small chunks so the size limit is crossed repeatedly
+        ByteArrayInputStream input = new ByteArrayInputStream(output.toString().getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 64));
+            }
+        };
+        try (ProcessOutputPump pump = new ProcessOutputPump(input, logFile, 256, 2, log, false)) {
+            pump.start();
+        }
+
+        assertTrue(Files.size(logFile) <= 256);
+        assertTrue(Files.exists(tempDir.resolve("console.log.1")));
+        assertTrue(Files.exists(tempDir.resolve("console.log.2")));
+        assertFalse(Files.exists(tempDir.resolve("console.log.3")));
+        assertTrue(Files.readString(logFile).endsWith("line 199\n"));
+    }
+
+    /**
+     * Verifies that the output is still drained and mirrored when the log file
+     * cannot be rolled, and that the failure is reported once.
+     *
+     * @throws IOException if the test files cannot be written
+     */
+    @Test
+    void keepsDrainingWhenLogFileFails() throws IOException {
+        Path logFile = tempDir.resolve("console.log");
+        // A non-empty directory in place of the first backup makes every roll fail
+        Files.createDirectories(tempDir.resolve("console.log.1"));
+        Files.writeString(tempDir.resolve("console.log.1").resolve("keep"), "");
+        StringBuilder output = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            output.append("line ").append(i).append('\n');
+        }
+        ByteArrayInputStream input = new ByteArrayInputStream(output.toString().getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 64));
+            }
+        };
+
+        try (ProcessOutputPump pump = new ProcessOutputPump(input, logFile, 256, 2, log, true)) {
+            pump.start();
+        }
+
+        assertEquals(0, input.available());
+        verify(log).warn(contains("Could not write Tomcat output to " + logFile));
+        verify(log).info("[tomcat] line 199");
+    }
+
+    /**
+     * Verifies that lines are dropped from the mirror, but not from the file,
+     * when the Maven log cannot keep up.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void dropsMirroredLinesWhenMavenLogIsBlocked() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await();
+            return null;
+        }).when(log).info(anyString());
+
+        int lines = ProcessOutputPump.MIRROR_QUEUE_CAPACITY * 2;
+        StringBuilder output = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            output.append("line ").append(i).append('\n');
+        }
+        Path logFile = tempDir.resolve("console.log");
+
+        ProcessOutputPump pump = new ProcessOutputPump(stream(output.toString()), logFile, log, true);
+        pump.start();
+        long expectedSize = output.length();
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (Files.size(logFile) < expectedSize && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+        pump.close();
+
+        assertEquals(expectedSize, Files.size(logFile));
+        assertTrue(pump.getDroppedLines() > 0);
+        verify(log).warn(contains("were not shown in the Maven log"));
+    }
+
+    /**
+     * Creates an input stream over a string.
+     *
+     * @param content the stream content
+     * @return the input stream
+     */
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,147 @@
+package io.github.rajendarreddyj.tomcat.lifecycle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLServerSocket;
+import javax.net.ssl.SSLSocket;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.rajendarreddyj.tomcat.config.SelfSignedKeystore;
+
+/**
+ * Unit tests for {@link TlsReadinessProbe}.
+ *
+ * <p>
+ * Tests handshakes and ALPN selection against a local TLS server with a
+ * self-signed certificate.
+ *
+ * @author rajendarreddyj
+ * @see TlsReadinessProbe
+ */
+class TlsReadinessProbeTest {
+
+    /** Address of the test servers. */
+    private static final String HOST = InetAddress.getLoopbackAddress().getHostAddress();
+
+    /** Temporary directory for the keystore, shared by all tests. */
+    @TempDir
+    static Path tempDir;
+
+    /** Server context with the self-signed certificate. */
+    private static SSLContext serverContext;
+
+    /**
+     * Generates the self-signed keystore of the test server.
+     *
+     * @throws Exception if the keystore cannot be generated or loaded
+     */
+    @BeforeAll
+    static void createServerContext() throws Exception {
+        Path keystore = tempDir.resolve(SelfSignedKeystore.FILE_NAME);
+        SelfSignedKeystore.createIfMissing(Path.of(System.getProperty("java.home")), keystore, "changeit", null);
+        KeyStore store = KeyStore.getInstance("PKCS12");
+        try (InputStream in = Files.newInputStream(keystore)) {
+            store.load(in, "changeit".toCharArray());
+        }
+        KeyManagerFactory keyManagers = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagers.init(store, "changeit".toCharArray());
+        serverContext = SSLContext.getInstance("TLS");
+        serverContext.init(keyManagers.getKeyManagers(), null, null);
+    }
+
+    /**
+     * Verifies that ALPN selects h2 when the server offers HTTP/2.
+     *
+     * @throws Exception if the test server fails
+     */
+    @Test
+    void handshakeNegotiatesHttp2() throws Exception {
+        try (SSLServerSocket server = startServer("h2", "http/1.1")) {
+            assertEquals(TlsReadinessProbe.H2, TlsReadinessProbe.handshake(HOST, server.getLocalPort()));
+        }
+        try (SSLServerSocket server = startServer("h2", "http/1.1")) {
+            assertTrue(TlsReadinessProbe.isReady(HOST, server.getLocalPort(), true));
+        }
+    }
+
+    /**
+     * Verifies that a TLS server without HTTP/2 is ready only when HTTP/2 is
+     * not expected.
+     *
+     * @throws Exception if the test server fails
+     */
+    @Test
+    void isReadyRequiresH2WhenExpected() throws Exception {
+        try (SSLServerSocket server = startServer("http/1.1")) {
+            assertFalse(TlsReadinessProbe.isReady(HOST, server.getLocalPort(), true));
+        }
+        try (SSLServerSocket server = startServer("http/1.1")) {
+            assertTrue(TlsReadinessProbe.isReady(HOST, server.getLocalPort(), false));
+        }
+    }
+
+    /**
+     * Verifies that a closed port or a plain TCP server is not ready.
+     *
+     * @throws Exception if the test server fails
+     */
+    @Test
+    void isReadyReturnsFalseWithoutTls() throws Exception {
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            closedPort = socket.getLocalPort();
+        }
+        assertFalse(TlsReadinessProbe.isReady(HOST, closedPort, false));
+
+        try (ServerSocket plain = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            Thread.ofVirtual().start(() -> {
+                try (var socket = plain.accept()) {
+                    socket.getOutputStream().write("HTTP/1.1 400 Bad Request\r\n\r\n".getBytes());
+                } catch (IOException e) {
+                    // The server socket was closed
+                }
+            });
+            assertFalse(TlsReadinessProbe.isReady(HOST, plain.getLocalPort(), false));
+        }
+    }
+
+    /**
+     * Starts a TLS server that completes one handshake.
+     *
+     * @param protocols the ALPN protocols the server supports
+     * @return the server socket
+     * @throws IOException if the server cannot be started
+     */
+    private static SSLServerSocket startServer(String... protocols) throws IOException {
+        SSLServerSocket server = (SSLServerSocket) serverContext.getServerSocketFactory()
+                .createServerSocket(0, 1, InetAddress.getLoopbackAddress());
+        SSLParameters parameters = server.getSSLParameters();
+        parameters.setApplicationProtocols(protocols);
+        server.setSSLParameters(parameters);
+        Thread.ofVirtual().start(() -> {
+            try (SSLSocket socket = (SSLSocket) server.accept()) {
+                socket.startHandshake();
+                socket.getInputStream().read();
+            } catch (IOException e) {
+                // The client closed the connection after the handshake
+            }
+        });
+        return server;
+    }
+}
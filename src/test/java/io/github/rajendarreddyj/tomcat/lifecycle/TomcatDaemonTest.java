@@ -0,0 +1,136 @@
+package io.github.rajendarreddyj.tomcat.lifecycle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.rajendarreddyj.tomcat.config.ServerConfiguration;
+
+/**
+ * Unit tests for {@link TomcatDaemon}.
+ *
+ * <p>
+ * Tests the daemon descriptor, liveness detection and the configuration
+ * fingerprint.
+ *
+ * @author rajendarreddyj
+ * @see TomcatDaemon
+ */
+class TomcatDaemonTest {
+
+    /**
+     * Temporary directory for test artifacts, cleaned up automatically after each
+     * test.
+     */
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Verifies that no daemon is reported without a descriptor.
+     */
+    @Test
+    void notRunningWithoutDescriptor() {
+        TomcatDaemon daemon = TomcatDaemon.forConfiguration(config(8080, List.of()));
+
+        assertFalse(daemon.isRunning());
+        assertTrue(daemon.getPid().isEmpty());
+    }
+
+    /**
+     * Verifies that a recorded live JVM listening on the HTTP port is reported
+     * as running with a matching configuration.
+     *
+     * @throws IOException if the descriptor or socket cannot be created
+     */
+    @Test
+    void recordedDaemonIsRunning() throws IOException {
+        try (ServerSocket connector = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            TomcatDaemon daemon = TomcatDaemon.forConfiguration(config(connector.getLocalPort(), List.of()));
+            daemon.record(ProcessHandle.current().pid());
+
+            assertTrue(daemon.isRunning());
+            assertEquals(ProcessHandle.current().pid(), daemon.getPid().orElseThrow());
+            assertTrue(daemon.matchesConfiguration());
+        }
+    }
+
+    /**
+     * Verifies that a recorded JVM is not running when nothing listens on the
+     * HTTP port.
+     *
+     * @throws IOException if the descriptor cannot be written
+     */
+    @Test
+    void daemonWithoutConnectorIsNotRunning() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            port = socket.getLocalPort();
+        }
+        TomcatDaemon daemon = TomcatDaemon.forConfiguration(config(port, List.of()));
+        daemon.record(ProcessHandle.current().pid());
+
+        assertFalse(daemon.isRunning());
+    }
+
+    /**
+     * Verifies that changed JVM options make a recorded daemon stale.
+     *
+     * @throws IOException if the descriptor cannot be written
+     */
+    @Test
+    void changedVmOptionsDoNotMatch() throws IOException {
+        TomcatDaemon.forConfiguration(config(8080, List.of("-Xmx512m"))).record(ProcessHandle.current().pid());
+
+        assertTrue(TomcatDaemon.forConfiguration(config(8080, List.of("-Xmx512m"))).matchesConfiguration());
+        assertFalse(TomcatDaemon.forConfiguration(config(8080, List.of("-Xmx1g"))).matchesConfiguration());
+    }
+
+    /**
+     * Verifies that clear removes the descriptor.
+     *
+     * @throws IOException if the descriptor cannot be written
+     */
+    @Test
+    void clearRemovesDescriptor() throws IOException {
+        TomcatDaemon daemon = TomcatDaemon.forConfiguration(config(8080, List.of()));
+        daemon.record(ProcessHandle.current().pid());
+
+        daemon.clear();
+
+        assertFalse(Files.exists(tempDir.resolve("base").resolve(TomcatDaemon.DESCRIPTOR_FILE)));
+        assertTrue(daemon.getPid().isEmpty());
+    }
+
+    /**
+     * Creates a server configuration for the tests.
+     *
+     * @param port      the HTTP port
+     * @param vmOptions the JVM options
+     * @return the server configuration
+     * @throws IllegalStateException if the base directory cannot be created
+     */
+    private ServerConfiguration config(int port, List<String> vmOptions) {
+        try {
+            Files.createDirectories(tempDir.resolve("base"));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return ServerConfiguration.builder()
+                .catalinaHome(tempDir.resolve("home"))
+                .catalinaBase(tempDir.resolve("base"))
+                .httpHost("localhost")
+                .httpPort(port)
+                .vmOptions(vmOptions)
+                .build();
+    }
+}
@@ -0,0 +1,160 @@
+package io.github.rajendarreddyj.tomcat.lifecycle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import javax.management.remote.JMXConnector;
+
+import org.apache.maven.plugin.logging.Log;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+/**
+ * Unit tests for {@link TomcatJmxClient}.
+ *
+ * <p>
+ * Attaches to a plain child JVM, which has no Tomcat MBeans, to verify the
+ * connection and the MBean queries.
+ *
+ * @author rajendarreddyj
+ * @see TomcatJmxClient
+ */
+class TomcatJmxClientTest {
+
+    /**
+     * Temporary directory for test artifacts, cleaned up automatically after each
+     * test.
+     */
+    @TempDir
+    Path tempDir;
+
+    /** Mock Maven logger for testing. */
+    @Mock
+    private Log log;
+
+    /**
+     * Sets up the test environment before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    /**
+     * Verifies that attaching to a process that is not a JVM yields no client.
+     *
+     * @throws Exception if the test process cannot be run
+     */
+    @Test
+    void attachFailsForNonJvmProcess() throws Exception {
+        Process process = new ProcessBuilder("true").start();
+        process.waitFor();
+
+        assertTrue(TomcatJmxClient.attach(process.pid(), log).isEmpty());
+    }
+
+    /**
+     * Verifies that a JVM without Tomcat reports no connectors and no busy
+     * threads.
+     *
+     * @throws Exception if the child JVM cannot be run
+     */
+    @Test
+    void attachToJvmWithoutTomcat() throws Exception {
+        Path source = tempDir.resolve("Idle.java");
+        Files.writeString(source, "public class Idle { public static void main(String[] a) throws Exception {"
+                + " System.out.println(\"ready\"); Thread.sleep(60000); } }");
+        Path java = Path.of(System.getProperty("java.home"), "bin", "java");
+        Process process = new ProcessBuilder(java.toString(), source.toString()).start();
+        try {
+            // Wait until the JVM is up and able to accept the attach request
+            assertEquals("ready", process.inputReader().readLine());
+
+            Optional<TomcatJmxClient> client = TomcatJmxClient.attach(process.pid(), log);
+            assertTrue(client.isPresent());
+            try (TomcatJmxClient jmx = client.get()) {
+                assertNotNull(jmx.getConnection());
+                assertEquals(0, jmx.pauseConnectors());
+                assertEquals(0, jmx.getBusyThreads());
+            }
+        } finally {
+            process.destroyForcibly();
+        }
+    }
+
+    /**
+     * Verifies that a connector on an executor without a busy count, which
+     * reports -1 busy threads, is counted through the executor's active count,
+     * and that -1 is returned when no count can be read.
+     *
+     * @throws Exception if the MBeans cannot be registered or read
+     */
+    @Test
+    void getBusyThreadsCountsVirtualThreadExecutor() throws Exception {
+        MBeanServer server = MBeanServerFactory.newMBeanServer();
+        TomcatJmxClient jmx = new TomcatJmxClient(mock(JMXConnector.class), server);
+        server.registerMBean(new FixedAttributes(Map.of("currentThreadsBusy", 2)),
+                new ObjectName("Catalina:type=ThreadPool,name=\"http-nio-8080\""));
+        server.registerMBean(new FixedAttributes(Map.of("currentThreadsBusy", -1)),
+                new ObjectName("Catalina:type=ThreadPool,name=\"https-jsse-nio-8443\""));
+
+        assertEquals(-1, jmx.getBusyThreads());
+
+        server.registerMBean(new FixedAttributes(Map.of("activeCount", 3)),
+                new ObjectName("Catalina:type=Executor,name=tomcatThreadPool"));
+        assertEquals(5, jmx.getBusyThreads());
+
+        server.registerMBean(new FixedAttributes(Map.of()),
+                new ObjectName("Catalina:type=Executor,name=virtualThreads"));
+        assertEquals(-1, jmx.getBusyThreads());
+    }
+
+    /**
+     * Verifies that the flight recording started by the plugin option can be
+     * dumped, and that dumping an unknown recording fails.
+     *
+     * @throws Exception if the child JVM cannot be run
+     */
+    @Test
+    void dumpsFlightRecording() throws Exception {
+        Path source = tempDir.resolve("Idle.java");
+        Files.writeString(source, "public class Idle { public static void main(String[] a) throws Exception {"
+                + " System.out.println(\"ready\"); Thread.sleep(60000); } }");
+        Path java = Path.of(System.getProperty("java.home"), "bin", "java");
+        Process process = new ProcessBuilder(java.toString(),
+                "-XX:StartFlightRecording=name=" + TomcatJmxClient.FLIGHT_RECORDING_NAME, source.toString())
+                .start();
+        try {
+            // JFR may log to stdout first; wait for the marker line
+            String line;
+            do {
+                line = process.inputReader().readLine();
+            } while (line != null && !line.equals("ready"));
+
+            Path file = tempDir.resolve("tomcat.jfr");
+            try (TomcatJmxClient jmx = TomcatJmxClient.attach(process.pid(), log).orElseThrow()) {
+                jmx.dumpFlightRecording(TomcatJmxClient.FLIGHT_RECORDING_NAME, file);
+                assertTrue(Files.size(file) > 0);
+
+                assertThrows(IOException.class, () -> jmx.dumpFlightRecording("unknown", tempDir.resolve("x.jfr")));
+            }
+        } finally {
+            process.destroyForcibly();
+        }
+    }
+}
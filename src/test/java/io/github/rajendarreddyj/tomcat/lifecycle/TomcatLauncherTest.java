@@ -17,12 +17,15 @@ import java.io.IOException;
 import java.net.ServerSocket;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 import org.apache.maven.plugin.logging.Log;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
 import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
@@ -41,6 +44,10 @@ import io.github.rajendarreddyj.tomcat.config.ServerConfiguration;
  */
 class TomcatLauncherTest {
 
+    /** Line Tomcat logs once it started, echoed by the mock catalina scripts. */
+    private static final String STARTED =
+            "INFO [main] org.apache.catalina.startup.Catalina.start Server startup in [5] ms";
+
     /**
      * Temporary directory for test artifacts, cleaned up automatically after each
      * test.
@@ -73,10 +80,10 @@ class TomcatLauncherTest {
 
         // Create both scripts for cross-platform testing
         Path batScript = catalinaHome.resolve("bin").resolve("catalina.bat");
-        Files.writeString(batScript, "@echo off\necho test\n");
+        Files.writeString(batScript, "@echo off\necho " + STARTED + "\n");
 
         Path shScript = catalinaHome.resolve("bin").resolve("catalina.sh");
-        Files.writeString(shScript, "#!/bin/bash\necho 'test'\n");
+        Files.writeString(shScript, "#!/bin/bash\necho '" + STARTED + "'\n");
         shScript.toFile().setExecutable(true);
     }
 
@@ -341,6 +348,111 @@ class TomcatLauncherTest {
         assertThrows(IOException.class, launcher::start);
     }
 
+    /**
+     * Verifies that start fails early with a PortInUseException when Tomcat
+     * logs a bind failure, and that output of earlier launches is ignored.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void startFailsFastOnBindFailure() throws Exception {
+        int port = findAvailablePort();
+        writeScripts("", bindFailure("http-nio-" + port));
+        ServerConfiguration config = ServerConfiguration.builder()
+                .catalinaHome(catalinaHome)
+                .catalinaBase(catalinaHome)
+                .httpPort(port)
+                .httpHost("localhost")
+                .startupTimeout(60000)
+                .shutdownTimeout(1000)
+                .build();
+
+        long started = System.nanoTime();
+        TomcatLauncher.PortInUseException e = assertThrows(TomcatLauncher.PortInUseException.class,
+                new TomcatLauncher(config, log)::start);
+
+        assertEquals(port, e.getPort());
+        assertTrue(System.nanoTime() - started < 30_000_000_000L);
+
+        Files.writeString(catalinaHome.resolve("bin").resolve("catalina.sh"), "#!/bin/bash\necho '" + STARTED + "'\n");
+        Files.writeString(catalinaHome.resolve("bin").resolve("catalina.bat"), "@echo off\necho " + STARTED + "\n");
+        try (ServerSocket serverSocket = new ServerSocket(port)) {
+            TomcatLauncher launcher = new TomcatLauncher(config, log);
+            launcher.start();
+            assertFalse(launcher.hasBindFailure());
+        }
+    }
+
+    /**
+     * Verifies that a port another process already listens on is not taken
+     * for a started Tomcat, which logs the bind failure only after a while.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void startFailsWhenForeignProcessHoldsPort() throws Exception {
+        try (ServerSocket foreign = new ServerSocket(findAvailablePort())) {
+            writeScripts("1", bindFailure("http-nio-" + foreign.getLocalPort()));
+            TomcatLauncher launcher = new TomcatLauncher(createConfig(foreign.getLocalPort()), log);
+
+            TomcatLauncher.PortInUseException e = assertThrows(TomcatLauncher.PortInUseException.class,
+                    launcher::start);
+
+            assertEquals(foreign.getLocalPort(), e.getPort());
+            verify(log, never()).info(argThat((CharSequence msg) -> msg.toString().contains("started successfully")));
+        }
+    }
+
+    /**
+     * Verifies that a bind failure of only the HTTPS connector reports the
+     * HTTPS port.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void startReportsFailedHttpsPort() throws Exception {
+        int httpPort = findAvailablePort();
+        int httpsPort = httpPort == 65535 ? httpPort - 1 : httpPort + 1;
+        writeScripts("", bindFailure("https-jsse-nio-" + httpsPort));
+        ServerConfiguration config = ServerConfiguration.builder()
+                .catalinaHome(catalinaHome)
+                .catalinaBase(catalinaHome)
+                .httpPort(httpPort)
+                .httpsPort(httpsPort)
+                .httpHost("localhost")
+                .startupTimeout(60000)
+                .shutdownTimeout(1000)
+                .build();
+
+        TomcatLauncher.PortInUseException e = assertThrows(TomcatLauncher.PortInUseException.class,
+                new TomcatLauncher(config, log)::start);
+
+        assertEquals(httpsPort, e.getPort());
+    }
+
+    /**
+     * Verifies that a BindException the webapp logs for its own socket, or of
+     * a connector on another port, does not fail the start.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void startIgnoresBindFailuresOfOtherSockets() throws Exception {
+        int port = findAvailablePort();
+        List<String> lines = new ArrayList<>();
+        lines.add("19-Oct-2026 10:00:00.000 SEVERE [main] org.example.Broker.start Could not listen on " + port);
+        lines.add("\tjava.net.BindException: Address already in use");
+        lines.addAll(bindFailure("ajp-nio-" + (port == 65535 ? port - 1 : port + 1)));
+        lines.add(STARTED);
+        writeScripts("", lines);
+        try (ServerSocket serverSocket = new ServerSocket(port)) {
+            TomcatLauncher launcher = new TomcatLauncher(createConfig(port), log);
+
+            assertDoesNotThrow(launcher::start);
+            assertFalse(launcher.hasBindFailure());
+        }
+    }
+
     /**
      * Verifies that start succeeds when server is already ready.
      *
@@ -710,6 +822,170 @@ class TomcatLauncherTest {
         assertFalse(runThread.isAlive(), "run() thread should terminate after stop()");
     }
 
+    /**
+     * Verifies that CRaC mode falls back to a normal start on JDKs without CRaC.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void startWithCracFallsBackWithoutCracSupport() throws Exception {
+        Path javaHome = tempDir.resolve("jdk");
+        Files.createDirectories(javaHome);
+        int port = findAvailablePort();
+        try (ServerSocket serverSocket = new ServerSocket(port)) {
+            ServerConfiguration config = ServerConfiguration.builder()
+                    .catalinaHome(catalinaHome)
+                    .catalinaBase(catalinaHome)
+                    .javaHome(javaHome)
+                    .httpPort(port)
+                    .startupTimeout(5000)
+                    .cracEnabled(true)
+                    .build();
+            TomcatLauncher launcher = new TomcatLauncher(config, log);
+
+            launcher.start();
+
+            verify(log).warn(argThat((CharSequence msg) -> msg.toString().contains("does not support CRaC")));
+            assertNotNull(launcher.getStartupTime());
+        }
+    }
+
+    /**
+     * Verifies that Tomcat is started again without the checkpoint option when
+     * its JVM exits during a checkpoint that wrote no image.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    void startWithCracRestartsTomcatAfterFailedCheckpoint() throws Exception {
+        Path javaBin = Files.createDirectories(tempDir.resolve("crac-jdk").resolve("bin"));
+        // The probe accepts the CRaC option, the checkpoint kills the JVM without writing an image
+        Files.writeString(javaBin.resolve("java"), "#!/bin/bash\nexit 0\n");
+        Files.writeString(javaBin.resolve("jcmd"), "#!/bin/bash\nkill \"$1\"\n");
+        javaBin.resolve("java").toFile().setExecutable(true);
+        javaBin.resolve("jcmd").toFile().setExecutable(true);
+        Path optsLog = tempDir.resolve("opts.log");
+        Path shScript = catalinaHome.resolve("bin").resolve("catalina.sh");
+        Files.writeString(shScript, "#!/bin/bash\necho \"$CATALINA_OPTS\" >> '" + optsLog + "'\n"
+                + "echo $$ > \"$CATALINA_PID\"\necho '" + STARTED + "'\nexec sleep 30\n");
+        shScript.toFile().setExecutable(true);
+        int port = findAvailablePort();
+        try (ServerSocket serverSocket = new ServerSocket(port)) {
+            ServerConfiguration config = ServerConfiguration.builder()
+                    .catalinaHome(catalinaHome)
+                    .catalinaBase(catalinaHome)
+                    .javaHome(javaBin.getParent())
+                    .httpPort(port)
+                    .startupTimeout(5000)
+                    .shutdownTimeout(1000)
+                    .cracEnabled(true)
+                    .build();
+            TomcatLauncher launcher = new TomcatLauncher(config, log);
+
+            try {
+                launcher.start();
+
+                verify(log).warn(argThat((CharSequence msg) -> msg.toString().contains("exited without a checkpoint")));
+                List<String> opts = Files.readAllLines(optsLog);
+                assertEquals(2, opts.size());
+                assertTrue(opts.get(0).contains("-XX:CRaCCheckpointTo="));
+                assertFalse(opts.get(1).contains("-XX:CRaCCheckpointTo="));
+                assertTrue(launcher.getProcess().isAlive());
+            } finally {
+                launcher.getProcess().destroyForcibly();
+            }
+        }
+    }
+
+    /**
+     * Verifies that the catalina script receives CATALINA_PID and that the PID
+     * written there is reported as the Tomcat PID.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void getTomcatPidReadsCatalinaPidFile() throws Exception {
+        Path shScript = catalinaHome.resolve("bin").resolve("catalina.sh");
+        Files.writeString(shScript, "#!/bin/bash\necho $$ > \"$CATALINA_PID\"\nsleep 5\n");
+        shScript.toFile().setExecutable(true);
+        ServerConfiguration config = ServerConfiguration.builder()
+                .catalinaHome(catalinaHome)
+                .catalinaBase(catalinaHome)
+                .httpPort(findAvailablePort())
+                .startupTimeout(1000)
+                .shutdownTimeout(1000)
+                .build();
+        TomcatLauncher launcher = new TomcatLauncher(config, log);
+
+        try {
+            assertThrows(IOException.class, launcher::start);
+
+            Path pidFile = catalinaHome.resolve(TomcatLauncher.CATALINA_PID_FILE);
+            assertTrue(Files.exists(pidFile));
+            assertEquals(Long.parseLong(Files.readString(pidFile).trim()), launcher.getTomcatPid());
+        } finally {
+            launcher.getProcess().destroyForcibly();
+        }
+    }
+
+    /**
+     * Verifies that getTomcatPid falls back to the process PID for a stale
+     * CATALINA_PID file.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void getTomcatPidIgnoresStalePidFile() throws Exception {
+        ServerConfiguration config = createConfig(findAvailablePort());
+        TomcatLauncher launcher = new TomcatLauncher(config, log);
+        assertEquals(-1, launcher.getTomcatPid());
+
+        Path pidFile = catalinaHome.resolve(TomcatLauncher.CATALINA_PID_FILE);
+        Files.createDirectories(pidFile.getParent());
+        Files.writeString(pidFile, String.valueOf(Long.MAX_VALUE));
+
+        assertEquals(-1, launcher.getTomcatPid());
+        assertNull(launcher.getStartupTime());
+    }
+
+    /**
+     * Builds the log record Tomcat writes when a connector cannot bind its
+     * port.
+     *
+     * @param connectorName the connector name ending with the port, e.g.
+     *                      {@code http-nio-8080}
+     * @return the lines of the record
+     */
+    private static List<String> bindFailure(String connectorName) {
+        return List.of("19-Oct-2026 10:00:00.000 SEVERE [main] org.apache.catalina.util.LifecycleBase"
+                + ".handleSubClassException Failed to initialize component [Connector[\"" + connectorName + "\"]]",
+                "\torg.apache.catalina.LifecycleException: Protocol handler initialization failed",
+                "\tCaused by: java.net.BindException: Address already in use");
+    }
+
+    /**
+     * Replaces the catalina scripts with scripts that print lines.
+     *
+     * @param delaySeconds seconds to wait before printing, or empty for none
+     * @param lines        the lines to print
+     * @throws IOException if the scripts cannot be written
+     */
+    private void writeScripts(String delaySeconds, List<String> lines) throws IOException {
+        StringBuilder sh = new StringBuilder("#!/bin/bash\n");
+        StringBuilder bat = new StringBuilder("@echo off\n");
+        if (!delaySeconds.isEmpty()) {
+            sh.append("sleep ").append(delaySeconds).append('\n');
+            bat.append("ping -n ").append(Integer.parseInt(delaySeconds) + 1).append(" 127.0.0.1 > nul\n");
+        }
+        for (String line : lines) {
+            sh.append("echo '").append(line).append("'\n");
+            bat.append("echo ").append(line).append('\n');
+        }
+        Files.writeString(catalinaHome.resolve("bin").resolve("catalina.sh"), sh.toString());
+        Files.writeString(catalinaHome.resolve("bin").resolve("catalina.bat"), bat.toString());
+    }
+
     /**
      * Finds an available port for testing.
      *
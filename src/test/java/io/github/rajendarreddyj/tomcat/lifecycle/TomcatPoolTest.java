@@ -0,0 +1,345 @@
+package io.github.rajendarreddyj.tomcat.lifecycle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.plugin.logging.Log;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.sun.net.httpserver.HttpServer;
+
+import io.github.rajendarreddyj.tomcat.config.GenerationSettings;
+import io.github.rajendarreddyj.tomcat.config.ServerConfiguration;
+import io.github.rajendarreddyj.tomcat.config.ServerXmlTransformer;
+
+/**
+ * Unit tests for {@link TomcatPool}.
+ *
+ * <p>
+ * Pooled instances are simulated with control files that point at a
+ * listening socket and a live process, so no Tomcat is started.
+ * </p>
+ *
+ * @author rajendarreddyj
+ * @see TomcatPool
+ */
+class TomcatPoolTest {
+
+    /** Temporary directory holding the pool. */
+    @TempDir
+    Path tempDir;
+
+    /** Mock Maven logger. */
+    @Mock
+    private Log log;
+
+    /** Socket standing in for a pooled instance's HTTP connector. */
+    private ServerSocket connector;
+
+    /** Pool under test. */
+    private TomcatPool pool;
+
+    /**
+     * Sets up a pool of two instances.
+     *
+     * @throws IOException if the socket cannot be opened
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        MockitoAnnotations.openMocks(this);
+        connector = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        ServerConfiguration template = ServerConfiguration.builder()
+                .catalinaHome(tempDir.resolve("home"))
+                .httpHost("localhost")
+                .shutdownTimeout(5000)
+                .build();
+        pool = new TomcatPool(tempDir.resolve("pool"), template,
+                GenerationSettings.builder().httpHost("localhost").build(), 2, log);
+    }
+
+    /**
+     * Closes the simulated connector.
+     *
+     * @throws IOException if the socket cannot be closed
+     */
+    @AfterEach
+    void tearDown() throws IOException {
+        connector.close();
+    }
+
+    /**
+     * Verifies that a running instance can be leased and found again by owner.
+     *
+     * @throws IOException if the pool cannot be read
+     */
+    @Test
+    void leaseAndFindLease() throws IOException {
+        writeInstance(0, connector.getLocalPort(), ProcessHandle.current().pid());
+
+        Optional<TomcatPool.Instance> leased = pool.lease("com.example:app/app");
+
+        assertTrue(leased.isPresent());
+        assertEquals(connector.getLocalPort(), leased.get().getHttpPort());
+        assertEquals(leased.get().getCatalinaBase(),
+                pool.findLease("com.example:app/app").orElseThrow().getCatalinaBase());
+        assertTrue(pool.findLease("com.example:other/other").isEmpty());
+    }
+
+    /**
+     * Verifies that an instance cannot be leased twice until it is released.
+     *
+     * @throws IOException if the pool cannot be read
+     */
+    @Test
+    void leasedInstanceIsExclusiveUntilReleased() throws IOException {
+        writeInstance(0, connector.getLocalPort(), ProcessHandle.current().pid());
+
+        TomcatPool.Instance first = pool.lease("a").orElseThrow();
+        assertTrue(pool.lease("b").isEmpty());
+
+        pool.release(first);
+        assertTrue(pool.lease("b").isPresent());
+    }
+
+    /**
+     * Verifies that instances without a live JVM are not leased.
+     *
+     * @throws Exception if the test process cannot be run
+     */
+    @Test
+    void deadInstanceIsNotLeased() throws Exception {
+        writeInstance(0, connector.getLocalPort(), exitedPid());
+
+        assertTrue(pool.lease("a").isEmpty());
+    }
+
+    /**
+     * Verifies that the lease file of an exited Maven process, whose lock the
+     * operating system has released, is replaced by the next lease.
+     *
+     * @throws Exception if the test process cannot be run
+     */
+    @Test
+    void abandonedLeaseIsReclaimed() throws Exception {
+        Path base = writeInstance(0, connector.getLocalPort(), ProcessHandle.current().pid());
+        Properties lease = new Properties();
+        lease.setProperty("owner", "crashed-build");
+        lease.setProperty("holderPid", String.valueOf(exitedPid()));
+        try (OutputStream os = Files.newOutputStream(base.resolve(TomcatPool.LEASE_FILE))) {
+            lease.store(os, null);
+        }
+
+        assertTrue(pool.lease("next-build").isPresent());
+        assertTrue(pool.findLease("crashed-build").isEmpty());
+    }
+
+    /**
+     * Verifies that shutdown stops the instance JVMs and removes the control
+     * files.
+     *
+     * @throws Exception if the test process cannot be run
+     */
+    @Test
+    void shutdownStopsInstances() throws Exception {
+        Process sleeper = new ProcessBuilder("sleep", "60").start();
+        Path base = writeInstance(1, connector.getLocalPort(), sleeper.pid());
+
+        pool.shutdown();
+
+        assertTrue(sleeper.waitFor(5, TimeUnit.SECONDS));
+        assertFalse(Files.exists(base.resolve(TomcatPool.INSTANCE_FILE)));
+        assertTrue(pool.listInstances().isEmpty());
+    }
+
+    /**
+     * Verifies that shutdown leaves an instance running whose lock is held by
+     * another build, and stops the instance this build leased.
+     *
+     * @throws Exception if the test process cannot be run
+     */
+    @Test
+    void shutdownSkipsInstancesLeasedByOtherBuilds() throws Exception {
+        Process leasedElsewhere = new ProcessBuilder("sleep", "60").start();
+        Process leasedHere = new ProcessBuilder("sleep", "60").start();
+        try (ServerSocket second = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            Path other = writeInstance(0, connector.getLocalPort(), leasedElsewhere.pid());
+            Path own = writeInstance(1, second.getLocalPort(), leasedHere.pid());
+            Files.writeString(other.resolve(TomcatPool.LEASE_FILE), "owner=other-build\n");
+
+            try (FileChannel lock = FileChannel.open(other.resolve(TomcatPool.LOCK_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                    FileLock held = lock.lock()) {
+                assertEquals(own, pool.lease("this-build").orElseThrow().getCatalinaBase());
+                pool.shutdown();
+            }
+
+            assertTrue(leasedHere.waitFor(5, TimeUnit.SECONDS));
+            assertFalse(Files.exists(own.resolve(TomcatPool.INSTANCE_FILE)));
+            assertTrue(leasedElsewhere.isAlive());
+            assertTrue(Files.exists(other.resolve(TomcatPool.INSTANCE_FILE)));
+            assertTrue(Files.exists(other.resolve(TomcatPool.LEASE_FILE)));
+            verify(log).warn(contains("port " + connector.getLocalPort() + " is leased by another build"));
+        } finally {
+            leasedElsewhere.destroyForcibly();
+            leasedHere.destroyForcibly();
+        }
+    }
+
+    /**
+     * Verifies that pooled instances inherit the CRaC and output mirroring
+     * settings of the template.
+     *
+     * @throws IOException if the pool cannot be read
+     */
+    @Test
+    void configurationForCopiesTemplateSettings() throws IOException {
+        ServerConfiguration template = ServerConfiguration.builder()
+                .catalinaHome(tempDir.resolve("home"))
+                .httpHost("localhost")
+                .cracEnabled(true)
+                .mirrorOutput(true)
+                .build();
+        TomcatPool cracPool = new TomcatPool(tempDir.resolve("pool"), template,
+                GenerationSettings.builder().httpHost("localhost").build(), 1, log);
+        writeInstance(0, connector.getLocalPort(), ProcessHandle.current().pid());
+
+        ServerConfiguration config = cracPool.configurationFor(cracPool.listInstances().get(0));
+
+        assertTrue(config.isCracEnabled());
+        assertTrue(config.isMirrorOutput());
+        assertEquals(connector.getLocalPort(), config.getHttpPort());
+    }
+
+    /**
+     * Verifies that the background processor delay is set on the Engine
+     * element and not on the commented-out example before it.
+     *
+     * @throws IOException if server.xml cannot be written or read
+     */
+    @Test
+    void enableFastAutoDeploySetsEngineDelay() throws IOException {
+        Path serverXml = tempDir.resolve("server.xml");
+        Files.writeString(serverXml, """
+                <Server port="-1">
+                  <Service name="Catalina">
+                    <!--
+                    <Engine name="Catalina" defaultHost="localhost" jvmRoute="jvm1">
+                    -->
+                    <Engine name="Catalina" defaultHost="localhost">
+                    </Engine>
+                  </Service>
+                </Server>
+                """);
+
+        TomcatPool.enableFastAutoDeploy(serverXml);
+
+        String content = Files.readString(serverXml);
+        assertTrue(content.contains("<Engine name=\"Catalina\" defaultHost=\"localhost\" jvmRoute=\"jvm1\">"));
+        assertEquals(List.of("1"), ServerXmlTransformer.find(serverXml, "Server/Service/Engine",
+                ServerXmlTransformer.ANY).stream().map(e -> e.get("backgroundProcessorDelay")).toList());
+    }
+
+    /**
+     * Verifies that awaitContext returns once the context answers with
+     * something other than 404.
+     *
+     * @throws IOException if the HTTP server cannot be started
+     */
+    @Test
+    void awaitContextReturnsWhenContextRedirects() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.getResponseHeaders().add("Location", "/app/");
+            exchange.sendResponseHeaders(302, -1);
+            exchange.close();
+        });
+        server.start();
+        try {
+            TomcatPool.Instance instance = new TomcatPool.Instance(tempDir, "localhost",
+                    server.getAddress().getPort(), ProcessHandle.current().pid());
+            pool.awaitContext(instance, "/app", 5000);
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    /**
+     * Verifies that awaitContext fails when the context is never deployed.
+     *
+     * @throws IOException if the HTTP server cannot be started
+     */
+    @Test
+    void awaitContextTimesOutOnNotFound() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.start();
+        try {
+            TomcatPool.Instance instance = new TomcatPool.Instance(tempDir, "localhost",
+                    server.getAddress().getPort(), ProcessHandle.current().pid());
+            IOException e = assertThrows(IOException.class, () -> pool.awaitContext(instance, "/app", 500));
+            assertTrue(e.getMessage().contains("/app"));
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    /**
+     * Writes the control file of a simulated instance.
+     *
+     * @param index the instance index
+     * @param port  the HTTP port
+     * @param pid   the JVM PID
+     * @return the instance CATALINA_BASE
+     * @throws IOException if the file cannot be written
+     */
+    private Path writeInstance(int index, int port, long pid) throws IOException {
+        Path base = tempDir.resolve("pool").resolve("instance-" + index);
+        Files.createDirectories(base);
+        Properties props = new Properties();
+        props.setProperty("httpPort", String.valueOf(port));
+        props.setProperty("pid", String.valueOf(pid));
+        try (OutputStream os = Files.newOutputStream(base.resolve(TomcatPool.INSTANCE_FILE))) {
+            props.store(os, null);
+        }
+        return base;
+    }
+
+    /**
+     * Returns the PID of a process that has already exited.
+     *
+     * @return an unused PID
+     * @throws Exception if the process cannot be run
+     */
+    private static long exitedPid() throws Exception {
+        Process process = new ProcessBuilder("true").start();
+        process.waitFor();
+        return process.pid();
+    }
+}
@@ -0,0 +1,159 @@
+package io.github.rajendarreddyj.tomcat.lifecycle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for {@link TomcatState}.
+ *
+ * <p>
+ * Tests the state file round trip, the legacy PID file fallback and PID reuse
+ * detection.
+ *
+ * @author rajendarreddyj
+ * @see TomcatState
+ */
+class TomcatStateTest {
+
+    /**
+     * Temporary directory for test artifacts, cleaned up automatically after each
+     * test.
+     */
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Verifies that a written state is read back with all fields and that no
+     * temporary file is left behind.
+     *
+     * @throws IOException if the state cannot be written or read
+     */
+    @Test
+    void writeAndReadRoundTrip() throws IOException {
+        Instant launched = Instant.parse("2026-01-02T03:04:05.123Z");
+        TomcatState.builder()
+                .process(ProcessHandle.current())
+                .httpHost("localhost")
+                .httpPort(8080)
+                .httpsPort(8443)
+                .debugPort(5005)
+                .tomcatVersion("10.1.52")
+                .contextPaths(List.of("/app", "/api"))
+                .vmOptions(List.of("-Xmx512m"))
+                .launchedAt(launched)
+                .readyAt(launched.plusSeconds(2))
+                .build()
+                .write(tempDir);
+
+        TomcatState state = TomcatState.read(tempDir).orElseThrow();
+
+        assertEquals(ProcessHandle.current().pid(), state.getPid());
+        assertEquals("localhost", state.getHttpHost());
+        assertEquals(8080, state.getHttpPort());
+        assertEquals(8443, state.getHttpsPort());
+        assertEquals(5005, state.getDebugPort());
+        assertEquals("10.1.52", state.getTomcatVersion());
+        assertEquals(List.of("/app", "/api"), state.getContextPaths());
+        assertEquals(TomcatState.hash(List.of("-Xmx512m")), state.getVmOptionsHash());
+        assertEquals(launched, state.getLaunchedAt().orElseThrow());
+        assertEquals(launched.plusSeconds(2), state.getReadyAt().orElseThrow());
+        assertTrue(state.findProcess().isPresent());
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(List.of(tempDir.resolve(TomcatState.STATE_FILE)), files.toList());
+        }
+    }
+
+    /**
+     * Verifies that a legacy tomcat.pid file is read as a state holding only
+     * the PID, and that writing a new state removes it.
+     *
+     * @throws IOException if the files cannot be written or read
+     */
+    @Test
+    void readsLegacyPidFile() throws IOException {
+        Files.writeString(tempDir.resolve(TomcatState.LEGACY_PID_FILE), "12345\n");
+
+        TomcatState state = TomcatState.read(tempDir).orElseThrow();
+
+        assertEquals(12345, state.getPid());
+        assertTrue(state.getProcessStart().isEmpty());
+        assertEquals(0, state.getHttpPort());
+
+        TomcatState.builder().pid(54321).build().write(tempDir);
+        assertFalse(Files.exists(tempDir.resolve(TomcatState.LEGACY_PID_FILE)));
+        assertEquals(54321, TomcatState.read(tempDir).orElseThrow().getPid());
+    }
+
+    /**
+     * Verifies that no state is read from an empty CATALINA_BASE and that an
+     * invalid PID is reported as an error.
+     *
+     * @throws IOException if the files cannot be written
+     */
+    @Test
+    void readHandlesMissingAndInvalidFiles() throws IOException {
+        assertTrue(TomcatState.read(tempDir).isEmpty());
+
+        Files.writeString(tempDir.resolve(TomcatState.LEGACY_PID_FILE), "not-a-number");
+        assertThrows(IOException.class, () -> TomcatState.read(tempDir));
+    }
+
+    /**
+     * Verifies that a live PID whose process started at a different instant is
+     * treated as reused and not reported as the Tomcat process.
+     */
+    @Test
+    void findProcessDetectsReusedPid() {
+        TomcatState reused = TomcatState.builder()
+                .pid(ProcessHandle.current().pid())
+                .processStart(Instant.EPOCH)
+                .build();
+
+        assertTrue(reused.findProcess().isEmpty());
+    }
+
+    /**
+     * Verifies that a start instant rounded differently by another JVM still
+     * identifies the process.
+     */
+    @Test
+    void findProcessToleratesRoundedStartInstant() {
+        ProcessHandle current = ProcessHandle.current();
+        Instant start = current.info().startInstant().orElseThrow();
+
+        assertTrue(TomcatState.builder().pid(current.pid()).processStart(start.plusMillis(700)).build()
+                .findProcess().isPresent());
+        assertTrue(TomcatState.builder().pid(current.pid()).processStart(start.minusMillis(700)).build()
+                .findProcess().isPresent());
+        assertTrue(TomcatState.builder().pid(current.pid()).processStart(start.plusSeconds(5)).build()
+                .findProcess().isEmpty());
+    }
+
+    /**
+     * Verifies that deleting the state removes both the state and the legacy
+     * PID file.
+     *
+     * @throws IOException if the files cannot be written or deleted
+     */
+    @Test
+    void deleteRemovesStateAndLegacyFile() throws IOException {
+        TomcatState.builder().pid(1).build().write(tempDir);
+        Files.writeString(tempDir.resolve(TomcatState.LEGACY_PID_FILE), "1");
+
+        TomcatState.delete(tempDir);
+
+        assertTrue(TomcatState.read(tempDir).isEmpty());
+    }
+}
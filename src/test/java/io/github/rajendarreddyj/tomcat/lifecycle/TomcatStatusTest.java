@@ -0,0 +1,118 @@
+package io.github.rajendarreddyj.tomcat.lifecycle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link TomcatStatus}.
+ *
+ * <p>
+ * Collects from the platform MBean server of the test JVM, with fake Tomcat
+ * connector and context MBeans registered in a test domain.
+ *
+ * @author rajendarreddyj
+ * @see TomcatStatus
+ */
+class TomcatStatusTest {
+
+    /** Domain of the fake Tomcat MBeans. */
+    private static final String DOMAIN = "TomcatStatusTest";
+
+    /** The platform MBean server. */
+    private final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+    /**
+     * Unregisters the fake Tomcat MBeans.
+     *
+     * @throws Exception if an MBean cannot be unregistered
+     */
+    @AfterEach
+    void tearDown() throws Exception {
+        for (ObjectName name : server.queryNames(new ObjectName(DOMAIN + ":*"), null)) {
+            server.unregisterMBean(name);
+        }
+    }
+
+    /**
+     * Verifies that JVM, connector and context metrics are collected and
+     * rendered as text and JSON.
+     *
+     * @throws Exception if the MBeans cannot be registered or read
+     */
+    @Test
+    void collectsJvmConnectorAndContextMetrics() throws Exception {
+        register(DOMAIN + ":type=ThreadPool,name=\"http-nio-8080\"",
+                Map.of("currentThreadsBusy", 3, "maxThreads", 200));
+        register(DOMAIN + ":type=GlobalRequestProcessor,name=\"http-nio-8080\"",
+                Map.of("requestCount", 1234, "errorCount", 5, "processingTime", 5678L));
+        register(DOMAIN + ":j2eeType=WebModule,name=//localhost/app,J2EEApplication=none,J2EEServer=none",
+                Map.of("requestCount", 1200, "errorCount", 4, "processingTime", 5600L));
+
+        TomcatState state = TomcatState.builder().process(ProcessHandle.current()).tomcatVersion("10.1.52")
+                .build();
+        TomcatStatus status = TomcatStatus.collect(state, server);
+
+        assertTrue(status.isRunning());
+        List<TomcatStatus.RequestMetrics> connectors = status.getConnectors().stream()
+                .filter(c -> c.getName().equals("http-nio-8080")).toList();
+        assertEquals(1, connectors.size());
+        assertEquals(3, connectors.get(0).getBusyThreads());
+        assertEquals(200, connectors.get(0).getMaxThreads());
+        assertEquals(1234, connectors.get(0).getRequestCount());
+        assertEquals(5678, connectors.get(0).getProcessingTimeMs());
+        assertTrue(status.getContexts().stream().anyMatch(c -> c.getName().equals("/app")
+                && c.getRequestCount() == 1200 && c.getErrorCount() == 4));
+
+        String text = String.join("\n", status.toText());
+        assertTrue(text.contains("Tomcat 10.1.52 (PID: " + ProcessHandle.current().pid() + ")"));
+        assertTrue(text.contains("Connector http-nio-8080: 3/200 threads busy, 1234 requests, 5 errors"));
+        assertTrue(text.contains("Context /app: 1200 requests, 4 errors, 5600 ms processing"));
+
+        String json = status.toJson();
+        assertTrue(json.contains("\"running\": true"));
+        assertTrue(json.contains("\"metricsAvailable\": true"));
+        assertTrue(json.contains("{\"name\": \"http-nio-8080\", \"busyThreads\": 3, \"maxThreads\": 200, "
+                + "\"requestCount\": 1234, \"errorCount\": 5, \"processingTimeMs\": 5678}"));
+        assertTrue(json.contains("\"heap\": {\"used\": "));
+    }
+
+    /**
+     * Verifies the report of an instance that is not running.
+     */
+    @Test
+    void reportsNotRunning() {
+        TomcatStatus status = TomcatStatus.notRunning(null);
+
+        assertEquals(List.of("Tomcat is not running (no state file)"), status.toText());
+        assertEquals("{\n  \"running\": false,\n  \"accepting\": false\n}\n", status.toJson());
+    }
+
+    /**
+     * Verifies that JSON strings are escaped.
+     */
+    @Test
+    void quoteEscapesSpecialCharacters() {
+        assertEquals("\"a\\\"b\\\\c\\n\\u0001\"", TomcatStatus.quote("a\"b\\c\n\u0001"));
+    }
+
+    /**
+     * Registers a fake MBean with fixed attributes.
+     *
+     * @param name       the MBean name
+     * @param attributes the attribute values
+     * @throws Exception if the MBean cannot be registered
+     */
+    private void register(String name, Map<String, Object> attributes) throws Exception {
+        server.registerMBean(new FixedAttributes(attributes), new ObjectName(name));
+    }
+}
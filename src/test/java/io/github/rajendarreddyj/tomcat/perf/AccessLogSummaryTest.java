@@ -0,0 +1,88 @@
+package io.github.rajendarreddyj.tomcat.perf;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for {@link AccessLogSummary}.
+ *
+ * <p>
+ * Tests parsing of the timing access log, the per-URL percentiles and the
+ * latency table.
+ *
+ * @author rajendarreddyj
+ * @see AccessLogSummary
+ */
+class AccessLogSummaryTest {
+
+    /** Temporary directory for test artifacts. */
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Verifies that requests are grouped by method and URL path with their
+     * percentiles, and that lines in another format are skipped.
+     *
+     * @throws IOException if the log cannot be written or read
+     */
+    @Test
+    void readGroupsLatenciesPerUrl() throws IOException {
+        Path file = tempDir.resolve("access-timing.log");
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            for (int i = 1; i <= 100; i++) {
+                writer.write("[19/Oct/2026:10:00:00 +0000] GET /app/items " + (i == 100 ? 500 : 200) + " "
+                        + i * 1000 + " 1\n");
+            }
+            writer.write("[19/Oct/2026:10:00:01 +0000] POST /app/items 201 50000 -1\n");
+            writer.write("127.0.0.1 - - [19/Oct/2026:10:00:01 +0000] \"GET / HTTP/1.1\" 200 11\n");
+        }
+
+        AccessLogSummary summary = AccessLogSummary.read(file);
+
+        assertEquals(101, summary.getRequests());
+        assertEquals(1, summary.getSkippedLines());
+        LatencyHistogram items = summary.getLatencies("GET /app/items");
+        assertEquals(100, items.getTotalCount());
+        assertEquals(50_000, items.getValueAtPercentile(50), 50_000 / 64.0);
+        assertEquals(99_000, items.getValueAtPercentile(99), 99_000 / 64.0);
+        assertNull(summary.getLatencies("GET /app/other"));
+
+        List<String> text = summary.toText(1);
+        assertTrue(text.get(0).startsWith("Access log " + file + " (101 requests, 2 URLs, commit p99 1.0 ms)"));
+        assertTrue(text.get(1).startsWith("  Skipped 1 lines"));
+        assertTrue(text.get(3).matches("\\s+100\\s+1\\s+[\\d.]+\\s+[\\d.]+\\s+[\\d.]+  GET /app/items"));
+        assertTrue(text.get(4).endsWith("  all requests"));
+        assertEquals(5, text.size());
+    }
+
+    /**
+     * Verifies that requests beyond the maximum number of distinct URLs are
+     * counted under one row.
+     *
+     * @throws IOException if the log cannot be written or read
+     */
+    @Test
+    void readLimitsDistinctUrls() throws IOException {
+        Path file = tempDir.resolve("access-timing.log");
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            for (int i = 0; i < AccessLogSummary.MAX_URLS + 5; i++) {
+                writer.write("[19/Oct/2026:10:00:00 +0000] GET /app/items/" + i + " 200 1000 0\n");
+            }
+        }
+
+        AccessLogSummary summary = AccessLogSummary.read(file);
+
+        assertEquals(5, summary.getLatencies(AccessLogSummary.OTHER_URLS).getTotalCount());
+        assertEquals(1, summary.getLatencies("GET /app/items/0").getTotalCount());
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.rajendarreddyj.tomcat.perf;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link FlameGraphProfiler}.
+ *
+ * <p>
+ * Profiles the test JVM through its own platform MBean server.
+ *
+ * @author rajendarreddyj
+ * @see FlameGraphProfiler
+ */
+class FlameGraphProfilerTest {
+
+    /** Sink for the busy loop so it is not optimized away. */
+    private volatile double sink;
+
+    /**
+     * Verifies that stacks sampled while the JVM is busy are collected.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void samplesBusyThread() throws Exception {
+        StackProfile profile;
+        try (FlameGraphProfiler profiler = new FlameGraphProfiler(ManagementFactory.getPlatformMBeanServer(),
+                Duration.ofMillis(10))) {
+            spin(1500);
+            profile = profiler.stop();
+        }
+
+        assertTrue(profile.getTotalSamples() > 0);
+        assertTrue(profile.toCollapsed().stream().anyMatch(line -> line.contains("FlameGraphProfilerTest.spin")));
+    }
+
+    /**
+     * Keeps the current thread busy.
+     *
+     * @param millis the time to spin
+     */
+    private void spin(long millis) {
+        long end = System.nanoTime() + millis * 1_000_000;
+        double value = 0;
+        while (System.nanoTime() < end) {
+            value += Math.sqrt(value + 1);
+        }
+        sink = value;
+    }
+}
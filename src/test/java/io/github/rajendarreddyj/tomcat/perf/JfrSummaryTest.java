@@ -0,0 +1,110 @@
+package io.github.rajendarreddyj.tomcat.perf;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jdk.jfr.Recording;
+
+/**
+ * Unit tests for {@link JfrSummary}.
+ *
+ * <p>
+ * Records garbage collections and monitor contention in the test JVM and
+ * summarizes the recording.
+ *
+ * @author rajendarreddyj
+ * @see JfrSummary
+ */
+class JfrSummaryTest {
+
+    /**
+     * Temporary directory for test artifacts, cleaned up automatically after each
+     * test.
+     */
+    @TempDir
+    Path tempDir;
+
+    /** Monitor the test threads contend on. */
+    private final ContendedLock lock = new ContendedLock();
+
+    /**
+     * Verifies that GC pauses and lock contention are summarized.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void summarizesRecording() throws Exception {
+        Path file = tempDir.resolve("tomcat.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.GarbageCollection");
+            recording.enable("jdk.JavaMonitorEnter").withThreshold(Duration.ZERO);
+            recording.enable("jdk.ExecutionSample").withPeriod(Duration.ofMillis(10));
+            recording.start();
+
+            System.gc();
+            CountDownLatch held = new CountDownLatch(1);
+            Thread holder = Thread.ofPlatform().start(() -> {
+                synchronized (lock) {
+                    held.countDown();
+                    sleep(200);
+                }
+            });
+            held.await();
+            synchronized (lock) {
+                // Blocks until the holder releases the monitor
+                lock.hashCode();
+            }
+            holder.join();
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        JfrSummary summary = JfrSummary.read(file);
+
+        assertTrue(summary.getGcCount() >= 1);
+        assertTrue(summary.getContentionCounts().getOrDefault(ContendedLock.class.getName(), 0L) >= 1);
+        List<String> text = summary.toText(5);
+        assertTrue(text.get(0).startsWith("Flight recording " + file));
+        assertTrue(text.stream().anyMatch(line -> line.startsWith("Hot methods (")));
+        assertTrue(text.stream().anyMatch(line -> line.startsWith("GC pauses: ")));
+        assertTrue(text.stream().anyMatch(line -> line.contains(ContendedLock.class.getName() + " (")));
+    }
+
+    /**
+     * Verifies byte formatting.
+     */
+    @Test
+    void formatsBytes() {
+        assertEquals("512 B", JfrSummary.formatBytes(512));
+        assertEquals("1.5 KB", JfrSummary.formatBytes(1536));
+        assertEquals("3.0 GB", JfrSummary.formatBytes(3L << 30));
+    }
+
+    /**
+     * Sleeps without throwing.
+     *
+     * @param millis the time to sleep
+     */
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Monitor class that identifies the contention in the recording.
+     */
+    private static final class ContendedLock {
+    }
+}
@@ -0,0 +1,87 @@
+package io.github.rajendarreddyj.tomcat.perf;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link LatencyHistogram}.
+ *
+ * <p>
+ * Tests the bucket layout, percentile accuracy and merging.
+ *
+ * @author rajendarreddyj
+ * @see LatencyHistogram
+ */
+class LatencyHistogramTest {
+
+    /**
+     * Verifies that an empty histogram reports zeros.
+     */
+    @Test
+    void emptyHistogramReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.getTotalCount());
+        assertEquals(0, histogram.getValueAtPercentile(99));
+        assertEquals(0, histogram.getMin());
+        assertEquals(0, histogram.getMean());
+    }
+
+    /**
+     * Verifies that every value maps to a bucket whose highest equivalent
+     * value is within 1/64 of it.
+     */
+    @Test
+    void bucketsHaveBoundedRelativeError() {
+        for (long value = 1; value < Long.MAX_VALUE / 3; value = value * 3 + 1) {
+            int index = LatencyHistogram.indexOf(value);
+            long highest = LatencyHistogram.highestEquivalentValue(index);
+            assertTrue(highest >= value, "highest " + highest + " < " + value);
+            assertTrue(highest - value <= value / 64, "error too large for " + value);
+            assertEquals(index, LatencyHistogram.indexOf(highest));
+        }
+        assertTrue(LatencyHistogram.indexOf(Long.MAX_VALUE) >= 0);
+    }
+
+    /**
+     * Verifies that percentiles of a uniform distribution are accurate.
+     */
+    @Test
+    void percentilesOfUniformDistribution() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(100_000, histogram.getTotalCount());
+        assertEquals(1, histogram.getMin());
+        assertEquals(100_000, histogram.getMax());
+        assertEquals(50_000.5, histogram.getMean(), 0.001);
+        assertEquals(50_000, histogram.getValueAtPercentile(50), 50_000 / 64);
+        assertEquals(99_000, histogram.getValueAtPercentile(99), 99_000 / 64);
+        assertEquals(99_900, histogram.getValueAtPercentile(99.9), 99_900 / 64);
+        assertEquals(100_000, histogram.getValueAtPercentile(100));
+    }
+
+    /**
+     * Verifies that merging histograms combines counts and extremes.
+     */
+    @Test
+    void addMergesHistograms() {
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        first.record(10);
+        first.record(20);
+        second.record(5);
+        second.record(1_000_000);
+
+        first.add(second);
+
+        assertEquals(4, first.getTotalCount());
+        assertEquals(5, first.getMin());
+        assertEquals(1_000_000, first.getMax());
+        assertEquals(10, first.getValueAtPercentile(50));
+    }
+}
@@ -0,0 +1,137 @@
+package io.github.rajendarreddyj.tomcat.perf;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.plugin.logging.Log;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Unit tests for {@link LoadGenerator}.
+ *
+ * <p>
+ * Sends load to an embedded JDK HTTP server.
+ *
+ * @author rajendarreddyj
+ * @see LoadGenerator
+ */
+class LoadGeneratorTest {
+
+    /** Mock Maven logger. */
+    @Mock
+    private Log log;
+
+    /** The embedded HTTP server. */
+    private HttpServer server;
+
+    /** Requests received per path. */
+    private final Map<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+
+    /**
+     * Starts the embedded HTTP server. Paths starting with /fail answer 500.
+     *
+     * @throws IOException if the server cannot be started
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        MockitoAnnotations.openMocks(this);
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            hits.computeIfAbsent(path, p -> new AtomicInteger()).incrementAndGet();
+            byte[] body = "ok".getBytes();
+            exchange.sendResponseHeaders(path.startsWith("/app/fail") ? 500 : 200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    /**
+     * Stops the embedded HTTP server.
+     */
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    /**
+     * Verifies that a request-count run sends exactly that many requests,
+     * cycling through the paths.
+     *
+     * @throws Exception if the run fails
+     */
+    @Test
+    void runsRequestCount() throws Exception {
+        LoadGenerator generator = new LoadGenerator(baseUri(), List.of("/", "api"), 4, null, 100, log);
+
+        LoadResult result = generator.run();
+
+        assertEquals(100, result.getRequests());
+        assertEquals(100, result.getResponses());
+        assertEquals(0, result.getErrors());
+        assertEquals(50, hits.get("/app/").get());
+        assertEquals(50, hits.get("/app/api").get());
+        assertTrue(result.getThroughput() > 0);
+        assertTrue(result.getLatencyMs(99) >= result.getLatencyMs(50));
+    }
+
+    /**
+     * Verifies that a duration run stops after the duration and counts error
+     * responses.
+     *
+     * @throws Exception if the run fails
+     */
+    @Test
+    void runsForDurationAndCountsErrors() throws Exception {
+        LoadGenerator generator = new LoadGenerator(baseUri(), List.of("/", "/fail"), 2,
+                Duration.ofMillis(300), 0, log);
+
+        long start = System.nanoTime();
+        LoadResult result = generator.run();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMs >= 300 && elapsedMs < 5000, "elapsed " + elapsedMs);
+        assertTrue(result.getRequests() > 0);
+        assertEquals(result.getRequests(), result.getResponses());
+        assertEquals(hits.get("/app/fail").get(), result.getErrors());
+        assertTrue(result.getErrorRate() > 0 && result.getErrorRate() < 100);
+    }
+
+    /**
+     * Verifies that invalid settings are rejected.
+     */
+    @Test
+    void rejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new LoadGenerator(baseUri(), List.of(), 0, Duration.ofSeconds(1), 0, log));
+        assertThrows(IllegalArgumentException.class,
+                () -> new LoadGenerator(baseUri(), List.of(), 1, Duration.ZERO, 0, log));
+    }
+
+    /**
+     * Gets the base URI of the embedded server with the /app context path.
+     *
+     * @return the base URI
+     */
+    private URI baseUri() {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/app");
+    }
+}
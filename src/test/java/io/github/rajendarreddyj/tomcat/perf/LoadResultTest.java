@@ -0,0 +1,55 @@
+package io.github.rajendarreddyj.tomcat.perf;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link LoadResult}.
+ *
+ * <p>
+ * Tests the derived rates and the text and JSON renderings.
+ *
+ * @author rajendarreddyj
+ * @see LoadResult
+ */
+class LoadResultTest {
+
+    /**
+     * Verifies the throughput, error rate and renderings of a result.
+     */
+    @Test
+    void rendersRatesAndPercentiles() {
+        LatencyHistogram latencies = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            latencies.record(i * 1000L);
+        }
+        LoadResult result = new LoadResult(URI.create("http://localhost:8080/app"), List.of("/", "/a\"b"), 4,
+                200, 10, 2000, latencies);
+
+        assertEquals(100.0, result.getThroughput(), 0.001);
+        assertEquals(5.0, result.getErrorRate(), 0.001);
+        assertEquals(50.0, result.getLatencyMs(50), 1.0);
+
+        String json = result.toJson();
+        assertTrue(json.contains("\"paths\": [\"/\", \"/a\\\"b\"]"));
+        assertTrue(json.contains("\"throughput\": 100.000"));
+        assertTrue(json.contains("\"p999\": "));
+        assertTrue(json.contains("\"errorRate\": 5.000"));
+
+        assertTrue(result.toText().get(0).startsWith("Requests: 200 in 2.0 s (100.0 req/s), errors: 10 (5.00%)"));
+    }
+
+    /**
+     * Verifies percentile labels.
+     */
+    @Test
+    void labelsPercentiles() {
+        assertEquals("50", LoadResult.label(50));
+        assertEquals("999", LoadResult.label(99.9));
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.rajendarreddyj.tomcat.perf;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for {@link LoadSnapshot}.
+ *
+ * <p>
+ * Tests the round trip through the properties file and the file naming.
+ *
+ * @author rajendarreddyj
+ * @see LoadSnapshot
+ */
+class LoadSnapshotTest {
+
+    /**
+     * Temporary directory for test artifacts, cleaned up automatically after each
+     * test.
+     */
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Verifies that a written snapshot reads back with the same distribution.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void roundTripsThroughFile() throws Exception {
+        LatencyHistogram latencies = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            latencies.record(i * 37L);
+        }
+        LoadResult result = new LoadResult(URI.create("http://localhost:8080/app"), List.of("/"), 2, 1010, 10,
+                1000, latencies);
+        Path file = tempDir.resolve("baseline").resolve("app.current.properties");
+
+        LoadSnapshot.of("/app", result).write(file);
+        LoadSnapshot read = LoadSnapshot.read(file);
+
+        assertEquals("/app", read.getContextPath());
+        assertEquals(1010.0, read.getThroughput(), 0.001);
+        assertEquals(1010, read.getRequests());
+        assertEquals(10, read.getErrors());
+        assertEquals(1000, read.getLatencies().getTotalCount());
+        for (double p : LoadResult.PERCENTILES) {
+            assertEquals(latencies.getValueAtPercentile(p), read.getLatencies().getValueAtPercentile(p));
+        }
+        assertEquals(latencies.getMax(), read.getLatencies().getMax());
+    }
+
+    /**
+     * Verifies that a corrupt snapshot is reported as an I/O error.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void rejectsInvalidFile() throws Exception {
+        Path file = tempDir.resolve("broken.properties");
+        Files.writeString(file, "throughput=fast\n");
+
+        assertThrows(IOException.class, () -> LoadSnapshot.read(file));
+    }
+
+    /**
+     * Verifies file names of context paths.
+     */
+    @Test
+    void namesFilesLikeWebappDirectories() {
+        assertEquals("ROOT", LoadSnapshot.fileName("/"));
+        assertEquals("ROOT", LoadSnapshot.fileName(""));
+        assertEquals("app", LoadSnapshot.fileName("/app"));
+        assertEquals("shop#api", LoadSnapshot.fileName("/shop/api"));
+    }
+}
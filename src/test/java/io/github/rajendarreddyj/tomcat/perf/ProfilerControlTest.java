@@ -0,0 +1,164 @@
+package io.github.rajendarreddyj.tomcat.perf;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import org.apache.maven.plugin.logging.Log;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+/**
+ * Unit tests for {@link ProfilerControl}.
+ *
+ * <p>
+ * Profiles a busy child JVM standing in for Tomcat, toggled through the
+ * control file and the console.
+ *
+ * @author rajendarreddyj
+ * @see ProfilerControl
+ */
+@DisabledOnOs(OS.WINDOWS)
+class ProfilerControlTest {
+
+    /**
+     * Temporary directory for test artifacts, cleaned up automatically after each
+     * test.
+     */
+    @TempDir
+    Path tempDir;
+
+    /** Mock Maven logger for testing. */
+    @Mock
+    private Log log;
+
+    /** The busy child JVM. */
+    private Process process;
+
+    /** The control file. */
+    private Path controlFile;
+
+    /** The output directory. */
+    private Path outputDir;
+
+    /**
+     * Starts a child JVM that keeps a thread busy.
+     *
+     * @throws Exception if the child JVM cannot be started
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        Path source = tempDir.resolve("Busy.java");
+        Files.writeString(source, "public class Busy { static volatile double sink;"
+                + " public static void main(String[] a) { System.out.println(\"ready\"); spin(); }"
+                + " static void spin() { double v = 0; while (true) { v += Math.sqrt(v + 1); sink = v; } } }");
+        Path java = Path.of(System.getProperty("java.home"), "bin", "java");
+        process = new ProcessBuilder(java.toString(), source.toString()).start();
+        assertEquals("ready", process.inputReader().readLine());
+
+        controlFile = tempDir.resolve(ProfilerControl.CONTROL_FILE);
+        outputDir = tempDir.resolve("target");
+    }
+
+    /**
+     * Stops the child JVM.
+     */
+    @AfterEach
+    void tearDown() {
+        process.destroyForcibly();
+    }
+
+    /**
+     * Verifies that creating and deleting the control file profiles the JVM
+     * and writes the collapsed stacks and the flame graph.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void profilesWhileControlFileExists() throws Exception {
+        try (ProfilerControl control = new ProfilerControl(controlFile, process::pid, outputDir,
+                Duration.ofMillis(10), log)) {
+            control.start(null);
+
+            Files.createFile(controlFile);
+            await(control::isProfiling);
+            Thread.sleep(1500);
+            Files.delete(controlFile);
+            await(() -> !control.isProfiling());
+        }
+
+        List<Path> files = outputFiles();
+        assertEquals(2, files.size());
+        Path collapsed = files.stream().filter(f -> f.toString().endsWith(".collapsed")).findFirst().orElseThrow();
+        assertTrue(Files.readString(collapsed).contains("Busy.spin"));
+        assertTrue(files.stream().anyMatch(f -> f.toString().endsWith(".html")));
+    }
+
+    /**
+     * Verifies that the console command toggles profiling and that a running
+     * session is written on close.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void togglesFromConsoleAndWritesOnClose() throws Exception {
+        PipedOutputStream console = new PipedOutputStream();
+        try (ProfilerControl control = new ProfilerControl(controlFile, process::pid, outputDir,
+                Duration.ofMillis(10), log)) {
+            control.start(new PipedInputStream(console));
+
+            console.write("p\n".getBytes(StandardCharsets.UTF_8));
+            console.flush();
+            await(control::isProfiling);
+            Thread.sleep(1500);
+        }
+
+        assertFalse(outputFiles().isEmpty());
+    }
+
+    /**
+     * Waits up to ten seconds for a condition.
+     *
+     * @param condition the condition
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    /**
+     * Lists the written profile files.
+     *
+     * @return the files in the output directory
+     * @throws Exception if the directory cannot be listed
+     */
+    private List<Path> outputFiles() throws Exception {
+        if (!Files.isDirectory(outputDir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(outputDir)) {
+            return files.toList();
+        }
+    }
+}
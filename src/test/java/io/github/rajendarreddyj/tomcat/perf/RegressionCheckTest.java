@@ -0,0 +1,110 @@
+package io.github.rajendarreddyj.tomcat.perf;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link RegressionCheck}.
+ *
+ * <p>
+ * Compares synthetic latency distributions drawn from a seeded random source.
+ *
+ * @author rajendarreddyj
+ * @see RegressionCheck
+ */
+class RegressionCheckTest {
+
+    /**
+     * Verifies that two runs from the same distribution do not regress.
+     */
+    @Test
+    void acceptsSameDistribution() {
+        RegressionCheck check = new RegressionCheck(snapshot(1, 1.0, 500), snapshot(2, 1.0, 500), 0.01, 10);
+
+        assertFalse(check.isRegression());
+        assertTrue(check.getPValue() > 0.01);
+        assertEquals(0.5, check.getEffectSize(), 0.05);
+    }
+
+    /**
+     * Verifies that a significantly slower run regresses.
+     */
+    @Test
+    void detectsSlowerLatency() {
+        RegressionCheck check = new RegressionCheck(snapshot(1, 1.0, 500), snapshot(2, 1.3, 500), 0.01, 10);
+
+        assertTrue(check.isLatencyRegression());
+        assertFalse(check.isThroughputRegression());
+        assertTrue(check.getPValue() < 0.001);
+        assertTrue(check.getEffectSize() > 0.5);
+    }
+
+    /**
+     * Verifies that a significant shift within the tolerance is accepted.
+     */
+    @Test
+    void acceptsShiftWithinTolerance() {
+        RegressionCheck check = new RegressionCheck(snapshot(1, 1.0, 500), snapshot(2, 1.05, 500), 0.01, 10);
+
+        assertTrue(check.getPValue() < 0.01);
+        assertFalse(check.isRegression());
+    }
+
+    /**
+     * Verifies that a faster run does not regress.
+     */
+    @Test
+    void acceptsFasterLatency() {
+        RegressionCheck check = new RegressionCheck(snapshot(1, 1.0, 500), snapshot(2, 0.7, 500), 0.01, 10);
+
+        assertTrue(check.getPValue() > 0.99);
+        assertFalse(check.isRegression());
+    }
+
+    /**
+     * Verifies that a throughput drop beyond the tolerance regresses.
+     */
+    @Test
+    void detectsThroughputDrop() {
+        RegressionCheck check = new RegressionCheck(snapshot(1, 1.0, 500), snapshot(2, 1.0, 400), 0.01, 10);
+
+        assertTrue(check.isThroughputRegression());
+        assertTrue(check.isRegression());
+        assertTrue(check.describe().get(1).contains("-20.0%"));
+    }
+
+    /**
+     * Verifies the complementary error function at known points.
+     */
+    @Test
+    void computesErfc() {
+        assertEquals(1.0, RegressionCheck.erfc(0), 1e-7);
+        assertEquals(0.157299207, RegressionCheck.erfc(1), 1e-6);
+        assertEquals(1.842700793, RegressionCheck.erfc(-1), 1e-6);
+        assertEquals(0.004677735, RegressionCheck.erfc(2), 1e-6);
+    }
+
+    /**
+     * Creates a snapshot of 5000 log-normally distributed latencies around
+     * one millisecond.
+     *
+     * @param seed       the random seed
+     * @param scale      the factor applied to every latency
+     * @param throughput the throughput
+     * @return the snapshot
+     */
+    private static LoadSnapshot snapshot(long seed, double scale, double throughput) {
+        Random random = new Random(seed);
+        LatencyHistogram latencies = new LatencyHistogram();
+        for (int i = 0; i < 5000; i++) {
+            latencies.record(Math.round(1000 * scale * Math.exp(0.3 * random.nextGaussian())));
+        }
+        return new LoadSnapshot("/app", Instant.now(), throughput, 5000, 0, latencies);
+    }
+}
@@ -0,0 +1,71 @@
+package io.github.rajendarreddyj.tomcat.perf;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for {@link StackProfile}.
+ *
+ * <p>
+ * Tests the collapsed stack format and the HTML flame graph.
+ *
+ * @author rajendarreddyj
+ * @see StackProfile
+ */
+class StackProfileTest {
+
+    /**
+     * Temporary directory for test artifacts, cleaned up automatically after each
+     * test.
+     */
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Verifies that identical stacks are merged in the collapsed format.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    void writesCollapsedStacks() throws Exception {
+        StackProfile profile = new StackProfile();
+        profile.add(List.of("Thread.run", "Servlet.service", "Dao.query"), 3);
+        profile.add(List.of("Thread.run", "Servlet.service"), 1);
+        profile.add(List.of("Thread.run", "Servlet.service", "Dao.query"), 2);
+        profile.add(List.of("a;b c"), 1);
+
+        Path file = tempDir.resolve("out").resolve("profile.collapsed");
+        profile.writeCollapsed(file);
+
+        assertEquals(7, profile.getTotalSamples());
+        assertEquals(List.of("Thread.run;Servlet.service 1", "Thread.run;Servlet.service;Dao.query 5", "a:b_c 1"),
+                Files.readAllLines(file));
+    }
+
+    /**
+     * Verifies that the HTML flame graph embeds the call tree and escapes
+     * frame names.
+     */
+    @Test
+    void rendersHtmlFlameGraph() {
+        StackProfile profile = new StackProfile();
+        profile.add(List.of("Thread.run", "Foo.<init>"), 2);
+        profile.add(List.of("Thread.run", "Bar.call"), 1);
+
+        String html = profile.toHtml("Profile <1>");
+
+        assertTrue(html.contains("<title>Profile &lt;1&gt;</title>"));
+        assertTrue(html.contains("{\"n\":\"all\",\"v\":3,\"c\":[{\"n\":\"Thread.run\",\"v\":3,\"c\":["
+                + "{\"n\":\"Bar.call\",\"v\":1,\"c\":[]},{\"n\":\"Foo.\\u003cinit\\u003e\",\"v\":2,\"c\":[]}]}]}"));
+        assertFalse(html.contains("Foo.<init>"));
+        assertTrue(html.contains("3 samples"));
+    }
+}